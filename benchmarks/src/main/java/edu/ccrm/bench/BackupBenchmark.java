@@ -0,0 +1,95 @@
+package edu.ccrm.bench;
+
+import edu.ccrm.io.BackupService;
+import edu.ccrm.io.StudentCourseImportExportService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link BackupService#backupData} of a data folder holding {@code size} student rows, split
+ * over ten CSV files so both per-file and per-byte costs show up
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BackupBenchmark {
+    private static final int FILES = 10;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private final BackupService service = new BackupService();
+    private Path dataDirectory;
+    private Path backupDirectory;
+    private PrintStream stdout;
+
+    @Setup
+    public void setUp() throws IOException {
+        Fixtures.quietLogging();
+        Path root = Files.createTempDirectory("ccrm-backup-bench");
+        dataDirectory = Files.createDirectory(root.resolve("data"));
+        backupDirectory = Files.createDirectory(root.resolve("backups"));
+        StudentCourseImportExportService csv = new StudentCourseImportExportService();
+        for (int file = 0; file < FILES; file++) {
+            List<Object> rows = new ArrayList<>();
+            for (int i = file; i < size; i += FILES) {
+                rows.add(Fixtures.student(i));
+            }
+            csv.exportToFile(rows, dataDirectory.resolve("students-" + file + ".csv").toString());
+        }
+        // backupData reports every run on stdout
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearBackups() throws IOException {
+        deleteContents(backupDirectory);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(stdout);
+        deleteContents(backupDirectory.getParent());
+        Files.deleteIfExists(backupDirectory.getParent());
+    }
+
+    @Benchmark
+    public void backupData() {
+        service.backupData(dataDirectory.toString(), backupDirectory.toString());
+    }
+
+    private static void deleteContents(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                if (!path.equals(directory)) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package edu.ccrm.bench;
+
+import edu.ccrm.cli.AppServices;
+import edu.ccrm.domain.Course;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Criteria and keyword course searches over a catalog of {@code size} courses in 50 departments
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CourseSearchBenchmark {
+    private static final int QUERIES = 64;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private AppServices services;
+    private String[] departments;
+    private String[] semesters;
+    private String[] keywords;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        services = Fixtures.services();
+        Fixtures.addCourses(services, size);
+        int[] indexes = Fixtures.randomIndexes(size, QUERIES);
+        departments = new String[QUERIES];
+        semesters = new String[QUERIES];
+        keywords = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            departments[i] = "Dept" + indexes[i] % 50;
+            semesters[i] = Fixtures.semesterOf(indexes[i]).toString();
+            keywords[i] = Fixtures.KEYWORDS[i % Fixtures.KEYWORDS.length] + " "
+                + Fixtures.KEYWORDS[(i / Fixtures.KEYWORDS.length) % Fixtures.KEYWORDS.length];
+        }
+    }
+
+    @Benchmark
+    public List<Course> searchCourses() {
+        int query = next++ & (QUERIES - 1);
+        return services.courses().searchCourses(departments[query], semesters[query], 3, 4);
+    }
+
+    @Benchmark
+    public List<Course> searchByKeywords() {
+        return services.courses().searchByKeywords(keywords[next++ & (QUERIES - 1)], 10);
+    }
+}
@@ -0,0 +1,73 @@
+package edu.ccrm.bench;
+
+import edu.ccrm.io.StudentCourseImportExportService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CSV import and export of {@code size} rows, nine students to every course, through
+ * {@link StudentCourseImportExportService} and a temporary directory
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private final StudentCourseImportExportService service = new StudentCourseImportExportService();
+    private Path directory;
+    private String importFile;
+    private String exportFile;
+    private List<Object> rows;
+
+    @Setup
+    public void setUp() throws IOException {
+        Fixtures.quietLogging();
+        directory = Files.createTempDirectory("ccrm-csv-bench");
+        importFile = directory.resolve("import.csv").toString();
+        exportFile = directory.resolve("export.csv").toString();
+        rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(i % 10 == 9 ? Fixtures.course(i) : Fixtures.student(i));
+        }
+        service.exportToFile(rows, importFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("import.csv"));
+        Files.deleteIfExists(directory.resolve("export.csv"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<Object> importFromFile() {
+        return service.importFromFile(importFile);
+    }
+
+    @Benchmark
+    public void exportToFile() {
+        service.exportToFile(rows, exportFile);
+    }
+}
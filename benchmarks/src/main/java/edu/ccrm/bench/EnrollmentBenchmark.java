@@ -0,0 +1,67 @@
+package edu.ccrm.bench;
+
+import edu.ccrm.cli.AppServices;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.DuplicateEnrollmentException;
+import edu.ccrm.domain.MaxCreditLimitExceededException;
+import edu.ccrm.domain.Student;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code EnrollmentService.enrollStudent} with {@code size} students already enrolled.
+ *
+ * Each operation adds a fifth course to a student's 12-credit load and removes it again, so the
+ * data set stays the same size however many operations run; the score covers both calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EnrollmentBenchmark {
+    private static final int PICKS = 4096;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private AppServices services;
+    private Student[] students;
+    private Course[] extraCourses;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        services = Fixtures.services();
+        List<Course> catalog = Fixtures.addCourses(services, Fixtures.CATALOG_SIZE);
+        List<Student> all = Fixtures.addStudents(services, size);
+        int[] semesters = Fixtures.enrollAll(services, all, catalog, false);
+        int[] indexes = Fixtures.randomIndexes(size, PICKS);
+        students = new Student[PICKS];
+        extraCourses = new Course[PICKS];
+        for (int i = 0; i < PICKS; i++) {
+            students[i] = all.get(indexes[i]);
+            // Course n < 3 runs in semester n and is in nobody's load
+            extraCourses[i] = catalog.get(semesters[indexes[i]]);
+        }
+    }
+
+    @Benchmark
+    public void enrollStudent() throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        int pick = next++ & (PICKS - 1);
+        services.enrollments().enrollStudent(students[pick], extraCourses[pick]);
+        services.enrollments().unenrollStudent(students[pick], extraCourses[pick]);
+    }
+}
@@ -0,0 +1,133 @@
+package edu.ccrm.bench;
+
+import edu.ccrm.cli.AppServices;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.DuplicateEnrollmentException;
+import edu.ccrm.domain.MaxCreditLimitExceededException;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Deterministic data sets for the benchmarks, built through the same services the application uses.
+ *
+ * Course {@code i} runs in semester {@code i % 3}; the first three courses are kept out of every
+ * student's load so each student has a free course to enroll in for each semester.
+ */
+final class Fixtures {
+    static final int CATALOG_SIZE = 300;
+    static final int COURSES_PER_STUDENT = 4;
+    static final String[] KEYWORDS = {"algorithms", "systems", "data", "theory", "networks", "design", "compilers", "security"};
+
+    private static final Semester[] SEMESTERS = Semester.values();
+
+    private Fixtures() {
+    }
+
+    static AppServices services() {
+        quietLogging();
+        return new AppServices();
+    }
+
+    /** Rejected rows and failed checks log warnings that would swamp the benchmark output */
+    static void quietLogging() {
+        Logger.getLogger("edu.ccrm").setLevel(Level.SEVERE);
+    }
+
+    static String regNo(int index) {
+        return String.format("BM%06d", index);
+    }
+
+    /** Four letters and four digits, unique for the first 26^4 * 10^4 indexes */
+    static String courseCode(int index) {
+        char[] letters = new char[4];
+        int prefix = index / 10_000;
+        for (int i = letters.length - 1; i >= 0; i--) {
+            letters[i] = (char) ('A' + prefix % 26);
+            prefix /= 26;
+        }
+        return new String(letters) + String.format("%04d", index % 10_000);
+    }
+
+    static Semester semesterOf(int courseIndex) {
+        return SEMESTERS[courseIndex % SEMESTERS.length];
+    }
+
+    static Course course(int index) {
+        String title = KEYWORDS[index % KEYWORDS.length] + " " + KEYWORDS[(index / KEYWORDS.length) % KEYWORDS.length]
+            + " " + index;
+        return new Course(courseCode(index), title, 3, null, semesterOf(index), "Dept" + index % 50);
+    }
+
+    static Student student(int index) {
+        return new Student("B" + index, regNo(index), "Student " + index, "student" + index + "@example.edu");
+    }
+
+    static List<Course> addCourses(AppServices services, int count) {
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Course course = course(i);
+            services.courses().addCourse(course);
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    static List<Student> addStudents(AppServices services, int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Student student = student(i);
+            services.students().addStudent(student);
+            students.add(student);
+        }
+        return students;
+    }
+
+    /**
+     * Enrolls every student in {@link #COURSES_PER_STUDENT} courses of one semester from the catalog,
+     * optionally with marks, and returns the semester index chosen for each student
+     */
+    static int[] enrollAll(AppServices services, List<Student> students, List<Course> catalog, boolean withMarks) {
+        SplittableRandom random = new SplittableRandom(42);
+        int perSemester = catalog.size() / SEMESTERS.length;
+        int[] semesters = new int[students.size()];
+        for (int s = 0; s < students.size(); s++) {
+            Student student = students.get(s);
+            int semester = random.nextInt(SEMESTERS.length);
+            List<Course> load = new ArrayList<>(COURSES_PER_STUDENT);
+            while (load.size() < COURSES_PER_STUDENT) {
+                // Skips the first course of each semester, which stays free for enrollStudent
+                Course course = catalog.get(semester + SEMESTERS.length * (1 + random.nextInt(perSemester - 1)));
+                if (!load.contains(course)) {
+                    load.add(course);
+                }
+            }
+            try {
+                services.enrollments().enrollStudentInAll(student, load);
+            } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException e) {
+                throw new IllegalStateException("Could not enroll " + student.getRegNo(), e);
+            }
+            if (withMarks) {
+                for (Course course : load) {
+                    services.enrollments().recordMarks(student, course, 40 + random.nextInt(61));
+                }
+            }
+            semesters[s] = semester;
+        }
+        return semesters;
+    }
+
+    /** A shuffled cycle of indexes below {@code size}, so lookups do not walk memory in insertion order */
+    static int[] randomIndexes(int size, int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] indexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+        return indexes;
+    }
+}
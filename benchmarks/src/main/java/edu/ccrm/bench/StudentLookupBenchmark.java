@@ -0,0 +1,52 @@
+package edu.ccrm.bench;
+
+import edu.ccrm.cli.AppServices;
+import edu.ccrm.domain.Student;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code StudentService.getStudentByRegNo} against a roster of {@code size} students
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StudentLookupBenchmark {
+    private static final int KEYS = 4096;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private AppServices services;
+    private String[] regNos;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        services = Fixtures.services();
+        Fixtures.addStudents(services, size);
+        int[] indexes = Fixtures.randomIndexes(size, KEYS);
+        regNos = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            regNos[i] = Fixtures.regNo(indexes[i]);
+        }
+    }
+
+    @Benchmark
+    public Student getStudentByRegNo() {
+        return services.students().getStudentByRegNo(regNos[next++ & (KEYS - 1)]);
+    }
+}
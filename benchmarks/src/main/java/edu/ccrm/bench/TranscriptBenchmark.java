@@ -0,0 +1,59 @@
+package edu.ccrm.bench;
+
+import edu.ccrm.cli.AppServices;
+import edu.ccrm.domain.Student;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GPA and transcript generation for random students out of {@code size}, each with four graded courses
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TranscriptBenchmark {
+    private static final int PICKS = 4096;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private AppServices services;
+    private Student[] students;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        services = Fixtures.services();
+        List<Student> all = Fixtures.addStudents(services, size);
+        Fixtures.enrollAll(services, all, Fixtures.addCourses(services, Fixtures.CATALOG_SIZE), true);
+        int[] indexes = Fixtures.randomIndexes(size, PICKS);
+        students = new Student[PICKS];
+        for (int i = 0; i < PICKS; i++) {
+            students[i] = all.get(indexes[i]);
+        }
+    }
+
+    @Benchmark
+    public double computeGPA() {
+        return services.transcripts().computeGPA(students[next++ & (PICKS - 1)]);
+    }
+
+    @Benchmark
+    public String generateTranscript() {
+        return services.transcripts().generateTranscript(students[next++ & (PICKS - 1)]);
+    }
+}
@@ -0,0 +1,84 @@
+package edu.ccrm.bench;
+
+import edu.ccrm.util.Validator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Validator} format checks on CSV-like field values, one in eight of them malformed,
+ * next to the regular expressions the checks replaced
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+    private static final int KEYS = 4096;
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    private static final Pattern REG_NO_PATTERN = Pattern.compile("^[A-Z]{2,3}\\d{6}$");
+    private static final Pattern COURSE_CODE_PATTERN = Pattern.compile("^[A-Z]{2,4}\\d{3,4}$");
+
+    private String[] emails;
+    private String[] regNos;
+    private String[] courseCodes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        emails = new String[KEYS];
+        regNos = new String[KEYS];
+        courseCodes = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            int index = random.nextInt(1_000_000);
+            boolean malformed = random.nextInt(8) == 0;
+            emails[i] = Fixtures.student(index).getEmail() + (malformed ? ".c" : "");
+            regNos[i] = malformed ? Fixtures.regNo(index).toLowerCase() : Fixtures.regNo(index);
+            courseCodes[i] = " " + Fixtures.courseCode(index) + (malformed ? "X" : "");
+        }
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return Validator.isValidEmail(emails[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return EMAIL_PATTERN.matcher(emails[next++ & (KEYS - 1)].trim()).matches();
+    }
+
+    @Benchmark
+    public boolean isValidRegNo() {
+        return Validator.isValidRegNo(regNos[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public boolean regNoRegex() {
+        return REG_NO_PATTERN.matcher(regNos[next++ & (KEYS - 1)].trim()).matches();
+    }
+
+    @Benchmark
+    public boolean isValidCourseCode() {
+        return Validator.isValidCourseCode(courseCodes[next++ & (KEYS - 1)]);
+    }
+
+    @Benchmark
+    public boolean courseCodeRegex() {
+        return COURSE_CODE_PATTERN.matcher(courseCodes[next++ & (KEYS - 1)].trim()).matches();
+    }
+}
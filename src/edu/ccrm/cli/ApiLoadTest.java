@@ -0,0 +1,194 @@
+package edu.ccrm.cli;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.DuplicateEnrollmentException;
+import edu.ccrm.domain.MaxCreditLimitExceededException;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Drives the HTTP API at a fixed request rate and reports latency percentiles.
+ *
+ * Usage: {@code java edu.ccrm.cli.ApiLoadTest [requestsPerSecond] [seconds] [connections]}
+ * (defaults 3000, 10 and 32). An in-process server is seeded with 5000 students and 400
+ * courses, then each client thread sends its share of a read-mostly mix over keep-alive
+ * connections: 60% student lookups, 20% keyword searches, 10% transcripts, 10% course lookups.
+ * Latency is measured from when a request was due rather than when it was sent, so a server
+ * that falls behind shows up in the percentiles instead of silently lowering the rate.
+ */
+public final class ApiLoadTest {
+
+    private static final int STUDENTS = 5000;
+    private static final int COURSES = 400;
+    private static final int COURSES_PER_STUDENT = 4;
+    private static final int WARMUP_SECONDS = 3;
+    private static final String[] KEYWORDS = {"algorithms", "systems", "data", "theory", "networks", "design"};
+
+    private ApiLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rate = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+        Logger.getLogger("edu.ccrm").setLevel(Level.SEVERE);
+
+        AppServices services = new AppServices();
+        seed(services);
+        try (ApiServer server = new ApiServer(services, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            server.start();
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+            String base = "http://127.0.0.1:" + server.getPort();
+
+            run(client, base, rate, WARMUP_SECONDS, connections);
+            Result result = run(client, base, rate, seconds, connections);
+
+            long[] latencies = result.latencies;
+            Arrays.sort(latencies);
+            System.out.printf("%d requests in %.1f s over %d connections (target %d req/s)%n",
+                latencies.length, result.elapsedNanos / 1e9, connections, rate);
+            System.out.printf("throughput %.0f req/s, %d errors%n",
+                latencies.length / (result.elapsedNanos / 1e9), result.errors);
+            System.out.printf("latency ms: p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1e6);
+        }
+    }
+
+    private static Result run(HttpClient client, String base, int rate, int seconds, int connections)
+        throws InterruptedException {
+        long intervalNanos = 1_000_000_000L * connections / rate;
+        int perThread = (int) ((long) rate * seconds / connections);
+        long[][] latencies = new long[connections][perThread];
+        AtomicLong errors = new AtomicLong();
+        Thread[] threads = new Thread[connections];
+        long start = System.nanoTime();
+        for (int t = 0; t < connections; t++) {
+            int thread = t;
+            // Stagger the threads so their requests interleave instead of arriving in bursts
+            long first = start + intervalNanos * t / connections;
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(thread);
+                for (int i = 0; i < perThread; i++) {
+                    long due = first + i * intervalNanos;
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(base + nextPath(random)))
+                        .timeout(Duration.ofSeconds(10))
+                        .GET()
+                        .build();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[thread][i] = System.nanoTime() - due;
+                }
+            }, "load-" + t);
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(Arrays.stream(latencies).flatMapToLong(Arrays::stream).toArray(), errors.get(), elapsed);
+    }
+
+    private static String nextPath(SplittableRandom random) {
+        int pick = random.nextInt(100);
+        if (pick < 60) {
+            return "/students/" + regNo(random.nextInt(STUDENTS));
+        }
+        if (pick < 80) {
+            return "/courses/search?q=" + KEYWORDS[random.nextInt(KEYWORDS.length)] + "&limit=10";
+        }
+        if (pick < 90) {
+            return "/students/" + regNo(random.nextInt(STUDENTS)) + "/transcript";
+        }
+        return "/courses/" + courseCode(random.nextInt(COURSES));
+    }
+
+    private static void seed(AppServices services) {
+        SplittableRandom random = new SplittableRandom(42);
+        Semester[] semesters = Semester.values();
+        for (int c = 0; c < COURSES; c++) {
+            String title = KEYWORDS[c % KEYWORDS.length] + " " + KEYWORDS[(c / KEYWORDS.length) % KEYWORDS.length] + " " + c;
+            services.courses().addCourse(new Course(courseCode(c), title, 3, null, semesters[c % semesters.length],
+                "Dept" + c % 12));
+        }
+        for (int s = 0; s < STUDENTS; s++) {
+            Student student = new Student("L" + s, regNo(s), "Student " + s, "student" + s + "@example.edu");
+            services.students().addStudent(student);
+            // Course indexes congruent modulo the semester count share a semester, which keeps
+            // the load within one term and above the minimum credits
+            int semester = random.nextInt(semesters.length);
+            List<Course> load = new ArrayList<>();
+            while (load.size() < COURSES_PER_STUDENT) {
+                Course course = services.courses().getCourseByCode(
+                    courseCode(semester + semesters.length * random.nextInt(COURSES / semesters.length)));
+                if (!load.contains(course)) {
+                    load.add(course);
+                }
+            }
+            try {
+                services.enrollments().enrollStudentInAll(student, load);
+            } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException e) {
+                throw new IllegalStateException("Could not seed " + student.getRegNo(), e);
+            }
+            for (Course course : load) {
+                services.enrollments().recordMarks(student, course, 40 + random.nextInt(61));
+            }
+        }
+    }
+
+    private static String regNo(int index) {
+        return String.format("LT%06d", index);
+    }
+
+    private static String courseCode(int index) {
+        return String.format("LT%04d", index);
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class Result {
+        final long[] latencies;
+        final long errors;
+        final long elapsedNanos;
+
+        Result(long[] latencies, long errors, long elapsedNanos) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+}
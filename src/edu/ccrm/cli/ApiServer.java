@@ -0,0 +1,563 @@
+package edu.ccrm.cli;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.ccrm.config.AppConfig;
+import edu.ccrm.config.AppSettings;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseFullException;
+import edu.ccrm.domain.DuplicateEnrollmentException;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.InvalidCourseCreditsException;
+import edu.ccrm.domain.InvalidRegistrationNumberException;
+import edu.ccrm.domain.InvalidSemesterException;
+import edu.ccrm.domain.MaxCreditLimitExceededException;
+import edu.ccrm.domain.PrerequisiteNotMetException;
+import edu.ccrm.domain.ScheduleConflictException;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.Json;
+import edu.ccrm.util.TaskExecutors;
+import edu.ccrm.util.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Embedded HTTP/JSON front end over one {@link AppServices} instance.
+ *
+ * <pre>
+ * GET    /students                          GET  /courses
+ * GET    /students/{regNo}                  GET  /courses/{code}
+ * GET    /students/{regNo}/enrollments      GET  /courses/search?q=..&amp;limit=..
+ * GET    /students/{regNo}/transcript       POST /courses      {code,title,credits,department[,semester]}
+ * POST   /students   {id,regNo,fullName,email}
+ * POST   /enrollments {regNo,courseCode} or {regNo,courseCodes:[..]}
+ * DELETE /enrollments/{regNo}/{courseCode}
+ * POST   /marks       {regNo,courseCode,marks}
+ * </pre>
+ *
+ * Requests run on virtual threads where the runtime has them, otherwise on a pool of
+ * {@code serverThreads} platform threads that follows config reloads. Connections are kept
+ * alive between requests, responses always carry a Content-Length, and request bodies over
+ * {@link #MAX_BODY_BYTES} are refused with 413. The student and course services are not
+ * thread-safe, so reads share a lock that writes take exclusively.
+ */
+public final class ApiServer implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ApiServer.class.getName());
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int DEFAULT_LIST_LIMIT = 100;
+    private static final String JSON = "application/json; charset=utf-8";
+
+    static {
+        // Read once by the JDK server when its first instance is created
+        defaultProperty("sun.net.httpserver.idleInterval", "30");
+        // Headers and body go out as separate writes; without this Nagle holds the body back
+        // until the client's delayed ACK, adding ~40 ms to every keep-alive response
+        defaultProperty("sun.net.httpserver.nodelay", "true");
+        defaultProperty("sun.net.httpserver.maxIdleConnections", "1000");
+        defaultProperty("sun.net.httpserver.maxReqHeaders", "64");
+        defaultProperty("sun.net.httpserver.maxReqTime", "30");
+        defaultProperty("sun.net.httpserver.maxRspTime", "30");
+    }
+
+    private final AppServices services;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Consumer<AppSettings> resizer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ApiServer(AppServices services, InetSocketAddress address) throws IOException {
+        Validator.requireNonNull(services, "Services cannot be null");
+        this.services = services;
+        this.executor = TaskExecutors.newPerTaskExecutor("ccrm-http", AppConfig.getInstance().getSettings().getServerThreads());
+        this.resizer = settings -> TaskExecutors.resize(executor, settings.getServerThreads());
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        AppConfig.getInstance().addListener(resizer);
+        server.start();
+        LOGGER.info(String.format("API listening on port %d (%s)", getPort(),
+            TaskExecutors.isVirtualThreadsAvailable() ? "virtual threads" : "platform threads"));
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        AppConfig.getInstance().removeListener(resizer);
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int status;
+        Object body;
+        boolean close = false;
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = segments(exchange.getRequestURI().getRawPath());
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            boolean write = !method.equals("GET") && !method.equals("HEAD");
+            Map<String, Object> request = write ? readBody(exchange) : Map.of();
+            (write ? lock.writeLock() : lock.readLock()).lock();
+            try {
+                Reply reply = dispatch(method, path, query, request);
+                status = reply.status;
+                body = reply.body;
+            } finally {
+                (write ? lock.writeLock() : lock.readLock()).unlock();
+            }
+        } catch (ApiException e) {
+            status = e.status;
+            body = error(e);
+            // An oversized body is left unread, so the connection cannot carry another request
+            close = e.status == 413;
+        } catch (DuplicateEnrollmentException | CourseFullException | ScheduleConflictException e) {
+            status = 409;
+            body = error(e);
+        } catch (MaxCreditLimitExceededException | PrerequisiteNotMetException e) {
+            status = 422;
+            body = error(e);
+        } catch (IllegalArgumentException | InvalidRegistrationNumberException
+                 | InvalidCourseCreditsException | InvalidSemesterException e) {
+            status = 400;
+            body = error(e);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Request failed: " + exchange.getRequestURI(), e);
+            status = 500;
+            body = Map.of("error", "Internal server error", "type", e.getClass().getSimpleName());
+        }
+        send(exchange, status, body, close);
+    }
+
+    private Reply dispatch(String method, String[] path, Map<String, String> query, Map<String, Object> request)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        String resource = path.length > 0 ? path[0] : "";
+        switch (resource) {
+            case "students":
+                if (path.length == 1) {
+                    return method.equals("POST") ? addStudent(request) : get(method, listStudents(query));
+                }
+                Student student = student(path[1]);
+                if (path.length == 2) {
+                    return get(method, studentJson(student));
+                }
+                if (path.length == 3 && path[2].equals("enrollments")) {
+                    return get(method, enrollments(student));
+                }
+                if (path.length == 3 && path[2].equals("transcript")) {
+                    return get(method, transcript(student));
+                }
+                break;
+            case "courses":
+                if (path.length == 1) {
+                    return method.equals("POST") ? addCourse(request) : get(method, listCourses(query));
+                }
+                if (path.length == 2 && path[1].equals("search")) {
+                    return get(method, searchCourses(query));
+                }
+                if (path.length == 2) {
+                    return get(method, courseJson(course(path[1])));
+                }
+                break;
+            case "enrollments":
+                if (path.length == 1) {
+                    requireMethod(method, "POST");
+                    return enroll(request);
+                }
+                if (path.length == 3) {
+                    requireMethod(method, "DELETE");
+                    return unenroll(student(path[1]), course(path[2]));
+                }
+                break;
+            case "marks":
+                if (path.length == 1) {
+                    requireMethod(method, "POST");
+                    return recordMarks(request);
+                }
+                break;
+            default:
+                break;
+        }
+        throw new ApiException(404, "No such resource");
+    }
+
+    private Reply addStudent(Map<String, Object> request) {
+        String regNo = text(request, "regNo");
+        String email = text(request, "email");
+        if (!Validator.isValidRegNo(regNo)) {
+            throw new IllegalArgumentException("Invalid regNo format: " + regNo);
+        }
+        if (!Validator.isValidEmail(email)) {
+            throw new IllegalArgumentException("Invalid email format: " + email);
+        }
+        if (services.students().getStudentByRegNo(regNo) != null) {
+            throw new ApiException(409, "Student already exists: " + regNo);
+        }
+        Student student = new Student(text(request, "id"), regNo, text(request, "fullName"), email);
+        services.students().addStudent(student);
+        return new Reply(201, studentJson(student));
+    }
+
+    private Reply addCourse(Map<String, Object> request) {
+        String code = text(request, "code");
+        if (!Validator.isValidCourseCode(code)) {
+            throw new IllegalArgumentException("Invalid course code format: " + code);
+        }
+        if (services.courses().getCourseByCode(code) != null) {
+            throw new ApiException(409, "Course already exists: " + code);
+        }
+        Object semesterName = request.get("semester");
+        Semester semester = semesterName == null ? null : Semester.valueOf(semesterName.toString().toUpperCase(Locale.ROOT));
+        Course course = new Course(code, text(request, "title"), (int) number(request, "credits"), null, semester,
+            text(request, "department"));
+        services.courses().addCourse(course);
+        return new Reply(201, courseJson(course));
+    }
+
+    private Reply enroll(Map<String, Object> request)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        Student student = student(text(request, "regNo"));
+        if (!request.containsKey("courseCodes")) {
+            Course course = course(text(request, "courseCode"));
+            services.enrollments().enrollStudent(student, course);
+            return new Reply(201, enrollmentJson(enrollmentOf(student, course)));
+        }
+        // A semester's first courses usually have to be taken together to reach the minimum credits
+        if (!(request.get("courseCodes") instanceof List) || ((List<?>) request.get("courseCodes")).isEmpty()) {
+            throw new IllegalArgumentException("Field 'courseCodes' must be a non-empty array");
+        }
+        List<Course> courses = new ArrayList<>();
+        for (Object code : (List<?>) request.get("courseCodes")) {
+            courses.add(course(String.valueOf(code)));
+        }
+        services.enrollments().enrollStudentInAll(student, courses);
+        List<Object> result = new ArrayList<>();
+        for (Course course : courses) {
+            result.add(enrollmentJson(enrollmentOf(student, course)));
+        }
+        return new Reply(201, result);
+    }
+
+    private Reply unenroll(Student student, Course course) {
+        enrollmentOf(student, course);
+        services.enrollments().unenrollStudent(student, course);
+        return new Reply(204, null);
+    }
+
+    private Reply recordMarks(Map<String, Object> request) {
+        Student student = student(text(request, "regNo"));
+        Course course = course(text(request, "courseCode"));
+        long marks = number(request, "marks");
+        if (marks < 0 || marks > 100) {
+            throw new IllegalArgumentException("Marks must be between 0 and 100: " + marks);
+        }
+        Enrollment enrollment = enrollmentOf(student, course);
+        services.enrollments().recordMarks(student, course, (int) marks);
+        return new Reply(200, enrollmentJson(enrollment));
+    }
+
+    private List<Object> listStudents(Map<String, String> query) {
+        List<Student> students = services.students().listStudents();
+        List<Object> result = new ArrayList<>();
+        for (Student student : page(students, query)) {
+            result.add(studentJson(student));
+        }
+        return result;
+    }
+
+    private List<Object> listCourses(Map<String, String> query) {
+        List<Course> courses = services.courses().listCourses();
+        List<Object> result = new ArrayList<>();
+        for (Course course : page(courses, query)) {
+            result.add(courseJson(course));
+        }
+        return result;
+    }
+
+    private List<Object> searchCourses(Map<String, String> query) {
+        String text = query.get("q");
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Query parameter q is required");
+        }
+        List<Object> result = new ArrayList<>();
+        for (Course course : services.courses().searchByKeywords(text, limit(query))) {
+            result.add(courseJson(course));
+        }
+        return result;
+    }
+
+    private List<Object> enrollments(Student student) {
+        List<Object> result = new ArrayList<>();
+        for (Enrollment enrollment : services.enrollments().getEnrollmentsByStudent(student)) {
+            result.add(enrollmentJson(enrollment));
+        }
+        return result;
+    }
+
+    private Map<String, Object> transcript(Student student) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("regNo", student.getRegNo());
+        json.put("gpa", services.transcripts().computeGPA(student));
+        json.put("enrollments", enrollments(student));
+        json.put("text", services.transcripts().generateTranscript(student));
+        return json;
+    }
+
+    private static Map<String, Object> studentJson(Student student) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", student.getId());
+        json.put("regNo", student.getRegNo());
+        json.put("fullName", student.getFullName());
+        json.put("email", student.getEmail());
+        json.put("active", student.isActive());
+        json.put("gpa", student.getGpa());
+        json.put("enrolledCourses", student.getEnrolledCourses());
+        return json;
+    }
+
+    private Map<String, Object> courseJson(Course course) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("code", course.getCode());
+        json.put("title", course.getTitle());
+        json.put("credits", course.getCredits());
+        json.put("department", course.getDepartment());
+        json.put("semester", course.getSemester() == null ? null : course.getSemester().name());
+        json.put("instructor", course.getInstructor() == null ? null : course.getInstructor().getId());
+        json.put("capacity", course.getCapacity());
+        json.put("seatsAvailable", course.getCapacity() == Course.UNLIMITED_CAPACITY
+            ? null : services.enrollments().getSeatsAvailable(course));
+        json.put("active", course.isActive());
+        return json;
+    }
+
+    private static Map<String, Object> enrollmentJson(Enrollment enrollment) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("regNo", enrollment.getStudent().getRegNo());
+        json.put("courseCode", enrollment.getCourse().getCode());
+        json.put("enrollmentDate", enrollment.getEnrollmentDate());
+        json.put("marks", enrollment.getMarks() < 0 ? null : enrollment.getMarks());
+        json.put("grade", enrollment.getGrade() == null ? null : enrollment.getGrade().name());
+        return json;
+    }
+
+    private Student student(String regNo) {
+        Student student = services.students().getStudentByRegNo(regNo);
+        if (student == null) {
+            throw new ApiException(404, "Unknown student: " + regNo);
+        }
+        return student;
+    }
+
+    private Course course(String code) {
+        Course course = services.courses().getCourseByCode(code);
+        if (course == null) {
+            throw new ApiException(404, "Unknown course: " + code);
+        }
+        return course;
+    }
+
+    private Enrollment enrollmentOf(Student student, Course course) {
+        for (Enrollment enrollment : services.enrollments().getEnrollmentsByStudent(student)) {
+            if (enrollment.getCourse().equals(course)) {
+                return enrollment;
+            }
+        }
+        throw new ApiException(404, student.getRegNo() + " is not enrolled in " + course.getCode());
+    }
+
+    private static <T> List<T> page(List<T> items, Map<String, String> query) {
+        int offset = query.containsKey("offset") ? parseInt(query.get("offset"), "offset") : 0;
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        int from = Math.min(offset, items.size());
+        return items.subList(from, Math.min(items.size(), from + limit(query)));
+    }
+
+    private static int limit(Map<String, String> query) {
+        int limit = query.containsKey("limit") ? parseInt(query.get("limit"), "limit") : DEFAULT_LIST_LIMIT;
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return limit;
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer: " + value);
+        }
+    }
+
+    private static Reply get(String method, Object body) {
+        requireMethod(method.equals("HEAD") ? "GET" : method, "GET");
+        return new Reply(200, body);
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new ApiException(405, "Method " + method + " not allowed; use " + expected);
+        }
+    }
+
+    private static String text(Map<String, Object> request, String field) {
+        Object value = request.get(field);
+        if (!(value instanceof String) || ((String) value).isBlank()) {
+            throw new IllegalArgumentException("Field '" + field + "' must be a non-blank string");
+        }
+        return ((String) value).trim();
+    }
+
+    private static long number(Map<String, Object> request, String field) {
+        Object value = request.get(field);
+        if (!(value instanceof Long)) {
+            throw new IllegalArgumentException("Field '" + field + "' must be an integer");
+        }
+        return (Long) value;
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null) {
+            try {
+                if (Long.parseLong(length.trim()) > MAX_BODY_BYTES) {
+                    throw new ApiException(413, "Request body exceeds " + MAX_BODY_BYTES + " bytes");
+                }
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "Invalid Content-Length");
+            }
+        }
+        byte[] bytes;
+        try (InputStream in = exchange.getRequestBody()) {
+            // Chunked bodies carry no length up front, so read one byte past the limit to detect them
+            bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw new ApiException(413, "Request body exceeds " + MAX_BODY_BYTES + " bytes");
+        }
+        if (bytes.length == 0) {
+            return Map.of();
+        }
+        return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body, boolean close) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        if (close) {
+            headers.set("Connection", "close");
+        }
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        headers.set("Content-Type", JSON);
+        boolean head = exchange.getRequestMethod().equals("HEAD");
+        exchange.sendResponseHeaders(status, head ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (!head) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static Map<String, Object> error(Exception e) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("error", e.getMessage());
+        json.put("type", e instanceof ApiException ? ((ApiException) e).type() : e.getClass().getSimpleName());
+        return json;
+    }
+
+    private static String[] segments(String rawPath) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : rawPath.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    private static void defaultProperty(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    private static final class Reply {
+        final int status;
+        final Object body;
+
+        Reply(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private static final class ApiException extends RuntimeException {
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        String type() {
+            switch (status) {
+                case 400: return "BadRequest";
+                case 404: return "NotFound";
+                case 405: return "MethodNotAllowed";
+                case 409: return "Conflict";
+                case 413: return "PayloadTooLarge";
+                default: return "Error";
+            }
+        }
+    }
+}
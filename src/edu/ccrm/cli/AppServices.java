@@ -0,0 +1,126 @@
+package edu.ccrm.cli;
+
+import edu.ccrm.config.AppConfig;
+import edu.ccrm.io.BackupService;
+import edu.ccrm.io.ImportExportService;
+import edu.ccrm.io.InstructorImportExportService;
+import edu.ccrm.io.StudentCourseImportExportService;
+import edu.ccrm.service.AsyncCourseService;
+import edu.ccrm.service.AsyncCourseServiceImpl;
+import edu.ccrm.service.AsyncEnrollmentService;
+import edu.ccrm.service.AsyncEnrollmentServiceImpl;
+import edu.ccrm.service.AsyncStudentService;
+import edu.ccrm.service.AsyncStudentServiceImpl;
+import edu.ccrm.service.AsyncTranscriptService;
+import edu.ccrm.service.AsyncTranscriptServiceImpl;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.CourseServiceImpl;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.EnrollmentServiceImpl;
+import edu.ccrm.service.ExamSchedulingService;
+import edu.ccrm.service.ExamSchedulingServiceImpl;
+import edu.ccrm.service.HeapFootprint;
+import edu.ccrm.service.InstructorService;
+import edu.ccrm.service.InstructorServiceImpl;
+import edu.ccrm.service.MeteredCourseServiceImpl;
+import edu.ccrm.service.MeteredEnrollmentServiceImpl;
+import edu.ccrm.service.MeteredStudentServiceImpl;
+import edu.ccrm.service.MeteredTranscriptServiceImpl;
+import edu.ccrm.service.OffHeapCourseServiceImpl;
+import edu.ccrm.service.OffHeapStudentServiceImpl;
+import edu.ccrm.service.ScheduleReportService;
+import edu.ccrm.service.ScheduleReportServiceImpl;
+import edu.ccrm.service.StudentService;
+import edu.ccrm.service.StudentServiceImpl;
+import edu.ccrm.service.TranscriptService;
+import edu.ccrm.service.TranscriptServiceImpl;
+import edu.ccrm.util.PrerequisiteGraph;
+
+/**
+ * One wired set of services over a shared in-memory dataset, as used by every front end.
+ * Storage follows {@link AppConfig#isOffHeapStorage()}; the student, course, enrollment and
+ * transcript services record per-method timings in the shared metrics registry.
+ */
+public final class AppServices {
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final InstructorService instructorService;
+    private final PrerequisiteGraph prerequisites = new PrerequisiteGraph();
+    private final EnrollmentService enrollmentService;
+    private final EnrollmentService unmeteredEnrollments;
+    private final TranscriptService transcriptService;
+    private final ScheduleReportService scheduleReportService = new ScheduleReportServiceImpl();
+    private final ExamSchedulingService examSchedulingService;
+    private final ImportExportService<Object> importExportService = new StudentCourseImportExportService();
+    private final InstructorImportExportService instructorImportService = new InstructorImportExportService();
+    private final BackupService backupService = new BackupService();
+    private AsyncStudentService asyncStudentService;
+    private AsyncCourseService asyncCourseService;
+    private AsyncEnrollmentService asyncEnrollmentService;
+    private AsyncTranscriptService asyncTranscriptService;
+
+    public AppServices() {
+        boolean offHeap = AppConfig.getInstance().isOffHeapStorage();
+        studentService = new MeteredStudentServiceImpl(offHeap ? new OffHeapStudentServiceImpl() : new StudentServiceImpl());
+        courseService = new MeteredCourseServiceImpl(offHeap ? new OffHeapCourseServiceImpl() : new CourseServiceImpl());
+        instructorService = new InstructorServiceImpl();
+        // Services built on top of enrollments use the bare implementation, so their own
+        // lookups are not counted as enrollment calls
+        EnrollmentService enrollments = new EnrollmentServiceImpl(prerequisites);
+        enrollmentService = new MeteredEnrollmentServiceImpl(enrollments);
+        unmeteredEnrollments = enrollments;
+        transcriptService = new MeteredTranscriptServiceImpl(new TranscriptServiceImpl(enrollments));
+        examSchedulingService = new ExamSchedulingServiceImpl(enrollments);
+    }
+
+    public StudentService students() { return studentService; }
+    public CourseService courses() { return courseService; }
+    public InstructorService instructors() { return instructorService; }
+    public PrerequisiteGraph prerequisites() { return prerequisites; }
+    public EnrollmentService enrollments() { return enrollmentService; }
+    public TranscriptService transcripts() { return transcriptService; }
+    public ScheduleReportService scheduleReports() { return scheduleReportService; }
+    public ExamSchedulingService examScheduling() { return examSchedulingService; }
+    public ImportExportService<Object> importExport() { return importExportService; }
+    public InstructorImportExportService instructorImport() { return instructorImportService; }
+    public BackupService backups() { return backupService; }
+
+    /**
+     * Estimates the heap held by the dataset and publishes it as the Heap.* gauges. Samples
+     * enrollments through the bare service, so the report does not show up in its timings.
+     * @return the footprint
+     */
+    public HeapFootprint measureHeap() {
+        return HeapFootprint.measure(studentService, courseService, instructorService, unmeteredEnrollments);
+    }
+
+    // Async views on the default executor, created on first use. Student and course calls are
+    // serialized by the views, so don't mix them with direct calls while futures are pending.
+    public synchronized AsyncStudentService asyncStudents() {
+        if (asyncStudentService == null) {
+            asyncStudentService = new AsyncStudentServiceImpl(studentService);
+        }
+        return asyncStudentService;
+    }
+
+    public synchronized AsyncCourseService asyncCourses() {
+        if (asyncCourseService == null) {
+            asyncCourseService = new AsyncCourseServiceImpl(courseService);
+        }
+        return asyncCourseService;
+    }
+
+    public synchronized AsyncEnrollmentService asyncEnrollments() {
+        if (asyncEnrollmentService == null) {
+            asyncEnrollmentService = new AsyncEnrollmentServiceImpl(enrollmentService);
+        }
+        return asyncEnrollmentService;
+    }
+
+    public synchronized AsyncTranscriptService asyncTranscripts() {
+        if (asyncTranscriptService == null) {
+            asyncTranscriptService = new AsyncTranscriptServiceImpl(transcriptService);
+        }
+        return asyncTranscriptService;
+    }
+}
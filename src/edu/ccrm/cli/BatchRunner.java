@@ -0,0 +1,386 @@
+package edu.ccrm.cli;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs CCRM operations from a script instead of the interactive menu.
+ *
+ * Usage: {@code java edu.ccrm.cli.Main --batch [script|-] [--fail-fast] [--verbose]}. The
+ * script is read from the file, or from standard input when it is {@code -} or omitted.
+ * Each line is {@code <command> <arguments>}, with comma-separated arguments in the same
+ * order as the test-data CSV files. Blank lines and {@code #} comments are ignored:
+ * <pre>
+ * add-student STU001,CS123456,John Doe,john.doe@university.edu
+ * add-course CS101,Introduction to Programming,3,,FALL,Computer Science
+ * enroll CS123456,CS101
+ * each record-marks test-data/grades.csv
+ * transcript CS123456
+ * </pre>
+ * {@code each <command> <file>} runs the command once per line of a CSV file; a first line
+ * without digits is taken as a header and skipped. A failing command is reported with its
+ * line number and the script carries on, unless --fail-fast is given.
+ *
+ * Output is collected in memory and written once at the end, followed by a summary of
+ * counts, failures and timings per command. Service warnings are not logged unless
+ * --verbose is given, since every failure is already in the report.
+ */
+public final class BatchRunner {
+
+    private static final Logger CCRM_LOGGER = Logger.getLogger("edu.ccrm");
+    private static final int READ_BUFFER = 1 << 16;
+
+    private final AppServices services;
+    private final boolean failFast;
+    private final StringBuilder output = new StringBuilder(1 << 16);
+    private final Map<String, Command> commands = new LinkedHashMap<>();
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private int failures;
+
+    @FunctionalInterface
+    private interface Command {
+        void run(String[] args) throws Exception;
+    }
+
+    private static final class Stats {
+        long count;
+        long failed;
+        long totalNanos;
+        long maxNanos;
+    }
+
+    public BatchRunner(AppServices services, boolean failFast) {
+        Validator.requireNonNull(services, "Services cannot be null");
+        this.services = services;
+        this.failFast = failFast;
+        register();
+    }
+
+    /**
+     * Entry point for {@code Main --batch}
+     * @param args the arguments after --batch
+     * @return the exit status: 0 if every command succeeded, 1 if some failed, 2 for bad usage
+     */
+    public static int run(String[] args) {
+        String script = "-";
+        boolean failFast = false;
+        boolean verbose = false;
+        for (String arg : args) {
+            if (arg.equals("--fail-fast")) {
+                failFast = true;
+            } else if (arg.equals("--verbose")) {
+                verbose = true;
+            } else if (arg.startsWith("--")) {
+                System.err.println("Unknown option: " + arg);
+                System.err.println("Usage: java edu.ccrm.cli.Main --batch [script|-] [--fail-fast] [--verbose]");
+                return 2;
+            } else {
+                script = arg;
+            }
+        }
+        if (!verbose) {
+            CCRM_LOGGER.setLevel(Level.SEVERE);
+        }
+        BatchRunner runner = new BatchRunner(new AppServices(), failFast);
+        long start = System.nanoTime();
+        try (BufferedReader reader = script.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), READ_BUFFER)
+                : open(Paths.get(script))) {
+            runner.execute(reader);
+        } catch (IOException e) {
+            runner.output.append("Cannot read ").append(script).append(": ").append(e.getMessage()).append('\n');
+            runner.failures++;
+        }
+        runner.appendSummary(System.nanoTime() - start);
+        PrintStream out = System.out;
+        out.print(runner.output);
+        out.flush();
+        return runner.failures == 0 ? 0 : 1;
+    }
+
+    /**
+     * Executes every line of a script
+     * @return false if a failure stopped the script early
+     */
+    public boolean execute(BufferedReader script) throws IOException {
+        int lineNumber = 0;
+        for (String line = script.readLine(); line != null; line = script.readLine()) {
+            lineNumber++;
+            String statement = stripComment(line);
+            if (statement.isEmpty()) {
+                continue;
+            }
+            int space = indexOfWhitespace(statement);
+            String name = (space < 0 ? statement : statement.substring(0, space)).toLowerCase(Locale.ROOT);
+            String arguments = space < 0 ? "" : statement.substring(space + 1).trim();
+            boolean ok = name.equals("each")
+                ? each(lineNumber, arguments)
+                : dispatch(name, arguments, "line " + lineNumber);
+            if (!ok && failFast) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getOutput() {
+        return output.toString();
+    }
+
+    public int getFailures() {
+        return failures;
+    }
+
+    // each <command> <file>: the command runs once per line of the file
+    private boolean each(int lineNumber, String arguments) {
+        int space = indexOfWhitespace(arguments);
+        if (space < 0) {
+            return fail("line " + lineNumber, "each " + arguments, "usage: each <command> <file>");
+        }
+        String name = arguments.substring(0, space).toLowerCase(Locale.ROOT);
+        Path file = Paths.get(arguments.substring(space + 1).trim());
+        if (!commands.containsKey(name)) {
+            return fail("line " + lineNumber, "each " + arguments, "unknown command " + name);
+        }
+        boolean allOk = true;
+        try (BufferedReader reader = open(file)) {
+            int row = 0;
+            boolean first = true;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                row++;
+                String record = stripComment(line);
+                if (record.isEmpty()) {
+                    continue;
+                }
+                if (first && record.chars().noneMatch(Character::isDigit)) {
+                    first = false;
+                    continue;
+                }
+                first = false;
+                boolean ok = dispatch(name, record, file + ":" + row);
+                allOk &= ok;
+                if (!ok && failFast) {
+                    return false;
+                }
+            }
+        } catch (IOException e) {
+            return fail("line " + lineNumber, "each " + arguments, "cannot read " + file + ": " + e.getMessage());
+        }
+        return allOk;
+    }
+
+    private boolean dispatch(String name, String arguments, String location) {
+        Command command = commands.get(name);
+        if (command == null) {
+            return fail(location, name + " " + arguments, "unknown command");
+        }
+        String[] args = arguments.isEmpty() ? new String[0] : arguments.split(",", -1);
+        for (int i = 0; i < args.length; i++) {
+            args[i] = args[i].trim();
+        }
+        Stats entry = stats.computeIfAbsent(name, key -> new Stats());
+        long start = System.nanoTime();
+        boolean ok;
+        String error = null;
+        try {
+            command.run(args);
+            ok = true;
+        } catch (Exception e) {
+            ok = false;
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        long elapsed = System.nanoTime() - start;
+        entry.count++;
+        entry.totalNanos += elapsed;
+        entry.maxNanos = Math.max(entry.maxNanos, elapsed);
+        if (!ok) {
+            entry.failed++;
+            fail(location, name + " " + arguments, error);
+        }
+        return ok;
+    }
+
+    private boolean fail(String location, String statement, String error) {
+        failures++;
+        output.append(location).append(": ").append(statement).append(" -> ").append(error).append('\n');
+        return false;
+    }
+
+    private void register() {
+        commands.put("add-student", args -> {
+            expect(args, 4, "id,regNo,fullName,email");
+            if (!Validator.isValidRegNo(args[1])) {
+                throw new IllegalArgumentException("Invalid regNo format: " + args[1]);
+            }
+            if (!Validator.isValidEmail(args[3])) {
+                throw new IllegalArgumentException("Invalid email format: " + args[3]);
+            }
+            services.students().addStudent(new Student(args[0], args[1], args[2], args[3]));
+        });
+        commands.put("add-course", args -> {
+            // code,title,credits,department as in the menu, or the six courses.csv columns
+            if (args.length == 4) {
+                services.courses().addCourse(new Course(args[0], args[1], Integer.parseInt(args[2]), null, null, args[3]));
+                return;
+            }
+            expect(args, 6, "code,title,credits,instructor,semester,department");
+            Semester semester = args[4].isEmpty() ? null : Semester.valueOf(args[4].toUpperCase(Locale.ROOT));
+            services.courses().addCourse(new Course(args[0], args[1], Integer.parseInt(args[2]), null, semester, args[5]));
+            if (!args[3].isEmpty() && services.instructors().getInstructorById(args[3]) != null) {
+                services.instructors().assignCourse(args[3], course(args[0]));
+            }
+        });
+        commands.put("add-instructor", args -> {
+            expect(args, 4, "id,fullName,email,department");
+            if (!Validator.isValidEmail(args[2])) {
+                throw new IllegalArgumentException("Invalid email format: " + args[2]);
+            }
+            services.instructors().addInstructor(new Instructor(args[0], args[1], args[2], args[3]));
+        });
+        commands.put("assign-course", args -> {
+            // course-assignments.csv adds a semester column, which the course already defines
+            expectAtLeast(args, 2, "instructorId,courseCode");
+            services.instructors().assignCourse(args[0], course(args[1]));
+        });
+        commands.put("add-prerequisite", args -> {
+            expect(args, 2, "courseCode,prerequisiteCode");
+            services.prerequisites().addPrerequisite(args[0], args[1]);
+        });
+        commands.put("set-capacity", args -> {
+            expect(args, 2, "courseCode,capacity");
+            Course course = course(args[0]);
+            course.setCapacity(Integer.parseInt(args[1]));
+            services.courses().updateCourse(course);
+            services.enrollments().promoteFromWaitlist(course);
+        });
+        commands.put("enroll", args -> {
+            // enrollments.csv adds a semester column, which the course already defines
+            expectAtLeast(args, 2, "regNo,courseCode");
+            services.enrollments().enrollStudent(student(args[0]), course(args[1]));
+        });
+        commands.put("unenroll", args -> {
+            expect(args, 2, "regNo,courseCode");
+            services.enrollments().unenrollStudent(student(args[0]), course(args[1]));
+        });
+        commands.put("record-marks", args -> {
+            expect(args, 3, "regNo,courseCode,marks");
+            services.enrollments().recordMarks(student(args[0]), course(args[1]), Integer.parseInt(args[2]));
+        });
+        commands.put("transcript", args -> {
+            expect(args, 1, "regNo");
+            Student student = student(args[0]);
+            output.append(services.transcripts().generateTranscript(student)).append('\n')
+                .append("GPA: ").append(services.transcripts().computeGPA(student)).append('\n');
+        });
+        commands.put("list-students", args -> services.students().listStudents()
+            .forEach(student -> output.append(student).append('\n')));
+        commands.put("list-courses", args -> services.courses().listCourses()
+            .forEach(course -> output.append(course).append('\n')));
+        commands.put("import", args -> {
+            expect(args, 1, "file");
+            for (Object imported : services.importExport().importFromFile(args[0])) {
+                if (imported instanceof Student) {
+                    services.students().addStudent((Student) imported);
+                } else if (imported instanceof Course) {
+                    services.courses().addCourse((Course) imported);
+                }
+            }
+        });
+        commands.put("export", args -> {
+            expect(args, 1, "file");
+            List<Object> data = new ArrayList<>(services.students().listStudents());
+            data.addAll(services.courses().listCourses());
+            services.importExport().exportToFile(data, args[0]);
+        });
+        commands.put("backup", args -> {
+            expect(args, 2, "sourceDir,backupRootDir");
+            services.backups().backupData(args[0], args[1]);
+        });
+    }
+
+    private Student student(String regNo) {
+        Student student = services.students().getStudentByRegNo(regNo);
+        if (student == null) {
+            throw new IllegalArgumentException("Unknown student: " + regNo);
+        }
+        return student;
+    }
+
+    private Course course(String code) {
+        Course course = services.courses().getCourseByCode(code);
+        if (course == null) {
+            throw new IllegalArgumentException("Unknown course: " + code);
+        }
+        return course;
+    }
+
+    private static void expect(String[] args, int count, String format) {
+        if (args.length != count) {
+            throw new IllegalArgumentException("expected " + format);
+        }
+    }
+
+    private static void expectAtLeast(String[] args, int count, String format) {
+        if (args.length < count) {
+            throw new IllegalArgumentException("expected " + format);
+        }
+    }
+
+    private void appendSummary(long elapsedNanos) {
+        long total = 0;
+        for (Stats entry : stats.values()) {
+            total += entry.count;
+        }
+        output.append(String.format("%n=== Batch summary: %d commands, %d failed, %.1f ms ===%n",
+            total, failures, elapsedNanos / 1e6));
+        output.append(String.format("%-18s %10s %8s %12s %10s %10s%n", "command", "count", "failed", "total ms", "mean us", "max us"));
+        stats.forEach((name, entry) -> output.append(String.format("%-18s %10d %8d %12.1f %10.1f %10.1f%n",
+            name, entry.count, entry.failed, entry.totalNanos / 1e6,
+            entry.totalNanos / 1e3 / entry.count, entry.maxNanos / 1e3)));
+    }
+
+    private static BufferedReader open(Path file) throws IOException {
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), READ_BUFFER);
+    }
+
+    // Drops a whole-line comment, or one after whitespace at the end of the line
+    private static String stripComment(String line) {
+        String trimmed = line.trim();
+        if (trimmed.startsWith("#")) {
+            return "";
+        }
+        for (int i = 1; i < trimmed.length(); i++) {
+            if (trimmed.charAt(i) == '#' && Character.isWhitespace(trimmed.charAt(i - 1))) {
+                return trimmed.substring(0, i).trim();
+            }
+        }
+        return trimmed;
+    }
+
+    private static int indexOfWhitespace(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isWhitespace(value.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,100 @@
+package edu.ccrm.cli;
+
+import edu.ccrm.io.DataGenerator;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Generates a synthetic data set from the command line.
+ *
+ * Usage: {@code java edu.ccrm.cli.Main --generate <directory|--load> [options]}. With a directory
+ * the data set is written there as CSV files in the test-data formats; with --load it is added
+ * to a fresh set of in-process services instead, which reports how long loading takes and, with
+ * --footprint, the heap the loaded data set holds and what a million more enrollments would cost.
+ * Options take a value each and default to the {@link DataGenerator} settings:
+ * <pre>
+ * --students 10000  --seed 42  --departments 20  --semesters 2  --students-per-course 50
+ * --department-skew 1.0  --course-skew 1.0  --cross-department 0.2  --graded 0.8
+ * </pre>
+ */
+public final class GeneratorRunner {
+
+    private static final String USAGE = "Usage: java edu.ccrm.cli.Main --generate <directory|--load [--footprint]> [--students n]"
+        + " [--seed n] [--departments n] [--semesters n] [--students-per-course n] [--department-skew x]"
+        + " [--course-skew x] [--cross-department x] [--graded x]";
+
+    private GeneratorRunner() {
+    }
+
+    public static int run(String[] args) {
+        DataGenerator generator = new DataGenerator();
+        String directory = null;
+        boolean load = false;
+        boolean footprint = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("--load")) {
+                    load = true;
+                } else if (arg.equals("--footprint")) {
+                    footprint = true;
+                } else if (!arg.startsWith("--")) {
+                    directory = arg;
+                } else if (i + 1 < args.length) {
+                    apply(generator, arg, args[++i]);
+                } else {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+        if (load == (directory != null) || (footprint && !load)) {
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        long start = System.nanoTime();
+        DataGenerator.Summary summary;
+        AppServices services = null;
+        if (load) {
+            // Refused semester loads are counted in the summary rather than logged one by one
+            Logger.getLogger("edu.ccrm").setLevel(Level.SEVERE);
+            services = new AppServices();
+            summary = generator.load(services.students(), services.courses(), services.instructors(),
+                services.enrollments());
+        } else {
+            try {
+                summary = generator.writeCsv(Paths.get(directory));
+            } catch (IOException e) {
+                System.err.println("Could not write " + directory + ": " + e.getMessage());
+                return 1;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s %s in %.1f s%n", load ? "Loaded" : "Wrote", summary, seconds);
+        if (footprint) {
+            System.out.print(services.measureHeap().format(1_000_000L));
+        }
+        return 0;
+    }
+
+    private static void apply(DataGenerator generator, String option, String value) {
+        switch (option) {
+            case "--students": generator.setStudents(Integer.parseInt(value)); break;
+            case "--seed": generator.setSeed(Long.parseLong(value)); break;
+            case "--departments": generator.setDepartments(Integer.parseInt(value)); break;
+            case "--semesters": generator.setSemestersPerStudent(Integer.parseInt(value)); break;
+            case "--students-per-course": generator.setStudentsPerCourse(Integer.parseInt(value)); break;
+            case "--department-skew": generator.setDepartmentSkew(Double.parseDouble(value)); break;
+            case "--course-skew": generator.setCourseSkew(Double.parseDouble(value)); break;
+            case "--cross-department": generator.setCrossDepartmentRate(Double.parseDouble(value)); break;
+            case "--graded": generator.setGradedFraction(Double.parseDouble(value)); break;
+            default: throw new IllegalArgumentException("Unknown option: " + option);
+        }
+    }
+}
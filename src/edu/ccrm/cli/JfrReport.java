@@ -0,0 +1,123 @@
+package edu.ccrm.cli;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarises the CCRM events in a Flight Recorder file.
+ *
+ * Usage: {@code java edu.ccrm.cli.JfrReport recording.jfr}. Record with
+ * {@code java -XX:StartFlightRecording=filename=ccrm.jfr,settings=profile ...}; every
+ * {@code edu.ccrm.*} event is grouped by type (and by operation for import/export), and each
+ * group is reported with its failures, throughput over the span it was active, latency
+ * percentiles and the rows, bytes and files it moved.
+ */
+public final class JfrReport {
+
+    private static final String EVENT_PREFIX = "edu.ccrm.";
+
+    private JfrReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: java edu.ccrm.cli.JfrReport <recording.jfr>");
+            System.exit(2);
+        }
+        Map<String, Group> groups = read(Paths.get(args[0]));
+        if (groups.isEmpty()) {
+            System.out.println("No " + EVENT_PREFIX + "* events in " + args[0]);
+            return;
+        }
+        System.out.printf("%-24s %8s %7s %9s %9s %9s %9s %9s %9s %10s %12s%n", "operation", "count", "failed",
+            "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "rows/files", "bytes");
+        for (Map.Entry<String, Group> entry : groups.entrySet()) {
+            Group group = entry.getValue();
+            long[] durations = Arrays.copyOf(group.durations, group.count);
+            Arrays.sort(durations);
+            System.out.printf("%-24s %8d %7d %9.1f %9.3f %9.3f %9.3f %9.3f %9.3f %10d %12d%n", entry.getKey(),
+                group.count, group.failed, group.throughput(), percentile(durations, 0.50),
+                percentile(durations, 0.90), percentile(durations, 0.99), percentile(durations, 0.999),
+                durations[durations.length - 1] / 1e6, group.rows, group.bytes);
+        }
+        groups.forEach((name, group) -> {
+            if (!group.outcomes.isEmpty()) {
+                System.out.println(name + " failures: " + group.outcomes);
+            }
+        });
+    }
+
+    private static Map<String, Group> read(Path file) throws IOException {
+        Map<String, Group> groups = new TreeMap<>();
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String type = event.getEventType().getName();
+                if (!type.startsWith(EVENT_PREFIX)) {
+                    continue;
+                }
+                String name = type.substring(EVENT_PREFIX.length());
+                if (event.hasField("operation")) {
+                    name += "." + event.getString("operation");
+                }
+                groups.computeIfAbsent(name, key -> new Group()).add(event);
+            }
+        }
+        return groups;
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static final class Group {
+        long[] durations = new long[64];
+        int count;
+        int failed;
+        long rows;
+        long bytes;
+        Instant first;
+        Instant last;
+        final Map<String, Integer> outcomes = new TreeMap<>();
+
+        void add(RecordedEvent event) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = event.getDuration().toNanos();
+            if (first == null || event.getStartTime().isBefore(first)) {
+                first = event.getStartTime();
+            }
+            if (last == null || event.getEndTime().isAfter(last)) {
+                last = event.getEndTime();
+            }
+            String outcome = event.hasField("outcome") ? event.getString("outcome") : "OK";
+            if (!"OK".equals(outcome)) {
+                failed++;
+                outcomes.merge(outcome, 1, Integer::sum);
+            }
+            if (event.hasField("rows")) {
+                rows += event.getInt("rows");
+            } else if (event.hasField("files")) {
+                rows += event.getInt("files");
+            }
+            if (event.hasField("bytes")) {
+                bytes += event.getLong("bytes");
+            }
+        }
+
+        double throughput() {
+            double seconds = Duration.between(first, last).toNanos() / 1e9;
+            return seconds <= 0 ? count : count / seconds;
+        }
+    }
+}
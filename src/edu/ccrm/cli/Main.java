@@ -3,26 +3,50 @@ package edu.ccrm.cli;
 import java.util.Scanner;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import edu.ccrm.config.AppConfig;
 import edu.ccrm.service.*;
 import edu.ccrm.domain.*;
+import edu.ccrm.util.PrerequisiteGraph;
 import edu.ccrm.util.Validator;
 import edu.ccrm.util.StudentComparator;
 import edu.ccrm.util.RecursionUtils;
 import edu.ccrm.io.ImportExportService;
-import edu.ccrm.io.StudentCourseImportExportService;
 import edu.ccrm.io.BackupService;
+import edu.ccrm.io.InstructorImportExportService;
+import edu.ccrm.metrics.MetricsRegistry;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            System.exit(BatchRunner.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--generate")) {
+            System.exit(GeneratorRunner.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            serve(args.length > 1 ? Integer.parseInt(args[1]) : ApiServer.DEFAULT_PORT);
+            return;
+        }
+        MetricsRegistry.getInstance().registerMBeans();
         try (Scanner scanner = new Scanner(System.in)) {
-            StudentService studentService = new StudentServiceImpl();
-            CourseService courseService = new CourseServiceImpl();
-            EnrollmentService enrollmentService = new EnrollmentServiceImpl();
-            TranscriptService transcriptService = new TranscriptServiceImpl(enrollmentService);
-            ImportExportService<Object> importExportService = new StudentCourseImportExportService();
-            BackupService backupService = new BackupService();
+            AppServices services = new AppServices();
+            StudentService studentService = services.students();
+            CourseService courseService = services.courses();
+            InstructorService instructorService = services.instructors();
+            PrerequisiteGraph prerequisites = services.prerequisites();
+            EnrollmentService enrollmentService = services.enrollments();
+            TranscriptService transcriptService = services.transcripts();
+            ScheduleReportService scheduleReportService = services.scheduleReports();
+            ExamSchedulingService examSchedulingService = services.examScheduling();
+            ImportExportService<Object> importExportService = services.importExport();
+            InstructorImportExportService instructorImportService = services.instructorImport();
+            BackupService backupService = services.backups();
             boolean running = true;
         while (running) {
             System.out.println("\n=== Campus Course & Records Manager (CCRM) ===");
@@ -32,13 +56,15 @@ public class Main {
             System.out.println("4. Import/Export Data");
             System.out.println("5. Backup & Reports");
             System.out.println("6. Platform Note");
+            System.out.println("7. Manage Instructors");
+            System.out.println("8. Statistics");
             System.out.println("0. Exit");
             System.out.print("Select an option: ");
             String choice = scanner.nextLine();
             switch (choice) {
                 case "1":
                     System.out.println("Student management selected.");
-                    System.out.println("a) Add Student\nb) List Students\nc) Deactivate Student");
+                    System.out.println("a) Add Student\nb) List Students\nc) Deactivate Student\nd) Find Student by Name");
                     String smOpt = scanner.nextLine();
                     if (smOpt.equalsIgnoreCase("a")) {
                         System.out.print("Enter id, regNo, fullName, email (comma separated): ");
@@ -68,6 +94,10 @@ public class Main {
                         String regNo = scanner.nextLine();
                         studentService.deactivateStudent(regNo);
                         System.out.println("Student deactivated.");
+                    } else if (smOpt.equalsIgnoreCase("d")) {
+                        System.out.print("Enter name or email (partial or misspelled is fine): ");
+                        String query = scanner.nextLine();
+                        studentService.searchByName(query, 10).forEach(System.out::println);
                     }
                     break;
                 case "2":
@@ -75,6 +105,8 @@ public class Main {
                     System.out.println("a) Add Course\nb) List Courses\nc) Deactivate Course");
                     System.out.println("d) Search by Department\ne) Search by Instructor");
                     System.out.println("f) Search by Semester\ng) Advanced Search\nh) Course Statistics");
+                    System.out.println("i) Keyword Search\nj) Add Prerequisite\nk) Show Prerequisites");
+                    System.out.println("l) Set Meeting Times\nm) Schedule Conflict Report\nn) Set Capacity\no) Exam Timetable");
                     String cmOpt = scanner.nextLine();
                     if (cmOpt.equalsIgnoreCase("a")) {
                         System.out.print("Enter code, title, credits, department (comma separated): ");
@@ -146,11 +178,87 @@ public class Main {
                         String dept = scanner.nextLine();
                         int count = courseService.getTotalCoursesByDepartment(dept);
                         System.out.printf("Total courses in %s: %d\n", dept, count);
+                    } else if (cmOpt.equalsIgnoreCase("i")) {
+                        System.out.print("Enter keywords: ");
+                        String query = scanner.nextLine();
+                        List<Course> courses = courseService.searchByKeywords(query, 20);
+                        System.out.println("\nBest Matches:");
+                        courses.forEach(System.out::println);
+                    } else if (cmOpt.equalsIgnoreCase("j")) {
+                        System.out.print("Enter courseCode and prerequisite courseCode (comma separated): ");
+                        String[] parts = scanner.nextLine().split(",");
+                        if (parts.length == 2) {
+                            prerequisites.addPrerequisite(parts[0].trim(), parts[1].trim());
+                            System.out.println("Prerequisite added.");
+                        }
+                    } else if (cmOpt.equalsIgnoreCase("k")) {
+                        System.out.print("Enter course code: ");
+                        String code = scanner.nextLine().trim();
+                        System.out.println("Direct: " + prerequisites.getPrerequisites(code));
+                        System.out.println("All: " + prerequisites.getAllPrerequisites(code));
+                    } else if (cmOpt.equalsIgnoreCase("l")) {
+                        System.out.print("Enter course code: ");
+                        Course c = courseService.getCourseByCode(scanner.nextLine().trim());
+                        if (c != null) {
+                            System.out.print("Enter meeting times, e.g. MON 09:00-10:30; WED 09:00-10:30: ");
+                            List<MeetingTime> meetings = new ArrayList<>();
+                            for (String slot : scanner.nextLine().split(";")) {
+                                if (!slot.isBlank()) {
+                                    meetings.add(MeetingTime.parse(slot));
+                                }
+                            }
+                            c.setMeetingTimes(meetings);
+                            courseService.updateCourse(c);
+                            System.out.println("Meeting times set: " + c.getMeetingTimes());
+                        }
+                    } else if (cmOpt.equalsIgnoreCase("m")) {
+                        System.out.print("Enter semester (SPRING/SUMMER/FALL, or press Enter for all): ");
+                        String sem = scanner.nextLine().trim();
+                        Semester semester = sem.isEmpty() ? null : Semester.valueOf(sem.toUpperCase());
+                        List<ScheduleConflict> conflicts = scheduleReportService.findConflicts(
+                            semester, courseService.listCourses(), studentService.listStudents());
+                        conflicts.forEach(System.out::println);
+                        System.out.printf("%d conflicts found.%n", conflicts.size());
+                    } else if (cmOpt.equalsIgnoreCase("n")) {
+                        System.out.print("Enter course code and capacity, 0 for unlimited (comma separated): ");
+                        String[] parts = scanner.nextLine().split(",");
+                        Course c = parts.length == 2 ? courseService.getCourseByCode(parts[0].trim()) : null;
+                        if (c != null) {
+                            c.setCapacity(Integer.parseInt(parts[1].trim()));
+                            courseService.updateCourse(c);
+                            int promoted = enrollmentService.promoteFromWaitlist(c);
+                            System.out.printf("Capacity set; %d waitlisted students enrolled.%n", promoted);
+                        }
+                    } else if (cmOpt.equalsIgnoreCase("o")) {
+                        System.out.print("Enter semester (SPRING/SUMMER/FALL, or press Enter for all): ");
+                        String sem = scanner.nextLine().trim();
+                        Semester semester = sem.isEmpty() ? null : Semester.valueOf(sem.toUpperCase());
+                        System.out.print("Enter room capacities (comma separated, e.g. 120,80,40): ");
+                        List<Room> rooms = new ArrayList<>();
+                        for (String capacity : scanner.nextLine().split(",")) {
+                            if (!capacity.isBlank()) {
+                                rooms.add(new Room("R" + (rooms.size() + 1), Integer.parseInt(capacity.trim())));
+                            }
+                        }
+                        List<Course> examined = new ArrayList<>();
+                        for (Course c : courseService.listCourses()) {
+                            if (semester == null || c.getSemester() == semester) {
+                                examined.add(c);
+                            }
+                        }
+                        List<Student> students = studentService.listStudents();
+                        ExamTimetable timetable = examSchedulingService.schedule(examined, students, rooms);
+                        for (int slot = 0; slot < timetable.getSlotCount(); slot++) {
+                            timetable.getSittings(slot).forEach(System.out::println);
+                        }
+                        long clashing = students.stream().filter(s -> !timetable.findClashes(s).isEmpty()).count();
+                        System.out.printf("%s; %d students with clashes.%n", timetable, clashing);
                     }
                     break;
                 case "3":
                     System.out.println("Enrollment & Grades selected.");
                     System.out.println("a) Enroll Student\nb) Record Marks\nc) Print Transcript");
+                    System.out.println("d) Unenroll Student\ne) Join Waitlist\nf) Show Seats & Waitlist");
                     String egOpt = scanner.nextLine();
                     if (egOpt.equalsIgnoreCase("a")) {
                         System.out.print("Enter regNo and courseCode (comma separated): ");
@@ -158,8 +266,12 @@ public class Main {
                         Student s = studentService.getStudentByRegNo(parts[0].trim());
                         Course c = courseService.getCourseByCode(parts[1].trim());
                         if (s != null && c != null) {
-                            enrollmentService.enrollStudent(s, c);
-                            System.out.println("Enrolled.");
+                            try {
+                                enrollmentService.enrollStudent(s, c);
+                                System.out.println("Enrolled.");
+                            } catch (CourseFullException e) {
+                                System.out.println(e.getMessage());
+                            }
                         }
                     } else if (egOpt.equalsIgnoreCase("b")) {
                         System.out.print("Enter regNo, courseCode, marks (comma separated): ");
@@ -177,6 +289,36 @@ public class Main {
                             System.out.println(transcriptService.generateTranscript(s));
                             System.out.println("GPA: " + transcriptService.computeGPA(s));
                         }
+                    } else if (egOpt.equalsIgnoreCase("d")) {
+                        System.out.print("Enter regNo and courseCode (comma separated): ");
+                        String[] parts = scanner.nextLine().split(",");
+                        Student s = studentService.getStudentByRegNo(parts[0].trim());
+                        Course c = courseService.getCourseByCode(parts[1].trim());
+                        if (s != null && c != null) {
+                            enrollmentService.unenrollStudent(s, c);
+                            System.out.println("Unenrolled.");
+                        }
+                    } else if (egOpt.equalsIgnoreCase("e")) {
+                        System.out.print("Enter regNo and courseCode (comma separated): ");
+                        String[] parts = scanner.nextLine().split(",");
+                        Student s = studentService.getStudentByRegNo(parts[0].trim());
+                        Course c = courseService.getCourseByCode(parts[1].trim());
+                        if (s != null && c != null) {
+                            int position = enrollmentService.joinWaitlist(s, c);
+                            System.out.println(position == 0 ? "A seat was free; enrolled." : "Waitlisted at position " + position + ".");
+                        }
+                    } else if (egOpt.equalsIgnoreCase("f")) {
+                        System.out.print("Enter course code: ");
+                        Course c = courseService.getCourseByCode(scanner.nextLine().trim());
+                        if (c != null) {
+                            int free = enrollmentService.getSeatsAvailable(c);
+                            System.out.println("Capacity: " + (c.getCapacity() == Course.UNLIMITED_CAPACITY ? "unlimited"
+                                : c.getCapacity() + ", free seats: " + free));
+                            List<Student> waiting = enrollmentService.getWaitlist(c);
+                            for (int i = 0; i < waiting.size(); i++) {
+                                System.out.printf("%d. %s (GPA %.2f)%n", i + 1, waiting.get(i).getRegNo(), waiting.get(i).getGpa());
+                            }
+                        }
                     }
                     break;
                 case "4":
@@ -193,8 +335,13 @@ public class Main {
                         });
                         System.out.println("Import complete.");
                     } else if (ioOpt.equalsIgnoreCase("b")) {
-                        System.out.print("Enter file path to export: ");
-                        String path = scanner.nextLine();
+                        Path defaultExport = Paths.get(AppConfig.getInstance().getDataFolderPath(), "export.csv");
+                        System.out.print("Enter file path to export (Enter for " + defaultExport + "): ");
+                        String path = scanner.nextLine().trim();
+                        if (path.isEmpty()) {
+                            Files.createDirectories(defaultExport.getParent());
+                            path = defaultExport.toString();
+                        }
                         List<Object> data = new ArrayList<>();
                         data.addAll(studentService.listStudents());
                         data.addAll(courseService.listCourses());
@@ -223,6 +370,68 @@ public class Main {
                 case "6":
                     System.out.println("Java SE vs ME vs EE: Java SE is for desktop/server apps, ME for mobile/embedded, EE for enterprise/web.");
                     break;
+                case "7":
+                    System.out.println("Instructor management selected.");
+                    System.out.println("a) Add Instructor\nb) List Instructors\nc) Assign Course");
+                    System.out.println("d) Least-Loaded Instructor in Department\ne) Import Instructors File");
+                    String imOpt = scanner.nextLine();
+                    if (imOpt.equalsIgnoreCase("a")) {
+                        System.out.print("Enter id, fullName, email, department (comma separated): ");
+                        String[] parts = scanner.nextLine().split(",");
+                        if (parts.length == 4) {
+                            String email = parts[2].trim();
+                            if (!Validator.isValidEmail(email)) {
+                                System.out.println("Invalid email format.");
+                                break;
+                            }
+                            instructorService.addInstructor(new Instructor(parts[0].trim(), parts[1].trim(), email, parts[3].trim()));
+                            System.out.println("Instructor added.");
+                        }
+                    } else if (imOpt.equalsIgnoreCase("b")) {
+                        instructorService.listInstructors().forEach(i ->
+                            System.out.printf("%s [%s] load %d/%d%n", i, i.getId(), i.getTeachingLoad(), instructorService.getMaxTeachingLoad()));
+                    } else if (imOpt.equalsIgnoreCase("c")) {
+                        System.out.print("Enter instructorId and courseCode (comma separated): ");
+                        String[] parts = scanner.nextLine().split(",");
+                        Course c = parts.length == 2 ? courseService.getCourseByCode(parts[1].trim()) : null;
+                        if (c != null) {
+                            instructorService.assignCourse(parts[0].trim(), c);
+                            System.out.println("Course assigned.");
+                        }
+                    } else if (imOpt.equalsIgnoreCase("d")) {
+                        System.out.print("Enter department name: ");
+                        Instructor least = instructorService.findLeastLoadedAvailable(scanner.nextLine());
+                        System.out.println(least != null ? least + " [" + least.getId() + "] load " + least.getTeachingLoad()
+                            : "No instructor with free capacity in that department.");
+                    } else if (imOpt.equalsIgnoreCase("e")) {
+                        System.out.print("Enter instructors file path: ");
+                        String path = scanner.nextLine();
+                        List<Instructor> imported = instructorImportService.importFromFile(path);
+                        imported.forEach(instructorService::addInstructor);
+                        int assigned = instructorImportService.importAssignments(path, instructorService, courseService);
+                        System.out.printf("Imported %d instructors and %d course assignments.%n", imported.size(), assigned);
+                    }
+                    break;
+                case "8":
+                    System.out.println("Statistics selected.");
+                    System.out.println("a) Operation Timings\nb) All Metrics (including unused)\nc) Reset Metrics\nd) Heap Footprint");
+                    String stOpt = scanner.nextLine();
+                    if (stOpt.equalsIgnoreCase("a") || stOpt.equalsIgnoreCase("b")) {
+                        System.out.print(MetricsRegistry.getInstance().formatReport(stOpt.equalsIgnoreCase("b")));
+                    } else if (stOpt.equalsIgnoreCase("c")) {
+                        MetricsRegistry.getInstance().reset();
+                        System.out.println("Metrics reset.");
+                    } else if (stOpt.equalsIgnoreCase("d")) {
+                        System.out.print("Price how many more enrollments [1000000]: ");
+                        String extra = scanner.nextLine().trim();
+                        try {
+                            long enrollments = extra.isEmpty() ? 1_000_000L : Long.parseLong(extra);
+                            System.out.print(services.measureHeap().format(enrollments));
+                        } catch (NumberFormatException e) {
+                            System.out.println("Invalid number: " + extra);
+                        }
+                    }
+                    break;
                 case "0":
                     running = false;
                     System.out.println("Exiting CCRM. Goodbye!");
@@ -236,4 +445,20 @@ public class Main {
             e.printStackTrace();
         }
     }
+
+    private static void serve(int port) {
+        try {
+            MetricsRegistry.getInstance().registerMBeans();
+            ApiServer server = new ApiServer(new AppServices(), new InetSocketAddress(port));
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "ccrm-http-shutdown"));
+            server.start();
+            System.out.println("CCRM API listening on http://localhost:" + server.getPort() + "/ (Ctrl+C to stop)");
+            Thread.currentThread().join();
+        } catch (IOException e) {
+            System.err.println("Could not start the API server: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
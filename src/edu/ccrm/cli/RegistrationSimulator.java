@@ -0,0 +1,529 @@
+package edu.ccrm.cli;
+
+import edu.ccrm.config.AppConfig;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.io.DataGenerator;
+import edu.ccrm.metrics.LatencyHistogram;
+import edu.ccrm.util.Json;
+import edu.ccrm.util.TaskExecutors;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Rehearses registration day against the in-process services.
+ *
+ * Usage: {@code java edu.ccrm.cli.RegistrationSimulator [options]}:
+ * <pre>
+ * --students 50000      population loaded with {@link DataGenerator}, one semester each
+ * --rate 200            sessions arriving per second; a list such as 100,800,200 splits the
+ *                       run into equal phases, e.g. a registration peak
+ * --duration 60         measured seconds, after --warmup 5 seconds at the first rate
+ * --think-ms 2000       mean think time between a student's actions (exponential)
+ * --actions 6           actions per session, the first always a transcript
+ * --seed 42
+ * --json report.json    also write the report as JSON
+ * --baseline old.json   print the change against an earlier JSON report
+ * </pre>
+ * Sessions arrive as a Poisson process at the configured rate, independently of how fast
+ * earlier ones are served. Each session is one student viewing their transcript, then adding
+ * popular courses from their department (55%), dropping one (20%) or viewing the transcript
+ * again (25%), so hot courses, duplicate attempts and credit-limit refusals all occur
+ * naturally. Latency is measured from when an action was due, so a backlog shows up in
+ * the percentiles instead of slowing the arrivals. Sessions still thinking when the run
+ * ends are cut short, and throughput is over the measured seconds.
+ *
+ * On Java 21 and later every session runs on its own virtual thread and sleeps through its
+ * think times. On older runtimes think times are scheduler delays and the actions run on
+ * {@code workerThreads} platform threads, so tens of thousands of concurrent sessions still
+ * need no thread each.
+ */
+public final class RegistrationSimulator {
+
+    private static final String[] OPERATIONS = {"enrollStudent", "unenrollStudent", "generateTranscript"};
+    private static final double OWN_DEPARTMENT_RATE = 0.8;
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(5);
+    // Think times are exponential but cut off at this many means
+    private static final double MAX_THINK_MEANS = 10;
+
+    private final AppServices services;
+    private final Student[] students;
+    private final List<String> departments = new ArrayList<>();
+    // Courses by department and semester ordinal, most popular first
+    private final Map<String, Course[][]> catalog = new LinkedHashMap<>();
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    // Actions due before the end of the run that have not completed yet
+    private final AtomicInteger pendingActions = new AtomicInteger();
+    private final boolean virtualThreads = TaskExecutors.isVirtualThreadsAvailable();
+    private final ExecutorService sessionExecutor;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private volatile long measureFrom = Long.MAX_VALUE;
+    private volatile long measureUntil = Long.MAX_VALUE;
+
+    private RegistrationSimulator(AppServices services) {
+        this.services = services;
+        this.students = services.students().listStudents().toArray(new Student[0]);
+        for (String operation : OPERATIONS) {
+            operations.put(operation, new Operation());
+        }
+        List<Course> courses = new ArrayList<>(services.courses().listCourses());
+        // Generated codes number each department's courses from the most popular down
+        courses.sort(Comparator.comparing(Course::getCode));
+        Map<String, List<List<Course>>> grouped = new LinkedHashMap<>();
+        int semesters = Semester.values().length;
+        for (Course course : courses) {
+            if (course.getSemester() == null) {
+                continue;
+            }
+            grouped.computeIfAbsent(course.getDepartment(), department -> {
+                List<List<Course>> bySemester = new ArrayList<>();
+                for (int s = 0; s < semesters; s++) {
+                    bySemester.add(new ArrayList<>());
+                }
+                return bySemester;
+            }).get(course.getSemester().ordinal()).add(course);
+        }
+        grouped.forEach((department, bySemester) -> {
+            departments.add(department);
+            Course[][] groups = new Course[semesters][];
+            for (int s = 0; s < semesters; s++) {
+                groups[s] = bySemester.get(s).toArray(new Course[0]);
+            }
+            catalog.put(department, groups);
+        });
+
+        int threads = AppConfig.getInstance().getSettings().getWorkerThreads();
+        if (virtualThreads) {
+            sessionExecutor = TaskExecutors.newPerTaskExecutor("ccrm-sim", threads);
+            scheduler = null;
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            sessionExecutor = null;
+            scheduler = new ScheduledThreadPoolExecutor(threads, task -> {
+                Thread thread = new Thread(task, "ccrm-sim-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java edu.ccrm.cli.RegistrationSimulator [--students n] [--rate r[,r...]]"
+                + " [--duration s] [--warmup s] [--think-ms ms] [--actions n] [--seed n] [--json file] [--baseline file]");
+            System.exit(2);
+            return;
+        }
+        Logger.getLogger("edu.ccrm").setLevel(Level.SEVERE);
+
+        AppServices services = new AppServices();
+        long loadStart = System.nanoTime();
+        DataGenerator.Summary loaded = new DataGenerator()
+            .setSeed(options.seed)
+            .setStudents(options.students)
+            .setSemestersPerStudent(1)
+            .load(services.students(), services.courses(), services.instructors(), services.enrollments());
+        System.out.printf("Loaded %s in %.1f s%n", loaded, (System.nanoTime() - loadStart) / 1e9);
+
+        RegistrationSimulator simulator = new RegistrationSimulator(services);
+        Map<String, Object> report = simulator.run(options);
+        System.out.print(format(report));
+        if (options.baseline != null) {
+            System.out.print(compare(report, Json.parseObject(Files.readString(Paths.get(options.baseline)))));
+        }
+        if (options.json != null) {
+            Files.writeString(Paths.get(options.json), Json.write(report) + "\n", StandardCharsets.UTF_8);
+        }
+    }
+
+    private Map<String, Object> run(Options options) throws InterruptedException {
+        SplittableRandom arrivals = new SplittableRandom(options.seed);
+        long start = System.nanoTime();
+        long warmupEnd = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long phaseNanos = TimeUnit.SECONDS.toNanos(options.durationSeconds) / options.rates.length;
+        long end = warmupEnd + phaseNanos * options.rates.length;
+        measureFrom = warmupEnd;
+        measureUntil = end;
+        long sessions = 0;
+        long next = start;
+        while (true) {
+            int phase = next < warmupEnd ? 0 : (int) Math.min(options.rates.length - 1, (next - warmupEnd) / phaseNanos);
+            next += (long) (-Math.log(1.0 - arrivals.nextDouble()) / options.rates[phase] * 1e9);
+            if (next >= end) {
+                break;
+            }
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            start(new Session(students[arrivals.nextInt(students.length)], arrivals.split(), next, options));
+            if (next >= warmupEnd) {
+                sessions++;
+            }
+        }
+        // Sessions stop at the end of the run; only actions already due still have to finish
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (pendingActions.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        int unfinished = pendingActions.get();
+        if (virtualThreads) {
+            sessionExecutor.shutdownNow();
+        } else {
+            scheduler.shutdownNow();
+        }
+        return report(options, sessions, unfinished, end - warmupEnd);
+    }
+
+    private void start(Session session) {
+        pendingActions.incrementAndGet();
+        if (virtualThreads) {
+            sessionExecutor.execute(() -> {
+                boolean more;
+                do {
+                    long wait = session.due - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    more = step(session);
+                } while (more);
+            });
+        } else {
+            schedule(session);
+        }
+    }
+
+    private void schedule(Session session) {
+        scheduler.schedule(() -> {
+            if (step(session)) {
+                schedule(session);
+            }
+        }, session.due - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /** Runs one action and counts the next one as pending if it falls within the run */
+    private boolean step(Session session) {
+        boolean more = false;
+        try {
+            more = session.step() && session.due < measureUntil;
+        } finally {
+            if (more) {
+                pendingActions.incrementAndGet();
+            }
+            pendingActions.decrementAndGet();
+        }
+        return more;
+    }
+
+    private final class Session {
+        final Student student;
+        final SplittableRandom random;
+        final Options options;
+        int remaining;
+        long due;
+        String department;
+        int semester = -1;
+
+        Session(Student student, SplittableRandom random, long due, Options options) {
+            this.student = student;
+            this.random = random;
+            this.due = due;
+            this.options = options;
+            this.remaining = options.actions;
+        }
+
+        /** Runs the action that is due; returns false once the session is over */
+        boolean step() {
+            if (remaining == options.actions) {
+                // Registration opens on the student's current term and department
+                List<Enrollment> current = services.enrollments().getEnrollmentsByStudent(student);
+                if (!current.isEmpty()) {
+                    department = current.get(0).getCourse().getDepartment();
+                    semester = current.get(0).getCourse().getSemester().ordinal();
+                }
+                transcript();
+            } else {
+                int pick = random.nextInt(100);
+                if (pick < 55) {
+                    enroll();
+                } else if (pick < 75) {
+                    unenroll();
+                } else {
+                    transcript();
+                }
+            }
+            if (--remaining == 0) {
+                return false;
+            }
+            double think = Math.min(MAX_THINK_MEANS, -Math.log(1.0 - random.nextDouble()));
+            due += (long) (think * options.thinkMillis * 1e6);
+            return true;
+        }
+
+        private void enroll() {
+            if (semester < 0) {
+                transcript();
+                return;
+            }
+            String from = random.nextDouble() < OWN_DEPARTMENT_RATE
+                ? department : departments.get(random.nextInt(departments.size()));
+            Course[] group = catalog.get(from)[semester];
+            // 1/(rank+1) popularity: rank = floor(n^u) - 1 for uniform u
+            Course course = group[(int) Math.min(group.length - 1, Math.pow(group.length + 1, random.nextDouble()) - 1)];
+            long start = System.nanoTime();
+            Exception failure = null;
+            try {
+                services.enrollments().enrollStudent(student, course);
+            } catch (Exception e) {
+                failure = e;
+            }
+            record("enrollStudent", start, failure);
+        }
+
+        private void unenroll() {
+            List<Enrollment> current = services.enrollments().getEnrollmentsByStudent(student);
+            if (current.isEmpty()) {
+                enroll();
+                return;
+            }
+            Course course = current.get(random.nextInt(current.size())).getCourse();
+            long start = System.nanoTime();
+            Exception failure = null;
+            try {
+                services.enrollments().unenrollStudent(student, course);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            record("unenrollStudent", start, failure);
+        }
+
+        private void transcript() {
+            long start = System.nanoTime();
+            Exception failure = null;
+            try {
+                services.transcripts().generateTranscript(student);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            record("generateTranscript", start, failure);
+        }
+
+        private void record(String name, long start, Exception failure) {
+            long now = System.nanoTime();
+            if (due < measureFrom) {
+                return;
+            }
+            Operation operation = operations.get(name);
+            // From when the action was due, which includes any wait for a thread
+            operation.latency.record(now - Math.min(due, start));
+            operation.serviceTime.record(now - start);
+            if (failure != null) {
+                operation.errors.computeIfAbsent(failure.getClass().getSimpleName(), key -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    private static final class Operation {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LatencyHistogram serviceTime = new LatencyHistogram();
+        final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+    }
+
+    private Map<String, Object> report(Options options, long sessions, int unfinished, long elapsedNanos) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("students", options.students);
+        config.put("rates", List.of(boxed(options.rates)));
+        config.put("durationSeconds", options.durationSeconds);
+        config.put("warmupSeconds", options.warmupSeconds);
+        config.put("thinkMillis", options.thinkMillis);
+        config.put("actions", options.actions);
+        config.put("seed", options.seed);
+        report.put("config", config);
+        Map<String, Object> runtime = new LinkedHashMap<>();
+        runtime.put("java", System.getProperty("java.version"));
+        runtime.put("processors", Runtime.getRuntime().availableProcessors());
+        runtime.put("virtualThreads", virtualThreads);
+        runtime.put("workerThreads", AppConfig.getInstance().getSettings().getWorkerThreads());
+        report.put("runtime", runtime);
+        report.put("sessions", sessions);
+        report.put("unfinishedActions", unfinished);
+        report.put("elapsedSeconds", elapsedNanos / 1e9);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        operations.forEach((name, operation) -> {
+            LatencyHistogram.Snapshot latency = operation.latency.snapshot();
+            LatencyHistogram.Snapshot service = operation.serviceTime.snapshot();
+            Map<String, Object> result = new LinkedHashMap<>();
+            long errors = operation.errors.values().stream().mapToLong(LongAdder::sum).sum();
+            result.put("count", latency.getCount());
+            result.put("errors", errors);
+            result.put("throughput", latency.getCount() / (elapsedNanos / 1e9));
+            result.put("meanMs", latency.getMeanNanos() / 1e6);
+            result.put("p50Ms", latency.getValueAt(0.50) / 1e6);
+            result.put("p90Ms", latency.getValueAt(0.90) / 1e6);
+            result.put("p99Ms", latency.getValueAt(0.99) / 1e6);
+            result.put("p999Ms", latency.getValueAt(0.999) / 1e6);
+            result.put("maxMs", latency.getMaxNanos() / 1e6);
+            result.put("serviceP99Ms", service.getValueAt(0.99) / 1e6);
+            Map<String, Object> byType = new TreeMap<>();
+            operation.errors.forEach((type, count) -> byType.put(type, count.sum()));
+            result.put("errorsByType", byType);
+            results.put(name, result);
+        });
+        report.put("operations", results);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String format(Map<String, Object> report) {
+        Map<String, Object> config = (Map<String, Object>) report.get("config");
+        Map<String, Object> runtime = (Map<String, Object>) report.get("runtime");
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%s sessions over %.1f s at %s sessions/s, think %s ms, %s actions each (%s, %s)%n",
+            report.get("sessions"), (Double) report.get("elapsedSeconds"), config.get("rates"),
+            config.get("thinkMillis"), config.get("actions"), "Java " + runtime.get("java"),
+            Boolean.TRUE.equals(runtime.get("virtualThreads")) ? "virtual threads"
+                : runtime.get("workerThreads") + " platform threads"));
+        if (((Number) report.get("unfinishedActions")).intValue() > 0) {
+            out.append("WARNING: ").append(report.get("unfinishedActions")).append(" actions had not run when the run ended\n");
+        }
+        out.append(String.format("%-20s %9s %8s %9s %8s %8s %8s %9s %9s %12s%n", "operation", "count", "errors",
+            "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms"));
+        Map<String, Object> operations = (Map<String, Object>) report.get("operations");
+        operations.forEach((name, value) -> {
+            Map<String, Object> result = (Map<String, Object>) value;
+            out.append(String.format("%-20s %9d %8d %9.1f %8.3f %8.3f %8.3f %9.3f %9.3f %12.3f%n", name,
+                (Long) result.get("count"), (Long) result.get("errors"), (Double) result.get("throughput"),
+                (Double) result.get("p50Ms"), (Double) result.get("p90Ms"), (Double) result.get("p99Ms"),
+                (Double) result.get("p999Ms"), (Double) result.get("maxMs"), (Double) result.get("serviceP99Ms")));
+        });
+        operations.forEach((name, value) -> {
+            Map<String, Object> byType = (Map<String, Object>) ((Map<String, Object>) value).get("errorsByType");
+            if (!byType.isEmpty()) {
+                out.append(name).append(" errors: ").append(byType).append('\n');
+            }
+        });
+        return out.toString();
+    }
+
+    /** The change in throughput and latency percentiles against an earlier report */
+    @SuppressWarnings("unchecked")
+    private static String compare(Map<String, Object> report, Map<String, Object> baseline) {
+        StringBuilder out = new StringBuilder(String.format("%nChange against baseline:%n"));
+        out.append(String.format("%-20s %9s %9s %9s %9s %9s%n", "operation", "ops/s", "p50", "p99", "p99.9", "errors"));
+        if (!Json.write(report.get("config")).equals(Json.write(baseline.get("config")))) {
+            out.append("Note: the baseline ran with a different configuration: ").append(Json.write(baseline.get("config")))
+                .append('\n');
+        }
+        Map<String, Object> current = (Map<String, Object>) report.get("operations");
+        Map<String, Object> previous = (Map<String, Object>) baseline.getOrDefault("operations", Map.of());
+        current.forEach((name, value) -> {
+            Map<String, Object> now = (Map<String, Object>) value;
+            Map<String, Object> before = (Map<String, Object>) previous.get(name);
+            if (before == null) {
+                out.append(String.format("%-20s not in baseline%n", name));
+                return;
+            }
+            out.append(String.format("%-20s %9s %9s %9s %9s %9s%n", name, change(now, before, "throughput"),
+                change(now, before, "p50Ms"), change(now, before, "p99Ms"), change(now, before, "p999Ms"),
+                change(now, before, "errors")));
+        });
+        return out.toString();
+    }
+
+    private static String change(Map<String, Object> now, Map<String, Object> before, String key) {
+        double current = ((Number) now.get(key)).doubleValue();
+        Object previous = before.get(key);
+        if (!(previous instanceof Number) || ((Number) previous).doubleValue() == 0) {
+            return current == 0 ? "0%" : "new";
+        }
+        return String.format("%+.1f%%", 100 * (current / ((Number) previous).doubleValue() - 1));
+    }
+
+    private static Double[] boxed(double[] values) {
+        Double[] boxed = new Double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        return boxed;
+    }
+
+    private static final class Options {
+        int students = 50_000;
+        double[] rates = {200};
+        int durationSeconds = 60;
+        int warmupSeconds = 5;
+        double thinkMillis = 2000;
+        int actions = 6;
+        long seed = 42;
+        String json;
+        String baseline;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--students": options.students = positive(args[i], Integer.parseInt(value)); break;
+                    case "--rate": options.rates = rates(value); break;
+                    case "--duration": options.durationSeconds = positive(args[i], Integer.parseInt(value)); break;
+                    case "--warmup": options.warmupSeconds = Math.max(0, Integer.parseInt(value)); break;
+                    case "--think-ms": options.thinkMillis = Math.max(0, Double.parseDouble(value)); break;
+                    case "--actions": options.actions = positive(args[i], Integer.parseInt(value)); break;
+                    case "--seed": options.seed = Long.parseLong(value); break;
+                    case "--json": options.json = value; break;
+                    case "--baseline": options.baseline = value; break;
+                    default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            return options;
+        }
+
+        private static double[] rates(String value) {
+            String[] parts = value.split(",");
+            double[] rates = new double[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                rates[i] = Double.parseDouble(parts[i].trim());
+                if (!(rates[i] > 0)) {
+                    throw new IllegalArgumentException("Rates must be positive: " + value);
+                }
+            }
+            return rates;
+        }
+
+        private static int positive(String option, int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(option + " must be positive: " + value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package edu.ccrm.cli;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.AllocationResult;
+import edu.ccrm.service.ColumnarEnrollmentServiceImpl;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.SeatAllocationService;
+import edu.ccrm.service.SeatAllocationServiceImpl;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Times seat allocation on synthetic data.
+ *
+ * Usage: {@code java edu.ccrm.cli.SeatAllocationBenchmark [students] [preferences] [departments] [crossDepartmentRate]}
+ * (defaults 50000, 10, 40 and 0.0). Each department offers courses with 40-120 seats, about
+ * 4 seats per student overall, and course popularity is skewed so the top courses are
+ * heavily oversubscribed. A cross-department rate above zero makes students rank courses
+ * outside their own department, which merges departments into fewer parallel components.
+ */
+public final class SeatAllocationBenchmark {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    private SeatAllocationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int studentCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int preferenceCount = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int departmentCount = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+        double crossDepartmentRate = args.length > 3 ? Double.parseDouble(args[3]) : 0.0;
+        Logger.getLogger("edu.ccrm").setLevel(Level.SEVERE);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<List<Course>> coursesByDepartment = new ArrayList<>();
+        int seatsPerDepartment = 4 * studentCount / departmentCount;
+        for (int d = 0; d < departmentCount; d++) {
+            List<Course> offered = new ArrayList<>();
+            for (int seats = 0, n = 0; seats < seatsPerDepartment; n++) {
+                Course course = new Course(String.format("B%02d%03d", d, n), "Course " + n, 3 + random.nextInt(2),
+                    null, Semester.FALL, "Dept" + d);
+                course.setCapacity(40 + random.nextInt(81));
+                seats += course.getCapacity();
+                offered.add(course);
+            }
+            coursesByDepartment.add(offered);
+        }
+
+        Map<Student, List<Course>> preferences = new LinkedHashMap<>();
+        for (int s = 0; s < studentCount; s++) {
+            Student student = new Student("B" + s, String.format("2030%06d", s), "Student " + s, "s" + s + "@example.edu");
+            int home = s % departmentCount;
+            List<Course> ranked = new ArrayList<>();
+            while (ranked.size() < preferenceCount) {
+                int department = random.nextDouble() < crossDepartmentRate ? random.nextInt(departmentCount) : home;
+                List<Course> offered = coursesByDepartment.get(department);
+                // Squaring a uniform draw favours low-numbered courses
+                double skew = random.nextDouble();
+                Course course = offered.get((int) (skew * skew * offered.size()));
+                if (!ranked.contains(course)) {
+                    ranked.add(course);
+                }
+            }
+            preferences.put(student, ranked);
+        }
+
+        System.out.printf("%d students x %d preferences, %d departments, cross-department rate %.2f%n",
+            studentCount, preferenceCount, departmentCount, crossDepartmentRate);
+        AllocationResult result = null;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            SeatAllocationService allocation = new SeatAllocationServiceImpl(new ColumnarEnrollmentServiceImpl(), 7);
+            long start = System.nanoTime();
+            result = allocation.plan(Semester.FALL, preferences);
+            long elapsed = System.nanoTime() - start;
+            if (run >= WARMUP_RUNS) {
+                System.out.printf("plan: %d ms%n", elapsed / 1_000_000);
+            }
+        }
+        System.out.println(result);
+
+        EnrollmentService enrollments = new ColumnarEnrollmentServiceImpl();
+        long start = System.nanoTime();
+        result = new SeatAllocationServiceImpl(enrollments, 7).allocate(Semester.FALL, preferences);
+        System.out.printf("plan and enroll: %d ms, %s%n", (System.nanoTime() - start) / 1_000_000, result);
+    }
+}
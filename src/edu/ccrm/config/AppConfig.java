@@ -1,29 +1,136 @@
 package edu.ccrm.config;
 
+import edu.ccrm.util.FileWatcher;
+import edu.ccrm.util.Validator;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Application settings, loaded from {@code config/ccrm.properties} (or -Dccrm.config=<file>),
+ * the environment and system properties; see {@link AppSettings} for the keys.
+ *
+ * The settings are published as immutable {@link AppSettings} snapshots through an atomic
+ * reference, so readers never see a half-applied change and need no locking. The file is
+ * watched and reloaded when it changes; a malformed file is reported and the current
+ * snapshot kept. Code that sizes something from the settings, such as a thread pool,
+ * should register a listener rather than read them once.
+ */
 public class AppConfig {
-    private static AppConfig instance;
-    private String dataFolderPath;
+    private static final Logger LOGGER = Logger.getLogger(AppConfig.class.getName());
+    // Class initialization publishes the instance safely, so no double-checked locking is needed
+    private static final AppConfig INSTANCE = new AppConfig(Paths.get(System.getProperty("ccrm.config", "config/ccrm.properties")));
+
+    private final Path file;
+    private final AtomicReference<AppSettings> settings = new AtomicReference<>();
+    private final List<Consumer<AppSettings>> listeners = new CopyOnWriteArrayList<>();
+    // Set through setDataFolderPath; survives reloads
+    private volatile String dataFolderOverride;
 
-    private AppConfig() {
-        // Load config from file or set defaults
-        this.dataFolderPath = "data";
+    private AppConfig(Path file) {
+        this.file = file;
+        if (!reload()) {
+            settings.set(AppSettings.resolve(new Properties(), Map.of(), new Properties(), "defaults"));
+        }
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null && Files.isDirectory(directory)) {
+            try {
+                FileWatcher.watch(file, this::reload);
+            } catch (IOException e) {
+                LOGGER.warning("Cannot watch " + file + " for changes: " + e.getMessage());
+            }
+        }
     }
 
     public static AppConfig getInstance() {
-        if (instance == null) {
-            synchronized (AppConfig.class) {
-                if (instance == null) {
-                    instance = new AppConfig();
+        return INSTANCE;
+    }
+
+    /**
+     * The settings in force; keep the snapshot for the duration of one operation
+     */
+    public AppSettings getSettings() {
+        return settings.get();
+    }
+
+    /**
+     * Re-reads the settings file and environment and publishes a new snapshot, then notifies
+     * the listeners. A missing file means defaults plus the environment.
+     * @return true if a new snapshot was published
+     */
+    public synchronized boolean reload() {
+        Properties properties = new Properties();
+        try {
+            if (Files.exists(file)) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
                 }
             }
+            AppSettings loaded = AppSettings.resolve(properties, System.getenv(), System.getProperties(),
+                Files.exists(file) ? file.toString() : "defaults");
+            String override = dataFolderOverride;
+            publish(override == null ? loaded : loaded.withDataFolderPath(override));
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warning("Keeping current settings; cannot load " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Registers a callback run with every new snapshot, on the thread that published it
+     */
+    public void addListener(Consumer<AppSettings> listener) {
+        Validator.requireNonNull(listener, "Listener cannot be null");
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<AppSettings> listener) {
+        listeners.remove(listener);
+    }
+
+    private void publish(AppSettings next) {
+        if (next.equals(settings.get())) {
+            return; // editors often save in several steps
+        }
+        AppSettings previous = settings.getAndSet(next);
+        if (previous != null) {
+            LOGGER.info("Settings reloaded: " + next);
+            if (previous.isOffHeapStorage() != next.isOffHeapStorage()) {
+                LOGGER.warning("The storage setting takes effect after a restart.");
+            }
+        }
+        for (Consumer<AppSettings> listener : listeners) {
+            try {
+                listener.accept(next);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Settings listener failed", e);
+            }
         }
-        return instance;
     }
 
     public String getDataFolderPath() {
-        return dataFolderPath;
+        return getSettings().getDataFolderPath();
     }
-    public void setDataFolderPath(String path) {
-        this.dataFolderPath = path;
+
+    public synchronized void setDataFolderPath(String path) {
+        Validator.requireNonNull(path, "Data folder path cannot be null");
+        dataFolderOverride = path;
+        publish(getSettings().withDataFolderPath(path));
+    }
+
+    public boolean isOffHeapStorage() {
+        return getSettings().isOffHeapStorage();
     }
 }
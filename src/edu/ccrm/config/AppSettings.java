@@ -0,0 +1,174 @@
+package edu.ccrm.config;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * One immutable snapshot of the application settings, published by {@link AppConfig}.
+ *
+ * Each setting is looked up as the system property {@code ccrm.<key>}, then the environment
+ * variable {@code CCRM_<KEY>} (e.g. CCRM_DATA_FOLDER), then the settings file, then its default:
+ * <ul>
+ * <li>{@code dataFolder} - default folder for exported files, default {@code data}</li>
+ * <li>{@code storage} - {@code heap} or {@code offheap}; read at startup only</li>
+ * <li>{@code workerThreads} - size of background worker pools, default the processor count</li>
+ * <li>{@code serverThreads} - size of request-handling pools, default 8</li>
+ * <li>{@code searchCacheSize} - keyword searches remembered per course service, 0 disables, default 256</li>
+ * <li>{@code durability} - {@link DurabilityMode} of exports and backups, default {@code buffered}</li>
+ * </ul>
+ */
+public final class AppSettings {
+    public static final String DATA_FOLDER = "dataFolder";
+    public static final String STORAGE = "storage";
+    public static final String WORKER_THREADS = "workerThreads";
+    public static final String SERVER_THREADS = "serverThreads";
+    public static final String SEARCH_CACHE_SIZE = "searchCacheSize";
+    public static final String DURABILITY = "durability";
+
+    private static final String[] KEYS = {DATA_FOLDER, STORAGE, WORKER_THREADS, SERVER_THREADS, SEARCH_CACHE_SIZE, DURABILITY};
+
+    private final String dataFolderPath;
+    private final boolean offHeapStorage;
+    private final int workerThreads;
+    private final int serverThreads;
+    private final int searchCacheSize;
+    private final DurabilityMode durability;
+    private final String source;
+
+    private AppSettings(String dataFolderPath, boolean offHeapStorage, int workerThreads, int serverThreads,
+                        int searchCacheSize, DurabilityMode durability, String source) {
+        this.dataFolderPath = dataFolderPath;
+        this.offHeapStorage = offHeapStorage;
+        this.workerThreads = workerThreads;
+        this.serverThreads = serverThreads;
+        this.searchCacheSize = searchCacheSize;
+        this.durability = durability;
+        this.source = source;
+    }
+
+    /**
+     * Resolves every setting from its sources
+     * @param file the settings file's contents, empty if there is none
+     * @param environment environment variables
+     * @param system system properties
+     * @param source where the file came from, for messages
+     * @return the settings
+     * @throws IllegalArgumentException if the file has an unknown key or a value is malformed
+     */
+    static AppSettings resolve(Properties file, Map<String, String> environment, Properties system, String source) {
+        for (String key : file.stringPropertyNames()) {
+            if (!Arrays.asList(KEYS).contains(key)) {
+                throw new IllegalArgumentException("Unknown setting in " + source + ": " + key);
+            }
+        }
+        Sources sources = new Sources(file, environment, system);
+        String storage = sources.get(STORAGE, "heap").toLowerCase(Locale.ROOT);
+        if (!storage.equals("heap") && !storage.equals("offheap")) {
+            throw new IllegalArgumentException(STORAGE + " must be heap or offheap: " + storage);
+        }
+        String durability = sources.get(DURABILITY, "buffered");
+        DurabilityMode mode;
+        try {
+            mode = DurabilityMode.valueOf(durability.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(DURABILITY + " must be buffered or sync: " + durability);
+        }
+        return new AppSettings(
+            sources.get(DATA_FOLDER, "data"),
+            storage.equals("offheap"),
+            sources.getInt(WORKER_THREADS, Runtime.getRuntime().availableProcessors(), 1),
+            sources.getInt(SERVER_THREADS, 8, 1),
+            sources.getInt(SEARCH_CACHE_SIZE, 256, 0),
+            mode,
+            source);
+    }
+
+    AppSettings withDataFolderPath(String path) {
+        return new AppSettings(path, offHeapStorage, workerThreads, serverThreads, searchCacheSize, durability, source);
+    }
+
+    public String getDataFolderPath() { return dataFolderPath; }
+    public boolean isOffHeapStorage() { return offHeapStorage; }
+    public int getWorkerThreads() { return workerThreads; }
+    public int getServerThreads() { return serverThreads; }
+    public int getSearchCacheSize() { return searchCacheSize; }
+    public DurabilityMode getDurability() { return durability; }
+    public String getSource() { return source; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AppSettings other = (AppSettings) o;
+        return offHeapStorage == other.offHeapStorage && workerThreads == other.workerThreads
+            && serverThreads == other.serverThreads && searchCacheSize == other.searchCacheSize
+            && durability == other.durability && dataFolderPath.equals(other.dataFolderPath)
+            && source.equals(other.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dataFolderPath, offHeapStorage, workerThreads, serverThreads, searchCacheSize, durability, source);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AppSettings[%s: dataFolder=%s, storage=%s, workerThreads=%d, serverThreads=%d, searchCacheSize=%d, durability=%s]",
+            source, dataFolderPath, offHeapStorage ? "offheap" : "heap", workerThreads, serverThreads,
+            searchCacheSize, durability.name().toLowerCase(Locale.ROOT));
+    }
+
+    private static final class Sources {
+        private final Properties file;
+        private final Map<String, String> environment;
+        private final Properties system;
+
+        Sources(Properties file, Map<String, String> environment, Properties system) {
+            this.file = file;
+            this.environment = environment;
+            this.system = system;
+        }
+
+        String get(String key, String fallback) {
+            String value = system.getProperty("ccrm." + key);
+            if (value == null) {
+                value = environment.get(environmentName(key));
+            }
+            if (value == null) {
+                value = file.getProperty(key);
+            }
+            return value == null || value.isBlank() ? fallback : value.trim();
+        }
+
+        int getInt(String key, int fallback, int min) {
+            String value = get(key, null);
+            if (value == null) {
+                return fallback;
+            }
+            try {
+                int parsed = Integer.parseInt(value);
+                if (parsed < min) {
+                    throw new IllegalArgumentException(key + " must be at least " + min + ": " + value);
+                }
+                return parsed;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(key + " must be a whole number: " + value);
+            }
+        }
+
+        // dataFolder -> CCRM_DATA_FOLDER
+        private static String environmentName(String key) {
+            StringBuilder name = new StringBuilder("CCRM_");
+            for (char c : key.toCharArray()) {
+                if (Character.isUpperCase(c)) {
+                    name.append('_');
+                }
+                name.append(Character.toUpperCase(c));
+            }
+            return name.toString();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package edu.ccrm.config;
+
+/**
+ * How far exports and backups go before a write returns
+ */
+public enum DurabilityMode {
+    // Leave flushing to the operating system; fastest, but a crash can lose recent files
+    BUFFERED,
+    // Force every written file to the storage device before returning
+    SYNC
+}
@@ -1,21 +1,87 @@
 package edu.ccrm.config;
 
+import edu.ccrm.util.FileWatcher;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.Logger;
+
 public class EnrollmentConfig {
-    private static final int DEFAULT_MAX_CREDITS = 30;
-    private static final int MIN_CREDITS_PER_SEMESTER = 12;
-    private static final double HIGH_GPA_THRESHOLD = 8.5;
-    private static final int BONUS_CREDITS = 3;
+    private static final Logger LOGGER = Logger.getLogger(EnrollmentConfig.class.getName());
+    private static final int MAX_TEACHING_LOAD = 3;
+    // -Dccrm.waitlist.priority=request_time switches waitlists to first come, first served
+    private static final WaitlistPriority WAITLIST_PRIORITY = parseWaitlistPriority(System.getProperty("ccrm.waitlist.priority"));
+    // -Dccrm.rules=<file> selects the enrollment rules; the file is reloaded whenever it changes
+    private static final Path RULES_FILE = Paths.get(System.getProperty("ccrm.rules", "config/enrollment-rules.properties"));
+    private static volatile EnrollmentRules rules = EnrollmentRules.defaults();
 
-    public static int getMaxCreditsForStudent(double gpa) {
-        // High performing students can take extra credits
-        if (gpa >= HIGH_GPA_THRESHOLD) {
-            return DEFAULT_MAX_CREDITS + BONUS_CREDITS;
+    static {
+        reloadRules();
+        Path directory = RULES_FILE.toAbsolutePath().getParent();
+        if (directory != null && Files.isDirectory(directory)) {
+            try {
+                FileWatcher.watch(RULES_FILE, EnrollmentConfig::reloadRules);
+            } catch (IOException e) {
+                LOGGER.warning("Cannot watch " + RULES_FILE + " for changes: " + e.getMessage());
+            }
         }
-        return DEFAULT_MAX_CREDITS;
+    }
+
+    /**
+     * The enrollment rules in force; read it once per decision so one check never mixes two versions
+     */
+    public static EnrollmentRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Recompiles the rules file and swaps it in. A missing file means the built-in defaults;
+     * a malformed one is reported and the rules in force are kept.
+     * @return true if the rules were replaced
+     */
+    public static synchronized boolean reloadRules() {
+        try {
+            if (Files.exists(RULES_FILE)) {
+                rules = EnrollmentRules.load(RULES_FILE);
+                LOGGER.info("Enrollment rules loaded: " + rules);
+            } else {
+                rules = EnrollmentRules.defaults();
+                LOGGER.fine("No enrollment rules file at " + RULES_FILE + "; using " + rules);
+            }
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warning("Keeping current enrollment rules; cannot load " + RULES_FILE + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Limits of the default program; students' own programs may differ, see getRules()
+    public static int getMaxCreditsForStudent(double gpa) {
+        return rules.getMaxCredits(0, gpa);
     }
 
     public static int getMinCreditsPerSemester() {
-        return MIN_CREDITS_PER_SEMESTER;
+        return rules.getMinCredits(0);
+    }
+
+    public static int getMaxTeachingLoad() {
+        return MAX_TEACHING_LOAD;
+    }
+
+    public static WaitlistPriority getWaitlistPriority() {
+        return WAITLIST_PRIORITY;
+    }
+
+    private static WaitlistPriority parseWaitlistPriority(String value) {
+        if (value == null || value.isBlank()) {
+            return WaitlistPriority.GPA_THEN_REQUEST_TIME;
+        }
+        try {
+            return WaitlistPriority.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return WaitlistPriority.GPA_THEN_REQUEST_TIME;
+        }
     }
 
     public static String validateCreditLoad(int currentCredits, int newCredits, double gpa) {
@@ -0,0 +1,347 @@
+package edu.ccrm.config;
+
+import edu.ccrm.util.SymbolTable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Per-program enrollment policies compiled into lookup tables.
+ *
+ * A program is the letter prefix of a registration number, e.g. CS for CS123456; students of
+ * programs without a policy follow the {@value #DEFAULT_PROGRAM} one. Policies are read from a
+ * properties file with keys {@code <program>.<setting>}:
+ * <pre>
+ * default.maxCredits=30
+ * default.minCredits=12
+ * # GPA:bonus credits; the highest band reached applies
+ * default.gpaBands=8.5:3
+ * CS.departmentQuota=Mathematics:9, Physics:6
+ * </pre>
+ * A program inherits every setting it does not set from the default. Department quotas cap
+ * the credits a student takes from one department per semester.
+ *
+ * Compiling resolves inheritance and GPA bands ahead of time: programs are found by indexing
+ * an array with the packed prefix letters, credit limits by indexing with the GPA in hundredths
+ * and quotas by department symbol id, so {@link #evaluate} does no allocation or parsing.
+ * Instances are immutable and thread-safe.
+ */
+public final class EnrollmentRules {
+
+    /**
+     * Result of {@link #evaluate}; every outcome but ALLOWED rejects the enrollment
+     */
+    public enum Outcome { ALLOWED, CREDIT_LIMIT, DEPARTMENT_QUOTA, MINIMUM_CREDITS }
+
+    public static final String DEFAULT_PROGRAM = "default";
+    public static final int NO_QUOTA = -1;
+
+    private static final int MAX_GPA_CELL = 1000; // 10.00 in hundredths
+    private static final int PROGRAM_CODES = 27 * 27 * 27;
+    private static final int[] NO_QUOTAS = new int[0];
+
+    private final String source;
+    private final String[] programs;
+    private final short[] programByCode;
+    private final int[] minCredits;
+    private final int[][] maxCreditsByGpa;
+    private final int[][] quotaByDepartment;
+    private final String description;
+
+    private EnrollmentRules(String source, Map<String, Policy> policies) {
+        this.source = source;
+        int count = policies.size();
+        this.programs = policies.keySet().toArray(new String[0]);
+        this.programByCode = new short[PROGRAM_CODES];
+        this.minCredits = new int[count];
+        this.maxCreditsByGpa = new int[count][];
+        this.quotaByDepartment = new int[count][];
+        StringBuilder summary = new StringBuilder();
+        int index = 0;
+        for (Policy policy : policies.values()) {
+            if (index > 0) {
+                programByCode[programCode(policy.program, 0)] = (short) index;
+            }
+            minCredits[index] = policy.minCredits;
+            maxCreditsByGpa[index] = policy.compileGpaBands();
+            quotaByDepartment[index] = policy.compileQuotas();
+            summary.append(summary.length() == 0 ? "" : "; ").append(policy);
+            index++;
+        }
+        this.description = summary.toString();
+    }
+
+    /**
+     * The built-in policy: 12 to 30 credits a semester, 3 more from a GPA of 8.5, no quotas
+     */
+    public static EnrollmentRules defaults() {
+        return compile(new Properties(), "built-in defaults");
+    }
+
+    /**
+     * Reads and compiles a rules file
+     * @param file the properties file
+     * @return the compiled rules
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a rule is malformed
+     */
+    public static EnrollmentRules load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return compile(properties, file.toString());
+    }
+
+    /**
+     * Compiles rules from {@code <program>.<setting>} properties
+     * @param properties the rules
+     * @param source where the rules came from, for messages
+     * @return the compiled rules
+     * @throws IllegalArgumentException if a rule is malformed
+     */
+    public static EnrollmentRules compile(Properties properties, String source) {
+        Map<String, Map<String, String>> settings = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            if (dot <= 0) {
+                throw new IllegalArgumentException("Rule key must be <program>.<setting>: " + key);
+            }
+            String program = key.substring(0, dot).trim();
+            if (!program.equals(DEFAULT_PROGRAM) && programCode(program, 0) < 0) {
+                throw new IllegalArgumentException("Program must be 2-3 uppercase letters or " + DEFAULT_PROGRAM + ": " + key);
+            }
+            settings.computeIfAbsent(program, p -> new LinkedHashMap<>())
+                .put(key.substring(dot + 1).trim(), properties.getProperty(key).trim());
+        }
+        Map<String, Policy> policies = new LinkedHashMap<>();
+        Policy fallback = new Policy(DEFAULT_PROGRAM, null, settings.getOrDefault(DEFAULT_PROGRAM, Map.of()));
+        policies.put(DEFAULT_PROGRAM, fallback);
+        for (Map.Entry<String, Map<String, String>> program : settings.entrySet()) {
+            if (!program.getKey().equals(DEFAULT_PROGRAM)) {
+                policies.put(program.getKey(), new Policy(program.getKey(), fallback, program.getValue()));
+            }
+        }
+        return new EnrollmentRules(source, policies);
+    }
+
+    /**
+     * The program index of a registration number; 0 is the default program
+     */
+    public int programOf(String regNo) {
+        int code = regNo == null ? -1 : programCode(regNo, 0);
+        return code < 0 ? 0 : programByCode[code];
+    }
+
+    public String getProgramName(int program) {
+        return programs[program];
+    }
+
+    public int getMaxCredits(int program, double gpa) {
+        int cell = gpa <= 0 ? 0 : gpa >= MAX_GPA_CELL / 100.0 ? MAX_GPA_CELL : (int) (gpa * 100 + 1e-9);
+        return maxCreditsByGpa[program][cell];
+    }
+
+    public int getMinCredits(int program) {
+        return minCredits[program];
+    }
+
+    public boolean hasDepartmentQuotas(int program) {
+        return quotaByDepartment[program].length > 0;
+    }
+
+    /**
+     * Credits a student of the program may take from the department per semester
+     * @return the quota, or {@link #NO_QUOTA}
+     */
+    public int getDepartmentQuota(int program, String department) {
+        int[] quotas = quotaByDepartment[program];
+        if (quotas.length == 0 || department == null) {
+            return NO_QUOTA;
+        }
+        int id = SymbolTable.DEPARTMENTS.lookup(department);
+        return id < 0 || id >= quotas.length ? NO_QUOTA : quotas[id];
+    }
+
+    /**
+     * Checks a single enrollment against the student's program
+     * @param program from {@link #programOf}
+     * @param gpa the student's GPA
+     * @param department the course's department
+     * @param courseCredits the course's credits
+     * @param semesterCredits credits the student already has in the course's semester
+     * @param departmentCredits credits the student already has in the semester from the course's department
+     * @param plannedCredits credits the request enrolls in the semester, for the first-course minimum
+     * @return the first rule broken, or ALLOWED
+     */
+    public Outcome evaluate(int program, double gpa, String department, int courseCredits,
+                            int semesterCredits, int departmentCredits, int plannedCredits) {
+        if (semesterCredits + courseCredits > getMaxCredits(program, gpa)) {
+            return Outcome.CREDIT_LIMIT;
+        }
+        int quota = getDepartmentQuota(program, department);
+        if (quota != NO_QUOTA && departmentCredits + courseCredits > quota) {
+            return Outcome.DEPARTMENT_QUOTA;
+        }
+        if (semesterCredits == 0 && plannedCredits < minCredits[program]) {
+            return Outcome.MINIMUM_CREDITS;
+        }
+        return Outcome.ALLOWED;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return "EnrollmentRules[" + source + ": " + description + "]";
+    }
+
+    // Packs 2-3 leading uppercase letters in base 27, or -1 if the value has no such prefix
+    private static int programCode(String value, int start) {
+        int code = 0;
+        int letters = 0;
+        while (start + letters < value.length()) {
+            char c = value.charAt(start + letters);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            if (++letters > 3) {
+                return -1;
+            }
+            code = code * 27 + (c - 'A' + 1);
+        }
+        return letters >= 2 ? code : -1;
+    }
+
+    /**
+     * One program's settings after inheritance, before compilation
+     */
+    private static final class Policy {
+        final String program;
+        final int maxCredits;
+        final int minCredits;
+        final double[] bandThresholds;
+        final int[] bandBonuses;
+        final Map<String, Integer> quotas;
+
+        Policy(String program, Policy parent, Map<String, String> settings) {
+            this.program = program;
+            for (String setting : settings.keySet()) {
+                if (!List.of("maxCredits", "minCredits", "gpaBands", "departmentQuota").contains(setting)) {
+                    throw new IllegalArgumentException("Unknown rule setting: " + program + "." + setting);
+                }
+            }
+            maxCredits = settings.containsKey("maxCredits")
+                ? parseCredits(program, "maxCredits", settings.get("maxCredits")) : parent == null ? 30 : parent.maxCredits;
+            minCredits = settings.containsKey("minCredits")
+                ? parseCredits(program, "minCredits", settings.get("minCredits")) : parent == null ? 12 : parent.minCredits;
+            if (maxCredits == 0 || minCredits > maxCredits) {
+                throw new IllegalArgumentException(String.format(
+                    "%s: need minCredits <= maxCredits and maxCredits > 0, got %d and %d", program, minCredits, maxCredits));
+            }
+
+            if (settings.containsKey("gpaBands")) {
+                Map<Double, Integer> bands = new TreeMap<>();
+                for (String[] pair : pairs(program, "gpaBands", settings.get("gpaBands"))) {
+                    double threshold = Double.parseDouble(pair[0]);
+                    if (!(threshold >= 0) || threshold * 100 > MAX_GPA_CELL
+                            || Math.abs(threshold * 100 - Math.rint(threshold * 100)) > 1e-6) {
+                        throw new IllegalArgumentException(program + ".gpaBands: GPA must be 0-10 with at most two decimals: " + pair[0]);
+                    }
+                    bands.put(threshold, Integer.parseInt(pair[1]));
+                }
+                bandThresholds = bands.keySet().stream().mapToDouble(Double::doubleValue).toArray();
+                bandBonuses = bands.values().stream().mapToInt(Integer::intValue).toArray();
+            } else if (parent == null) {
+                bandThresholds = new double[] {8.5};
+                bandBonuses = new int[] {3};
+            } else {
+                bandThresholds = parent.bandThresholds;
+                bandBonuses = parent.bandBonuses;
+            }
+
+            if (settings.containsKey("departmentQuota")) {
+                quotas = new LinkedHashMap<>();
+                for (String[] pair : pairs(program, "departmentQuota", settings.get("departmentQuota"))) {
+                    quotas.put(pair[0], parseCredits(program, "departmentQuota", pair[1]));
+                }
+            } else {
+                quotas = parent == null ? Map.of() : parent.quotas;
+            }
+        }
+
+        // Max credits for every GPA from 0.00 to 10.00 in hundredths
+        int[] compileGpaBands() {
+            int[] table = new int[MAX_GPA_CELL + 1];
+            Arrays.fill(table, maxCredits);
+            for (int band = 0; band < bandThresholds.length; band++) {
+                int from = (int) Math.rint(bandThresholds[band] * 100);
+                Arrays.fill(table, from, table.length, maxCredits + bandBonuses[band]);
+            }
+            return table;
+        }
+
+        // Quotas indexed by department symbol id
+        int[] compileQuotas() {
+            if (quotas.isEmpty()) {
+                return NO_QUOTAS;
+            }
+            Map<Integer, Integer> byId = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> quota : quotas.entrySet()) {
+                byId.put(SymbolTable.DEPARTMENTS.id(quota.getKey()), quota.getValue());
+            }
+            int[] table = new int[byId.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1];
+            Arrays.fill(table, NO_QUOTA);
+            byId.forEach((id, credits) -> table[id] = credits);
+            return table;
+        }
+
+        private static int parseCredits(String program, String setting, String value) {
+            try {
+                int credits = Integer.parseInt(value.trim());
+                if (credits < 0) {
+                    throw new IllegalArgumentException(program + "." + setting + " cannot be negative: " + value);
+                }
+                return credits;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(program + "." + setting + " must be a whole number: " + value);
+            }
+        }
+
+        // "a:1, b:2" as trimmed pairs
+        private static List<String[]> pairs(String program, String setting, String value) {
+            List<String[]> pairs = new ArrayList<>();
+            for (String item : value.split(",")) {
+                if (item.isBlank()) {
+                    continue;
+                }
+                int colon = item.lastIndexOf(':');
+                if (colon <= 0) {
+                    throw new IllegalArgumentException(program + "." + setting + " entries must be name:value, got: " + item.trim());
+                }
+                pairs.add(new String[] {item.substring(0, colon).trim(), item.substring(colon + 1).trim()});
+            }
+            return pairs;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder bands = new StringBuilder();
+            for (int band = 0; band < bandThresholds.length; band++) {
+                bands.append(band == 0 ? "" : ",").append(bandThresholds[band]).append(":+").append(bandBonuses[band]);
+            }
+            return String.format("%s %d-%d credits, GPA bands [%s], quotas %s", program, minCredits, maxCredits, bands, quotas);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package edu.ccrm.config;
+
+/**
+ * Order in which waitlisted students are offered freed seats
+ */
+public enum WaitlistPriority {
+    // Highest GPA at the time of the request first, earlier requests breaking ties
+    GPA_THEN_REQUEST_TIME,
+    // First come, first served
+    REQUEST_TIME
+}
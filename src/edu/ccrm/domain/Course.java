@@ -1,6 +1,14 @@
 package edu.ccrm.domain;
 
+import edu.ccrm.util.SymbolTable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 public class Course {
+    /** Capacity of a course without a seat limit */
+    public static final int UNLIMITED_CAPACITY = 0;
+
     private String code;
     private String title;
     private int credits;
@@ -8,15 +16,24 @@ public class Course {
     private Semester semester;
     private String department;
     private boolean active;
+    private List<MeetingTime> meetingTimes = List.of();
+    private int capacity = UNLIMITED_CAPACITY;
+    private Consumer<Course> changeListener;
 
     public Course(String code, String title, int credits, Instructor instructor, Semester semester, String department) {
-        this.code = code;
+        this.code = SymbolTable.COURSE_CODES.intern(code);
         this.title = title;
         this.credits = credits;
-        this.instructor = instructor;
         this.semester = semester;
-        this.department = department;
+        this.department = SymbolTable.DEPARTMENTS.intern(department);
         this.active = true;
+        setInstructor(instructor);
+    }
+
+    /**
+     * For flyweight subclasses whose state lives in external storage; they override every accessor
+     */
+    protected Course() {
     }
 
     public String getCode() { return code; }
@@ -26,14 +43,110 @@ public class Course {
     public Semester getSemester() { return semester; }
     public String getDepartment() { return department; }
     public boolean isActive() { return active; }
+    public List<MeetingTime> getMeetingTimes() { return meetingTimes; }
+    public int getCapacity() { return capacity; }
+
+    public void setTitle(String title) {
+        this.title = title;
+        changed();
+    }
+
+    public void setCredits(int credits) {
+        this.credits = credits;
+        changed();
+    }
+
+    /**
+     * Sets the seat limit
+     * @param capacity the number of seats, or {@link #UNLIMITED_CAPACITY}
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = requireValidCapacity(capacity);
+    }
+
+    protected static int requireValidCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        return capacity;
+    }
+
+    /**
+     * Sets the instructor and moves this course between the instructors' assigned courses.
+     * Availability and teaching load are checked by {@code InstructorService.assignCourse}.
+     * @param instructor the new instructor, or null to leave the course unassigned
+     */
+    public void setInstructor(Instructor instructor) {
+        if (instructor == this.instructor) {
+            return;
+        }
+        if (instructor != null) {
+            instructor.assignCourse(code);
+        }
+        if (this.instructor != null) {
+            this.instructor.unassignCourse(code);
+        }
+        this.instructor = instructor;
+        changed();
+    }
+
+    /**
+     * Replaces the weekly meeting slots
+     * @param meetingTimes the slots, sorted on the way in; null clears them
+     * @throws IllegalArgumentException if two of the slots overlap
+     */
+    public void setMeetingTimes(List<MeetingTime> meetingTimes) {
+        this.meetingTimes = sortedMeetingTimes(meetingTimes);
+    }
+
+    /**
+     * Sorts meeting slots and checks that they do not overlap each other
+     * @param meetingTimes the slots, may be null
+     * @return an unmodifiable sorted copy
+     * @throws IllegalArgumentException if two of the slots overlap
+     */
+    protected static List<MeetingTime> sortedMeetingTimes(List<MeetingTime> meetingTimes) {
+        if (meetingTimes == null || meetingTimes.isEmpty()) {
+            return List.of();
+        }
+        List<MeetingTime> sorted = new ArrayList<>(meetingTimes);
+        sorted.sort(null);
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i - 1).overlaps(sorted.get(i))) {
+                throw new IllegalArgumentException("Meeting times overlap: " + sorted.get(i - 1) + " and " + sorted.get(i));
+            }
+        }
+        return List.copyOf(sorted);
+    }
+
+    public void setSemester(Semester semester) {
+        this.semester = semester;
+        changed();
+    }
+
+    public void setDepartment(String department) {
+        this.department = SymbolTable.DEPARTMENTS.intern(department);
+        changed();
+    }
 
-    public void setTitle(String title) { this.title = title; }
-    public void setCredits(int credits) { this.credits = credits; }
-    public void setInstructor(Instructor instructor) { this.instructor = instructor; }
-    public void setSemester(Semester semester) { this.semester = semester; }
-    public void setDepartment(String department) { this.department = department; }
     public void deactivate() { this.active = false; }
 
+    /**
+     * Registers the callback run after the title, credits, instructor, semester or department
+     * change, so a registry can keep its indexes current
+     * @param listener the callback, or null to remove it
+     */
+    public void setChangeListener(Consumer<Course> listener) {
+        this.changeListener = listener;
+    }
+
+    private void changed() {
+        if (changeListener != null) {
+            changeListener.accept(this);
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("Course: %s - %s (%d credits, %s, %s)", code, title, credits, semester, department);
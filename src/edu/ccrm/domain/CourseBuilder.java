@@ -1,5 +1,7 @@
 package edu.ccrm.domain;
 
+import java.util.List;
+
 public class CourseBuilder {
     private String code;
     private String title;
@@ -7,6 +9,8 @@ public class CourseBuilder {
     private Instructor instructor;
     private Semester semester;
     private String department;
+    private List<MeetingTime> meetingTimes;
+    private int capacity = Course.UNLIMITED_CAPACITY;
 
     public CourseBuilder setCode(String code) {
         this.code = code;
@@ -32,7 +36,18 @@ public class CourseBuilder {
         this.department = department;
         return this;
     }
+    public CourseBuilder setMeetingTimes(List<MeetingTime> meetingTimes) {
+        this.meetingTimes = meetingTimes;
+        return this;
+    }
+    public CourseBuilder setCapacity(int capacity) {
+        this.capacity = capacity;
+        return this;
+    }
     public Course build() {
-        return new Course(code, title, credits, instructor, semester, department);
+        Course course = new Course(code, title, credits, instructor, semester, department);
+        course.setMeetingTimes(meetingTimes);
+        course.setCapacity(capacity);
+        return course;
     }
 }
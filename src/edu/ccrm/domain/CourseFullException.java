@@ -0,0 +1,12 @@
+package edu.ccrm.domain;
+
+public class CourseFullException extends RuntimeException {
+    public CourseFullException(String message) {
+        super(message);
+    }
+
+    public CourseFullException(Course course, int waitlisted) {
+        super(String.format("Course %s is full (%d seats, %d waitlisted); join the waitlist for a seat",
+            course.getCode(), course.getCapacity(), waitlisted));
+    }
+}
@@ -17,6 +17,14 @@ public class Enrollment {
         this.marks = -1;
     }
 
+    public Enrollment(Student student, Course course, LocalDate enrollmentDate, int marks) {
+        this.student = student;
+        this.course = course;
+        this.enrollmentDate = enrollmentDate;
+        this.marks = marks;
+        this.grade = marks >= 0 ? computeGrade(marks) : null;
+    }
+
     public Student getStudent() { return student; }
     public Course getCourse() { return course; }
     public LocalDate getEnrollmentDate() { return enrollmentDate; }
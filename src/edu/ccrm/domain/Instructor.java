@@ -1,49 +1,84 @@
 package edu.ccrm.domain;
 
+import edu.ccrm.util.SymbolTable;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public class Instructor extends Person {
     private String department;
     private Set<String> assignedCourses;
     private String specialization;
     private boolean isAvailable;
+    private transient Consumer<Instructor> changeListener;
 
     public Instructor(String id, String fullName, String email, String department) {
         super(id, fullName, email);
-        this.department = department;
+        this.department = SymbolTable.DEPARTMENTS.intern(department);
         this.assignedCourses = new HashSet<>();
         this.isAvailable = true;
     }
 
     public String getDepartment() { return department; }
-    public void setDepartment(String department) { this.department = department; }
+    public void setDepartment(String department) {
+        this.department = SymbolTable.DEPARTMENTS.intern(department);
+        changed();
+    }
     
     public String getSpecialization() { return specialization; }
     public void setSpecialization(String specialization) { this.specialization = specialization; }
     
     public boolean isAvailable() { return isAvailable; }
-    public void setAvailable(boolean available) { isAvailable = available; }
+    public void setAvailable(boolean available) {
+        isAvailable = available;
+        changed();
+    }
     
     public Set<String> getAssignedCourses() { return Collections.unmodifiableSet(assignedCourses); }
     
+    // Records the assignment as is; InstructorService.assignCourse checks availability and load first
     public void assignCourse(String courseCode) {
-        if (isAvailable) {
-            assignedCourses.add(courseCode);
-        } else {
-            throw new IllegalStateException("Instructor is not available for course assignment");
+        if (assignedCourses.add(SymbolTable.COURSE_CODES.intern(courseCode))) {
+            changed();
         }
     }
     
     public void unassignCourse(String courseCode) {
-        assignedCourses.remove(courseCode);
+        int id = SymbolTable.COURSE_CODES.lookup(courseCode);
+        if (id < 0) {
+            return;
+        }
+        if (assignedCourses.remove(SymbolTable.COURSE_CODES.name(id))) {
+            changed();
+        }
     }
     
     public int getTeachingLoad() {
         return assignedCourses.size();
     }
 
+    @Override
+    public void deactivate() {
+        super.deactivate();
+        changed();
+    }
+
+    /**
+     * Registers the callback run after the department, availability, active status or
+     * assigned courses change, so a registry can keep its indexes current
+     * @param listener the callback, or null to remove it
+     */
+    public void setChangeListener(Consumer<Instructor> listener) {
+        this.changeListener = listener;
+    }
+
+    private void changed() {
+        if (changeListener != null) {
+            changeListener.accept(this);
+        }
+    }
+
     @Override
     public String getProfile() {
         return String.format(
@@ -0,0 +1,121 @@
+package edu.ccrm.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Objects;
+
+public final class MeetingTime implements Comparable<MeetingTime> {
+    public static final int MINUTES_PER_WEEK = 7 * 24 * 60;
+
+    private final DayOfWeek day;
+    private final LocalTime start;
+    private final LocalTime end;
+
+    public MeetingTime(DayOfWeek day, LocalTime start, LocalTime end) {
+        if (day == null || start == null || end == null) {
+            throw new IllegalArgumentException("Meeting day and times cannot be null");
+        }
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Meeting must end after it starts: " + start + "-" + end);
+        }
+        this.day = day;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Parses a slot written as "MON 09:00-10:30"; the day may be any prefix of at least three letters
+     * @param text the slot text
+     * @return the meeting time
+     * @throws IllegalArgumentException if the text is not a valid slot
+     */
+    public static MeetingTime parse(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Meeting time cannot be null");
+        }
+        String[] parts = text.trim().split("\\s+");
+        String[] times = parts.length == 2 ? parts[1].split("-") : new String[0];
+        if (times.length != 2 || parts[0].length() < 3) {
+            throw new IllegalArgumentException("Invalid meeting time (expected e.g. MON 09:00-10:30): " + text);
+        }
+        try {
+            return new MeetingTime(parseDay(parts[0]), LocalTime.parse(times[0]), LocalTime.parse(times[1]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid meeting time (expected e.g. MON 09:00-10:30): " + text);
+        }
+    }
+
+    private static DayOfWeek parseDay(String text) {
+        String upper = text.toUpperCase(Locale.ROOT);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().startsWith(upper)) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("Invalid day of week: " + text);
+    }
+
+    /**
+     * Rebuilds a meeting time from its minute-of-week bounds
+     * @param startMinute minutes since Monday 00:00 at which the meeting starts
+     * @param endMinute minutes since Monday 00:00 at which it ends, on the same day
+     * @return the meeting time
+     */
+    public static MeetingTime ofMinutesOfWeek(int startMinute, int endMinute) {
+        DayOfWeek day = DayOfWeek.of(startMinute / (24 * 60) + 1);
+        int dayStart = (day.getValue() - 1) * 24 * 60;
+        LocalTime end = endMinute - dayStart == 24 * 60 ? LocalTime.MAX : LocalTime.ofSecondOfDay(60L * (endMinute - dayStart));
+        return new MeetingTime(day, LocalTime.ofSecondOfDay(60L * (startMinute - dayStart)), end);
+    }
+
+    public DayOfWeek getDay() { return day; }
+    public LocalTime getStart() { return start; }
+    public LocalTime getEnd() { return end; }
+
+    /**
+     * Minutes since Monday 00:00 at which the meeting starts
+     * @return start minute of the week
+     */
+    public int getStartMinuteOfWeek() {
+        return (day.getValue() - 1) * 24 * 60 + start.getHour() * 60 + start.getMinute();
+    }
+
+    /**
+     * Minutes since Monday 00:00 at which the meeting ends; the interval is half-open
+     * @return end minute of the week
+     */
+    public int getEndMinuteOfWeek() {
+        int minutes = end.equals(LocalTime.MAX) ? 24 * 60 : end.getHour() * 60 + end.getMinute();
+        return (day.getValue() - 1) * 24 * 60 + minutes;
+    }
+
+    public boolean overlaps(MeetingTime other) {
+        return day == other.day && start.isBefore(other.end) && other.start.isBefore(end);
+    }
+
+    @Override
+    public int compareTo(MeetingTime other) {
+        int byStart = Integer.compare(getStartMinuteOfWeek(), other.getStartMinuteOfWeek());
+        return byStart != 0 ? byStart : Integer.compare(getEndMinuteOfWeek(), other.getEndMinuteOfWeek());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MeetingTime that = (MeetingTime) o;
+        return day == that.day && start.equals(that.start) && end.equals(that.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(day, start, end);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s-%s", day.name().substring(0, 3), start, end);
+    }
+}
@@ -22,6 +22,12 @@ public abstract class Person implements Serializable {
         this.active = true;
     }
 
+    /**
+     * For subclasses that keep their state outside the object and override every accessor
+     */
+    protected Person() {
+    }
+
     public String getId() { return id; }
     public String getFullName() { return fullName; }
     public String getEmail() { return email; }
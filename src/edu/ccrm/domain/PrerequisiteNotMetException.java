@@ -0,0 +1,13 @@
+package edu.ccrm.domain;
+
+import java.util.List;
+
+public class PrerequisiteNotMetException extends RuntimeException {
+    public PrerequisiteNotMetException(String message) {
+        super(message);
+    }
+
+    public PrerequisiteNotMetException(String courseCode, List<String> missing) {
+        super(String.format("Cannot enroll in %s: prerequisites not completed: %s", courseCode, missing));
+    }
+}
@@ -0,0 +1,40 @@
+package edu.ccrm.domain;
+
+import java.util.Objects;
+
+public final class Room {
+    private final String name;
+    private final int capacity;
+
+    public Room(String name, int capacity) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Room name cannot be null or blank");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Room capacity must be positive: " + capacity);
+        }
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    public String getName() { return name; }
+    public int getCapacity() { return capacity; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Room room = (Room) o;
+        return capacity == room.capacity && name.equals(room.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, capacity);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d seats)", name, capacity);
+    }
+}
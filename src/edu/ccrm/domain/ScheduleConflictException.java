@@ -0,0 +1,12 @@
+package edu.ccrm.domain;
+
+public class ScheduleConflictException extends RuntimeException {
+    public ScheduleConflictException(String message) {
+        super(message);
+    }
+
+    public ScheduleConflictException(String owner, Course course, Course existing) {
+        super(String.format("%s: %s %s clashes with %s %s", owner,
+            course.getCode(), course.getMeetingTimes(), existing.getCode(), existing.getMeetingTimes()));
+    }
+}
@@ -1,69 +1,266 @@
 package edu.ccrm.domain;
 
+import edu.ccrm.util.SymbolTable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 public class Student extends Person {
     private static final long serialVersionUID = 1L;
+    private static final Grade[] GRADES = Grade.values();
+    private static final int[] NO_COURSES = new int[0];
+    private static final byte[] NO_GRADES = new byte[0];
+    private static final long[] NO_BITS = new long[0];
+    private static final byte UNGRADED = 0;
+
     private String regNo;
-    private List<String> enrolledCourses;
     private LocalDate enrollmentDate;
-    private double gpa;
-    private Map<String, Grade> grades;
+    // Enrolled courses as sorted COURSE_CODES symbol ids, with a parallel grade code per
+    // course (0 = not graded, otherwise ordinal + 1). GPA is kept as running sums.
+    private transient int[] courseIds;
+    private transient byte[] gradeCodes;
+    private transient int courseCount;
+    private transient int gradePoints;
+    private transient int gradedCount;
+    // Passed courses as a bitset over COURSE_CODES ids, replaced whenever a course is passed
+    // or no longer passed, so the prerequisite check on every enrollment does not rebuild it
+    private transient long[] passedCourseBits;
 
     public Student(String id, String regNo, String fullName, String email) {
         super(id, fullName, email);
-        this.regNo = regNo;
-        this.enrolledCourses = new ArrayList<>();
+        this.regNo = SymbolTable.REG_NOS.intern(regNo);
         this.enrollmentDate = LocalDate.now();
-        this.grades = new HashMap<>();
-        this.gpa = 0.0;
+        this.courseIds = NO_COURSES;
+        this.gradeCodes = NO_GRADES;
+        this.passedCourseBits = NO_BITS;
+    }
+
+    /**
+     * For flyweight subclasses whose state lives in external storage; they override every accessor
+     */
+    protected Student() {
     }
 
     public String getRegNo() { return regNo; }
-    public List<String> getEnrolledCourses() { return enrolledCourses; }
     public LocalDate getEnrollmentDate() { return enrollmentDate; }
-    public double getGpa() { return gpa; }
-    public Map<String, Grade> getGrades() { return Collections.unmodifiableMap(grades); }
+
+    /**
+     * Returns a live, read-only view of the enrolled course codes, ordered by course id
+     * @return the enrolled course codes
+     */
+    public List<String> getEnrolledCourses() {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                if (index < 0 || index >= courseCount) {
+                    throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + courseCount);
+                }
+                return SymbolTable.COURSE_CODES.name(courseIds[index]);
+            }
+
+            @Override
+            public int size() {
+                return courseCount;
+            }
+
+            @Override
+            public boolean contains(Object code) {
+                return code instanceof String && indexOfCourse(SymbolTable.COURSE_CODES.lookup((String) code)) >= 0;
+            }
+        };
+    }
+
+    public double getGpa() {
+        return gradedCount == 0 ? 0.0 : (double) gradePoints / gradedCount;
+    }
+
+    /**
+     * Returns a live, read-only view of the recorded grades keyed by course code
+     * @return the grades of graded courses
+     */
+    public Map<String, Grade> getGrades() {
+        return new AbstractMap<String, Grade>() {
+            @Override
+            public Grade get(Object code) {
+                int index = code instanceof String ? indexOfCourse(SymbolTable.COURSE_CODES.lookup((String) code)) : -1;
+                return index < 0 || gradeCodes[index] == UNGRADED ? null : GRADES[gradeCodes[index] - 1];
+            }
+
+            @Override
+            public boolean containsKey(Object code) {
+                return get(code) != null;
+            }
+
+            @Override
+            public Set<Map.Entry<String, Grade>> entrySet() {
+                return new AbstractSet<Map.Entry<String, Grade>>() {
+                    @Override
+                    public int size() {
+                        return gradedCount;
+                    }
+
+                    @Override
+                    public Iterator<Map.Entry<String, Grade>> iterator() {
+                        return new Iterator<Map.Entry<String, Grade>>() {
+                            private int next = advance(0);
+
+                            private int advance(int from) {
+                                while (from < courseCount && gradeCodes[from] == UNGRADED) {
+                                    from++;
+                                }
+                                return from;
+                            }
+
+                            @Override
+                            public boolean hasNext() {
+                                return next < courseCount;
+                            }
+
+                            @Override
+                            public Map.Entry<String, Grade> next() {
+                                if (next >= courseCount) {
+                                    throw new NoSuchElementException();
+                                }
+                                Map.Entry<String, Grade> entry = new AbstractMap.SimpleImmutableEntry<>(
+                                    SymbolTable.COURSE_CODES.name(courseIds[next]), GRADES[gradeCodes[next] - 1]);
+                                next = advance(next + 1);
+                                return entry;
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Returns the courses completed with a passing grade as a bitset over course ids. The array
+     * is shared and must not be modified; later grade changes replace it rather than update it.
+     * @return bit i is set if the course with {@code SymbolTable.COURSE_CODES} id i was passed
+     */
+    public long[] getPassedCourseBits() {
+        return passedCourseBits;
+    }
 
     public void enrollCourse(String courseCode) {
-        if (!enrolledCourses.contains(courseCode)) {
-            enrolledCourses.add(courseCode);
+        int courseId = SymbolTable.COURSE_CODES.id(courseCode);
+        int index = indexOfCourse(courseId);
+        if (index >= 0) {
+            return;
         }
+        int at = -index - 1;
+        if (courseCount == courseIds.length) {
+            int capacity = Math.max(4, courseCount + (courseCount >> 1));
+            courseIds = Arrays.copyOf(courseIds, capacity);
+            gradeCodes = Arrays.copyOf(gradeCodes, capacity);
+        }
+        System.arraycopy(courseIds, at, courseIds, at + 1, courseCount - at);
+        System.arraycopy(gradeCodes, at, gradeCodes, at + 1, courseCount - at);
+        courseIds[at] = courseId;
+        gradeCodes[at] = UNGRADED;
+        courseCount++;
     }
 
     public void unenrollCourse(String courseCode) {
-        enrolledCourses.remove(courseCode);
-        grades.remove(courseCode);
-        recalculateGPA();
+        int index = indexOfCourse(SymbolTable.COURSE_CODES.lookup(courseCode));
+        if (index < 0) {
+            return;
+        }
+        updateGpaSums(gradeCodes[index], UNGRADED);
+        if (isPassing(gradeCodes[index])) {
+            setPassed(courseIds[index], false);
+        }
+        System.arraycopy(courseIds, index + 1, courseIds, index, courseCount - index - 1);
+        System.arraycopy(gradeCodes, index + 1, gradeCodes, index, courseCount - index - 1);
+        courseCount--;
     }
 
     public void setGrade(String courseCode, Grade grade) {
-        if (enrolledCourses.contains(courseCode)) {
-            grades.put(courseCode, grade);
-            recalculateGPA();
+        int index = indexOfCourse(SymbolTable.COURSE_CODES.lookup(courseCode));
+        if (index >= 0) {
+            byte gradeCode = grade == null ? UNGRADED : (byte) (grade.ordinal() + 1);
+            updateGpaSums(gradeCodes[index], gradeCode);
+            if (isPassing(gradeCodes[index]) != isPassing(gradeCode)) {
+                setPassed(courseIds[index], isPassing(gradeCode));
+            }
+            gradeCodes[index] = gradeCode;
         }
     }
 
-    private void recalculateGPA() {
-        if (grades.isEmpty()) {
-            this.gpa = 0.0;
-            return;
+    /**
+     * Binary search over the sorted course ids
+     * @return the index of the course, or (-(insertion point) - 1) if not enrolled
+     */
+    private int indexOfCourse(int courseId) {
+        if (courseId < 0) {
+            return -1;
+        }
+        return Arrays.binarySearch(courseIds, 0, courseCount, courseId);
+    }
+
+    private static boolean isPassing(byte gradeCode) {
+        return gradeCode != UNGRADED && GRADES[gradeCode - 1] != Grade.F;
+    }
+
+    private void setPassed(int courseId, boolean passed) {
+        int word = courseId >>> 6;
+        long[] bits = Arrays.copyOf(passedCourseBits, Math.max(passedCourseBits.length, word + 1));
+        if (passed) {
+            bits[word] |= 1L << courseId;
+        } else {
+            bits[word] &= ~(1L << courseId);
         }
-        double totalPoints = 0.0;
-        for (Grade grade : grades.values()) {
-            totalPoints += grade.getGradePoint();
+        passedCourseBits = bits;
+    }
+
+    private void updateGpaSums(byte oldCode, byte newCode) {
+        if (oldCode != UNGRADED) {
+            gradePoints -= GRADES[oldCode - 1].getGradePoint();
+            gradedCount--;
+        }
+        if (newCode != UNGRADED) {
+            gradePoints += GRADES[newCode - 1].getGradePoint();
+            gradedCount++;
+        }
+    }
+
+    // Symbol ids are only meaningful within one JVM, so course membership is serialized by code
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(courseCount);
+        for (int i = 0; i < courseCount; i++) {
+            out.writeUTF(SymbolTable.COURSE_CODES.name(courseIds[i]));
+            out.writeByte(gradeCodes[i]);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        courseIds = NO_COURSES;
+        gradeCodes = NO_GRADES;
+        passedCourseBits = NO_BITS;
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String code = in.readUTF();
+            byte gradeCode = in.readByte();
+            enrollCourse(code);
+            setGrade(code, gradeCode == UNGRADED ? null : GRADES[gradeCode - 1]);
         }
-        this.gpa = totalPoints / grades.size();
     }
 
     @Override
     public String getProfile() {
-        return String.format("Student Profile:\nRegNo: %s\nName: %s\nEmail: %s\nStatus: %s\nEnrolled Courses: %s\nEnrollment Date: %s", regNo, getFullName(), getEmail(), isActive() ? "Active" : "Inactive", enrolledCourses, enrollmentDate);
+        return String.format("Student Profile:\nRegNo: %s\nName: %s\nEmail: %s\nStatus: %s\nEnrolled Courses: %s\nEnrollment Date: %s", regNo, getFullName(), getEmail(), isActive() ? "Active" : "Inactive", getEnrolledCourses(), enrollmentDate);
     }
 
     @Override
@@ -1,12 +1,25 @@
 package edu.ccrm.io;
 
+import edu.ccrm.metrics.BackupEvent;
+import edu.ccrm.metrics.MetricsRegistry;
+import edu.ccrm.metrics.Timer;
 import java.nio.file.*;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class BackupService {
+    private static final Timer BACKUP_TIMER = MetricsRegistry.getInstance().timer("Backup.backupData");
+    private static final Timer SIZE_TIMER = MetricsRegistry.getInstance().timer("Backup.getDirectorySize");
+
     public void backupData(String sourceDir, String backupRootDir) {
+        long start = BACKUP_TIMER.start();
+        BackupEvent event = new BackupEvent();
+        event.begin();
+        boolean measure = event.isEnabled();
+        // files copied, files failed, bytes copied
+        final long[] totals = {0, 0, 0};
+        IOException failure = null;
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         Path sourcePath = Paths.get(sourceDir);
         Path backupPath = Paths.get(backupRootDir, "backup_" + timestamp);
@@ -23,19 +36,31 @@ public class BackupService {
                                 Files.createDirectories(dest);
                             }
                         } else {
-                            Files.copy(src, dest, StandardCopyOption.REPLACE_EXISTING);
+                            DurableFiles.copy(src, dest);
+                            totals[0]++;
+                            if (measure) {
+                                totals[2] += Files.size(dest);
+                            }
                         }
                     } catch (IOException e) {
+                        totals[1]++;
+                        BACKUP_TIMER.recordError();
                         System.err.println("Error copying file: " + src + " - " + e.getMessage());
                     }
                 });
             System.out.println("Backup completed to: " + backupPath);
         } catch (IOException e) {
+            failure = e;
+            BACKUP_TIMER.recordError();
             System.err.println("Backup failed: " + e.getMessage());
+        } finally {
+            BACKUP_TIMER.stop(start);
+            event.finish(sourceDir, backupPath.toString(), (int) totals[0], (int) totals[1], totals[2], failure);
         }
     }
 
     public long getDirectorySize(Path dir) {
+        long start = SIZE_TIMER.start();
         final long[] size = {0};
         try {
             Files.walk(dir)
@@ -48,7 +73,10 @@ public class BackupService {
                     }
                 });
         } catch (IOException e) {
+            SIZE_TIMER.recordError();
             System.err.println("Error walking directory: " + dir + " - " + e.getMessage());
+        } finally {
+            SIZE_TIMER.stop(start);
         }
         return size[0];
     }
@@ -0,0 +1,640 @@
+package edu.ccrm.io;
+
+import edu.ccrm.config.AppConfig;
+import edu.ccrm.config.EnrollmentConfig;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseFullException;
+import edu.ccrm.domain.DuplicateEnrollmentException;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.MaxCreditLimitExceededException;
+import edu.ccrm.domain.PrerequisiteNotMetException;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.InstructorService;
+import edu.ccrm.service.StudentService;
+import edu.ccrm.util.TaskExecutors;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.logging.Logger;
+
+/**
+ * Generates a synthetic but realistic data set of students, courses, instructors, enrollments
+ * and grades, either as CSV files in the test-data formats or straight into the services.
+ *
+ * Output depends only on the settings and the seed: every student and course draws from its
+ * own random stream, so chunks can be generated in parallel and the files are byte-for-byte
+ * the same whatever the thread count. Department sizes and course popularity both follow
+ * Zipf distributions, so a few departments are much larger than the rest and a few courses
+ * in each department take most of its enrollments.
+ *
+ * Every student takes 4-6 courses in each of their semesters, mostly from their own
+ * department, which keeps the load within the default 12-30 credit rules. Courses have no
+ * seat limits or meeting times, so loading never fails on capacity or schedule clashes.
+ */
+public class DataGenerator {
+    private static final Logger LOGGER = Logger.getLogger(DataGenerator.class.getName());
+
+    public static final int MAX_STUDENTS = 26_000_000;
+
+    private static final String[][] DEPARTMENTS = {
+        {"CS", "Computer Science"}, {"MA", "Mathematics"}, {"BU", "Business Administration"},
+        {"EE", "Electrical Engineering"}, {"ME", "Mechanical Engineering"}, {"BI", "Biology"},
+        {"PS", "Psychology"}, {"EC", "Economics"}, {"PH", "Physics"}, {"CH", "Chemistry"},
+        {"CE", "Civil Engineering"}, {"EN", "English"}, {"HI", "History"}, {"PO", "Political Science"},
+        {"SO", "Sociology"}, {"IT", "Information Technology"}, {"ST", "Statistics"}, {"AR", "Architecture"},
+        {"MU", "Music"}, {"PL", "Philosophy"}, {"LI", "Linguistics"}, {"GE", "Geography"},
+        {"AS", "Astronomy"}, {"NU", "Nursing"}, {"LA", "Law"}, {"FA", "Fine Arts"}
+    };
+    private static final String[] TOPICS = {
+        "Foundations", "Methods", "Theory", "Systems", "Analysis", "Design", "Applications", "Modelling",
+        "Practice", "Ethics", "Research", "Topics", "Seminar", "Laboratory", "History", "Data"
+    };
+    private static final String[] LEVELS = {"Introduction to", "Intermediate", "Advanced", "Graduate"};
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Wei", "Aisha", "Carlos", "Priya", "John", "Fatima", "Liam", "Sofia", "Hiroshi",
+        "Olivia", "Ahmed", "Emma", "Raj", "Chloe", "Mateo", "Yuki", "Noah", "Amara", "Lucas", "Ines",
+        "Ivan", "Grace", "Kofi", "Elena", "Omar", "Mia", "Arjun", "Zoe", "David", "Lina"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Garcia", "Chen", "Khan", "Patel", "Johnson", "Kim", "Nguyen", "Silva", "Muller",
+        "Rossi", "Tanaka", "Okafor", "Brown", "Ivanova", "Haddad", "Lopez", "Singh", "Wilson", "Cohen",
+        "Martin", "Sato", "Mensah", "Novak", "Taylor", "Ali", "Fischer", "Moreau", "Jones", "Park"
+    };
+    private static final Semester[] SEMESTERS = Semester.values();
+    private static final int MIN_COURSES_PER_SEMESTER = 4;
+    private static final int MAX_COURSES_PER_SEMESTER = 6;
+    private static final int CHUNK_SIZE = 4096;
+
+    // Random stream ids, so students, courses and instructors never share a sequence
+    private static final long STUDENT_STREAM = 1;
+    private static final long COURSE_STREAM = 2;
+    private static final long INSTRUCTOR_STREAM = 3;
+
+    private long seed = 42;
+    private int students = 10_000;
+    private int departments = 20;
+    private int studentsPerCourse = 50;
+    private int semestersPerStudent = 2;
+    private double departmentSkew = 1.0;
+    private double courseSkew = 1.0;
+    private double crossDepartmentRate = 0.2;
+    private double gradedFraction = 0.8;
+
+    public DataGenerator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @param students 1 to {@link #MAX_STUDENTS}; a student averages five enrollments per semester
+     */
+    public DataGenerator setStudents(int students) {
+        this.students = requireRange("students", students, 1, MAX_STUDENTS);
+        return this;
+    }
+
+    /**
+     * @param departments 1 to 26
+     */
+    public DataGenerator setDepartments(int departments) {
+        this.departments = requireRange("departments", departments, 1, DEPARTMENTS.length);
+        return this;
+    }
+
+    /**
+     * Sets the catalog size as one course per this many students; every department still
+     * offers at least six courses per semester
+     */
+    public DataGenerator setStudentsPerCourse(int studentsPerCourse) {
+        this.studentsPerCourse = requireRange("studentsPerCourse", studentsPerCourse, 1, Integer.MAX_VALUE);
+        return this;
+    }
+
+    /**
+     * @param semestersPerStudent 1 to 3
+     */
+    public DataGenerator setSemestersPerStudent(int semestersPerStudent) {
+        this.semestersPerStudent = requireRange("semestersPerStudent", semestersPerStudent, 1, SEMESTERS.length);
+        return this;
+    }
+
+    /**
+     * @param departmentSkew Zipf exponent of department sizes; 0 makes all departments equal
+     */
+    public DataGenerator setDepartmentSkew(double departmentSkew) {
+        this.departmentSkew = requireRange("departmentSkew", departmentSkew, 0.0, 5.0);
+        return this;
+    }
+
+    /**
+     * @param courseSkew Zipf exponent of course popularity within a department and semester
+     */
+    public DataGenerator setCourseSkew(double courseSkew) {
+        this.courseSkew = requireRange("courseSkew", courseSkew, 0.0, 5.0);
+        return this;
+    }
+
+    /**
+     * @param crossDepartmentRate share of courses a student takes outside their own department
+     */
+    public DataGenerator setCrossDepartmentRate(double crossDepartmentRate) {
+        this.crossDepartmentRate = requireRange("crossDepartmentRate", crossDepartmentRate, 0.0, 1.0);
+        return this;
+    }
+
+    /**
+     * @param gradedFraction share of enrollments that have marks
+     */
+    public DataGenerator setGradedFraction(double gradedFraction) {
+        this.gradedFraction = requireRange("gradedFraction", gradedFraction, 0.0, 1.0);
+        return this;
+    }
+
+    /**
+     * Writes students.csv, courses.csv, instructors.csv, enrollments.csv and grades.csv into a
+     * directory, created if needed. Student rows are generated in parallel chunks on
+     * {@code workerThreads} threads and written in order as they complete, so memory use does
+     * not grow with the number of students.
+     */
+    public Summary writeCsv(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Catalog catalog = new Catalog();
+        Summary summary = new Summary(catalog.courseCount, catalog.instructorCount);
+
+        try (Writer out = newWriter(directory.resolve("instructors.csv"))) {
+            out.write("# Format: instructorId,fullName,email,department\n");
+            for (int i = 0; i < catalog.instructorCount; i++) {
+                out.write(catalog.instructorRow(i));
+            }
+        }
+        try (Writer out = newWriter(directory.resolve("courses.csv"))) {
+            out.write("code,title,credits,instructor,semester,department\n");
+            for (int c = 0; c < catalog.courseCount; c++) {
+                out.write(catalog.courseRow(c));
+            }
+        }
+
+        ExecutorService executor = TaskExecutors.newPlatformPool("ccrm-datagen",
+            AppConfig.getInstance().getSettings().getWorkerThreads());
+        try (Writer studentOut = newWriter(directory.resolve("students.csv"));
+             Writer enrollmentOut = newWriter(directory.resolve("enrollments.csv"));
+             Writer gradeOut = newWriter(directory.resolve("grades.csv"))) {
+            studentOut.write("id,regNo,fullName,email\n");
+            enrollmentOut.write("# Format: studentRegNo,courseCode,semester\n");
+            gradeOut.write("# Format: studentRegNo,courseCode,marks\n");
+            int chunks = (students + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            inOrder(executor, chunks, chunk -> formatChunk(catalog, chunk), rows -> {
+                try {
+                    studentOut.append(rows[0]);
+                    enrollmentOut.append(rows[1]);
+                    gradeOut.append(rows[2]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                summary.students += count(rows[0]);
+                summary.enrollments += count(rows[1]);
+                summary.grades += count(rows[2]);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            executor.shutdownNow();
+        }
+        for (String name : new String[] {"instructors.csv", "courses.csv", "students.csv", "enrollments.csv", "grades.csv"}) {
+            DurableFiles.forceIfRequired(directory.resolve(name));
+        }
+        return summary;
+    }
+
+    /**
+     * Adds the whole data set to the services: instructors, then courses with their instructors,
+     * then each student with their enrollments and marks. Each semester's courses are enrolled
+     * as one request, so the first-course minimum-credit rule is met. A student whose
+     * enrollment is refused, e.g. by configured department quotas, is counted as rejected.
+     * Generation runs on the calling thread, since the student and course services are not
+     * thread-safe.
+     */
+    public Summary load(StudentService studentService, CourseService courseService,
+                        InstructorService instructorService, EnrollmentService enrollmentService) {
+        Catalog catalog = new Catalog();
+        Summary summary = new Summary(catalog.courseCount, catalog.instructorCount);
+        for (int i = 0; i < catalog.instructorCount; i++) {
+            instructorService.addInstructor(new Instructor(catalog.instructorId(i), catalog.instructorName(i),
+                catalog.instructorEmail(i), DEPARTMENTS[catalog.instructorDepartment[i]][1]));
+        }
+        Course[] courses = new Course[catalog.courseCount];
+        for (int c = 0; c < catalog.courseCount; c++) {
+            courses[c] = new Course(catalog.courseCode(c), catalog.courseTitle(c), catalog.courseCredits[c], null,
+                catalog.semesterOf(c), DEPARTMENTS[catalog.courseDepartment[c]][1]);
+            courseService.addCourse(courses[c]);
+            // The service stores its own copy; assign that one so course searches see the instructor
+            instructorService.assignCourse(catalog.instructorId(catalog.courseInstructor[c]),
+                courseService.getCourseByCode(courses[c].getCode()));
+        }
+        for (int i = 0; i < students; i++) {
+            StudentRecord record = catalog.student(i);
+            Student student = new Student(record.id, record.regNo, record.fullName, record.email);
+            studentService.addStudent(student);
+            summary.students++;
+            for (int s = 0; s < record.courses.length; s++) {
+                List<Course> load = new ArrayList<>(record.courses[s].length);
+                for (int c : record.courses[s]) {
+                    load.add(courses[c]);
+                }
+                try {
+                    enrollmentService.enrollStudentInAll(student, load);
+                } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | IllegalArgumentException
+                         | CourseFullException | PrerequisiteNotMetException e) {
+                    LOGGER.warning("Could not enroll " + record.regNo + ": " + e.getMessage());
+                    summary.rejected++;
+                    continue;
+                }
+                summary.enrollments += load.size();
+                for (int k = 0; k < load.size(); k++) {
+                    if (record.marks[s][k] >= 0) {
+                        enrollmentService.recordMarks(student, load.get(k), record.marks[s][k]);
+                        summary.grades++;
+                    }
+                }
+            }
+        }
+        return summary;
+    }
+
+    private String[] formatChunk(Catalog catalog, int chunk) {
+        StringBuilder studentRows = new StringBuilder(CHUNK_SIZE * 64);
+        StringBuilder enrollmentRows = new StringBuilder(CHUNK_SIZE * 160);
+        StringBuilder gradeRows = new StringBuilder(CHUNK_SIZE * 128);
+        int end = Math.min(students, (chunk + 1) * CHUNK_SIZE);
+        for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+            StudentRecord record = catalog.student(i);
+            studentRows.append(record.id).append(',').append(record.regNo).append(',')
+                .append(record.fullName).append(',').append(record.email).append('\n');
+            for (int s = 0; s < record.courses.length; s++) {
+                for (int k = 0; k < record.courses[s].length; k++) {
+                    int c = record.courses[s][k];
+                    String code = catalog.courseCode(c);
+                    enrollmentRows.append(record.regNo).append(',').append(code).append(',')
+                        .append(catalog.semesterOf(c).name()).append('\n');
+                    if (record.marks[s][k] >= 0) {
+                        gradeRows.append(record.regNo).append(',').append(code).append(',')
+                            .append(record.marks[s][k]).append('\n');
+                    }
+                }
+            }
+        }
+        return new String[] {studentRows.toString(), enrollmentRows.toString(), gradeRows.toString()};
+    }
+
+    /**
+     * Runs {@code task} for every chunk on the executor and hands the results to {@code sink}
+     * in chunk order, keeping at most a few chunks per thread in flight
+     */
+    private static <T> void inOrder(ExecutorService executor, int chunks, IntFunction<T> task,
+                                    Consumer<T> sink) throws IOException {
+        int window = 2 * AppConfig.getInstance().getSettings().getWorkerThreads() + 1;
+        ArrayDeque<CompletableFuture<T>> pending = new ArrayDeque<>();
+        int next = 0;
+        while (next < chunks || !pending.isEmpty()) {
+            while (next < chunks && pending.size() < window) {
+                int chunk = next++;
+                pending.add(CompletableFuture.supplyAsync(() -> task.apply(chunk), executor));
+            }
+            try {
+                sink.accept(pending.poll().join());
+            } catch (CompletionException e) {
+                throw new IOException("Could not generate data: " + e.getCause(), e.getCause());
+            }
+        }
+    }
+
+    private static Writer newWriter(Path path) throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), 1 << 20);
+    }
+
+    private static int count(String rows) {
+        int lines = 0;
+        for (int i = 0; i < rows.length(); i++) {
+            if (rows.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    /** Cumulative Zipf weights for ranks 0..n-1 */
+    private static double[] zipf(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        return Math.min(cumulative.length - 1, index >= 0 ? index + 1 : -index - 1);
+    }
+
+    private static int requireRange(String name, int value, int min, int max) {
+        if (value < min || value > max) {
+            LOGGER.warning(name + " out of range: " + value);
+            throw new IllegalArgumentException(name + " must be between " + min + " and " + max + ": " + value);
+        }
+        return value;
+    }
+
+    private static double requireRange(String name, double value, double min, double max) {
+        if (!(value >= min && value <= max)) {
+            LOGGER.warning(name + " out of range: " + value);
+            throw new IllegalArgumentException(name + " must be between " + min + " and " + max + ": " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Counts of what was generated; for {@link #load}, enrollments and grades only include
+     * those the services accepted
+     */
+    public static final class Summary {
+        private final int courses;
+        private final int instructors;
+        private long students;
+        private long enrollments;
+        private long grades;
+        private long rejected;
+
+        Summary(int courses, int instructors) {
+            this.courses = courses;
+            this.instructors = instructors;
+        }
+
+        public long getStudents() { return students; }
+        public int getCourses() { return courses; }
+        public int getInstructors() { return instructors; }
+        public long getEnrollments() { return enrollments; }
+        public long getGrades() { return grades; }
+        /** Semester loads the enrollment service refused, always 0 for CSV output */
+        public long getRejected() { return rejected; }
+
+        @Override
+        public String toString() {
+            return String.format("%d students, %d courses, %d instructors, %d enrollments, %d grades, %d rejected",
+                students, courses, instructors, enrollments, grades, rejected);
+        }
+    }
+
+    private static final class StudentRecord {
+        String id;
+        String regNo;
+        String fullName;
+        String email;
+        // Course indexes and marks (-1 when ungraded) per semester taken
+        int[][] courses;
+        int[][] marks;
+    }
+
+    /**
+     * The departments, courses and instructors, built up front since every student draws on them.
+     * Each department's courses are contiguous and alternate between semesters, so rank r of a
+     * department's semester is its local course r * 3 + semester.
+     */
+    private final class Catalog {
+        final int courseCount;
+        final int instructorCount;
+        final double[] departmentWeights;
+        final int[] courseDepartment;
+        final int[] courseLocal;
+        final int[] courseCredits;
+        final int[] courseInstructor;
+        final int[] instructorDepartment;
+        final int[] firstCourse;
+        final int[] coursesIn;
+        // Popularity of each department's courses in one semester, indexed [department][semester]
+        final double[][][] popularity;
+
+        Catalog() {
+            departmentWeights = zipf(departments, departmentSkew);
+            int minimumPerDepartment = SEMESTERS.length * MAX_COURSES_PER_SEMESTER;
+            int total = Math.max(students / studentsPerCourse, departments * minimumPerDepartment);
+            coursesIn = apportion(total, minimumPerDepartment);
+            firstCourse = new int[departments];
+            int count = 0;
+            for (int d = 0; d < departments; d++) {
+                firstCourse[d] = count;
+                count += coursesIn[d];
+            }
+            courseCount = count;
+            courseDepartment = new int[count];
+            courseLocal = new int[count];
+            courseCredits = new int[count];
+            courseInstructor = new int[count];
+
+            int load = EnrollmentConfig.getMaxTeachingLoad();
+            int instructors = 0;
+            for (int d = 0; d < departments; d++) {
+                for (int local = 0; local < coursesIn[d]; local++) {
+                    int c = firstCourse[d] + local;
+                    courseDepartment[c] = d;
+                    courseLocal[c] = local;
+                    courseCredits[c] = random(COURSE_STREAM, c).nextInt(4) == 0 ? 4 : 3;
+                    courseInstructor[c] = instructors + local / load;
+                }
+                instructors += (coursesIn[d] + load - 1) / load;
+            }
+            instructorCount = instructors;
+            instructorDepartment = new int[instructors];
+            for (int c = 0; c < count; c++) {
+                instructorDepartment[courseInstructor[c]] = courseDepartment[c];
+            }
+
+            popularity = new double[departments][SEMESTERS.length][];
+            for (int d = 0; d < departments; d++) {
+                for (int s = 0; s < SEMESTERS.length; s++) {
+                    popularity[d][s] = zipf((coursesIn[d] - s + SEMESTERS.length - 1) / SEMESTERS.length, courseSkew);
+                }
+            }
+        }
+
+        /** Splits the catalog over departments in proportion to their weights, largest remainder first */
+        private int[] apportion(int total, int minimum) {
+            double weightSum = departmentWeights[departments - 1];
+            int[] counts = new int[departments];
+            double[] remainders = new double[departments];
+            int assigned = 0;
+            for (int d = 0; d < departments; d++) {
+                double weight = departmentWeights[d] - (d == 0 ? 0 : departmentWeights[d - 1]);
+                double share = total * weight / weightSum;
+                counts[d] = (int) share;
+                remainders[d] = share - counts[d];
+                assigned += counts[d];
+            }
+            while (assigned < total) {
+                int best = 0;
+                for (int d = 1; d < departments; d++) {
+                    if (remainders[d] > remainders[best]) {
+                        best = d;
+                    }
+                }
+                counts[best]++;
+                remainders[best] = -1;
+                assigned++;
+            }
+            for (int d = 0; d < departments; d++) {
+                counts[d] = Math.max(counts[d], minimum);
+            }
+            return counts;
+        }
+
+        Semester semesterOf(int course) {
+            return SEMESTERS[courseLocal[course] % SEMESTERS.length];
+        }
+
+        /** The department code and the local index, with one or two extra letters past 9999 */
+        String courseCode(int course) {
+            int local = courseLocal[course];
+            StringBuilder code = new StringBuilder(8).append(DEPARTMENTS[courseDepartment[course]][0]);
+            int block = local / 10_000;
+            if (block > 26) {
+                code.append((char) ('A' + (block - 27) / 26)).append((char) ('A' + (block - 27) % 26));
+            } else if (block > 0) {
+                code.append((char) ('A' + block - 1));
+            }
+            int digits = local % 10_000;
+            return code.append((char) ('0' + digits / 1000)).append((char) ('0' + digits / 100 % 10))
+                .append((char) ('0' + digits / 10 % 10)).append((char) ('0' + digits % 10)).toString();
+        }
+
+        String courseTitle(int course) {
+            SplittableRandom random = random(COURSE_STREAM, course);
+            // The first draw decided the credits
+            random.nextInt(4);
+            int local = courseLocal[course];
+            String department = DEPARTMENTS[courseDepartment[course]][1];
+            return LEVELS[Math.min(LEVELS.length - 1, local * LEVELS.length / coursesIn[courseDepartment[course]])]
+                + " " + department + " " + TOPICS[random.nextInt(TOPICS.length)] + " " + (local / SEMESTERS.length + 1);
+        }
+
+        String courseRow(int course) {
+            return courseCode(course) + ',' + courseTitle(course) + ',' + courseCredits[course] + ','
+                + instructorId(courseInstructor[course]) + ',' + semesterOf(course).name() + ','
+                + DEPARTMENTS[courseDepartment[course]][1] + '\n';
+        }
+
+        String instructorId(int instructor) {
+            return String.format("INS%06d", instructor);
+        }
+
+        String instructorName(int instructor) {
+            SplittableRandom random = random(INSTRUCTOR_STREAM, instructor);
+            return (random.nextInt(2) == 0 ? "Dr. " : "Prof. ") + FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]
+                + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        }
+
+        String instructorEmail(int instructor) {
+            String name = instructorName(instructor);
+            String[] parts = name.substring(name.indexOf(' ') + 1).toLowerCase(Locale.ROOT).split(" ");
+            return parts[0] + '.' + parts[1] + '.' + instructor + "@faculty.example.edu";
+        }
+
+        String instructorRow(int instructor) {
+            return instructorId(instructor) + ',' + instructorName(instructor) + ',' + instructorEmail(instructor)
+                + ',' + DEPARTMENTS[instructorDepartment[instructor]][1] + '\n';
+        }
+
+        StudentRecord student(int index) {
+            SplittableRandom random = random(STUDENT_STREAM, index);
+            StudentRecord record = new StudentRecord();
+            int department = sample(departmentWeights, random);
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            record.id = "S" + index;
+            record.regNo = regNo(DEPARTMENTS[department][0], index);
+            record.fullName = first + " " + last;
+            record.email = first.toLowerCase(Locale.ROOT) + '.' + last.toLowerCase(Locale.ROOT) + '.' + index
+                + "@students.example.edu";
+
+            // Marks centre on the student's ability with per-course noise
+            double ability = 68 + 12 * random.nextGaussian();
+            int[] semesters = {0, 1, 2};
+            for (int s = semesters.length - 1; s > 0; s--) {
+                int j = random.nextInt(s + 1);
+                int swap = semesters[s];
+                semesters[s] = semesters[j];
+                semesters[j] = swap;
+            }
+            record.courses = new int[semestersPerStudent][];
+            record.marks = new int[semestersPerStudent][];
+            for (int t = 0; t < semestersPerStudent; t++) {
+                int semester = semesters[t];
+                int taken = MIN_COURSES_PER_SEMESTER + random.nextInt(MAX_COURSES_PER_SEMESTER - MIN_COURSES_PER_SEMESTER + 1);
+                int[] courses = new int[taken];
+                int[] marks = new int[taken];
+                for (int k = 0; k < taken; k++) {
+                    int course;
+                    do {
+                        int d = random.nextDouble() < crossDepartmentRate ? sample(departmentWeights, random) : department;
+                        int rank = sample(popularity[d][semester], random);
+                        course = firstCourse[d] + rank * SEMESTERS.length + semester;
+                    } while (contains(courses, k, course));
+                    courses[k] = course;
+                    marks[k] = random.nextDouble() < gradedFraction
+                        ? (int) Math.max(0, Math.min(100, Math.round(ability + 8 * random.nextGaussian()))) : -1;
+                }
+                record.courses[t] = courses;
+                record.marks[t] = marks;
+            }
+            return record;
+        }
+
+        private boolean contains(int[] values, int length, int value) {
+            for (int i = 0; i < length; i++) {
+                if (values[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The department code and six digits; past the first million students a cohort letter
+     * follows the department code, so numbers stay unique up to {@link #MAX_STUDENTS}
+     */
+    private static String regNo(String departmentCode, int index) {
+        StringBuilder regNo = new StringBuilder(9).append(departmentCode);
+        int cohort = index / 1_000_000;
+        if (cohort > 0) {
+            regNo.append((char) ('A' + cohort - 1));
+        }
+        int digits = index % 1_000_000;
+        for (int divisor = 100_000; divisor > 0; divisor /= 10) {
+            regNo.append((char) ('0' + digits / divisor % 10));
+        }
+        return regNo.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package edu.ccrm.io;
+
+import edu.ccrm.config.AppConfig;
+import edu.ccrm.config.DurabilityMode;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * File writes that honour the configured {@link DurabilityMode}: in SYNC mode each file is
+ * forced to the storage device before the call returns.
+ */
+public final class DurableFiles {
+
+    private DurableFiles() {
+    }
+
+    public static void write(Path path, List<String> lines) throws IOException {
+        Files.write(path, lines);
+        forceIfRequired(path);
+    }
+
+    public static void copy(Path source, Path target) throws IOException {
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        forceIfRequired(target);
+    }
+
+    static void forceIfRequired(Path path) throws IOException {
+        if (AppConfig.getInstance().getSettings().getDurability() == DurabilityMode.SYNC) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.ScheduleConflictException;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.metrics.Counter;
+import edu.ccrm.metrics.MetricsRegistry;
+import edu.ccrm.metrics.Timer;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.InstructorService;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.logging.*;
+
+/**
+ * Reads and writes instructors.csv.
+ *
+ * The file holds instructor rows ({@code instructorId,fullName,email,department}) and course
+ * assignment rows ({@code instructorId,courseCode,semester}). Blank lines and everything after
+ * a '#' are ignored. {@link #importFromFile} returns the instructors; assignments refer to
+ * instructors and courses that must already be registered, so they are applied separately
+ * by {@link #importAssignments}. Exports write instructor rows only; assignments are
+ * recorded on the courses.
+ */
+public class InstructorImportExportService implements ImportExportService<Instructor> {
+
+    private static final Logger LOGGER = Logger.getLogger(InstructorImportExportService.class.getName());
+    private static final int INSTRUCTOR_PARTS_LENGTH = 4;
+    private static final int ASSIGNMENT_PARTS_LENGTH = 3;
+    private static final Timer IMPORT_TIMER = MetricsRegistry.getInstance().timer("InstructorImportExport.importFromFile");
+    private static final Timer ASSIGNMENTS_TIMER = MetricsRegistry.getInstance().timer("InstructorImportExport.importAssignments");
+    private static final Timer EXPORT_TIMER = MetricsRegistry.getInstance().timer("InstructorImportExport.exportToFile");
+    private static final Counter ROWS_REJECTED = MetricsRegistry.getInstance().counter("InstructorImportExport.rowsRejected");
+
+    @Override
+    public List<Instructor> importFromFile(String filePath) {
+        long start = IMPORT_TIMER.start();
+        List<Instructor> imported = new ArrayList<>();
+        try {
+            for (String[] parts : readRows(filePath, IMPORT_TIMER)) {
+                if (parts.length == INSTRUCTOR_PARTS_LENGTH && !parts[0].equalsIgnoreCase("instructorId")) {
+                    imported.add(new Instructor(parts[0], parts[1], parts[2], parts[3]));
+                } else if (parts.length != ASSIGNMENT_PARTS_LENGTH) {
+                    ROWS_REJECTED.increment();
+                    LOGGER.log(Level.WARNING, "Invalid line format: {0}", String.join(",", parts));
+                }
+            }
+        } finally {
+            IMPORT_TIMER.stop(start);
+        }
+        return imported;
+    }
+
+    /**
+     * Applies the assignment rows of a file; invalid rows are logged and skipped
+     * @param filePath the file to read
+     * @param instructorService registry holding the instructors
+     * @param courseService registry holding the courses
+     * @return the number of assignments applied
+     */
+    public int importAssignments(String filePath, InstructorService instructorService, CourseService courseService) {
+        long start = ASSIGNMENTS_TIMER.start();
+        int applied = 0;
+        try {
+            for (String[] parts : readRows(filePath, ASSIGNMENTS_TIMER)) {
+                if (parts.length != ASSIGNMENT_PARTS_LENGTH) {
+                    continue;
+                }
+                String line = String.join(",", parts);
+                if (Arrays.stream(Semester.values()).noneMatch(s -> s.name().equalsIgnoreCase(parts[2]))) {
+                    ROWS_REJECTED.increment();
+                    LOGGER.log(Level.WARNING, "Invalid semester in assignment: {0}", line);
+                    continue;
+                }
+                Course course = courseService.getCourseByCode(parts[1]);
+                if (course == null) {
+                    ROWS_REJECTED.increment();
+                    LOGGER.log(Level.WARNING, "Unknown course in assignment: {0}", line);
+                    continue;
+                }
+                try {
+                    instructorService.assignCourse(parts[0], course);
+                    applied++;
+                } catch (IllegalArgumentException | IllegalStateException | ScheduleConflictException e) {
+                    ROWS_REJECTED.increment();
+                    LOGGER.log(Level.WARNING, "Skipping assignment {0}: {1}", new Object[] {line, e.getMessage()});
+                }
+            }
+        } finally {
+            ASSIGNMENTS_TIMER.stop(start);
+        }
+        return applied;
+    }
+
+    private List<String[]> readRows(String filePath, Timer timer) {
+        List<String[]> rows = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(Paths.get(filePath))) {
+                int comment = line.indexOf('#');
+                String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                if (content.isEmpty()) {
+                    continue;
+                }
+                String[] parts = content.split(",");
+                for (int i = 0; i < parts.length; i++) {
+                    parts[i] = parts[i].trim();
+                }
+                rows.add(parts);
+            }
+        } catch (IOException e) {
+            timer.recordError();
+            LOGGER.log(Level.SEVERE, "Error reading file: {0}", e.getMessage());
+        }
+        return rows;
+    }
+
+    @Override
+    public void exportToFile(List<Instructor> data, String filePath) {
+        long start = EXPORT_TIMER.start();
+        List<String> lines = new ArrayList<>();
+        for (Instructor instructor : data) {
+            lines.add(String.join(",",
+                instructor.getId(), instructor.getFullName(), instructor.getEmail(), instructor.getDepartment()));
+        }
+        try {
+            DurableFiles.write(Paths.get(filePath), lines);
+        } catch (IOException e) {
+            EXPORT_TIMER.recordError();
+            LOGGER.log(Level.SEVERE, "Error writing file: {0}", e.getMessage());
+        } finally {
+            EXPORT_TIMER.stop(start);
+        }
+    }
+}
@@ -2,6 +2,10 @@ package edu.ccrm.io;
 
 import edu.ccrm.domain.Course;
 import edu.ccrm.domain.Student;
+import edu.ccrm.metrics.Counter;
+import edu.ccrm.metrics.ImportExportEvent;
+import edu.ccrm.metrics.MetricsRegistry;
+import edu.ccrm.metrics.Timer;
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
@@ -12,18 +16,40 @@ public class StudentCourseImportExportService implements ImportExportService<Obj
     private static final Logger LOGGER = Logger.getLogger(StudentCourseImportExportService.class.getName());
     private static final int STUDENT_PARTS_LENGTH = 4;
     private static final int COURSE_PARTS_LENGTH = 6;
+    private static final Timer IMPORT_TIMER = MetricsRegistry.getInstance().timer("ImportExport.importFromFile");
+    private static final Timer EXPORT_TIMER = MetricsRegistry.getInstance().timer("ImportExport.exportToFile");
+    private static final Counter ROWS_REJECTED = MetricsRegistry.getInstance().counter("ImportExport.rowsRejected");
 
     @Override
     public List<Object> importFromFile(String filePath) {
+        long start = IMPORT_TIMER.start();
+        ImportExportEvent event = new ImportExportEvent();
+        event.begin();
         List<Object> imported = new ArrayList<>();
         Path path = Paths.get(filePath);
+        int rejected = 0;
+        long bytes = 0;
+        IOException failure = null;
         try {
+            if (event.isEnabled()) {
+                bytes = Files.size(path);
+            }
             List<String> lines = Files.readAllLines(path);
             for (String line : lines) {
-                parseLine(line).ifPresent(imported::add);
+                Optional<Object> parsed = parseLine(line);
+                if (parsed.isPresent()) {
+                    imported.add(parsed.get());
+                } else {
+                    rejected++;
+                }
             }
         } catch (IOException e) {
+            failure = e;
+            IMPORT_TIMER.recordError();
             LOGGER.log(Level.SEVERE, "Error reading file: {0}", e.getMessage());
+        } finally {
+            IMPORT_TIMER.stop(start);
+            event.finish("import", filePath, imported.size(), rejected, bytes, failure);
         }
         return imported;
     }
@@ -41,20 +67,34 @@ public class StudentCourseImportExportService implements ImportExportService<Obj
         } else {
             LOGGER.log(Level.WARNING, "Invalid line format: {0}", line);
         }
+        ROWS_REJECTED.increment();
         return Optional.empty();
     }
 
     @Override
     public void exportToFile(List<Object> data, String filePath) {
+        long start = EXPORT_TIMER.start();
+        ImportExportEvent event = new ImportExportEvent();
+        event.begin();
         Path path = Paths.get(filePath);
         List<String> lines = new ArrayList<>();
         for (Object obj : data) {
             lines.add(formatObject(obj));
         }
+        long bytes = 0;
+        IOException failure = null;
         try {
-            Files.write(path, lines);
+            DurableFiles.write(path, lines);
+            if (event.isEnabled()) {
+                bytes = Files.size(path);
+            }
         } catch (IOException e) {
+            failure = e;
+            EXPORT_TIMER.recordError();
             LOGGER.log(Level.SEVERE, "Error writing file: {0}", e.getMessage());
+        } finally {
+            EXPORT_TIMER.stop(start);
+            event.finish("export", filePath, failure == null ? lines.size() : 0, 0, bytes, failure);
         }
     }
 
@@ -0,0 +1,51 @@
+package edu.ccrm.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one data backup
+ */
+@Name("edu.ccrm.Backup")
+@Label("Backup")
+@Category({"CCRM", "I/O"})
+@Description("A copy of the data folder into a timestamped backup folder")
+@StackTrace(false)
+public final class BackupEvent extends jdk.jfr.Event {
+    @Label("Source")
+    private String source;
+
+    @Label("Destination")
+    private String destination;
+
+    @Label("Files")
+    private int files;
+
+    @Label("Failed Files")
+    private int failedFiles;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Outcome")
+    @Description("OK, or the simple name of the exception that failed the backup")
+    private String outcome;
+
+    public void finish(String source, String destination, int files, int failedFiles, long bytes, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.source = source;
+            this.destination = destination;
+            this.files = files;
+            this.failedFiles = failedFiles;
+            this.bytes = bytes;
+            this.outcome = failure == null ? "OK" : failure.getClass().getSimpleName();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package edu.ccrm.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named, lock-free event count
+ */
+public final class Counter implements CounterMXBean {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    @Override
+    public String getName() { return name; }
+
+    @Override
+    public long getCount() { return count.sum(); }
+
+    @Override
+    public void reset() {
+        count.reset();
+    }
+}
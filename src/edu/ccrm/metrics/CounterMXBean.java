@@ -0,0 +1,10 @@
+package edu.ccrm.metrics;
+
+/**
+ * JMX view of a {@link Counter}
+ */
+public interface CounterMXBean {
+    String getName();
+    long getCount();
+    void reset();
+}
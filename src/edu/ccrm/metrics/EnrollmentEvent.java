@@ -0,0 +1,45 @@
+package edu.ccrm.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one enrollment attempt, including enrollments from a waitlist
+ */
+@Name("edu.ccrm.Enrollment")
+@Label("Enrollment")
+@Category({"CCRM", "Enrollment"})
+@Description("An attempt to enroll a student in a course and its outcome")
+@StackTrace(false)
+public final class EnrollmentEvent extends jdk.jfr.Event {
+    @Label("Registration Number")
+    private String regNo;
+
+    @Label("Course Code")
+    private String courseCode;
+
+    @Label("Credits")
+    private int credits;
+
+    @Label("From Waitlist")
+    private boolean fromWaitlist;
+
+    @Label("Outcome")
+    @Description("OK, or the simple name of the exception that rejected the enrollment")
+    private String outcome;
+
+    public void finish(String regNo, String courseCode, int credits, boolean fromWaitlist, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.regNo = regNo;
+            this.courseCode = courseCode;
+            this.credits = credits;
+            this.fromWaitlist = fromWaitlist;
+            this.outcome = failure == null ? "OK" : failure.getClass().getSimpleName();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package edu.ccrm.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A named value read on demand from its source, such as a size or the result of the last report
+ */
+public final class Gauge implements GaugeMXBean {
+    private final String name;
+    private final LongSupplier value;
+
+    Gauge(String name, LongSupplier value) {
+        this.name = name;
+        this.value = value;
+    }
+
+    @Override
+    public String getName() { return name; }
+
+    @Override
+    public long getValue() { return value.getAsLong(); }
+}
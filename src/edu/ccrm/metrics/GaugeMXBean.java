@@ -0,0 +1,9 @@
+package edu.ccrm.metrics;
+
+/**
+ * JMX view of a {@link Gauge}
+ */
+public interface GaugeMXBean {
+    String getName();
+    long getValue();
+}
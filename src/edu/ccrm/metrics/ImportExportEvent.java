@@ -0,0 +1,53 @@
+package edu.ccrm.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one CSV import or export batch
+ */
+@Name("edu.ccrm.ImportExport")
+@Label("Import/Export Batch")
+@Category({"CCRM", "I/O"})
+@Description("A CSV file read or written as one batch")
+@StackTrace(false)
+public final class ImportExportEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    @Description("import or export")
+    private String operation;
+
+    @Label("Path")
+    private String path;
+
+    @Label("Rows")
+    @Description("Rows imported or written")
+    private int rows;
+
+    @Label("Rejected Rows")
+    private int rejectedRows;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Outcome")
+    @Description("OK, or the simple name of the exception that failed the batch")
+    private String outcome;
+
+    public void finish(String operation, String path, int rows, int rejectedRows, long bytes, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.path = path;
+            this.rows = rows;
+            this.rejectedRows = rejectedRows;
+            this.bytes = bytes;
+            this.outcome = failure == null ? "OK" : failure.getClass().getSimpleName();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package edu.ccrm.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for recording the marks of one enrollment
+ */
+@Name("edu.ccrm.RecordMarks")
+@Label("Record Marks")
+@Category({"CCRM", "Enrollment"})
+@Description("Marks recorded for an enrollment and the resulting grade")
+@StackTrace(false)
+public final class MarksEvent extends jdk.jfr.Event {
+    @Label("Registration Number")
+    private String regNo;
+
+    @Label("Course Code")
+    private String courseCode;
+
+    @Label("Marks")
+    private int marks;
+
+    @Label("Grade")
+    private String grade;
+
+    @Label("Outcome")
+    @Description("OK, NOT_ENROLLED, or the simple name of the exception thrown")
+    private String outcome;
+
+    public void finish(String regNo, String courseCode, int marks, String grade, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.regNo = regNo;
+            this.courseCode = courseCode;
+            this.marks = marks;
+            this.grade = grade;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
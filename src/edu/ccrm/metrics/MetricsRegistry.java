@@ -0,0 +1,163 @@
+package edu.ccrm.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide set of named timers, counters and gauges.
+ *
+ * Look-ups go through a concurrent map, so callers keep the returned metric in a field
+ * rather than looking it up per call. Once {@link #registerMBeans()} has been called every
+ * metric, including ones created later, is also published under the {@code edu.ccrm} JMX domain.
+ */
+public final class MetricsRegistry {
+    private static final Logger LOGGER = Logger.getLogger(MetricsRegistry.class.getName());
+    private static final String JMX_DOMAIN = "edu.ccrm";
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private volatile MBeanServer mbeanServer;
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public Timer timer(String name) {
+        Timer timer = timers.get(name);
+        if (timer != null) {
+            return timer;
+        }
+        timer = timers.computeIfAbsent(name, Timer::new);
+        register("Timer", name, timer);
+        return timer;
+    }
+
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter != null) {
+            return counter;
+        }
+        counter = counters.computeIfAbsent(name, Counter::new);
+        register("Counter", name, counter);
+        return counter;
+    }
+
+    /**
+     * Returns the gauge with this name, creating it over the given source on first use
+     * @param name the gauge name
+     * @param value read whenever the gauge is reported; ignored if the gauge already exists
+     */
+    public Gauge gauge(String name, LongSupplier value) {
+        Gauge gauge = gauges.get(name);
+        if (gauge != null) {
+            return gauge;
+        }
+        gauge = gauges.computeIfAbsent(name, key -> new Gauge(key, value));
+        register("Gauge", name, gauge);
+        return gauge;
+    }
+
+    public List<Timer> getTimers() {
+        List<Timer> result = new ArrayList<>(timers.values());
+        result.sort(Comparator.comparing(Timer::getName));
+        return result;
+    }
+
+    public List<Counter> getCounters() {
+        List<Counter> result = new ArrayList<>(counters.values());
+        result.sort(Comparator.comparing(Counter::getName));
+        return result;
+    }
+
+    public List<Gauge> getGauges() {
+        List<Gauge> result = new ArrayList<>(gauges.values());
+        result.sort(Comparator.comparing(Gauge::getName));
+        return result;
+    }
+
+    /**
+     * Resets timers and counters; gauges follow their source
+     */
+    public void reset() {
+        timers.values().forEach(Timer::reset);
+        counters.values().forEach(Counter::reset);
+    }
+
+    /**
+     * Publishes all metrics, present and future, on the platform MBean server
+     */
+    public synchronized void registerMBeans() {
+        if (mbeanServer != null) {
+            return;
+        }
+        mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        timers.forEach((name, timer) -> register("Timer", name, timer));
+        counters.forEach((name, counter) -> register("Counter", name, counter));
+        gauges.forEach((name, gauge) -> register("Gauge", name, gauge));
+    }
+
+    /**
+     * Formats every metric that has seen activity as a table
+     * @param includeIdle also list metrics that were never recorded
+     */
+    public String formatReport(boolean includeIdle) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-40s %10s %7s %10s %10s %10s %10s %10s%n",
+            "operation", "calls", "errors", "mean us", "p50 us", "p90 us", "p99 us", "max us"));
+        for (Timer timer : getTimers()) {
+            LatencyHistogram.Snapshot snapshot = timer.snapshot();
+            if (timer.getCount() == 0 && !includeIdle) {
+                continue;
+            }
+            report.append(String.format("%-40s %10d %7d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                timer.getName(), timer.getCount(), timer.getErrors(), snapshot.getMeanNanos() / 1e3,
+                snapshot.getValueAt(0.50) / 1e3, snapshot.getValueAt(0.90) / 1e3,
+                snapshot.getValueAt(0.99) / 1e3, snapshot.getMaxNanos() / 1e3));
+        }
+        for (Counter counter : getCounters()) {
+            if (counter.getCount() != 0 || includeIdle) {
+                report.append(String.format("%-40s %10d%n", counter.getName(), counter.getCount()));
+            }
+        }
+        for (Gauge gauge : getGauges()) {
+            long value = gauge.getValue();
+            if (value != 0 || includeIdle) {
+                report.append(String.format("%-40s %10d%n", gauge.getName(), value));
+            }
+        }
+        return report.toString();
+    }
+
+    private void register(String type, String name, Object mbean) {
+        MBeanServer server = mbeanServer;
+        if (server == null) {
+            return;
+        }
+        try {
+            server.registerMBean(mbean, new ObjectName(JMX_DOMAIN,
+                new Hashtable<>(Map.of("type", type, "name", name))));
+        } catch (InstanceAlreadyExistsException e) {
+            // registered by a concurrent timer() call or registerMBeans()
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Could not register metric {0} with JMX: {1}", new Object[] {name, e.getMessage()});
+        }
+    }
+}
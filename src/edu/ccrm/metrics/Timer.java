@@ -0,0 +1,119 @@
+package edu.ccrm.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Call count, error count and latency histogram for one operation.
+ *
+ * Reading the clock costs about as much as the rest of the bookkeeping, so after its first
+ * {@value #ALWAYS_TIMED} calls a timer only times one call in {@value #SAMPLE_INTERVAL} on average,
+ * picked at random so that threads share no counter to decide; call and error counts stay exact
+ * and the percentiles are taken over the timed calls. Callers either wrap the call with
+ * {@link #time(Supplier)} / {@link #time(Runnable)} or, where checked exceptions get in the way,
+ * bracket it with {@link #start()} and {@link #stop(long)}.
+ */
+public final class Timer implements TimerMXBean {
+    static final int ALWAYS_TIMED = 1024;
+    static final int SAMPLE_INTERVAL = 8;
+    private static final long UNTIMED = Long.MIN_VALUE;
+
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    // Set once the first calls are timed, so that only they pay for summing the call count
+    private volatile boolean sampling;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    Timer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Counts a call and returns its start time, or a marker if this call is not timed
+     */
+    public long start() {
+        calls.increment();
+        if (!sampling) {
+            if (calls.sum() <= ALWAYS_TIMED) {
+                return System.nanoTime();
+            }
+            sampling = true;
+        }
+        return ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) == 0 ? System.nanoTime() : UNTIMED;
+    }
+
+    public void stop(long start) {
+        if (start != UNTIMED) {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public <T> T time(Supplier<T> call) {
+        long start = start();
+        try {
+            return call.get();
+        } catch (RuntimeException | Error e) {
+            errors.increment();
+            throw e;
+        } finally {
+            stop(start);
+        }
+    }
+
+    public void time(Runnable call) {
+        long start = start();
+        try {
+            call.run();
+        } catch (RuntimeException | Error e) {
+            errors.increment();
+            throw e;
+        } finally {
+            stop(start);
+        }
+    }
+
+    /**
+     * Returns the latencies of the timed calls
+     */
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    @Override
+    public String getName() { return name; }
+
+    @Override
+    public long getCount() { return calls.sum(); }
+
+    @Override
+    public long getErrors() { return errors.sum(); }
+
+    @Override
+    public double getMeanMicros() { return histogram.snapshot().getMeanNanos() / 1e3; }
+
+    @Override
+    public double getP50Micros() { return histogram.snapshot().getValueAt(0.50) / 1e3; }
+
+    @Override
+    public double getP90Micros() { return histogram.snapshot().getValueAt(0.90) / 1e3; }
+
+    @Override
+    public double getP99Micros() { return histogram.snapshot().getValueAt(0.99) / 1e3; }
+
+    @Override
+    public double getMaxMicros() { return histogram.snapshot().getMaxNanos() / 1e3; }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        sampling = false;
+        errors.reset();
+        histogram.reset();
+    }
+}
@@ -0,0 +1,16 @@
+package edu.ccrm.metrics;
+
+/**
+ * JMX view of a {@link Timer}; latencies are in microseconds
+ */
+public interface TimerMXBean {
+    String getName();
+    long getCount();
+    long getErrors();
+    double getMeanMicros();
+    double getP50Micros();
+    double getP90Micros();
+    double getP99Micros();
+    double getMaxMicros();
+    void reset();
+}
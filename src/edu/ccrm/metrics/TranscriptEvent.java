@@ -0,0 +1,41 @@
+package edu.ccrm.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for generating one transcript
+ */
+@Name("edu.ccrm.Transcript")
+@Label("Transcript")
+@Category({"CCRM", "Enrollment"})
+@Description("A transcript rendered for a student")
+@StackTrace(false)
+public final class TranscriptEvent extends jdk.jfr.Event {
+    @Label("Registration Number")
+    private String regNo;
+
+    @Label("Enrollments")
+    private int enrollments;
+
+    @Label("Characters")
+    private int characters;
+
+    @Label("Outcome")
+    @Description("OK, or the simple name of the exception thrown")
+    private String outcome;
+
+    public void finish(String regNo, int enrollments, int characters, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.regNo = regNo;
+            this.enrollments = enrollments;
+            this.characters = characters;
+            this.outcome = failure == null ? "OK" : failure.getClass().getSimpleName();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Student;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a seat allocation run
+ */
+public final class AllocationResult {
+    private final Map<Student, List<Course>> allocations;
+    private final Map<String, String> failures;
+    private final int componentCount;
+    private final long proposals;
+
+    AllocationResult(Map<Student, List<Course>> allocations, Map<String, String> failures, int componentCount, long proposals) {
+        this.allocations = Collections.unmodifiableMap(allocations);
+        this.failures = Collections.unmodifiableMap(failures);
+        this.componentCount = componentCount;
+        this.proposals = proposals;
+    }
+
+    // Allocated courses per student, in the student's preference order; students who got nothing are absent
+    public Map<Student, List<Course>> getAllocations() { return allocations; }
+    // Registration number to the reason enrolling the student's allocation failed; empty for a plan
+    public Map<String, String> getFailures() { return failures; }
+    // Number of independent groups of departments allocated in parallel
+    public int getComponentCount() { return componentCount; }
+    public long getProposals() { return proposals; }
+
+    public int getAssignedSeats() {
+        return allocations.values().stream().mapToInt(List::size).sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AllocationResult[students=%d, seats=%d, failures=%d, components=%d, proposals=%d]",
+            allocations.size(), getAssignedSeats(), failures.size(), componentCount, proposals);
+    }
+}
@@ -0,0 +1,26 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+// Non-blocking counterpart of CourseService; failures complete the future exceptionally
+public interface AsyncCourseService {
+    CompletableFuture<Void> addCourseAsync(Course course);
+    CompletableFuture<List<Course>> listCoursesAsync();
+    CompletableFuture<Course> getCourseByCodeAsync(String code);
+    CompletableFuture<Void> updateCourseAsync(Course course);
+    CompletableFuture<Void> deactivateCourseAsync(String code);
+    CompletableFuture<List<Course>> searchAsync(Predicate<Course> predicate);
+
+    CompletableFuture<List<Course>> searchByInstructorAsync(String instructorId);
+    CompletableFuture<List<Course>> searchByDepartmentAsync(String department);
+    CompletableFuture<List<Course>> searchBySemesterAsync(String semester);
+    CompletableFuture<List<Course>> searchCoursesAsync(String department, String semester, Integer minCredits, Integer maxCredits);
+    CompletableFuture<List<Course>> searchByKeywordsAsync(String query, int limit);
+
+    CompletableFuture<Double> getAverageCreditsAsync();
+    CompletableFuture<Integer> getTotalCoursesByDepartmentAsync(String department);
+    CompletableFuture<List<Course>> getCoursesOrderedByCreditsAsync();
+}
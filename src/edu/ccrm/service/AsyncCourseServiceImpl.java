@@ -0,0 +1,104 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.util.Validator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Runs a {@link CourseService} on an executor. The course services are not thread-safe,
+ * so queries share a read lock and changes take it exclusively; callers that also use the
+ * delegate directly must not do so while async calls are in flight.
+ */
+public class AsyncCourseServiceImpl implements AsyncCourseService {
+    private final CourseService delegate;
+    private final Executor executor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public AsyncCourseServiceImpl(CourseService delegate) {
+        this(delegate, AsyncTasks.defaultExecutor());
+    }
+
+    public AsyncCourseServiceImpl(CourseService delegate, Executor executor) {
+        Validator.requireNonNull(delegate, "Course service cannot be null");
+        Validator.requireNonNull(executor, "Executor cannot be null");
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Void> addCourseAsync(Course course) {
+        return AsyncTasks.run(executor, lock.writeLock(), () -> delegate.addCourse(course));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> listCoursesAsync() {
+        return AsyncTasks.call(executor, lock.readLock(), delegate::listCourses);
+    }
+
+    @Override
+    public CompletableFuture<Course> getCourseByCodeAsync(String code) {
+        return AsyncTasks.call(executor, lock.readLock(), () -> delegate.getCourseByCode(code));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateCourseAsync(Course course) {
+        return AsyncTasks.run(executor, lock.writeLock(), () -> delegate.updateCourse(course));
+    }
+
+    @Override
+    public CompletableFuture<Void> deactivateCourseAsync(String code) {
+        return AsyncTasks.run(executor, lock.writeLock(), () -> delegate.deactivateCourse(code));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> searchAsync(Predicate<Course> predicate) {
+        return AsyncTasks.call(executor, lock.readLock(), () -> delegate.search(predicate));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> searchByInstructorAsync(String instructorId) {
+        return AsyncTasks.call(executor, lock.readLock(), () -> delegate.searchByInstructor(instructorId));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> searchByDepartmentAsync(String department) {
+        return AsyncTasks.call(executor, lock.readLock(), () -> delegate.searchByDepartment(department));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> searchBySemesterAsync(String semester) {
+        return AsyncTasks.call(executor, lock.readLock(), () -> delegate.searchBySemester(semester));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> searchCoursesAsync(String department, String semester,
+                                                              Integer minCredits, Integer maxCredits) {
+        return AsyncTasks.call(executor, lock.readLock(),
+            () -> delegate.searchCourses(department, semester, minCredits, maxCredits));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> searchByKeywordsAsync(String query, int limit) {
+        return AsyncTasks.call(executor, lock.readLock(), () -> delegate.searchByKeywords(query, limit));
+    }
+
+    @Override
+    public CompletableFuture<Double> getAverageCreditsAsync() {
+        return AsyncTasks.call(executor, lock.readLock(), delegate::getAverageCredits);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getTotalCoursesByDepartmentAsync(String department) {
+        return AsyncTasks.call(executor, lock.readLock(), () -> delegate.getTotalCoursesByDepartment(department));
+    }
+
+    @Override
+    public CompletableFuture<List<Course>> getCoursesOrderedByCreditsAsync() {
+        return AsyncTasks.call(executor, lock.readLock(), delegate::getCoursesOrderedByCredits);
+    }
+}
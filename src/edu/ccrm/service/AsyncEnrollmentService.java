@@ -0,0 +1,30 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Student;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking counterpart of EnrollmentService; failures, including DuplicateEnrollmentException
+// and MaxCreditLimitExceededException, complete the future exceptionally
+public interface AsyncEnrollmentService {
+    CompletableFuture<Void> enrollStudentAsync(Student student, Course course);
+    CompletableFuture<Void> enrollStudentInAllAsync(Student student, List<Course> courses);
+    CompletableFuture<Void> unenrollStudentAsync(Student student, Course course);
+    CompletableFuture<List<Enrollment>> getEnrollmentsByStudentAsync(Student student);
+    CompletableFuture<List<Enrollment>> getEnrollmentsByCourseAsync(Course course);
+    CompletableFuture<Void> recordMarksAsync(Student student, Course course, int marks);
+
+    CompletableFuture<Integer> getSeatsAvailableAsync(Course course);
+    CompletableFuture<Integer> joinWaitlistAsync(Student student, Course course);
+    CompletableFuture<Boolean> leaveWaitlistAsync(Student student, Course course);
+    CompletableFuture<List<Student>> getWaitlistAsync(Course course);
+    CompletableFuture<Integer> promoteFromWaitlistAsync(Course course);
+
+    // Enrolls each student in their courses as with enrollStudentInAll, students in parallel.
+    // Completes once every request has been tried, with the failures by student in request order;
+    // a student whose request failed keeps the courses enrolled before the failure.
+    CompletableFuture<Map<Student, Exception>> enrollAllAsync(Map<Student, List<Course>> requests);
+}
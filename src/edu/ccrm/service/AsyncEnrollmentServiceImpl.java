@@ -0,0 +1,121 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.Validator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs an {@link EnrollmentService} on an executor. Calls go straight to the delegate,
+ * which must be thread-safe, as {@link EnrollmentServiceImpl} is.
+ */
+public class AsyncEnrollmentServiceImpl implements AsyncEnrollmentService {
+    private final EnrollmentService delegate;
+    private final Executor executor;
+
+    public AsyncEnrollmentServiceImpl(EnrollmentService delegate) {
+        this(delegate, AsyncTasks.defaultExecutor());
+    }
+
+    public AsyncEnrollmentServiceImpl(EnrollmentService delegate, Executor executor) {
+        Validator.requireNonNull(delegate, "Enrollment service cannot be null");
+        Validator.requireNonNull(executor, "Executor cannot be null");
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Void> enrollStudentAsync(Student student, Course course) {
+        return AsyncTasks.call(executor, () -> {
+            delegate.enrollStudent(student, course);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> enrollStudentInAllAsync(Student student, List<Course> courses) {
+        return AsyncTasks.call(executor, () -> {
+            delegate.enrollStudentInAll(student, courses);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> unenrollStudentAsync(Student student, Course course) {
+        return AsyncTasks.call(executor, () -> {
+            delegate.unenrollStudent(student, course);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Enrollment>> getEnrollmentsByStudentAsync(Student student) {
+        return AsyncTasks.call(executor, () -> delegate.getEnrollmentsByStudent(student));
+    }
+
+    @Override
+    public CompletableFuture<List<Enrollment>> getEnrollmentsByCourseAsync(Course course) {
+        return AsyncTasks.call(executor, () -> delegate.getEnrollmentsByCourse(course));
+    }
+
+    @Override
+    public CompletableFuture<Void> recordMarksAsync(Student student, Course course, int marks) {
+        return AsyncTasks.call(executor, () -> {
+            delegate.recordMarks(student, course, marks);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> getSeatsAvailableAsync(Course course) {
+        return AsyncTasks.call(executor, () -> delegate.getSeatsAvailable(course));
+    }
+
+    @Override
+    public CompletableFuture<Integer> joinWaitlistAsync(Student student, Course course) {
+        return AsyncTasks.call(executor, () -> delegate.joinWaitlist(student, course));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> leaveWaitlistAsync(Student student, Course course) {
+        return AsyncTasks.call(executor, () -> delegate.leaveWaitlist(student, course));
+    }
+
+    @Override
+    public CompletableFuture<List<Student>> getWaitlistAsync(Course course) {
+        return AsyncTasks.call(executor, () -> delegate.getWaitlist(course));
+    }
+
+    @Override
+    public CompletableFuture<Integer> promoteFromWaitlistAsync(Course course) {
+        return AsyncTasks.call(executor, () -> delegate.promoteFromWaitlist(course));
+    }
+
+    @Override
+    public CompletableFuture<Map<Student, Exception>> enrollAllAsync(Map<Student, List<Course>> requests) {
+        Validator.requireNonNull(requests, "Enrollment requests cannot be null");
+        List<Map.Entry<Student, List<Course>>> entries = new ArrayList<>(requests.entrySet());
+        return AsyncTasks.mapChunked(executor, entries, entry -> {
+            try {
+                delegate.enrollStudentInAll(entry.getKey(), entry.getValue());
+                return null;
+            } catch (Exception e) {
+                return e;
+            }
+        }).thenApply(outcomes -> {
+            Map<Student, Exception> failures = new LinkedHashMap<>();
+            for (int i = 0; i < outcomes.size(); i++) {
+                if (outcomes.get(i) != null) {
+                    failures.put(entries.get(i).getKey(), outcomes.get(i));
+                }
+            }
+            return failures;
+        });
+    }
+}
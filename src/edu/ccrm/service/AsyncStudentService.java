@@ -0,0 +1,17 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Student;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+// Non-blocking counterpart of StudentService; failures complete the future exceptionally
+public interface AsyncStudentService {
+    CompletableFuture<Void> addStudentAsync(Student student);
+    CompletableFuture<List<Student>> listStudentsAsync();
+    CompletableFuture<Student> getStudentByRegNoAsync(String regNo);
+    CompletableFuture<List<Student>> searchByNameAsync(String query, int limit);
+    CompletableFuture<Void> updateStudentAsync(Student student);
+    CompletableFuture<Void> deactivateStudentAsync(String regNo);
+    CompletableFuture<List<Student>> searchAsync(Predicate<Student> predicate);
+}
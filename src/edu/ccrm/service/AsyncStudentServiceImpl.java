@@ -0,0 +1,67 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.Validator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Runs a {@link StudentService} on an executor. The student services are not thread-safe,
+ * so queries share a read lock and changes take it exclusively; callers that also use the
+ * delegate directly must not do so while async calls are in flight.
+ */
+public class AsyncStudentServiceImpl implements AsyncStudentService {
+    private final StudentService delegate;
+    private final Executor executor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public AsyncStudentServiceImpl(StudentService delegate) {
+        this(delegate, AsyncTasks.defaultExecutor());
+    }
+
+    public AsyncStudentServiceImpl(StudentService delegate, Executor executor) {
+        Validator.requireNonNull(delegate, "Student service cannot be null");
+        Validator.requireNonNull(executor, "Executor cannot be null");
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Void> addStudentAsync(Student student) {
+        return AsyncTasks.run(executor, lock.writeLock(), () -> delegate.addStudent(student));
+    }
+
+    @Override
+    public CompletableFuture<List<Student>> listStudentsAsync() {
+        return AsyncTasks.call(executor, lock.readLock(), delegate::listStudents);
+    }
+
+    @Override
+    public CompletableFuture<Student> getStudentByRegNoAsync(String regNo) {
+        return AsyncTasks.call(executor, lock.readLock(), () -> delegate.getStudentByRegNo(regNo));
+    }
+
+    @Override
+    public CompletableFuture<List<Student>> searchByNameAsync(String query, int limit) {
+        return AsyncTasks.call(executor, lock.readLock(), () -> delegate.searchByName(query, limit));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateStudentAsync(Student student) {
+        return AsyncTasks.run(executor, lock.writeLock(), () -> delegate.updateStudent(student));
+    }
+
+    @Override
+    public CompletableFuture<Void> deactivateStudentAsync(String regNo) {
+        return AsyncTasks.run(executor, lock.writeLock(), () -> delegate.deactivateStudent(regNo));
+    }
+
+    @Override
+    public CompletableFuture<List<Student>> searchAsync(Predicate<Student> predicate) {
+        return AsyncTasks.call(executor, lock.readLock(), () -> delegate.search(predicate));
+    }
+}
@@ -0,0 +1,126 @@
+package edu.ccrm.service;
+
+import edu.ccrm.config.AppConfig;
+import edu.ccrm.util.TaskExecutors;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * Shared plumbing for the asynchronous service wrappers.
+ *
+ * Futures complete exceptionally with the delegate's own exception, so
+ * {@code join()} wraps it in a CompletionException and {@code exceptionally}
+ * handlers see it as the cause.
+ */
+final class AsyncTasks {
+
+    private AsyncTasks() {
+    }
+
+    /**
+     * The executor used when none is given: virtual threads where available, otherwise
+     * {@code workerThreads} daemon threads that follow config reloads
+     */
+    static Executor defaultExecutor() {
+        return DefaultExecutor.INSTANCE;
+    }
+
+    static <T> CompletableFuture<T> call(Executor executor, Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    static <T> CompletableFuture<T> call(Executor executor, Lock lock, Callable<T> task) {
+        return call(executor, () -> {
+            lock.lock();
+            try {
+                return task.call();
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    static CompletableFuture<Void> run(Executor executor, Lock lock, Runnable task) {
+        return call(executor, lock, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Applies a function to every item, split into a few contiguous chunks per worker rather than
+     * one task per item, and completes with the results in item order once the last chunk is done.
+     * The first exception thrown by the function fails the whole future.
+     */
+    static <T, R> CompletableFuture<List<R>> mapChunked(Executor executor, List<T> items, Function<T, R> function) {
+        int size = items.size();
+        CompletableFuture<List<R>> future = new CompletableFuture<>();
+        if (size == 0) {
+            future.complete(Collections.emptyList());
+            return future;
+        }
+        Object[] results = new Object[size];
+        int chunks = Math.min(size, 4 * AppConfig.getInstance().getSettings().getWorkerThreads());
+        AtomicInteger remaining = new AtomicInteger(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = (int) ((long) size * chunk / chunks);
+            int to = (int) ((long) size * (chunk + 1) / chunks);
+            try {
+                executor.execute(() -> {
+                    try {
+                        for (int i = from; i < to && !future.isDone(); i++) {
+                            results[i] = function.apply(items.get(i));
+                        }
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    }
+                    // The decrement orders every chunk's writes before the final read
+                    if (remaining.decrementAndGet() == 0) {
+                        complete(future, results);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
+                break;
+            }
+        }
+        return future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> void complete(CompletableFuture<List<R>> future, Object[] results) {
+        future.complete((List<R>) Arrays.asList(results));
+    }
+
+    private static final class DefaultExecutor {
+        static final ExecutorService INSTANCE = create();
+
+        private static ExecutorService create() {
+            AppConfig config = AppConfig.getInstance();
+            ExecutorService executor = TaskExecutors.newPerTaskExecutor("ccrm-async", config.getSettings().getWorkerThreads());
+            config.addListener(settings -> TaskExecutors.resize(executor, settings.getWorkerThreads()));
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Student;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking counterpart of TranscriptService; failures complete the future exceptionally
+public interface AsyncTranscriptService {
+    CompletableFuture<String> generateTranscriptAsync(Student student);
+    CompletableFuture<Double> computeGpaAsync(Student student);
+    // GPA of every student, computed in parallel and keyed in iteration order
+    CompletableFuture<Map<Student, Double>> computeGpaAsync(Collection<Student> students);
+}
@@ -0,0 +1,54 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.Validator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs a {@link TranscriptService} on an executor. Transcripts only read enrollments,
+ * so this is safe whenever the underlying enrollment service is.
+ */
+public class AsyncTranscriptServiceImpl implements AsyncTranscriptService {
+    private final TranscriptService delegate;
+    private final Executor executor;
+
+    public AsyncTranscriptServiceImpl(TranscriptService delegate) {
+        this(delegate, AsyncTasks.defaultExecutor());
+    }
+
+    public AsyncTranscriptServiceImpl(TranscriptService delegate, Executor executor) {
+        Validator.requireNonNull(delegate, "Transcript service cannot be null");
+        Validator.requireNonNull(executor, "Executor cannot be null");
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<String> generateTranscriptAsync(Student student) {
+        return AsyncTasks.call(executor, () -> delegate.generateTranscript(student));
+    }
+
+    @Override
+    public CompletableFuture<Double> computeGpaAsync(Student student) {
+        return AsyncTasks.call(executor, () -> delegate.computeGPA(student));
+    }
+
+    @Override
+    public CompletableFuture<Map<Student, Double>> computeGpaAsync(Collection<Student> students) {
+        Validator.requireNonNull(students, "Students cannot be null");
+        List<Student> ordered = new ArrayList<>(students);
+        return AsyncTasks.mapChunked(executor, ordered, delegate::computeGPA).thenApply(gpas -> {
+            Map<Student, Double> result = new LinkedHashMap<>();
+            for (int i = 0; i < ordered.size(); i++) {
+                result.put(ordered.get(i), gpas.get(i));
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,470 @@
+package edu.ccrm.service;
+
+import edu.ccrm.config.EnrollmentConfig;
+import edu.ccrm.config.EnrollmentRules;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.DuplicateEnrollmentException;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.MaxCreditLimitExceededException;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.PrerequisiteGraph;
+import edu.ccrm.util.SymbolTable;
+import edu.ccrm.util.Validator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Enrollment storage for very large histories, kept as parallel primitive columns.
+ *
+ * Each enrollment is one row across five arrays: student id, course id, enrollment
+ * date as epoch day, marks as a short and grade ordinal as a byte, which is 14 bytes
+ * per row instead of an {@link Enrollment} object with its {@code LocalDate}. Student
+ * and course ids are the dense ids of {@link SymbolTable#REG_NOS} and
+ * {@link SymbolTable#COURSE_CODES}; the entity objects themselves are held once per id.
+ *
+ * Per-student row lists make the enrollment checks proportional to the student's own
+ * enrollments, and per-student {@link ScheduleIndex} timetables reject clashing meeting
+ * times in O(log n). Per-course lookups and aggregate queries scan the columns sequentially,
+ * which at these sizes beats chasing a row list across the heap. Unenrolled rows are
+ * tombstoned and the columns are compacted once tombstones pass a quarter of the rows.
+ *
+ * {@link Enrollment} objects returned by the query methods are snapshots; marks must be
+ * recorded through {@link #recordMarks}. Students are identified by registration number.
+ * Instances are not thread-safe.
+ */
+public class ColumnarEnrollmentServiceImpl implements EnrollmentService {
+    private static final Logger LOGGER = Logger.getLogger(ColumnarEnrollmentServiceImpl.class.getName());
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 1024;
+    private static final int DEAD = -1;
+    private static final short NO_MARKS = -1;
+    private static final byte NO_GRADE = -1;
+    private static final Grade[] GRADES = Grade.values();
+
+    // Columns
+    private int[] studentIds = new int[INITIAL_CAPACITY];
+    private int[] courseIds = new int[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private short[] marks = new short[INITIAL_CAPACITY];
+    private byte[] gradeOrdinals = new byte[INITIAL_CAPACITY];
+    private int rowCount;
+    private int liveRows;
+
+    // Dictionaries: dense symbol id to entity, and to the rows that reference it
+    private Student[] studentById = new Student[INITIAL_CAPACITY];
+    private Course[] courseById = new Course[INITIAL_CAPACITY];
+    private int[][] rowsByStudent = new int[INITIAL_CAPACITY][];
+    private int[] rowCountByStudent = new int[INITIAL_CAPACITY];
+    private final PrerequisiteGraph prerequisites;
+    // Weekly timetable of each student that has courses with meeting times, keyed by student id
+    private final ScheduleIndex<Integer> schedules = new ScheduleIndex<>();
+    private final SeatLedger seats;
+    private final Waitlist waitlist = new Waitlist(EnrollmentConfig.getWaitlistPriority());
+
+    public ColumnarEnrollmentServiceImpl() {
+        this(new PrerequisiteGraph());
+    }
+
+    public ColumnarEnrollmentServiceImpl(PrerequisiteGraph prerequisites) {
+        this(prerequisites, new SeatLedger());
+    }
+
+    public ColumnarEnrollmentServiceImpl(PrerequisiteGraph prerequisites, SeatLedger seats) {
+        this.prerequisites = prerequisites;
+        this.seats = seats;
+    }
+
+    @Override
+    public void enrollStudent(Student student, Course course)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        enroll(student, course, false, course.getCredits());
+    }
+
+    @Override
+    public void enrollStudentInAll(Student student, List<Course> courses)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        Validator.requireNonNull(courses, "Courses cannot be null");
+        Map<Semester, Integer> plannedCredits = EnrollmentServiceImpl.plannedCredits(courses);
+        List<Course> enrolled = new ArrayList<>(courses.size());
+        try {
+            for (Course course : EnrollmentServiceImpl.largestFirst(courses)) {
+                enroll(student, course, false, plannedCredits.get(course.getSemester()));
+                enrolled.add(course);
+            }
+        } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | RuntimeException e) {
+            // Part of the bundle could leave the student below the credit minimum
+            for (Course course : enrolled) {
+                unenrollStudent(student, course);
+            }
+            throw e;
+        }
+    }
+
+    private void enroll(Student student, Course course, boolean fromWaitlist, int plannedCredits)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        validateStudentAndCourse(student, course);
+        int studentId = register(student);
+        int courseId = register(course);
+
+        try {
+            validateEnrollment(studentId, courseId, student, course, plannedCredits);
+        } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | RuntimeException e) {
+            if (fromWaitlist) {
+                seats.release(course);
+            }
+            throw e;
+        }
+
+        // A waitlisted student's seat was reserved when they left the queue
+        if (!fromWaitlist) {
+            EnrollmentServiceImpl.reserveSeat(seats, waitlist, course);
+        }
+
+        appendRow(studentId, courseId, (int) LocalDate.now().toEpochDay());
+        student.enrollCourse(course.getCode());
+        schedules.add(studentId, course);
+    }
+
+    private void validateEnrollment(int studentId, int courseId, Student student, Course course, int plannedCredits)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        if (findRow(studentId, courseId) >= 0) {
+            LOGGER.warning("Student is already enrolled in this course.");
+            throw new DuplicateEnrollmentException("Student is already enrolled in this course.");
+        }
+
+        EnrollmentServiceImpl.validatePrerequisites(prerequisites, student, course);
+
+        int currentCredits = calculateCurrentCredits(studentId, course.getSemester());
+        EnrollmentRules rules = EnrollmentConfig.getRules();
+        int program = rules.programOf(student.getRegNo());
+        int departmentCredits = rules.hasDepartmentQuotas(program)
+            ? calculateDepartmentCredits(studentId, course.getSemester(), course.getDepartment()) : 0;
+
+        EnrollmentServiceImpl.validateCreditLimits(rules, program, student, course,
+            currentCredits, departmentCredits, plannedCredits);
+
+        EnrollmentServiceImpl.validateSchedule(schedules, studentId, student, course);
+    }
+
+    @Override
+    public void unenrollStudent(Student student, Course course) {
+        validateStudentAndCourse(student, course);
+        int studentId = SymbolTable.REG_NOS.lookup(student.getRegNo());
+        int courseId = SymbolTable.COURSE_CODES.lookup(course.getCode());
+        int row = studentId < 0 || courseId < 0 ? -1 : findRow(studentId, courseId);
+        if (row >= 0) {
+            removeFromStudent(studentId, row);
+            studentIds[row] = DEAD;
+            liveRows--;
+            if (rowCount - liveRows >= MIN_TOMBSTONES_FOR_COMPACTION && (rowCount - liveRows) * 4 > rowCount) {
+                compact();
+            }
+            schedules.remove(studentId, course.getCode());
+        }
+        student.unenrollCourse(course.getCode());
+        if (row >= 0) {
+            seats.release(course);
+            promoteFromWaitlist(course);
+        }
+    }
+
+    @Override
+    public int getSeatsAvailable(Course course) {
+        Validator.requireNonNull(course, "Course cannot be null");
+        return seats.getSeatsAvailable(course);
+    }
+
+    @Override
+    public int joinWaitlist(Student student, Course course)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        validateStudentAndCourse(student, course);
+        validateEnrollment(register(student), register(course), student, course, course.getCredits());
+        waitlist.add(student, course.getCode());
+        promoteFromWaitlist(course);
+        return waitlist.position(student, course.getCode());
+    }
+
+    @Override
+    public boolean leaveWaitlist(Student student, Course course) {
+        validateStudentAndCourse(student, course);
+        return waitlist.remove(student, course.getCode());
+    }
+
+    @Override
+    public List<Student> getWaitlist(Course course) {
+        Validator.requireNonNull(course, "Course cannot be null");
+        return waitlist.students(course.getCode());
+    }
+
+    @Override
+    public int promoteFromWaitlist(Course course) {
+        Validator.requireNonNull(course, "Course cannot be null");
+        int promoted = 0;
+        Student next;
+        // The seat is claimed before the student leaves the queue; the ledger may be shared
+        while ((next = waitlist.poll(course.getCode(), () -> seats.tryReserve(course))) != null) {
+            try {
+                enroll(next, course, true, course.getCredits());
+                promoted++;
+            } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | RuntimeException e) {
+                LOGGER.warning("Dropping " + next.getRegNo() + " from the " + course.getCode() + " waitlist: " + e.getMessage());
+            }
+        }
+        return promoted;
+    }
+
+    @Override
+    public List<Enrollment> getEnrollmentsByStudent(Student student) {
+        if (student == null) {
+            LOGGER.warning("Student cannot be null.");
+            throw new IllegalArgumentException("Student cannot be null.");
+        }
+        int studentId = SymbolTable.REG_NOS.lookup(student.getRegNo());
+        if (studentId < 0 || studentId >= rowCountByStudent.length) {
+            return new ArrayList<>();
+        }
+        int[] rows = rowsByStudent[studentId];
+        int count = rowCountByStudent[studentId];
+        List<Enrollment> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(materialize(rows[i]));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Enrollment> getEnrollmentsByCourse(Course course) {
+        if (course == null) {
+            LOGGER.warning("Course cannot be null.");
+            throw new IllegalArgumentException("Course cannot be null.");
+        }
+        int courseId = SymbolTable.COURSE_CODES.lookup(course.getCode());
+        List<Enrollment> result = new ArrayList<>();
+        if (courseId < 0) {
+            return result;
+        }
+        for (int row = 0; row < rowCount; row++) {
+            if (courseIds[row] == courseId && studentIds[row] != DEAD) {
+                result.add(materialize(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void recordMarks(Student student, Course course, int marks) {
+        validateStudentAndCourse(student, course);
+        // Out of range marks would not fit the short column, and -1 is NO_MARKS
+        EnrollmentServiceImpl.validateMarks(marks);
+        int studentId = SymbolTable.REG_NOS.lookup(student.getRegNo());
+        int courseId = SymbolTable.COURSE_CODES.lookup(course.getCode());
+        int row = studentId < 0 || courseId < 0 ? -1 : findRow(studentId, courseId);
+        if (row < 0) {
+            LOGGER.warning("Enrollment not found for student and course.");
+            return;
+        }
+        this.marks[row] = (short) marks;
+        this.gradeOrdinals[row] = (byte) Grade.fromScore(marks).ordinal();
+        student.setGrade(course.getCode(), Grade.fromScore(marks));
+    }
+
+    /**
+     * Number of live enrollments
+     * @return enrollment count
+     */
+    public int size() {
+        return liveRows;
+    }
+
+    /**
+     * Counts graded enrollments per grade in one sequential pass over the grade column
+     * @return counts indexed by {@link Grade#ordinal()}
+     */
+    public int[] gradeDistribution() {
+        int[] counts = new int[GRADES.length];
+        for (int row = 0; row < rowCount; row++) {
+            byte grade = gradeOrdinals[row];
+            if (grade != NO_GRADE && studentIds[row] != DEAD) {
+                counts[grade]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Average recorded marks per course in one sequential pass over the course and marks columns
+     * @return averages indexed by {@link SymbolTable#COURSE_CODES} id; NaN where nothing is graded
+     */
+    public double[] averageMarksByCourse() {
+        long[] sums = new long[courseById.length];
+        int[] counts = new int[courseById.length];
+        for (int row = 0; row < rowCount; row++) {
+            short m = marks[row];
+            if (m != NO_MARKS && studentIds[row] != DEAD) {
+                sums[courseIds[row]] += m;
+                counts[courseIds[row]]++;
+            }
+        }
+        double[] averages = new double[courseById.length];
+        for (int id = 0; id < averages.length; id++) {
+            averages[id] = counts[id] == 0 ? Double.NaN : (double) sums[id] / counts[id];
+        }
+        return averages;
+    }
+
+    private void validateStudentAndCourse(Student student, Course course) {
+        if (student == null || course == null) {
+            LOGGER.warning("Student or course cannot be null.");
+            throw new IllegalArgumentException("Student or course cannot be null.");
+        }
+    }
+
+    private int register(Student student) {
+        int id = SymbolTable.REG_NOS.id(student.getRegNo());
+        if (id >= studentById.length) {
+            int capacity = grow(studentById.length, id);
+            studentById = Arrays.copyOf(studentById, capacity);
+            rowsByStudent = Arrays.copyOf(rowsByStudent, capacity);
+            rowCountByStudent = Arrays.copyOf(rowCountByStudent, capacity);
+        }
+        studentById[id] = student;
+        return id;
+    }
+
+    private int register(Course course) {
+        int id = SymbolTable.COURSE_CODES.id(course.getCode());
+        if (id >= courseById.length) {
+            int capacity = grow(courseById.length, id);
+            courseById = Arrays.copyOf(courseById, capacity);
+        }
+        courseById[id] = course;
+        return id;
+    }
+
+    private static int grow(int capacity, int required) {
+        while (capacity <= required) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private int findRow(int studentId, int courseId) {
+        if (studentId >= rowCountByStudent.length) {
+            return -1;
+        }
+        int[] rows = rowsByStudent[studentId];
+        for (int i = 0; i < rowCountByStudent[studentId]; i++) {
+            if (courseIds[rows[i]] == courseId) {
+                return rows[i];
+            }
+        }
+        return -1;
+    }
+
+    private int calculateCurrentCredits(int studentId, Semester semester) {
+        int[] rows = rowsByStudent[studentId];
+        int credits = 0;
+        for (int i = 0; i < rowCountByStudent[studentId]; i++) {
+            Course course = courseById[courseIds[rows[i]]];
+            if (course.getSemester() == semester) {
+                credits += course.getCredits();
+            }
+        }
+        return credits;
+    }
+
+    private int calculateDepartmentCredits(int studentId, Semester semester, String department) {
+        int departmentId = department == null ? -1 : SymbolTable.DEPARTMENTS.lookup(department);
+        int[] rows = rowsByStudent[studentId];
+        int credits = 0;
+        for (int i = 0; i < rowCountByStudent[studentId]; i++) {
+            Course course = courseById[courseIds[rows[i]]];
+            if (departmentId >= 0 && course.getSemester() == semester && course.getDepartment() != null
+                    && SymbolTable.DEPARTMENTS.lookup(course.getDepartment()) == departmentId) {
+                credits += course.getCredits();
+            }
+        }
+        return credits;
+    }
+
+    private void appendRow(int studentId, int courseId, int epochDay) {
+        if (rowCount == studentIds.length) {
+            int capacity = rowCount + (rowCount >> 1);
+            studentIds = Arrays.copyOf(studentIds, capacity);
+            courseIds = Arrays.copyOf(courseIds, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            marks = Arrays.copyOf(marks, capacity);
+            gradeOrdinals = Arrays.copyOf(gradeOrdinals, capacity);
+        }
+        int row = rowCount++;
+        studentIds[row] = studentId;
+        courseIds[row] = courseId;
+        epochDays[row] = epochDay;
+        marks[row] = NO_MARKS;
+        gradeOrdinals[row] = NO_GRADE;
+        liveRows++;
+        addToStudent(studentId, row);
+    }
+
+    private void addToStudent(int studentId, int row) {
+        int[] rows = rowsByStudent[studentId];
+        int count = rowCountByStudent[studentId];
+        if (rows == null) {
+            rows = rowsByStudent[studentId] = new int[4];
+        } else if (count == rows.length) {
+            rows = rowsByStudent[studentId] = Arrays.copyOf(rows, count * 2);
+        }
+        rows[count] = row;
+        rowCountByStudent[studentId] = count + 1;
+    }
+
+    private void removeFromStudent(int studentId, int row) {
+        int[] rows = rowsByStudent[studentId];
+        int count = rowCountByStudent[studentId];
+        for (int i = 0; i < count; i++) {
+            if (rows[i] == row) {
+                System.arraycopy(rows, i + 1, rows, i, count - i - 1);
+                rowCountByStudent[studentId] = count - 1;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Squeezes tombstoned rows out of the columns and rebuilds the per-student row lists
+     */
+    private void compact() {
+        int kept = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (studentIds[row] == DEAD) {
+                continue;
+            }
+            studentIds[kept] = studentIds[row];
+            courseIds[kept] = courseIds[row];
+            epochDays[kept] = epochDays[row];
+            marks[kept] = marks[row];
+            gradeOrdinals[kept] = gradeOrdinals[row];
+            kept++;
+        }
+        rowCount = kept;
+        Arrays.fill(rowCountByStudent, 0);
+        for (int row = 0; row < rowCount; row++) {
+            addToStudent(studentIds[row], row);
+        }
+    }
+
+    private Enrollment materialize(int row) {
+        return new Enrollment(
+            studentById[studentIds[row]],
+            courseById[courseIds[row]],
+            LocalDate.ofEpochDay(epochDays[row]),
+            marks[row]
+        );
+    }
+}
@@ -1,9 +1,10 @@
 package edu.ccrm.service;
 
 import edu.ccrm.domain.Course;
+import edu.ccrm.util.Searchable;
 import java.util.List;
 
-public interface CourseService {
+public interface CourseService extends Searchable<Course> {
     void addCourse(Course course);
     List<Course> listCourses();
     Course getCourseByCode(String code);
@@ -17,6 +18,9 @@ public interface CourseService {
     
     // Advanced search with multiple criteria
     List<Course> searchCourses(String department, String semester, Integer minCredits, Integer maxCredits);
+
+    // Ranked keyword search over code, title and department
+    List<Course> searchByKeywords(String query, int limit);
     
     // Statistical queries using streams
     double getAverageCredits();
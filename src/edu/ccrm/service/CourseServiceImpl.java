@@ -1,18 +1,36 @@
 package edu.ccrm.service;
 
+import edu.ccrm.config.AppConfig;
 import edu.ccrm.domain.Course;
 import edu.ccrm.domain.CourseBuilder;
 import edu.ccrm.domain.Instructor;
 import edu.ccrm.domain.Semester;
+import edu.ccrm.util.Criteria;
+import edu.ccrm.util.IndexedSearchable;
+import edu.ccrm.util.InvertedIndex;
+import edu.ccrm.util.LruCache;
+import edu.ccrm.util.SearchField;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 public class CourseServiceImpl implements CourseService {
     private static final Logger LOGGER = Logger.getLogger(CourseServiceImpl.class.getName());
-    private final List<Course> courses = new ArrayList<>();
+    private final IndexedSearchable<Course> courses = new IndexedSearchable<>(
+        SearchField.COURSE_CODE,
+        SearchField.COURSE_DEPARTMENT,
+        SearchField.COURSE_SEMESTER,
+        SearchField.COURSE_CREDITS,
+        SearchField.COURSE_INSTRUCTOR
+    );
+    // Keyed by store slot; fields are code, title, department, weighted so code hits rank first
+    private final InvertedIndex<Integer> keywordIndex = new InvertedIndex<>(3.0, 2.0, 1.0);
+    // Recent keyword searches as result slots, cleared whenever the index changes
+    private final LruCache<String, List<Integer>> searchCache =
+        new LruCache<>(() -> AppConfig.getInstance().getSettings().getSearchCacheSize());
 
     @Override
     public void addCourse(Course course) {
@@ -27,13 +45,18 @@ public class CourseServiceImpl implements CourseService {
             .setInstructor(course.getInstructor())
             .setSemester(course.getSemester())
             .setDepartment(course.getDepartment())
+            .setMeetingTimes(course.getMeetingTimes())
+            .setCapacity(course.getCapacity())
             .build();
-        courses.add(builtCourse);
+        int slot = courses.add(builtCourse);
+        indexKeywords(slot, builtCourse);
+        // Instructor assignment and setters change stored courses in place
+        builtCourse.setChangeListener(changed -> reindex(slot));
     }
 
     @Override
     public List<Course> listCourses() {
-        return new ArrayList<>(courses);
+        return courses.items();
     }
 
     @Override
@@ -42,10 +65,7 @@ public class CourseServiceImpl implements CourseService {
             LOGGER.warning("Course code cannot be null or blank.");
             throw new IllegalArgumentException("Course code cannot be null or blank.");
         }
-        return courses.stream()
-                .filter(c -> c.getCode().equalsIgnoreCase(code))
-                .findFirst()
-                .orElse(null);
+        return courses.findFirst(Criteria.eq(SearchField.COURSE_CODE, code));
     }
 
     @Override
@@ -54,11 +74,17 @@ public class CourseServiceImpl implements CourseService {
             LOGGER.warning("Invalid course details provided for update.");
             throw new IllegalArgumentException("Course details cannot be null.");
         }
-        for (int i = 0; i < courses.size(); i++) {
-            if (courses.get(i).getCode().equalsIgnoreCase(course.getCode())) {
-                courses.set(i, course);
-                return;
+        int slot = courses.findSlot(Criteria.eq(SearchField.COURSE_CODE, course.getCode()));
+        if (slot >= 0) {
+            Instructor previous = courses.get(slot).getInstructor();
+            if (previous != null && previous != course.getInstructor()) {
+                previous.unassignCourse(course.getCode());
             }
+            courses.get(slot).setChangeListener(null);
+            courses.replace(slot, course);
+            indexKeywords(slot, course);
+            course.setChangeListener(changed -> reindex(slot));
+            return;
         }
         LOGGER.info("Course with code " + course.getCode() + " not found for update.");
     }
@@ -69,9 +95,8 @@ public class CourseServiceImpl implements CourseService {
             LOGGER.warning("Instructor ID cannot be null or blank.");
             throw new IllegalArgumentException("Instructor ID cannot be null or blank.");
         }
-        return courses.stream()
-            .filter(course -> course.getInstructor() != null &&
-                    course.getInstructor().getId().equals(instructorId))
+        return courses.search(Criteria.eq(SearchField.COURSE_INSTRUCTOR, instructorId)).stream()
+            .filter(course -> course.getInstructor() != null && course.getInstructor().getId().equals(instructorId))
             .collect(Collectors.toList());
     }
 
@@ -81,9 +106,7 @@ public class CourseServiceImpl implements CourseService {
             LOGGER.warning("Department cannot be null or blank.");
             throw new IllegalArgumentException("Department cannot be null or blank.");
         }
-        return courses.stream()
-            .filter(course -> course.getDepartment().equalsIgnoreCase(department))
-            .collect(Collectors.toList());
+        return courses.search(Criteria.eq(SearchField.COURSE_DEPARTMENT, department));
     }
 
     @Override
@@ -92,29 +115,49 @@ public class CourseServiceImpl implements CourseService {
             LOGGER.warning("Semester cannot be null or blank.");
             throw new IllegalArgumentException("Semester cannot be null or blank.");
         }
-        return courses.stream()
-            .filter(course -> course.getSemester() != null &&
-                    course.getSemester().toString().equalsIgnoreCase(semester))
-            .collect(Collectors.toList());
+        return courses.search(Criteria.eq(SearchField.COURSE_SEMESTER, semester));
     }
 
     @Override
     public List<Course> searchCourses(String department, String semester, 
             Integer minCredits, Integer maxCredits) {
-        return courses.stream()
-            .filter(course -> department == null || 
-                    course.getDepartment().equalsIgnoreCase(department))
-            .filter(course -> semester == null || 
-                    (course.getSemester() != null && 
-                    course.getSemester().toString().equalsIgnoreCase(semester)))
-            .filter(course -> minCredits == null || course.getCredits() >= minCredits)
-            .filter(course -> maxCredits == null || course.getCredits() <= maxCredits)
+        List<Criteria<Course>> clauses = new ArrayList<>();
+        if (department != null) {
+            clauses.add(Criteria.eq(SearchField.COURSE_DEPARTMENT, department));
+        }
+        if (semester != null) {
+            clauses.add(Criteria.eq(SearchField.COURSE_SEMESTER, semester));
+        }
+        if (minCredits != null || maxCredits != null) {
+            clauses.add(Criteria.between(SearchField.COURSE_CREDITS, minCredits, maxCredits));
+        }
+        return courses.search(Criteria.allOf(clauses));
+    }
+
+    @Override
+    public List<Course> searchByKeywords(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            LOGGER.warning("Search query cannot be null or blank.");
+            throw new IllegalArgumentException("Search query cannot be null or blank.");
+        }
+        return searchCache.get(limit + ":" + query, key -> keywordIndex.search(query, limit)).stream()
+            .map(courses::get)
             .collect(Collectors.toList());
     }
 
+    private void reindex(int slot) {
+        courses.reindex(slot);
+        indexKeywords(slot, courses.get(slot));
+    }
+
+    private void indexKeywords(int slot, Course course) {
+        searchCache.clear();
+        keywordIndex.put(slot, course.getCode(), course.getTitle(), course.getDepartment());
+    }
+
     @Override
     public double getAverageCredits() {
-        return courses.stream()
+        return courses.items().stream()
             .mapToInt(Course::getCredits)
             .average()
             .orElse(0.0);
@@ -126,14 +169,12 @@ public class CourseServiceImpl implements CourseService {
             LOGGER.warning("Department cannot be null or blank.");
             throw new IllegalArgumentException("Department cannot be null or blank.");
         }
-        return (int) courses.stream()
-            .filter(course -> course.getDepartment().equalsIgnoreCase(department))
-            .count();
+        return courses.search(Criteria.eq(SearchField.COURSE_DEPARTMENT, department)).size();
     }
 
     @Override
     public List<Course> getCoursesOrderedByCredits() {
-        return courses.stream()
+        return courses.items().stream()
             .sorted(Comparator.comparingInt(Course::getCredits).reversed())
             .collect(Collectors.toList());
     }
@@ -144,8 +185,7 @@ public class CourseServiceImpl implements CourseService {
             LOGGER.warning("Course code cannot be null or blank.");
             throw new IllegalArgumentException("Course code cannot be null or blank.");
         }
-        courses.stream()
-                .filter(c -> c.getCode().equalsIgnoreCase(code))
+        courses.search(Criteria.eq(SearchField.COURSE_CODE, code))
                 .forEach(Course::deactivate);
     }
 
@@ -154,9 +194,7 @@ public class CourseServiceImpl implements CourseService {
             LOGGER.warning("Instructor cannot be null.");
             throw new IllegalArgumentException("Instructor cannot be null.");
         }
-        return courses.stream()
-                .filter(c -> c.getInstructor().equals(instructor))
-                .collect(Collectors.toList());
+        return courses.search(c -> instructor.equals(c.getInstructor()));
     }
 
     public List<Course> filterByDepartment(String department) {
@@ -164,9 +202,7 @@ public class CourseServiceImpl implements CourseService {
             LOGGER.warning("Department cannot be null or blank.");
             throw new IllegalArgumentException("Department cannot be null or blank.");
         }
-        return courses.stream()
-                .filter(c -> c.getDepartment().equalsIgnoreCase(department))
-                .collect(Collectors.toList());
+        return courses.search(Criteria.eq(SearchField.COURSE_DEPARTMENT, department));
     }
 
     public List<Course> filterBySemester(Semester semester) {
@@ -174,8 +210,11 @@ public class CourseServiceImpl implements CourseService {
             LOGGER.warning("Semester cannot be null.");
             throw new IllegalArgumentException("Semester cannot be null.");
         }
-        return courses.stream()
-                .filter(c -> c.getSemester() == semester)
-                .collect(Collectors.toList());
+        return courses.search(Criteria.eq(SearchField.COURSE_SEMESTER, semester.toString()));
+    }
+
+    @Override
+    public List<Course> search(Predicate<Course> predicate) {
+        return courses.search(predicate);
     }
 }
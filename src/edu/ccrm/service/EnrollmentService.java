@@ -10,8 +10,25 @@ import java.util.List;
 public interface EnrollmentService {
     void enrollStudent(Student student, Course course) 
         throws DuplicateEnrollmentException, MaxCreditLimitExceededException;
+    // Enrolls a student in several courses as one request, largest first, all or nothing: on the
+    // first failure the courses already enrolled are unenrolled again and the failure is rethrown.
+    // The first-course minimum-credit rule applies to the combined credits per semester
+    void enrollStudentInAll(Student student, List<Course> courses)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException;
     void unenrollStudent(Student student, Course course);
     List<Enrollment> getEnrollmentsByStudent(Student student);
     List<Enrollment> getEnrollmentsByCourse(Course course);
     void recordMarks(Student student, Course course, int marks);
+
+    // Seat limits: enrollStudent throws CourseFullException when no seat is free, or when
+    // others are already waiting. Waitlisted students are enrolled in priority order as seats free up.
+    int getSeatsAvailable(Course course);
+    // Applies the enrollment checks, then queues the student; returns their waitlist position,
+    // or 0 if a free seat let them enroll straight away
+    int joinWaitlist(Student student, Course course)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException;
+    boolean leaveWaitlist(Student student, Course course);
+    List<Student> getWaitlist(Course course);
+    // Enrolls waitlisted students into free seats, e.g. after the capacity was raised; returns how many
+    int promoteFromWaitlist(Course course);
 }
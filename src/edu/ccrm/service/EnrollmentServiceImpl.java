@@ -1,37 +1,204 @@
 package edu.ccrm.service;
 
 import edu.ccrm.config.EnrollmentConfig;
+import edu.ccrm.config.EnrollmentRules;
 import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseFullException;
 import edu.ccrm.domain.DuplicateEnrollmentException;
 import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Grade;
 import edu.ccrm.domain.MaxCreditLimitExceededException;
+import edu.ccrm.domain.PrerequisiteNotMetException;
+import edu.ccrm.domain.ScheduleConflictException;
 import edu.ccrm.domain.Semester;
 import edu.ccrm.domain.Student;
+import edu.ccrm.metrics.EnrollmentEvent;
+import edu.ccrm.metrics.MarksEvent;
+import edu.ccrm.util.PrerequisiteGraph;
+import edu.ccrm.util.SymbolTable;
+import edu.ccrm.util.Validator;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+/**
+ * Default {@link EnrollmentService}.
+ *
+ * Instances are thread-safe. An enrollment is checked under a shared read lock, takes its
+ * seat from the lock-free {@link SeatLedger}, and only then is re-checked and recorded under
+ * the write lock. When many requests race for the last seats, the ones that lose fail at
+ * the ledger without queuing for the write lock.
+ */
 public class EnrollmentServiceImpl implements EnrollmentService {
     private static final Logger LOGGER = Logger.getLogger(EnrollmentServiceImpl.class.getName());
-    private final List<Enrollment> enrollments = new ArrayList<>();
+    // Enrollments by registration number, so per-student checks do not scan everything
+    private final Map<String, List<Enrollment>> enrollmentsByStudent = new HashMap<>();
+    // The same enrollments by course code, for class lists and unenrollment
+    private final Map<String, List<Enrollment>> enrollmentsByCourse = new HashMap<>();
+    private final PrerequisiteGraph prerequisites;
+    // Weekly timetable of each student, keyed by registration number
+    private final ScheduleIndex<String> schedules = new ScheduleIndex<>();
+    private final SeatLedger seats;
+    private final Waitlist waitlist = new Waitlist(EnrollmentConfig.getWaitlistPriority());
+    // Guards both enrollment maps, schedules and the enrolled students' course lists
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public EnrollmentServiceImpl() {
+        this(new PrerequisiteGraph());
+    }
+
+    public EnrollmentServiceImpl(PrerequisiteGraph prerequisites) {
+        this(prerequisites, new SeatLedger());
+    }
+
+    public EnrollmentServiceImpl(PrerequisiteGraph prerequisites, SeatLedger seats) {
+        this.prerequisites = prerequisites;
+        this.seats = seats;
+    }
 
     @Override
     public void enrollStudent(Student student, Course course) 
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        enroll(student, course, false, course.getCredits());
+    }
+
+    @Override
+    public void enrollStudentInAll(Student student, List<Course> courses)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        Validator.requireNonNull(courses, "Courses cannot be null");
+        Map<Semester, Integer> plannedCredits = plannedCredits(courses);
+        List<Course> enrolled = new ArrayList<>(courses.size());
+        try {
+            for (Course course : largestFirst(courses)) {
+                enroll(student, course, false, plannedCredits.get(course.getSemester()));
+                enrolled.add(course);
+            }
+        } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | RuntimeException e) {
+            // Part of the bundle could leave the student below the credit minimum
+            for (Course course : enrolled) {
+                unenrollStudent(student, course);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @param plannedCredits credits being enrolled in the course's semester by this request,
+     *        including the course itself
+     */
+    private void enroll(Student student, Course course, boolean fromWaitlist, int plannedCredits)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.begin();
+        Throwable failure = null;
+        try {
+            addEnrollment(student, course, fromWaitlist, plannedCredits);
+        } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.finish(student == null ? null : student.getRegNo(), course == null ? null : course.getCode(),
+                course == null ? 0 : course.getCredits(), fromWaitlist, failure);
+        }
+    }
+
+    /**
+     * @param fromWaitlist whether the student comes off the waitlist, with the seat already reserved
+     */
+    private void addEnrollment(Student student, Course course, boolean fromWaitlist, int plannedCredits)
         throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
         validateStudentAndCourse(student, course);
 
+        if (!fromWaitlist) {
+            lock.readLock().lock();
+            try {
+                validateEnrollment(student, course, plannedCredits);
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            reserveSeat(seats, waitlist, course);
+        }
+
+        boolean released = false;
+        lock.writeLock().lock();
+        try {
+            // The same student may have enrolled from another thread since the check
+            validateEnrollment(student, course, plannedCredits);
+            Enrollment enrollment = new Enrollment(student, course);
+            enrollmentsByCourse.computeIfAbsent(course.getCode(), code -> new ArrayList<>()).add(enrollment);
+            enrollmentsByStudent.computeIfAbsent(student.getRegNo(), regNo -> new ArrayList<>()).add(enrollment);
+            student.enrollCourse(course.getCode());
+            schedules.add(student.getRegNo(), course);
+            // An enrolled student no longer waits, whichever of their requests got the seat
+            waitlist.remove(student, course.getCode());
+        } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | RuntimeException e) {
+            seats.release(course);
+            released = true;
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+            // Someone may have queued while the newcomer held the seat; promoteFromWaitlist
+            // already moves on to the next student when one of its own promotions fails
+            if (released && !fromWaitlist) {
+                promoteFromWaitlist(course);
+            }
+        }
+    }
+
+    private void validateEnrollment(Student student, Course course, int plannedCredits)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
         if (isStudentAlreadyEnrolled(student, course)) {
             LOGGER.warning("Student is already enrolled in this course.");
             throw new DuplicateEnrollmentException("Student is already enrolled in this course.");
         }
 
+        validatePrerequisites(prerequisites, student, course);
+
         int currentCredits = calculateCurrentCredits(student, course.getSemester());
+        EnrollmentRules rules = EnrollmentConfig.getRules();
+        int program = rules.programOf(student.getRegNo());
+        int departmentCredits = rules.hasDepartmentQuotas(program)
+            ? calculateDepartmentCredits(student, course.getSemester(), course.getDepartment()) : 0;
 
-        validateCreditLimits(student, course, currentCredits);
+        validateCreditLimits(rules, program, student, course, currentCredits, departmentCredits, plannedCredits);
 
-        enrollments.add(new Enrollment(student, course));
-        student.enrollCourse(course.getCode());
+        validateSchedule(schedules, student.getRegNo(), student, course);
+    }
+
+    /**
+     * Takes a seat for a newcomer. Newcomers are refused while anyone is waitlisted, so a seat
+     * freed by an unenrollment goes to the waitlist rather than to whoever asks next.
+     */
+    static void reserveSeat(SeatLedger seats, Waitlist waitlist, Course course) {
+        int waiting = waitlist.size(course.getCode());
+        if (waiting > 0 || !seats.tryReserve(course)) {
+            CourseFullException error = new CourseFullException(course, waiting);
+            LOGGER.warning(error.getMessage());
+            throw error;
+        }
+    }
+
+    static Map<Semester, Integer> plannedCredits(List<Course> courses) {
+        Map<Semester, Integer> planned = new HashMap<>();
+        for (Course course : courses) {
+            planned.merge(course.getSemester(), course.getCredits(), Integer::sum);
+        }
+        return planned;
+    }
+
+    // Enrolling the largest course first keeps each step within the credit rules
+    static List<Course> largestFirst(List<Course> courses) {
+        List<Course> ordered = new ArrayList<>(courses);
+        ordered.sort(Comparator.comparingInt(Course::getCredits).reversed());
+        return ordered;
     }
 
     private void validateStudentAndCourse(Student student, Course course) {
@@ -41,45 +208,176 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         }
     }
 
+    static void validateMarks(int marks) {
+        if (!Validator.isValidMarks(marks)) {
+            String error = "Marks must be between 0 and 100, but was " + marks;
+            LOGGER.warning(error);
+            throw new IllegalArgumentException(error);
+        }
+    }
+
     private boolean isStudentAlreadyEnrolled(Student student, Course course) {
-        return enrollments.stream()
+        return enrollmentsOf(student).stream()
             .anyMatch(e -> e.getStudent().equals(student) && e.getCourse().equals(course));
     }
 
+    // Unknown keys get the shared empty list, which is never added to; removeIf on it is a no-op
+    private List<Enrollment> enrollmentsOf(Student student) {
+        return enrollmentsByStudent.getOrDefault(student.getRegNo(), Collections.emptyList());
+    }
+
+    private List<Enrollment> enrollmentsOf(Course course) {
+        return enrollmentsByCourse.getOrDefault(course.getCode(), Collections.emptyList());
+    }
+
     private int calculateCurrentCredits(Student student, Semester semester) {
-        return enrollments.stream()
+        return enrollmentsOf(student).stream()
             .filter(e -> e.getStudent().equals(student))
             .filter(e -> e.getCourse().getSemester() == semester)
             .mapToInt(e -> e.getCourse().getCredits())
             .sum();
     }
 
-    private void validateCreditLimits(Student student, Course course, int currentCredits) 
+    /**
+     * Checks the credit load against the student's program rules; the first-course minimum
+     * applies to all credits a request enrolls in the semester, so a bundle of smaller courses
+     * can open a semester. Messages are only built when a rule is broken.
+     */
+    static void validateCreditLimits(EnrollmentRules rules, int program, Student student, Course course,
+                                     int currentCredits, int departmentCredits, int plannedCredits)
         throws MaxCreditLimitExceededException {
-        String validationError = EnrollmentConfig.validateCreditLoad(
-            currentCredits, 
-            course.getCredits(),
-            student.getGpa()
-        );
+        EnrollmentRules.Outcome outcome = rules.evaluate(program, student.getGpa(), course.getDepartment(),
+            course.getCredits(), currentCredits, departmentCredits, plannedCredits);
+        switch (outcome) {
+            case ALLOWED:
+                return;
+            case CREDIT_LIMIT: {
+                String error = String.format("Credit limit exceeded. Maximum allowed: %d, Attempted: %d",
+                    rules.getMaxCredits(program, student.getGpa()), currentCredits + course.getCredits());
+                LOGGER.warning(error);
+                throw new MaxCreditLimitExceededException(error);
+            }
+            case DEPARTMENT_QUOTA: {
+                String error = String.format("Department quota exceeded for %s. Maximum allowed: %d, Attempted: %d",
+                    course.getDepartment(), rules.getDepartmentQuota(program, course.getDepartment()),
+                    departmentCredits + course.getCredits());
+                LOGGER.warning(error);
+                throw new MaxCreditLimitExceededException(error);
+            }
+            default: {
+                String error = String.format("Must enroll in at least %d credits for first course in semester",
+                    rules.getMinCredits(program));
+                LOGGER.warning(error);
+                throw new IllegalArgumentException(error);
+            }
+        }
+    }
 
-        if (validationError != null) {
-            LOGGER.warning(validationError);
-            throw new MaxCreditLimitExceededException(validationError);
+    // Credits in the semester from courses of the department, compared by SymbolTable.DEPARTMENTS id
+    private int calculateDepartmentCredits(Student student, Semester semester, String department) {
+        int departmentId = department == null ? -1 : SymbolTable.DEPARTMENTS.lookup(department);
+        int credits = 0;
+        for (Enrollment enrollment : enrollmentsOf(student)) {
+            Course enrolled = enrollment.getCourse();
+            if (departmentId >= 0 && enrolled.getSemester() == semester && enrolled.getDepartment() != null
+                    && SymbolTable.DEPARTMENTS.lookup(enrolled.getDepartment()) == departmentId) {
+                credits += enrolled.getCredits();
+            }
         }
+        return credits;
+    }
 
-        if (currentCredits == 0 && course.getCredits() < EnrollmentConfig.getMinCreditsPerSemester()) {
-            String error = String.format("Must enroll in at least %d credits for first course in semester",
-                EnrollmentConfig.getMinCreditsPerSemester());
-            LOGGER.warning(error);
-            throw new IllegalArgumentException(error);
+    static void validatePrerequisites(PrerequisiteGraph prerequisites, Student student, Course course) {
+        long[] passed = student.getPassedCourseBits();
+        if (!prerequisites.isSatisfiedBy(course.getCode(), passed)) {
+            PrerequisiteNotMetException error = new PrerequisiteNotMetException(
+                course.getCode(), prerequisites.getMissingPrerequisites(course.getCode(), passed));
+            LOGGER.warning(error.getMessage());
+            throw error;
+        }
+    }
+
+    static <K> void validateSchedule(ScheduleIndex<K> schedules, K owner, Student student, Course course) {
+        Course clash = schedules.findConflict(owner, course);
+        if (clash != null) {
+            ScheduleConflictException error = new ScheduleConflictException("Student " + student.getRegNo(), course, clash);
+            LOGGER.warning(error.getMessage());
+            throw error;
         }
     }
 
     @Override
     public void unenrollStudent(Student student, Course course) {
         validateStudentAndCourse(student, course);
-        enrollments.removeIf(e -> e.getStudent().equals(student) && e.getCourse().equals(course));
-        student.unenrollCourse(course.getCode());
+        boolean removed;
+        lock.writeLock().lock();
+        try {
+            removed = enrollmentsOf(student).removeIf(e -> e.getStudent().equals(student) && e.getCourse().equals(course));
+            if (removed) {
+                enrollmentsOf(course).removeIf(e -> e.getStudent().equals(student) && e.getCourse().equals(course));
+            }
+            student.unenrollCourse(course.getCode());
+            schedules.remove(student.getRegNo(), course.getCode());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (removed) {
+            seats.release(course);
+            promoteFromWaitlist(course);
+        }
+    }
+
+    @Override
+    public int getSeatsAvailable(Course course) {
+        Validator.requireNonNull(course, "Course cannot be null");
+        return seats.getSeatsAvailable(course);
+    }
+
+    @Override
+    public int joinWaitlist(Student student, Course course)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        validateStudentAndCourse(student, course);
+        lock.readLock().lock();
+        try {
+            // Only students who could take the seat may queue for it; queuing under the same
+            // lock keeps a concurrent enrollment of this student from landing in between
+            validateEnrollment(student, course, course.getCredits());
+            waitlist.add(student, course.getCode());
+        } finally {
+            lock.readLock().unlock();
+        }
+        promoteFromWaitlist(course);
+        return waitlist.position(student, course.getCode());
+    }
+
+    @Override
+    public boolean leaveWaitlist(Student student, Course course) {
+        validateStudentAndCourse(student, course);
+        return waitlist.remove(student, course.getCode());
+    }
+
+    @Override
+    public List<Student> getWaitlist(Course course) {
+        Validator.requireNonNull(course, "Course cannot be null");
+        return waitlist.students(course.getCode());
+    }
+
+    @Override
+    public int promoteFromWaitlist(Course course) {
+        Validator.requireNonNull(course, "Course cannot be null");
+        int promoted = 0;
+        Student next;
+        // Each student leaves the queue holding a seat, so a concurrent newcomer cannot take it;
+        // a student who no longer passes the checks gives the seat back to the next in line
+        while ((next = waitlist.poll(course.getCode(), () -> seats.tryReserve(course))) != null) {
+            try {
+                enroll(next, course, true, course.getCredits());
+                promoted++;
+            } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | RuntimeException e) {
+                LOGGER.warning("Dropping " + next.getRegNo() + " from the " + course.getCode() + " waitlist: " + e.getMessage());
+            }
+        }
+        return promoted;
     }
 
     @Override
@@ -88,9 +386,14 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             LOGGER.warning("Student cannot be null.");
             throw new IllegalArgumentException("Student cannot be null.");
         }
-        return enrollments.stream()
-            .filter(e -> e.getStudent().equals(student))
-            .collect(Collectors.toList());
+        lock.readLock().lock();
+        try {
+            return enrollmentsOf(student).stream()
+                .filter(e -> e.getStudent().equals(student))
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
@@ -99,20 +402,48 @@ public class EnrollmentServiceImpl implements EnrollmentService {
             LOGGER.warning("Course cannot be null.");
             throw new IllegalArgumentException("Course cannot be null.");
         }
-        return enrollments.stream()
-            .filter(e -> e.getCourse().equals(course))
-            .collect(Collectors.toList());
+        lock.readLock().lock();
+        try {
+            return enrollmentsOf(course).stream()
+                .filter(e -> e.getCourse().equals(course))
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public void recordMarks(Student student, Course course, int marks) {
-        validateStudentAndCourse(student, course);
-        enrollments.stream()
-            .filter(e -> e.getStudent().equals(student) && e.getCourse().equals(course))
-            .findFirst()
-            .ifPresentOrElse(
-                e -> e.recordMarks(marks),
-                () -> LOGGER.warning("Enrollment not found for student and course.")
-            );
+        MarksEvent event = new MarksEvent();
+        event.begin();
+        String outcome = "OK";
+        Grade grade = null;
+        try {
+            validateStudentAndCourse(student, course);
+            validateMarks(marks);
+            lock.writeLock().lock();
+            try {
+                Enrollment enrollment = enrollmentsOf(student).stream()
+                    .filter(e -> e.getStudent().equals(student) && e.getCourse().equals(course))
+                    .findFirst()
+                    .orElse(null);
+                if (enrollment != null) {
+                    enrollment.recordMarks(marks);
+                    grade = Grade.fromScore(marks);
+                    student.setGrade(course.getCode(), grade);
+                } else {
+                    outcome = "NOT_ENROLLED";
+                    LOGGER.warning("Enrollment not found for student and course.");
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.finish(student == null ? null : student.getRegNo(), course == null ? null : course.getCode(),
+                marks, grade == null ? null : grade.name(), outcome);
+        }
     }
 }
@@ -0,0 +1,13 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Room;
+import edu.ccrm.domain.Student;
+import java.util.Collection;
+import java.util.List;
+
+public interface ExamSchedulingService {
+    // Places each course's exam in a slot so that no student has two exams in one slot and every
+    // slot's exams fit in the rooms, using as few slots as the heuristics find
+    ExamTimetable schedule(Collection<Course> courses, Collection<Student> students, List<Room> rooms);
+}
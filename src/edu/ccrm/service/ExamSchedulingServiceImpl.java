@@ -0,0 +1,413 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Room;
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.SymbolTable;
+import edu.ccrm.util.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Exam timetabling by coloring the course conflict graph.
+ *
+ * Two courses conflict when some student is enrolled in both. A single pass over
+ * {@link EnrollmentService#getEnrollmentsByStudent} counts each course's students and sets
+ * the conflicting pairs in a bit matrix indexed by dense course number; the matrix rows are
+ * then turned into int adjacency arrays in parallel. The matrix takes n²/8 bytes for n
+ * courses, about 3 MB for 5000.
+ *
+ * Each slot seats at most the total capacity of the rooms, and a course may be split across
+ * rooms. A portfolio of heuristics colors the graph in parallel: DSatur, largest degree
+ * first, largest course first and a few randomized largest-degree-first orders. Every run
+ * gives a course the lowest slot that holds none of its neighbours and still has enough
+ * seats, and the run with the fewest slots is kept. Rooms are then filled per slot, largest
+ * course first, each course taking the smallest room that fits it whole or else spilling
+ * over the emptiest rooms.
+ *
+ * Instances hold no state besides the seed and are thread-safe; enrollments must not
+ * change during a call.
+ */
+public class ExamSchedulingServiceImpl implements ExamSchedulingService {
+    private static final Logger LOGGER = Logger.getLogger(ExamSchedulingServiceImpl.class.getName());
+    private static final int RANDOMIZED_RUNS = 4;
+    private static final int MAX_COURSES = 1 << 20;
+
+    private final EnrollmentService enrollmentService;
+    private final long seed;
+
+    public ExamSchedulingServiceImpl(EnrollmentService enrollmentService) {
+        this(enrollmentService, 42);
+    }
+
+    /**
+     * @param seed seed of the randomized orders; the same seed and inputs always give the same timetable
+     */
+    public ExamSchedulingServiceImpl(EnrollmentService enrollmentService, long seed) {
+        Validator.requireNonNull(enrollmentService, "Enrollment service cannot be null");
+        this.enrollmentService = enrollmentService;
+        this.seed = seed;
+    }
+
+    @Override
+    public ExamTimetable schedule(Collection<Course> courses, Collection<Student> students, List<Room> rooms) {
+        Validator.requireNonNull(courses, "Courses cannot be null");
+        Validator.requireNonNull(students, "Students cannot be null");
+        Validator.requireNonNull(rooms, "Rooms cannot be null");
+        if (rooms.isEmpty()) {
+            LOGGER.warning("At least one room is required.");
+            throw new IllegalArgumentException("At least one room is required.");
+        }
+        long totalSeats = 0;
+        for (Room room : rooms) {
+            Validator.requireNonNull(room, "Room cannot be null");
+            totalSeats += room.getCapacity();
+        }
+
+        Graph graph = new Graph(courses, students);
+        for (int v = 0; v < graph.size(); v++) {
+            if (graph.students[v] > totalSeats) {
+                String message = String.format("Course %s has %d students but the rooms seat only %d.",
+                    graph.courses.get(v).getCode(), graph.students[v], totalSeats);
+                LOGGER.warning(message);
+                throw new IllegalArgumentException(message);
+            }
+        }
+
+        int runCount = 3 + RANDOMIZED_RUNS;
+        long slotSeats = totalSeats;
+        Coloring best = IntStream.range(0, runCount).parallel()
+            .mapToObj(run -> color(graph, run, slotSeats))
+            .min(Comparator.comparingInt((Coloring coloring) -> coloring.slotCount).thenComparingInt(coloring -> coloring.run))
+            .orElseThrow();
+        return new ExamTimetable(seat(graph, best, rooms), best.heuristic);
+    }
+
+    private Coloring color(Graph graph, int run, long slotSeats) {
+        switch (run) {
+            case 0:
+                return dsatur(graph, slotSeats);
+            case 1:
+                return greedy(graph, run, "largest-degree-first", orderBy(graph, graph.degrees(), null), slotSeats);
+            case 2:
+                return greedy(graph, run, "largest-course-first", orderBy(graph, graph.students, null), slotSeats);
+            default:
+                SplittableRandom random = new SplittableRandom(seed + run);
+                return greedy(graph, run, "randomized-largest-degree-first-" + (run - 2),
+                    orderBy(graph, graph.degrees(), random), slotSeats);
+        }
+    }
+
+    // Vertices by descending weight, perturbed by up to 30% when a random source is given
+    private static int[] orderBy(Graph graph, int[] weights, SplittableRandom random) {
+        int n = graph.size();
+        long[] keys = new long[n];
+        for (int v = 0; v < n; v++) {
+            long weight = random == null ? weights[v] : (long) (weights[v] * (1 + 0.3 * random.nextDouble()));
+            keys[v] = (weight << 20) | (MAX_COURSES - 1 - v);
+        }
+        Arrays.sort(keys);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = MAX_COURSES - 1 - (int) (keys[n - 1 - i] & (MAX_COURSES - 1));
+        }
+        return order;
+    }
+
+    private static Coloring greedy(Graph graph, int run, String heuristic, int[] order, long slotSeats) {
+        int n = graph.size();
+        int[] slotOf = new int[n];
+        Arrays.fill(slotOf, -1);
+        long[] load = new long[Math.max(1, n)];
+        int slotCount = 0;
+        BitSet taken = new BitSet();
+        for (int v : order) {
+            taken.clear();
+            for (int u : graph.adjacency[v]) {
+                if (slotOf[u] >= 0) {
+                    taken.set(slotOf[u]);
+                }
+            }
+            int slot = firstFit(taken, load, graph.students[v], slotSeats);
+            slotOf[v] = slot;
+            load[slot] += graph.students[v];
+            slotCount = Math.max(slotCount, slot + 1);
+        }
+        return new Coloring(run, heuristic, slotOf, slotCount);
+    }
+
+    /**
+     * DSatur: repeatedly colors the course whose neighbours already use the most distinct
+     * slots, breaking ties by degree. A lazy max-heap of packed (saturation, degree, vertex)
+     * keys holds the candidates; stale keys are skipped when popped.
+     */
+    private static Coloring dsatur(Graph graph, long slotSeats) {
+        int n = graph.size();
+        int[] slotOf = new int[n];
+        Arrays.fill(slotOf, -1);
+        long[] load = new long[Math.max(1, n)];
+        int[] saturation = new int[n];
+        int[] degrees = graph.degrees();
+        BitSet[] neighbourSlots = new BitSet[n];
+        LongHeap heap = new LongHeap(n);
+        for (int v = 0; v < n; v++) {
+            neighbourSlots[v] = new BitSet();
+            heap.push(key(0, degrees[v], v));
+        }
+        int slotCount = 0;
+        while (!heap.isEmpty()) {
+            long key = heap.pop();
+            int v = MAX_COURSES - 1 - (int) (key & (MAX_COURSES - 1));
+            if (slotOf[v] >= 0 || (int) (key >>> 40) != saturation[v]) {
+                continue;
+            }
+            int slot = firstFit(neighbourSlots[v], load, graph.students[v], slotSeats);
+            slotOf[v] = slot;
+            load[slot] += graph.students[v];
+            slotCount = Math.max(slotCount, slot + 1);
+            for (int u : graph.adjacency[v]) {
+                if (slotOf[u] < 0 && !neighbourSlots[u].get(slot)) {
+                    neighbourSlots[u].set(slot);
+                    heap.push(key(++saturation[u], degrees[u], u));
+                }
+            }
+        }
+        return new Coloring(0, "DSatur", slotOf, slotCount);
+    }
+
+    private static long key(int saturation, int degree, int v) {
+        return ((long) saturation << 40) | ((long) degree << 20) | (MAX_COURSES - 1 - v);
+    }
+
+    // Lowest slot not in taken whose seats still fit the course; a course of any allowed size fits an empty slot
+    private static int firstFit(BitSet taken, long[] load, int size, long slotSeats) {
+        int slot = taken.nextClearBit(0);
+        while (load[slot] + size > slotSeats) {
+            slot = taken.nextClearBit(slot + 1);
+        }
+        return slot;
+    }
+
+    private static List<List<ExamTimetable.Sitting>> seat(Graph graph, Coloring coloring, List<Room> rooms) {
+        List<List<Integer>> members = new ArrayList<>(coloring.slotCount);
+        for (int slot = 0; slot < coloring.slotCount; slot++) {
+            members.add(new ArrayList<>());
+        }
+        for (int v = 0; v < graph.size(); v++) {
+            members.get(coloring.slotOf[v]).add(v);
+        }
+        List<Room> bySize = new ArrayList<>(rooms);
+        bySize.sort(Comparator.comparingInt(Room::getCapacity).reversed());
+
+        List<List<ExamTimetable.Sitting>> slots = new ArrayList<>(coloring.slotCount);
+        int[] free = new int[bySize.size()];
+        for (int slot = 0; slot < coloring.slotCount; slot++) {
+            List<Integer> courses = members.get(slot);
+            courses.sort(Comparator.comparingInt((Integer v) -> graph.students[v]).reversed()
+                .thenComparing(v -> graph.courses.get(v).getCode()));
+            for (int r = 0; r < free.length; r++) {
+                free[r] = bySize.get(r).getCapacity();
+            }
+            List<ExamTimetable.Sitting> sittings = new ArrayList<>(courses.size());
+            for (int v : courses) {
+                sittings.add(new ExamTimetable.Sitting(graph.courses.get(v), slot, graph.students[v],
+                    assignRooms(bySize, free, graph.students[v])));
+            }
+            slots.add(sittings);
+        }
+        return slots;
+    }
+
+    private static Map<Room, Integer> assignRooms(List<Room> bySize, int[] free, int size) {
+        Map<Room, Integer> seats = new LinkedHashMap<>();
+        if (size == 0) {
+            return seats;
+        }
+        int whole = -1;
+        for (int r = 0; r < free.length; r++) {
+            if (free[r] >= size && (whole < 0 || free[r] < free[whole])) {
+                whole = r;
+            }
+        }
+        if (whole >= 0) {
+            free[whole] -= size;
+            seats.put(bySize.get(whole), size);
+            return seats;
+        }
+        int remaining = size;
+        while (remaining > 0) {
+            int emptiest = 0;
+            for (int r = 1; r < free.length; r++) {
+                if (free[r] > free[emptiest]) {
+                    emptiest = r;
+                }
+            }
+            int taken = Math.min(remaining, free[emptiest]);
+            free[emptiest] -= taken;
+            remaining -= taken;
+            seats.merge(bySize.get(emptiest), taken, Integer::sum);
+        }
+        return seats;
+    }
+
+    /**
+     * The conflict graph: dense course numbers, students per course and int adjacency arrays
+     */
+    private final class Graph {
+        final List<Course> courses = new ArrayList<>();
+        final int[] students;
+        final int[][] adjacency;
+
+        Graph(Collection<Course> input, Collection<Student> enrolled) {
+            int[] ids = new int[input.size()];
+            int next = 0;
+            for (Course course : input) {
+                Validator.requireNonNull(course, "Course cannot be null");
+                ids[next++] = SymbolTable.COURSE_CODES.id(course.getCode());
+            }
+            int[] indexById = new int[SymbolTable.COURSE_CODES.size()];
+            Arrays.fill(indexById, -1);
+            next = 0;
+            for (Course course : input) {
+                int id = ids[next++];
+                if (indexById[id] < 0) {
+                    indexById[id] = courses.size();
+                    courses.add(course);
+                }
+            }
+            int n = courses.size();
+            if (n >= MAX_COURSES) {
+                LOGGER.warning("Too many courses to schedule: " + n);
+                throw new IllegalArgumentException("Too many courses to schedule: " + n);
+            }
+            students = new int[n];
+            int words = (n + 63) >>> 6;
+            long[][] matrix = new long[n][words];
+            int[] mine = new int[16];
+            for (Student student : enrolled) {
+                int count = 0;
+                for (Enrollment enrollment : enrollmentService.getEnrollmentsByStudent(student)) {
+                    int id = SymbolTable.COURSE_CODES.lookup(enrollment.getCourse().getCode());
+                    int v = id >= 0 && id < indexById.length ? indexById[id] : -1;
+                    if (v >= 0) {
+                        if (count == mine.length) {
+                            mine = Arrays.copyOf(mine, count * 2);
+                        }
+                        mine[count++] = v;
+                        students[v]++;
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    int a = mine[i];
+                    for (int j = i + 1; j < count; j++) {
+                        int b = mine[j];
+                        matrix[a][b >>> 6] |= 1L << b;
+                        matrix[b][a >>> 6] |= 1L << a;
+                    }
+                }
+            }
+            adjacency = new int[n][];
+            IntStream.range(0, n).parallel().forEach(v -> {
+                long[] row = matrix[v];
+                int degree = 0;
+                for (long word : row) {
+                    degree += Long.bitCount(word);
+                }
+                int[] neighbours = new int[degree];
+                int k = 0;
+                for (int w = 0; w < words; w++) {
+                    for (long word = row[w]; word != 0; word &= word - 1) {
+                        neighbours[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                    }
+                }
+                adjacency[v] = neighbours;
+            });
+        }
+
+        int size() {
+            return courses.size();
+        }
+
+        int[] degrees() {
+            int[] degrees = new int[adjacency.length];
+            for (int v = 0; v < adjacency.length; v++) {
+                degrees[v] = adjacency[v].length;
+            }
+            return degrees;
+        }
+    }
+
+    private static final class Coloring {
+        final int run;
+        final String heuristic;
+        final int[] slotOf;
+        final int slotCount;
+
+        Coloring(int run, String heuristic, int[] slotOf, int slotCount) {
+            this.run = run;
+            this.heuristic = heuristic;
+            this.slotOf = slotOf;
+            this.slotCount = slotCount;
+        }
+    }
+
+    /**
+     * Binary max-heap of primitive longs
+     */
+    private static final class LongHeap {
+        private long[] items;
+        private int size;
+
+        LongHeap(int capacity) {
+            items = new long[Math.max(1, capacity)];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(long item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            int i = size++;
+            while (i > 0 && items[(i - 1) >>> 1] < item) {
+                items[i] = items[(i - 1) >>> 1];
+                i = (i - 1) >>> 1;
+            }
+            items[i] = item;
+        }
+
+        long pop() {
+            long top = items[0];
+            long last = items[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && items[child + 1] > items[child]) {
+                    child++;
+                }
+                if (items[child] <= last) {
+                    break;
+                }
+                items[i] = items[child];
+                i = child;
+            }
+            items[i] = last;
+            return top;
+        }
+    }
+}
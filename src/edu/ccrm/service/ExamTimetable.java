@@ -0,0 +1,109 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Room;
+import edu.ccrm.domain.Student;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exam slots and room seating produced by {@link ExamSchedulingService}; immutable
+ */
+public final class ExamTimetable {
+
+    /**
+     * One course's exam: its slot, number of students and the seats used in each room
+     */
+    public static final class Sitting {
+        private final Course course;
+        private final int slot;
+        private final int students;
+        private final Map<Room, Integer> seats;
+
+        Sitting(Course course, int slot, int students, Map<Room, Integer> seats) {
+            this.course = course;
+            this.slot = slot;
+            this.students = students;
+            this.seats = Collections.unmodifiableMap(seats);
+        }
+
+        public Course getCourse() { return course; }
+        public int getSlot() { return slot; }
+        public int getStudents() { return students; }
+        public Map<Room, Integer> getSeats() { return seats; }
+
+        @Override
+        public String toString() {
+            List<String> rooms = new ArrayList<>();
+            seats.forEach((room, count) -> rooms.add(room.getName() + "=" + count));
+            return String.format("Slot %d: %s (%d students) %s", slot + 1, course.getCode(), students, rooms);
+        }
+    }
+
+    private final List<List<Sitting>> slots;
+    private final Map<String, Sitting> byCode = new HashMap<>();
+    private final String heuristic;
+
+    ExamTimetable(List<List<Sitting>> slots, String heuristic) {
+        List<List<Sitting>> copy = new ArrayList<>(slots.size());
+        for (List<Sitting> slot : slots) {
+            copy.add(Collections.unmodifiableList(new ArrayList<>(slot)));
+            for (Sitting sitting : slot) {
+                byCode.put(sitting.getCourse().getCode(), sitting);
+            }
+        }
+        this.slots = Collections.unmodifiableList(copy);
+        this.heuristic = heuristic;
+    }
+
+    public int getSlotCount() {
+        return slots.size();
+    }
+
+    // Sittings of a 0-based slot, largest first
+    public List<Sitting> getSittings(int slot) {
+        return slots.get(slot);
+    }
+
+    // The course's sitting, or null if it has no exam in this timetable
+    public Sitting getSitting(String courseCode) {
+        return byCode.get(courseCode);
+    }
+
+    // Name of the coloring heuristic whose result was kept
+    public String getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * Finds the student's courses whose exams share a slot; empty for a valid timetable,
+     * but enrollments made after scheduling can introduce clashes
+     * @param student the student
+     * @return groups of two or more clashing course codes, by slot
+     */
+    public List<List<String>> findClashes(Student student) {
+        Map<Integer, List<String>> bySlot = new LinkedHashMap<>();
+        for (String code : student.getEnrolledCourses()) {
+            Sitting sitting = byCode.get(code);
+            if (sitting != null) {
+                bySlot.computeIfAbsent(sitting.getSlot(), s -> new ArrayList<>()).add(code);
+            }
+        }
+        List<List<String>> clashes = new ArrayList<>();
+        for (List<String> codes : bySlot.values()) {
+            if (codes.size() > 1) {
+                clashes.add(codes);
+            }
+        }
+        return clashes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExamTimetable[slots=%d, exams=%d, heuristic=%s]", slots.size(), byCode.size(), heuristic);
+    }
+}
@@ -0,0 +1,509 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.Student;
+import edu.ccrm.metrics.Counter;
+import edu.ccrm.metrics.MetricsRegistry;
+import edu.ccrm.metrics.Timer;
+import edu.ccrm.util.ObjectSizeEstimator;
+import edu.ccrm.util.SymbolTable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Estimated heap retained by the in-memory dataset: per student, course, instructor and
+ * enrollment, per service, and what further enrollments would cost.
+ *
+ * Each service is walked whole with {@link ObjectSizeEstimator}, stopping at entities, which
+ * gives the bytes of its indexes and counts the entities it holds; strings an index shares
+ * with an entity stay with the entity. A uniform sample of those entities is then walked,
+ * stopping at other entities, services and interned symbols, so a student is charged for its
+ * own strings, dates and course arrays but not for its courses. Interned symbols (registration
+ * numbers, course codes, departments) are charged to the symbol tables. A service whose walk
+ * reaches none of its entities materializes them on read, as with off-heap storage: only its
+ * own heap and direct memory count, its entities are sampled from its listing, and the copies
+ * that enrollments keep of them are charged to the enrollment service.
+ *
+ * A measurement walks every index object once, so it takes tens of seconds on a million students
+ * and needs scratch memory in proportion. The latest result backs the {@code Heap.*} gauges
+ * of the {@link MetricsRegistry}. The services may be used during a measurement; the figures
+ * are then approximate.
+ */
+public final class HeapFootprint {
+
+    public static final int DEFAULT_SAMPLE_SIZE = 1000;
+    private static final long SAMPLE_SEED = 42L;
+    private static final double MIB = 1024.0 * 1024.0;
+    private static final SymbolTable[] SYMBOL_TABLES = {SymbolTable.REG_NOS, SymbolTable.COURSE_CODES, SymbolTable.DEPARTMENTS};
+
+    private static volatile HeapFootprint latest;
+
+    private final List<Row> rows;
+    private final Row symbols;
+    private final double enrollmentBytes;
+    private final double enrollmentServiceBytes;
+    private final double studentBytesPerCourse;
+    private final int sampleSize;
+    private final long elapsedNanos;
+
+    private HeapFootprint(List<Row> rows, Row symbols, double enrollmentBytes, double enrollmentServiceBytes,
+                          double studentBytesPerCourse, int sampleSize, long elapsedNanos) {
+        this.rows = Collections.unmodifiableList(rows);
+        this.symbols = symbols;
+        this.enrollmentBytes = enrollmentBytes;
+        this.enrollmentServiceBytes = enrollmentServiceBytes;
+        this.studentBytesPerCourse = studentBytesPerCourse;
+        this.sampleSize = sampleSize;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Measures the services with the default sample size and publishes the result
+     * @return the footprint
+     * @see #measure(StudentService, CourseService, InstructorService, EnrollmentService, int)
+     */
+    public static HeapFootprint measure(StudentService students, CourseService courses,
+                                        InstructorService instructors, EnrollmentService enrollments) {
+        return measure(students, courses, instructors, enrollments, DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * Measures the services and publishes the result as the latest footprint
+     * @param sampleSize how many entities of each type to walk
+     * @return the footprint
+     * @throws IllegalArgumentException if a service is null or sampleSize is not positive
+     */
+    public static HeapFootprint measure(StudentService students, CourseService courses,
+                                        InstructorService instructors, EnrollmentService enrollments, int sampleSize) {
+        if (students == null || courses == null || instructors == null || enrollments == null || sampleSize < 1) {
+            throw new IllegalArgumentException("Services cannot be null and the sample size must be positive.");
+        }
+        long start = System.nanoTime();
+        List<Student> studentList = students.listStudents();
+        List<Course> courseList = courses.listCourses();
+        List<Instructor> instructorList = instructors.listInstructors();
+
+        // Strings an entity hands out from its own fields, so an index that keeps the same
+        // instance does not count it a second time
+        Set<Object> entityStrings = Collections.newSetFromMap(new IdentityHashMap<>());
+        claimStrings(entityStrings, studentList, student -> new String[] {student.getId(), student.getFullName(), student.getEmail()});
+        claimStrings(entityStrings, courseList, course -> new String[] {course.getTitle()});
+        claimStrings(entityStrings, instructorList, instructor -> new String[] {
+            instructor.getId(), instructor.getFullName(), instructor.getEmail(), instructor.getSpecialization()});
+        Predicate<Object> shared = value -> isEntity(value) || isMetric(value) || entityStrings.contains(value) || isSymbol(value);
+        ObjectSizeEstimator entityEstimator = new ObjectSizeEstimator(
+            value -> isEntity(value) || isService(value) || isMetric(value) || isSymbol(value));
+
+        ServiceWalk studentWalk = ServiceWalk.of(students, Student.class, shared, sampleSize);
+        Sample studentSample = Sample.of(studentWalk.sample(Student.class, () -> sample(studentList, sampleSize)),
+            entityEstimator, student -> student.getEnrolledCourses().size());
+        ServiceWalk courseWalk = ServiceWalk.of(courses, Course.class, shared, sampleSize);
+        Sample courseSample = Sample.of(courseWalk.sample(Course.class, () -> sample(courseList, sampleSize)),
+            entityEstimator, null);
+        ServiceWalk instructorWalk = ServiceWalk.of(instructors, Instructor.class, shared, sampleSize);
+        Sample instructorSample = Sample.of(instructorWalk.sample(Instructor.class, () -> sample(instructorList, sampleSize)),
+            entityEstimator, null);
+        // Students and courses materialized on read are not shared: the copies enrollments
+        // keep are counted with the enrollment service
+        Predicate<Object> sharedWithEnrollments = value -> value instanceof Student ? studentWalk.isRetained()
+            : value instanceof Course ? courseWalk.isRetained() : shared.test(value);
+        ServiceWalk enrollmentWalk = ServiceWalk.of(enrollments, Enrollment.class, sharedWithEnrollments, sampleSize);
+        Sample enrollmentSample = Sample.of(enrollmentWalk.sample(Enrollment.class,
+            () -> sampleEnrollments(enrollments, sample(studentList, sampleSize), sampleSize)), entityEstimator, null);
+
+        long copyBytes = 0;
+        if (enrollmentWalk.isRetained() && !(studentWalk.isRetained() && courseWalk.isRetained())) {
+            // Walk through the enrollments too: what that adds beyond the enrollments
+            // themselves is the copies they keep
+            long retained = new ObjectSizeEstimator(value -> !(value instanceof Enrollment) && sharedWithEnrollments.test(value))
+                .measure(enrollments).getBytes();
+            long enrollmentBytes = Math.round(enrollmentSample.mean(enrollmentSample.bytes) * enrollmentWalk.entities);
+            copyBytes = Math.max(0, retained - enrollmentWalk.footprint.getBytes() - enrollmentBytes);
+        }
+
+        List<Row> rows = new ArrayList<>();
+        rows.add(studentWalk.row("Student", studentList.size(), studentSample, 0));
+        rows.add(courseWalk.row("Course", courseList.size(), courseSample, 0));
+        rows.add(instructorWalk.row("Instructor", instructorList.size(), instructorSample, 0));
+        Row enrollmentRow = enrollmentWalk.row("Enrollment",
+            enrollmentWalk.isRetained() ? 0 : countEnrollments(enrollments, studentList), enrollmentSample, copyBytes);
+        rows.add(enrollmentRow);
+        // The copies belong to students and courses, so further enrollments do not add to them
+        double enrollmentServiceBytes = enrollmentRow.getCount() == 0 ? 0
+            : (double) (enrollmentRow.getTotalBytes() - enrollmentRow.getEntityBytes() - copyBytes) / enrollmentRow.getCount();
+
+        ObjectSizeEstimator symbolEstimator = new ObjectSizeEstimator(
+            value -> isEntity(value) || isService(value) || isMetric(value));
+        long symbolCount = 0;
+        long symbolBytes = 0;
+        for (SymbolTable table : SYMBOL_TABLES) {
+            symbolCount += table.size();
+            symbolBytes += symbolEstimator.measure(table).getBytes();
+        }
+        Row symbolRow = new Row("Symbols", symbolCount, 0, 0, 0, 0, false, symbolBytes, 0);
+
+        HeapFootprint footprint = new HeapFootprint(rows, symbolRow,
+            enrollmentRow.isRetained() ? enrollmentRow.getBytesEach() : 0, enrollmentServiceBytes, studentSample.slope,
+            sampleSize, System.nanoTime() - start);
+        latest = footprint;
+        publishGauges(footprint);
+        return footprint;
+    }
+
+    /**
+     * Returns the most recent measurement in this process
+     * @return the footprint, or null if nothing has been measured yet
+     */
+    public static HeapFootprint getLatest() {
+        return latest;
+    }
+
+    /** @return one row per entity type, with the service that holds it */
+    public List<Row> getRows() { return rows; }
+    /** @return the interned registration numbers, course codes and departments */
+    public Row getSymbols() { return symbols; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public Row getRow(String name) {
+        for (Row row : rows) {
+            if (row.getName().equals(name)) {
+                return row;
+            }
+        }
+        return name.equals(symbols.getName()) ? symbols : null;
+    }
+
+    /** @return heap and direct memory of every service and the symbol tables */
+    public long getTotalBytes() {
+        long total = symbols.getTotalBytes();
+        for (Row row : rows) {
+            total += row.getTotalBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the cost of one more enrollment: the enrollment, its share of the enrollment
+     * service, and the growth of the student's course arrays. The service share is an average
+     * that includes per-student structures, so enrollments for students who already have some
+     * cost a little less, and enrollments that bring new students also cost their Student rows.
+     * @return bytes per enrollment
+     */
+    public double getBytesPerEnrollment() {
+        return enrollmentBytes + enrollmentServiceBytes + studentBytesPerCourse;
+    }
+
+    /** @return bytes of one enrollment object with its date, or 0 if enrollments are not kept as objects */
+    public double getEnrollmentBytes() { return enrollmentBytes; }
+    /** @return the enrollment service's heap and direct memory per enrollment */
+    public double getEnrollmentServiceBytes() { return enrollmentServiceBytes; }
+    /** @return bytes a student grows by per course it enrolls in, fitted over the sample */
+    public double getStudentBytesPerCourse() { return studentBytesPerCourse; }
+
+    /**
+     * Estimates the memory further enrollments would take
+     * @param enrollments how many more
+     * @return bytes
+     */
+    public long projectEnrollments(long enrollments) {
+        return Math.round(getBytesPerEnrollment() * enrollments);
+    }
+
+    /**
+     * Formats the footprint as a table with a projection for further enrollments
+     * @param extraEnrollments enrollments to price, or 0 to leave the projection out
+     */
+    public String format(long extraEnrollments) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Estimated heap footprint (up to %d sampled per type, measured in %.1f s)%n",
+            sampleSize, elapsedNanos / 1e9));
+        report.append(String.format("%-11s %10s %9s %9s %11s %12s %11s %11s %10s %10s%n", "type", "count",
+            "B each", "strings", "collections", "entities MiB", "service MiB", "off-heap MiB", "total MiB", "B/entity"));
+        for (Row row : rows) {
+            report.append(String.format("%-11s %10d %9.1f %9.1f %11.1f %12.1f %11.1f %11.1f %10.1f %10.1f%s%n",
+                row.getName(), row.getCount(), row.getBytesEach(), row.getStringBytesEach(),
+                row.getCollectionBytesEach(), row.getEntityBytes() / MIB, row.getServiceBytes() / MIB,
+                row.getOffHeapBytes() / MIB, row.getTotalBytes() / MIB, row.getBytesPerEntity(),
+                row.isRetained() || row.getCount() == 0 ? "" : "  (materialized on read)"));
+        }
+        report.append(String.format("%-11s %10d %9s %9s %11s %12s %11.1f %11s %10.1f %10.1f%n", symbols.getName(),
+            symbols.getCount(), "", "", "", "", symbols.getServiceBytes() / MIB, "", symbols.getTotalBytes() / MIB,
+            symbols.getBytesPerEntity()));
+        report.append(String.format("%-11s %10s %9s %9s %11s %12s %11s %11s %10.1f%n", "Total", "", "", "", "", "",
+            "", "", getTotalBytes() / MIB));
+        if (extraEnrollments > 0 && getRow("Enrollment").getCount() == 0) {
+            report.append(String.format("No enrollments yet to project further enrollments from.%n"));
+        } else if (extraEnrollments > 0) {
+            report.append(String.format("%,d more enrollments: about %.1f MiB, %.1f B each (enrollment %.1f B,"
+                    + " enrollment service %.1f B, student course arrays %.1f B)%n", extraEnrollments,
+                projectEnrollments(extraEnrollments) / MIB, getBytesPerEnrollment(), enrollmentBytes,
+                enrollmentServiceBytes, studentBytesPerCourse));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format(0);
+    }
+
+    private static <T> List<T> sample(List<T> items, int limit) {
+        if (items.size() <= limit) {
+            return items;
+        }
+        List<T> sample = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            sample.add(items.get((int) ((long) i * items.size() / limit)));
+        }
+        return sample;
+    }
+
+    private static List<Enrollment> sampleEnrollments(EnrollmentService enrollments, List<Student> students, int limit) {
+        List<Enrollment> sample = new ArrayList<>();
+        for (Student student : students) {
+            for (Enrollment enrollment : enrollments.getEnrollmentsByStudent(student)) {
+                if (sample.size() == limit) {
+                    return sample;
+                }
+                sample.add(enrollment);
+            }
+        }
+        return sample;
+    }
+
+    private static long countEnrollments(EnrollmentService enrollments, List<Student> students) {
+        long count = 0;
+        for (Student student : students) {
+            count += enrollments.getEnrollmentsByStudent(student).size();
+        }
+        return count;
+    }
+
+    private static <T> void claimStrings(Set<Object> claimed, List<T> entities, Function<T, String[]> strings) {
+        if (entities.isEmpty() || !returnsSameInstances(entities.get(0), strings)) {
+            return;
+        }
+        for (T entity : entities) {
+            for (String value : strings.apply(entity)) {
+                if (value != null) {
+                    claimed.add(value);
+                }
+            }
+        }
+    }
+
+    // Entities materialized from off-heap storage hand out fresh strings that no index can share
+    private static <T> boolean returnsSameInstances(T entity, Function<T, String[]> strings) {
+        String[] first = strings.apply(entity);
+        String[] second = strings.apply(entity);
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] != second[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isEntity(Object value) {
+        return value instanceof Student || value instanceof Course || value instanceof Instructor
+            || value instanceof Enrollment;
+    }
+
+    private static boolean isService(Object value) {
+        return value instanceof StudentService || value instanceof CourseService || value instanceof InstructorService
+            || value instanceof EnrollmentService || value instanceof TranscriptService;
+    }
+
+    // Timers and counters are shared through the registry, not owned by the services that hold them
+    private static boolean isMetric(Object value) {
+        return value instanceof Timer || value instanceof Counter;
+    }
+
+    private static boolean isSymbol(Object value) {
+        if (!(value instanceof String)) {
+            return false;
+        }
+        for (SymbolTable table : SYMBOL_TABLES) {
+            int id = table.lookup((String) value);
+            if (id >= 0 && table.name(id) == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void publishGauges(HeapFootprint footprint) {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        for (Row row : footprint.getRows()) {
+            String name = row.getName();
+            registry.gauge("Heap." + name + ".count", () -> latestRow(name).getCount());
+            registry.gauge("Heap." + name + ".bytesEach", () -> Math.round(latestRow(name).getBytesEach()));
+            registry.gauge("Heap." + name + ".totalBytes", () -> latestRow(name).getTotalBytes());
+        }
+        registry.gauge("Heap.Symbols.count", () -> latest.getSymbols().getCount());
+        registry.gauge("Heap.Symbols.totalBytes", () -> latest.getSymbols().getTotalBytes());
+        registry.gauge("Heap.totalBytes", () -> latest.getTotalBytes());
+        registry.gauge("Heap.bytesPerEnrollment", () -> Math.round(latest.getBytesPerEnrollment()));
+        registry.gauge("Heap.measureMillis", () -> latest.getElapsedNanos() / 1_000_000);
+    }
+
+    private static Row latestRow(String name) {
+        return latest.getRow(name);
+    }
+
+    /**
+     * Footprint of one entity type and the service holding it. Per-entity figures are sample
+     * means; totals scale them by the count.
+     */
+    public static final class Row {
+        private final String name;
+        private final long count;
+        private final int sampled;
+        private final double bytesEach;
+        private final double stringBytesEach;
+        private final double collectionBytesEach;
+        private final boolean retained;
+        private final long serviceBytes;
+        private final long offHeapBytes;
+
+        Row(String name, long count, int sampled, double bytesEach, double stringBytesEach, double collectionBytesEach,
+            boolean retained, long serviceBytes, long offHeapBytes) {
+            this.name = name;
+            this.count = count;
+            this.sampled = sampled;
+            this.bytesEach = bytesEach;
+            this.stringBytesEach = stringBytesEach;
+            this.collectionBytesEach = collectionBytesEach;
+            this.retained = retained;
+            this.serviceBytes = serviceBytes;
+            this.offHeapBytes = offHeapBytes;
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public int getSampled() { return sampled; }
+        /** @return mean bytes of one entity with its own strings, dates and collections */
+        public double getBytesEach() { return bytesEach; }
+        public double getStringBytesEach() { return stringBytesEach; }
+        public double getCollectionBytesEach() { return collectionBytesEach; }
+        /** @return false if the service keeps no entity objects and builds them on read */
+        public boolean isRetained() { return retained; }
+        /** @return heap held by the service itself: its indexes, caches and lists */
+        public long getServiceBytes() { return serviceBytes; }
+        public long getOffHeapBytes() { return offHeapBytes; }
+
+        public long getEntityBytes() {
+            return retained ? Math.round(bytesEach * count) : 0;
+        }
+
+        public long getTotalBytes() {
+            return getEntityBytes() + serviceBytes + offHeapBytes;
+        }
+
+        /** @return total bytes divided by the count, or 0 when there is nothing to divide */
+        public double getBytesPerEntity() {
+            return count == 0 ? 0 : (double) getTotalBytes() / count;
+        }
+    }
+
+    // A service walked with its own entities as the boundary, counting them and keeping a
+    // uniform sample of them as they are reached
+    private static final class ServiceWalk {
+        final ObjectSizeEstimator.Footprint footprint;
+        final long entities;
+        final List<Object> reservoir;
+
+        private ServiceWalk(ObjectSizeEstimator.Footprint footprint, long entities, List<Object> reservoir) {
+            this.footprint = footprint;
+            this.entities = entities;
+            this.reservoir = reservoir;
+        }
+
+        static ServiceWalk of(Object service, Class<?> entityType, Predicate<Object> shared, int sampleSize) {
+            long[] entities = new long[1];
+            List<Object> reservoir = new ArrayList<>(sampleSize);
+            SplittableRandom random = new SplittableRandom(SAMPLE_SEED);
+            ObjectSizeEstimator estimator = new ObjectSizeEstimator(value -> {
+                if (!entityType.isInstance(value)) {
+                    return shared.test(value);
+                }
+                long seen = ++entities[0];
+                if (reservoir.size() < sampleSize) {
+                    reservoir.add(value);
+                } else if (random.nextLong(seen) < sampleSize) {
+                    reservoir.set((int) random.nextLong(sampleSize), value);
+                }
+                return true;
+            });
+            return new ServiceWalk(estimator.measure(service), entities[0], reservoir);
+        }
+
+        boolean isRetained() {
+            return entities > 0;
+        }
+
+        <T> List<T> sample(Class<T> entityType, Supplier<List<T>> materialized) {
+            if (!isRetained()) {
+                return materialized.get();
+            }
+            List<T> sample = new ArrayList<>(reservoir.size());
+            reservoir.forEach(value -> sample.add(entityType.cast(value)));
+            return sample;
+        }
+
+        Row row(String name, long listed, Sample sample, long extraServiceBytes) {
+            return new Row(name, isRetained() ? entities : listed, sample.size, sample.mean(sample.bytes),
+                sample.mean(sample.strings), sample.mean(sample.collections), isRetained(),
+                footprint.getBytes() + extraServiceBytes, footprint.getOffHeapBytes());
+        }
+    }
+
+    // Walks of the sampled entities, with a least-squares fit of bytes against an optional size
+    private static final class Sample {
+        int size;
+        long bytes;
+        long strings;
+        long collections;
+        double slope;
+
+        static <T> Sample of(List<T> entities, ObjectSizeEstimator estimator, ToIntFunction<T> sizeOf) {
+            Sample sample = new Sample();
+            double sumX = 0;
+            double sumXY = 0;
+            double sumXX = 0;
+            for (T entity : entities) {
+                ObjectSizeEstimator.Footprint footprint = estimator.measure(entity);
+                sample.size++;
+                sample.bytes += footprint.getBytes();
+                sample.strings += footprint.getStringBytes();
+                sample.collections += footprint.getCollectionBytes();
+                if (sizeOf != null) {
+                    double x = sizeOf.applyAsInt(entity);
+                    sumX += x;
+                    sumXY += x * footprint.getBytes();
+                    sumXX += x * x;
+                }
+            }
+            double n = sample.size;
+            double variance = n * sumXX - sumX * sumX;
+            if (n >= 2 && variance > 0) {
+                sample.slope = Math.max(0, (n * sumXY - sumX * sample.bytes) / variance);
+            }
+            return sample;
+        }
+
+        double mean(long total) {
+            return size == 0 ? 0 : (double) total / size;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.util.Searchable;
+import java.util.List;
+
+public interface InstructorService extends Searchable<Instructor> {
+    void addInstructor(Instructor instructor);
+    List<Instructor> listInstructors();
+    Instructor getInstructorById(String id);
+    List<Instructor> getInstructorsByDepartment(String department);
+
+    // Available instructors with at least minFreeSlots below the teaching-load cap, least loaded first
+    List<Instructor> getInstructorsWithCapacity(int minFreeSlots);
+
+    // Least-loaded available instructor in a department who is below the cap, or null
+    Instructor findLeastLoadedAvailable(String department);
+
+    // Course assignment keeps Course.getInstructor() and Instructor.getAssignedCourses() in step;
+    // assigning a course that meets at the same time as one the instructor teaches throws ScheduleConflictException
+    void assignCourse(String instructorId, Course course);
+    void unassignCourse(Course course);
+
+    int getMaxTeachingLoad();
+}
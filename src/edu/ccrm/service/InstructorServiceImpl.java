@@ -0,0 +1,263 @@
+package edu.ccrm.service;
+
+import edu.ccrm.config.EnrollmentConfig;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.ScheduleConflictException;
+import edu.ccrm.util.SymbolTable;
+import edu.ccrm.util.Validator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Instructor registry with indexes by id, by department and by teaching load.
+ *
+ * Available, active instructors are kept in load-ordered sets, one per department and one
+ * overall, so the least-loaded instructor of a department is found in O(log n) and capacity
+ * queries read a prefix of the global set. The indexes store a snapshot of each instructor's
+ * department and load; instructors report changes through their change listener, which
+ * moves them between entries. Course assignment through {@link Course#setInstructor} keeps
+ * both sides of the relationship in step, so it reaches these indexes too.
+ *
+ * {@link #assignCourse} refuses unavailable instructors and instructors at the teaching-load
+ * cap. It also keeps each instructor's weekly timetable and refuses courses that meet at the
+ * same time as one already assigned. Assignments made directly through
+ * {@link Course#setInstructor}, such as courses constructed with their instructor from saved
+ * data, bypass these checks; the conflict report still finds clashes among them.
+ *
+ * Instances are not thread-safe.
+ */
+public class InstructorServiceImpl implements InstructorService {
+    private static final Logger LOGGER = Logger.getLogger(InstructorServiceImpl.class.getName());
+
+    private final int maxTeachingLoad;
+    private final Map<String, Instructor> byId = new LinkedHashMap<>();
+    // Keyed by the canonical department string from SymbolTable.DEPARTMENTS
+    private final Map<String, Set<Instructor>> byDepartment = new HashMap<>();
+    private final Map<String, TreeSet<LoadEntry>> availableByDepartment = new HashMap<>();
+    private final TreeSet<LoadEntry> available = new TreeSet<>();
+    // The entry each instructor is currently indexed under
+    private final Map<Instructor, LoadEntry> entries = new IdentityHashMap<>();
+    private final ScheduleIndex<String> schedules = new ScheduleIndex<>();
+
+    public InstructorServiceImpl() {
+        this(EnrollmentConfig.getMaxTeachingLoad());
+    }
+
+    public InstructorServiceImpl(int maxTeachingLoad) {
+        if (maxTeachingLoad <= 0) {
+            throw new IllegalArgumentException("Maximum teaching load must be positive.");
+        }
+        this.maxTeachingLoad = maxTeachingLoad;
+    }
+
+    @Override
+    public void addInstructor(Instructor instructor) {
+        if (instructor == null || instructor.getId() == null || instructor.getFullName() == null) {
+            LOGGER.warning("Invalid instructor details provided.");
+            throw new IllegalArgumentException("Instructor details cannot be null.");
+        }
+        if (byId.containsKey(instructor.getId())) {
+            LOGGER.warning("Instructor with ID " + instructor.getId() + " already exists.");
+            throw new IllegalArgumentException("Instructor with ID " + instructor.getId() + " already exists.");
+        }
+        byId.put(instructor.getId(), instructor);
+        index(instructor);
+        instructor.setChangeListener(this::reindex);
+    }
+
+    @Override
+    public List<Instructor> listInstructors() {
+        return new ArrayList<>(byId.values());
+    }
+
+    @Override
+    public Instructor getInstructorById(String id) {
+        if (id == null || id.isBlank()) {
+            LOGGER.warning("Instructor ID cannot be null or blank.");
+            throw new IllegalArgumentException("Instructor ID cannot be null or blank.");
+        }
+        return byId.get(id.trim());
+    }
+
+    @Override
+    public List<Instructor> getInstructorsByDepartment(String department) {
+        if (department == null || department.isBlank()) {
+            LOGGER.warning("Department cannot be null or blank.");
+            throw new IllegalArgumentException("Department cannot be null or blank.");
+        }
+        Set<Instructor> members = byDepartment.get(departmentKey(department));
+        return members == null ? new ArrayList<>() : new ArrayList<>(members);
+    }
+
+    @Override
+    public List<Instructor> getInstructorsWithCapacity(int minFreeSlots) {
+        List<Instructor> result = new ArrayList<>();
+        int maxLoad = maxTeachingLoad - Math.max(1, minFreeSlots);
+        for (LoadEntry entry : available) {
+            if (entry.load > maxLoad) {
+                break;
+            }
+            result.add(entry.instructor);
+        }
+        return result;
+    }
+
+    @Override
+    public Instructor findLeastLoadedAvailable(String department) {
+        if (department == null || department.isBlank()) {
+            LOGGER.warning("Department cannot be null or blank.");
+            throw new IllegalArgumentException("Department cannot be null or blank.");
+        }
+        TreeSet<LoadEntry> candidates = availableByDepartment.get(departmentKey(department));
+        if (candidates == null || candidates.isEmpty() || candidates.first().load >= maxTeachingLoad) {
+            return null;
+        }
+        return candidates.first().instructor;
+    }
+
+    @Override
+    public void assignCourse(String instructorId, Course course) {
+        if (course == null) {
+            LOGGER.warning("Course cannot be null.");
+            throw new IllegalArgumentException("Course cannot be null.");
+        }
+        Instructor instructor = getInstructorById(instructorId);
+        if (instructor == null) {
+            LOGGER.warning("Instructor with ID " + instructorId + " not found.");
+            throw new IllegalArgumentException("Instructor with ID " + instructorId + " not found.");
+        }
+        if (course.getInstructor() == instructor) {
+            return;
+        }
+        if (!instructor.isAvailable()) {
+            String error = "Instructor " + instructor.getId() + " is not available for course assignment";
+            LOGGER.warning(error);
+            throw new IllegalStateException(error);
+        }
+        if (instructor.getTeachingLoad() >= maxTeachingLoad) {
+            String error = String.format("Instructor %s already teaches the maximum of %d courses",
+                instructor.getId(), maxTeachingLoad);
+            LOGGER.warning(error);
+            throw new IllegalStateException(error);
+        }
+        Course clash = schedules.findConflict(instructor.getId(), course);
+        if (clash != null) {
+            ScheduleConflictException error = new ScheduleConflictException("Instructor " + instructor.getId(), course, clash);
+            LOGGER.warning(error.getMessage());
+            throw error;
+        }
+        course.setInstructor(instructor);
+        schedules.add(instructor.getId(), course);
+    }
+
+    @Override
+    public void unassignCourse(Course course) {
+        if (course == null) {
+            LOGGER.warning("Course cannot be null.");
+            throw new IllegalArgumentException("Course cannot be null.");
+        }
+        course.setInstructor(null);
+    }
+
+    @Override
+    public int getMaxTeachingLoad() {
+        return maxTeachingLoad;
+    }
+
+    @Override
+    public List<Instructor> search(Predicate<Instructor> predicate) {
+        Validator.requireNonNull(predicate, "Predicate cannot be null");
+        List<Instructor> result = new ArrayList<>();
+        for (Instructor instructor : byId.values()) {
+            if (predicate.test(instructor)) {
+                result.add(instructor);
+            }
+        }
+        return result;
+    }
+
+    // Canonical department string without registering unknown spellings
+    private static String departmentKey(String department) {
+        int id = SymbolTable.DEPARTMENTS.lookup(department);
+        return id < 0 ? null : SymbolTable.DEPARTMENTS.name(id);
+    }
+
+    private void reindex(Instructor instructor) {
+        if (byId.get(instructor.getId()) != instructor) {
+            return;
+        }
+        unindex(instructor);
+        index(instructor);
+        for (String code : schedules.codesOf(instructor.getId())) {
+            if (!instructor.getAssignedCourses().contains(code)) {
+                schedules.remove(instructor.getId(), code);
+            }
+        }
+    }
+
+    private void index(Instructor instructor) {
+        LoadEntry entry = new LoadEntry(instructor);
+        entries.put(instructor, entry);
+        if (entry.department != null) {
+            byDepartment.computeIfAbsent(entry.department, d -> new LinkedHashSet<>()).add(instructor);
+        }
+        if (entry.eligible) {
+            available.add(entry);
+            if (entry.department != null) {
+                availableByDepartment.computeIfAbsent(entry.department, d -> new TreeSet<>()).add(entry);
+            }
+        }
+    }
+
+    private void unindex(Instructor instructor) {
+        LoadEntry entry = entries.remove(instructor);
+        if (entry.department != null) {
+            byDepartment.get(entry.department).remove(instructor);
+        }
+        if (entry.eligible) {
+            available.remove(entry);
+            if (entry.department != null) {
+                availableByDepartment.get(entry.department).remove(entry);
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the indexed attributes of one instructor, ordered by load and then id
+     */
+    private static final class LoadEntry implements Comparable<LoadEntry> {
+        final Instructor instructor;
+        final String id;
+        final String department;
+        final int load;
+        final boolean eligible;
+
+        LoadEntry(Instructor instructor) {
+            this.instructor = instructor;
+            this.id = instructor.getId();
+            this.department = instructor.getDepartment();
+            this.load = instructor.getTeachingLoad();
+            this.eligible = instructor.isAvailable() && instructor.isActive();
+        }
+
+        @Override
+        public int compareTo(LoadEntry other) {
+            return load != other.load ? Integer.compare(load, other.load) : id.compareTo(other.id);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("InstructorServiceImpl[instructors=%d, maxTeachingLoad=%d]", byId.size(), maxTeachingLoad);
+    }
+}
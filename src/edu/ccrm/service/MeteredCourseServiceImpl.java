@@ -0,0 +1,135 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.metrics.MetricsRegistry;
+import edu.ccrm.metrics.Timer;
+import edu.ccrm.util.Validator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Records a latency histogram and error count per method of another {@link CourseService}
+ */
+public class MeteredCourseServiceImpl implements CourseService {
+    private final CourseService delegate;
+    private final Timer addCourse;
+    private final Timer listCourses;
+    private final Timer getCourseByCode;
+    private final Timer updateCourse;
+    private final Timer deactivateCourse;
+    private final Timer search;
+    private final Timer searchByInstructor;
+    private final Timer searchByDepartment;
+    private final Timer searchBySemester;
+    private final Timer searchCourses;
+    private final Timer searchByKeywords;
+    private final Timer getAverageCredits;
+    private final Timer getTotalCoursesByDepartment;
+    private final Timer getCoursesOrderedByCredits;
+
+    public MeteredCourseServiceImpl(CourseService delegate) {
+        Validator.requireNonNull(delegate, "Course service cannot be null");
+        this.delegate = delegate;
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        addCourse = metrics.timer("CourseService.addCourse");
+        listCourses = metrics.timer("CourseService.listCourses");
+        getCourseByCode = metrics.timer("CourseService.getCourseByCode");
+        updateCourse = metrics.timer("CourseService.updateCourse");
+        deactivateCourse = metrics.timer("CourseService.deactivateCourse");
+        search = metrics.timer("CourseService.search");
+        searchByInstructor = metrics.timer("CourseService.searchByInstructor");
+        searchByDepartment = metrics.timer("CourseService.searchByDepartment");
+        searchBySemester = metrics.timer("CourseService.searchBySemester");
+        searchCourses = metrics.timer("CourseService.searchCourses");
+        searchByKeywords = metrics.timer("CourseService.searchByKeywords");
+        getAverageCredits = metrics.timer("CourseService.getAverageCredits");
+        getTotalCoursesByDepartment = metrics.timer("CourseService.getTotalCoursesByDepartment");
+        getCoursesOrderedByCredits = metrics.timer("CourseService.getCoursesOrderedByCredits");
+    }
+
+    @Override
+    public void addCourse(Course course) {
+        addCourse.time(() -> delegate.addCourse(course));
+    }
+
+    @Override
+    public List<Course> listCourses() {
+        return listCourses.time(delegate::listCourses);
+    }
+
+    @Override
+    public Course getCourseByCode(String code) {
+        return getCourseByCode.time(() -> delegate.getCourseByCode(code));
+    }
+
+    @Override
+    public void updateCourse(Course course) {
+        updateCourse.time(() -> delegate.updateCourse(course));
+    }
+
+    @Override
+    public void deactivateCourse(String code) {
+        deactivateCourse.time(() -> delegate.deactivateCourse(code));
+    }
+
+    @Override
+    public List<Course> search(Predicate<Course> predicate) {
+        return search.time(() -> delegate.search(predicate));
+    }
+
+    @Override
+    public List<Course> searchByInstructor(String instructorId) {
+        return searchByInstructor.time(() -> delegate.searchByInstructor(instructorId));
+    }
+
+    @Override
+    public List<Course> searchByDepartment(String department) {
+        return searchByDepartment.time(() -> delegate.searchByDepartment(department));
+    }
+
+    @Override
+    public List<Course> searchBySemester(String semester) {
+        return searchBySemester.time(() -> delegate.searchBySemester(semester));
+    }
+
+    @Override
+    public List<Course> searchCourses(String department, String semester, Integer minCredits, Integer maxCredits) {
+        return searchCourses.time(() -> delegate.searchCourses(department, semester, minCredits, maxCredits));
+    }
+
+    @Override
+    public List<Course> searchByKeywords(String query, int limit) {
+        return searchByKeywords.time(() -> delegate.searchByKeywords(query, limit));
+    }
+
+    @Override
+    public double getAverageCredits() {
+        long start = getAverageCredits.start();
+        try {
+            return delegate.getAverageCredits();
+        } catch (RuntimeException e) {
+            getAverageCredits.recordError();
+            throw e;
+        } finally {
+            getAverageCredits.stop(start);
+        }
+    }
+
+    @Override
+    public int getTotalCoursesByDepartment(String department) {
+        long start = getTotalCoursesByDepartment.start();
+        try {
+            return delegate.getTotalCoursesByDepartment(department);
+        } catch (RuntimeException e) {
+            getTotalCoursesByDepartment.recordError();
+            throw e;
+        } finally {
+            getTotalCoursesByDepartment.stop(start);
+        }
+    }
+
+    @Override
+    public List<Course> getCoursesOrderedByCredits() {
+        return getCoursesOrderedByCredits.time(delegate::getCoursesOrderedByCredits);
+    }
+}
@@ -0,0 +1,153 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.DuplicateEnrollmentException;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.MaxCreditLimitExceededException;
+import edu.ccrm.domain.Student;
+import edu.ccrm.metrics.MetricsRegistry;
+import edu.ccrm.metrics.Timer;
+import edu.ccrm.util.Validator;
+import java.util.List;
+
+/**
+ * Records a latency histogram and error count per method of another {@link EnrollmentService}.
+ * Rejected enrollments (duplicates, credit limits, full courses) count as errors.
+ */
+public class MeteredEnrollmentServiceImpl implements EnrollmentService {
+    private final EnrollmentService delegate;
+    private final Timer enrollStudent;
+    private final Timer enrollStudentInAll;
+    private final Timer unenrollStudent;
+    private final Timer getEnrollmentsByStudent;
+    private final Timer getEnrollmentsByCourse;
+    private final Timer recordMarks;
+    private final Timer getSeatsAvailable;
+    private final Timer joinWaitlist;
+    private final Timer leaveWaitlist;
+    private final Timer getWaitlist;
+    private final Timer promoteFromWaitlist;
+
+    public MeteredEnrollmentServiceImpl(EnrollmentService delegate) {
+        Validator.requireNonNull(delegate, "Enrollment service cannot be null");
+        this.delegate = delegate;
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        enrollStudent = metrics.timer("EnrollmentService.enrollStudent");
+        enrollStudentInAll = metrics.timer("EnrollmentService.enrollStudentInAll");
+        unenrollStudent = metrics.timer("EnrollmentService.unenrollStudent");
+        getEnrollmentsByStudent = metrics.timer("EnrollmentService.getEnrollmentsByStudent");
+        getEnrollmentsByCourse = metrics.timer("EnrollmentService.getEnrollmentsByCourse");
+        recordMarks = metrics.timer("EnrollmentService.recordMarks");
+        getSeatsAvailable = metrics.timer("EnrollmentService.getSeatsAvailable");
+        joinWaitlist = metrics.timer("EnrollmentService.joinWaitlist");
+        leaveWaitlist = metrics.timer("EnrollmentService.leaveWaitlist");
+        getWaitlist = metrics.timer("EnrollmentService.getWaitlist");
+        promoteFromWaitlist = metrics.timer("EnrollmentService.promoteFromWaitlist");
+    }
+
+    @Override
+    public void enrollStudent(Student student, Course course)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        long start = enrollStudent.start();
+        try {
+            delegate.enrollStudent(student, course);
+        } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | RuntimeException e) {
+            enrollStudent.recordError();
+            throw e;
+        } finally {
+            enrollStudent.stop(start);
+        }
+    }
+
+    @Override
+    public void enrollStudentInAll(Student student, List<Course> courses)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        long start = enrollStudentInAll.start();
+        try {
+            delegate.enrollStudentInAll(student, courses);
+        } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | RuntimeException e) {
+            enrollStudentInAll.recordError();
+            throw e;
+        } finally {
+            enrollStudentInAll.stop(start);
+        }
+    }
+
+    @Override
+    public void unenrollStudent(Student student, Course course) {
+        unenrollStudent.time(() -> delegate.unenrollStudent(student, course));
+    }
+
+    @Override
+    public List<Enrollment> getEnrollmentsByStudent(Student student) {
+        return getEnrollmentsByStudent.time(() -> delegate.getEnrollmentsByStudent(student));
+    }
+
+    @Override
+    public List<Enrollment> getEnrollmentsByCourse(Course course) {
+        return getEnrollmentsByCourse.time(() -> delegate.getEnrollmentsByCourse(course));
+    }
+
+    @Override
+    public void recordMarks(Student student, Course course, int marks) {
+        recordMarks.time(() -> delegate.recordMarks(student, course, marks));
+    }
+
+    @Override
+    public int getSeatsAvailable(Course course) {
+        long start = getSeatsAvailable.start();
+        try {
+            return delegate.getSeatsAvailable(course);
+        } catch (RuntimeException e) {
+            getSeatsAvailable.recordError();
+            throw e;
+        } finally {
+            getSeatsAvailable.stop(start);
+        }
+    }
+
+    @Override
+    public int joinWaitlist(Student student, Course course)
+        throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+        long start = joinWaitlist.start();
+        try {
+            return delegate.joinWaitlist(student, course);
+        } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | RuntimeException e) {
+            joinWaitlist.recordError();
+            throw e;
+        } finally {
+            joinWaitlist.stop(start);
+        }
+    }
+
+    @Override
+    public boolean leaveWaitlist(Student student, Course course) {
+        long start = leaveWaitlist.start();
+        try {
+            return delegate.leaveWaitlist(student, course);
+        } catch (RuntimeException e) {
+            leaveWaitlist.recordError();
+            throw e;
+        } finally {
+            leaveWaitlist.stop(start);
+        }
+    }
+
+    @Override
+    public List<Student> getWaitlist(Course course) {
+        return getWaitlist.time(() -> delegate.getWaitlist(course));
+    }
+
+    @Override
+    public int promoteFromWaitlist(Course course) {
+        long start = promoteFromWaitlist.start();
+        try {
+            return delegate.promoteFromWaitlist(course);
+        } catch (RuntimeException e) {
+            promoteFromWaitlist.recordError();
+            throw e;
+        } finally {
+            promoteFromWaitlist.stop(start);
+        }
+    }
+}
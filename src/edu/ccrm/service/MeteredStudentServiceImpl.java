@@ -0,0 +1,70 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Student;
+import edu.ccrm.metrics.MetricsRegistry;
+import edu.ccrm.metrics.Timer;
+import edu.ccrm.util.Validator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Records a latency histogram and error count per method of another {@link StudentService}
+ */
+public class MeteredStudentServiceImpl implements StudentService {
+    private final StudentService delegate;
+    private final Timer addStudent;
+    private final Timer listStudents;
+    private final Timer getStudentByRegNo;
+    private final Timer searchByName;
+    private final Timer updateStudent;
+    private final Timer deactivateStudent;
+    private final Timer search;
+
+    public MeteredStudentServiceImpl(StudentService delegate) {
+        Validator.requireNonNull(delegate, "Student service cannot be null");
+        this.delegate = delegate;
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        addStudent = metrics.timer("StudentService.addStudent");
+        listStudents = metrics.timer("StudentService.listStudents");
+        getStudentByRegNo = metrics.timer("StudentService.getStudentByRegNo");
+        searchByName = metrics.timer("StudentService.searchByName");
+        updateStudent = metrics.timer("StudentService.updateStudent");
+        deactivateStudent = metrics.timer("StudentService.deactivateStudent");
+        search = metrics.timer("StudentService.search");
+    }
+
+    @Override
+    public void addStudent(Student student) {
+        addStudent.time(() -> delegate.addStudent(student));
+    }
+
+    @Override
+    public List<Student> listStudents() {
+        return listStudents.time(delegate::listStudents);
+    }
+
+    @Override
+    public Student getStudentByRegNo(String regNo) {
+        return getStudentByRegNo.time(() -> delegate.getStudentByRegNo(regNo));
+    }
+
+    @Override
+    public List<Student> searchByName(String query, int limit) {
+        return searchByName.time(() -> delegate.searchByName(query, limit));
+    }
+
+    @Override
+    public void updateStudent(Student student) {
+        updateStudent.time(() -> delegate.updateStudent(student));
+    }
+
+    @Override
+    public void deactivateStudent(String regNo) {
+        deactivateStudent.time(() -> delegate.deactivateStudent(regNo));
+    }
+
+    @Override
+    public List<Student> search(Predicate<Student> predicate) {
+        return search.time(() -> delegate.search(predicate));
+    }
+}
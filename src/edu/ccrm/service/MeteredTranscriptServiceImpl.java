@@ -0,0 +1,41 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Student;
+import edu.ccrm.metrics.MetricsRegistry;
+import edu.ccrm.metrics.Timer;
+import edu.ccrm.util.Validator;
+
+/**
+ * Records a latency histogram and error count per method of another {@link TranscriptService}
+ */
+public class MeteredTranscriptServiceImpl implements TranscriptService {
+    private final TranscriptService delegate;
+    private final Timer generateTranscript;
+    private final Timer computeGPA;
+
+    public MeteredTranscriptServiceImpl(TranscriptService delegate) {
+        Validator.requireNonNull(delegate, "Transcript service cannot be null");
+        this.delegate = delegate;
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        generateTranscript = metrics.timer("TranscriptService.generateTranscript");
+        computeGPA = metrics.timer("TranscriptService.computeGPA");
+    }
+
+    @Override
+    public String generateTranscript(Student student) {
+        return generateTranscript.time(() -> delegate.generateTranscript(student));
+    }
+
+    @Override
+    public double computeGPA(Student student) {
+        long start = computeGPA.start();
+        try {
+            return delegate.computeGPA(student);
+        } catch (RuntimeException e) {
+            computeGPA.recordError();
+            throw e;
+        } finally {
+            computeGPA.stop(start);
+        }
+    }
+}
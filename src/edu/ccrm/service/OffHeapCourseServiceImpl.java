@@ -0,0 +1,445 @@
+package edu.ccrm.service;
+
+import edu.ccrm.config.AppConfig;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.MeetingTime;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.util.InvertedIndex;
+import edu.ccrm.util.LruCache;
+import edu.ccrm.util.OffHeapArena;
+import edu.ccrm.util.OffHeapTable;
+import edu.ccrm.util.SymbolTable;
+import edu.ccrm.util.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * {@link CourseService} that keeps course records in off-heap memory.
+ *
+ * Each course is one fixed-width row of an {@link OffHeapTable} holding the code and
+ * department as {@link SymbolTable} ids, credits, capacity, semester ordinal, an index into a small
+ * on-heap instructor registry, and the title and meeting slots in an {@link OffHeapArena}.
+ * Filters by department, semester, credits and instructor scan those int columns without
+ * materializing anything; only matching rows get a view.
+ *
+ * Methods hand out flyweight {@link Course} views that read and write through to the row;
+ * two views of the same row are equal. Courses passed to {@link #addCourse} and
+ * {@link #updateCourse} are copied in. Instances are not thread-safe.
+ */
+public class OffHeapCourseServiceImpl implements CourseService {
+    private static final Logger LOGGER = Logger.getLogger(OffHeapCourseServiceImpl.class.getName());
+    private static final Semester[] SEMESTERS = Semester.values();
+
+    // Row layout
+    private static final int TITLE = 0;
+    private static final int CODE = 8;
+    private static final int DEPARTMENT = 12;
+    private static final int CREDITS = 16;
+    private static final int INSTRUCTOR = 20;
+    private static final int SEMESTER = 24;
+    private static final int ACTIVE = 25;
+    private static final int MEETING_COUNT = 28;
+    private static final int MEETINGS = 32;
+    private static final int CAPACITY = 40;
+    private static final int RECORD_SIZE = 48;
+    private static final int NONE = -1;
+
+    private final OffHeapTable records = new OffHeapTable(RECORD_SIZE);
+    private final OffHeapArena arena = new OffHeapArena();
+    // Course code symbol id to row + 1, so the default 0 means absent
+    private int[] rowByCode = new int[1024];
+    private final List<Instructor> instructors = new ArrayList<>();
+    private final Map<Instructor, Integer> instructorIds = new IdentityHashMap<>();
+    // Keyed by row; fields are code, title, department, weighted so code hits rank first
+    private final InvertedIndex<Integer> keywordIndex = new InvertedIndex<>(3.0, 2.0, 1.0);
+    // Recent keyword searches as result slots, cleared whenever the index changes
+    private final LruCache<String, List<Integer>> searchCache =
+        new LruCache<>(() -> AppConfig.getInstance().getSettings().getSearchCacheSize());
+
+    @Override
+    public void addCourse(Course course) {
+        if (course == null || course.getCode() == null || course.getTitle() == null) {
+            LOGGER.warning("Invalid course details provided.");
+            throw new IllegalArgumentException("Course details cannot be null.");
+        }
+        int row = records.addRow();
+        int codeId = SymbolTable.COURSE_CODES.id(course.getCode());
+        records.putInt(row, CODE, codeId);
+        records.putLong(row, TITLE, OffHeapArena.NULL);
+        records.putLong(row, MEETINGS, OffHeapArena.NULL);
+        records.putByte(row, ACTIVE, (byte) 1);
+        copyAttributes(row, course);
+
+        if (codeId >= rowByCode.length) {
+            rowByCode = Arrays.copyOf(rowByCode, Math.max(rowByCode.length * 2, codeId + 1));
+        }
+        if (rowByCode[codeId] == 0) {
+            rowByCode[codeId] = row + 1;
+        }
+        indexKeywords(row);
+    }
+
+    @Override
+    public List<Course> listCourses() {
+        List<Course> result = new ArrayList<>(records.size());
+        for (int row = 0; row < records.size(); row++) {
+            result.add(new CourseRecord(row));
+        }
+        return result;
+    }
+
+    @Override
+    public Course getCourseByCode(String code) {
+        if (code == null || code.isBlank()) {
+            LOGGER.warning("Course code cannot be null or blank.");
+            throw new IllegalArgumentException("Course code cannot be null or blank.");
+        }
+        int row = rowOf(code);
+        return row < 0 ? null : new CourseRecord(row);
+    }
+
+    @Override
+    public void updateCourse(Course course) {
+        if (course == null || course.getCode() == null) {
+            LOGGER.warning("Invalid course details provided for update.");
+            throw new IllegalArgumentException("Course details cannot be null.");
+        }
+        int row = rowOf(course.getCode());
+        if (row >= 0) {
+            if (!(course instanceof CourseRecord) || ((CourseRecord) course).owner() != this) {
+                Instructor previous = new CourseRecord(row).getInstructor();
+                if (previous != null && previous != course.getInstructor()) {
+                    previous.unassignCourse(course.getCode());
+                }
+                copyAttributes(row, course);
+                if (!course.isActive()) {
+                    records.putByte(row, ACTIVE, (byte) 0);
+                }
+                indexKeywords(row);
+            }
+            return;
+        }
+        LOGGER.info("Course with code " + course.getCode() + " not found for update.");
+    }
+
+    @Override
+    public void deactivateCourse(String code) {
+        if (code == null || code.isBlank()) {
+            LOGGER.warning("Course code cannot be null or blank.");
+            throw new IllegalArgumentException("Course code cannot be null or blank.");
+        }
+        int codeId = SymbolTable.COURSE_CODES.lookup(code);
+        for (int row = 0; codeId >= 0 && row < records.size(); row++) {
+            if (records.getInt(row, CODE) == codeId) {
+                records.putByte(row, ACTIVE, (byte) 0);
+            }
+        }
+    }
+
+    @Override
+    public List<Course> searchByInstructor(String instructorId) {
+        if (instructorId == null || instructorId.isBlank()) {
+            LOGGER.warning("Instructor ID cannot be null or blank.");
+            throw new IllegalArgumentException("Instructor ID cannot be null or blank.");
+        }
+        boolean[] matching = new boolean[instructors.size()];
+        for (int i = 0; i < matching.length; i++) {
+            matching[i] = instructorId.equals(instructors.get(i).getId());
+        }
+        List<Course> result = new ArrayList<>();
+        for (int row = 0; row < records.size(); row++) {
+            int instructor = records.getInt(row, INSTRUCTOR);
+            if (instructor != NONE && matching[instructor]) {
+                result.add(new CourseRecord(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Course> searchByDepartment(String department) {
+        if (department == null || department.isBlank()) {
+            LOGGER.warning("Department cannot be null or blank.");
+            throw new IllegalArgumentException("Department cannot be null or blank.");
+        }
+        int departmentId = SymbolTable.DEPARTMENTS.lookup(department);
+        return departmentId < 0 ? new ArrayList<>() : scan(departmentId, NONE, null, null);
+    }
+
+    @Override
+    public List<Course> searchBySemester(String semester) {
+        if (semester == null || semester.isBlank()) {
+            LOGGER.warning("Semester cannot be null or blank.");
+            throw new IllegalArgumentException("Semester cannot be null or blank.");
+        }
+        int semesterOrdinal = semesterOrdinal(semester);
+        return semesterOrdinal < 0 ? new ArrayList<>() : scan(NONE, semesterOrdinal, null, null);
+    }
+
+    @Override
+    public List<Course> searchCourses(String department, String semester,
+            Integer minCredits, Integer maxCredits) {
+        int departmentId = department == null ? NONE : SymbolTable.DEPARTMENTS.lookup(department);
+        int semesterOrdinal = semester == null ? NONE : semesterOrdinal(semester);
+        if ((department != null && departmentId < 0) || (semester != null && semesterOrdinal < 0)) {
+            return new ArrayList<>();
+        }
+        return scan(departmentId, semesterOrdinal, minCredits, maxCredits);
+    }
+
+    @Override
+    public List<Course> searchByKeywords(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            LOGGER.warning("Search query cannot be null or blank.");
+            throw new IllegalArgumentException("Search query cannot be null or blank.");
+        }
+        return searchCache.get(limit + ":" + query, key -> keywordIndex.search(query, limit)).stream()
+            .map(CourseRecord::new)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public double getAverageCredits() {
+        if (records.size() == 0) {
+            return 0.0;
+        }
+        long total = 0;
+        for (int row = 0; row < records.size(); row++) {
+            total += records.getInt(row, CREDITS);
+        }
+        return (double) total / records.size();
+    }
+
+    @Override
+    public int getTotalCoursesByDepartment(String department) {
+        return searchByDepartment(department).size();
+    }
+
+    @Override
+    public List<Course> getCoursesOrderedByCredits() {
+        return listCourses().stream()
+            .sorted(Comparator.comparingInt(Course::getCredits).reversed())
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Course> search(Predicate<Course> predicate) {
+        Validator.requireNonNull(predicate, "Predicate cannot be null");
+        List<Course> result = new ArrayList<>();
+        CourseRecord cursor = new CourseRecord(0);
+        for (int row = 0; row < records.size(); row++) {
+            cursor.row = row;
+            if (predicate.test(cursor)) {
+                result.add(new CourseRecord(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Direct memory held by the course rows and titles
+     * @return reserved off-heap bytes
+     */
+    public long offHeapBytes() {
+        return records.reservedBytes() + arena.reservedBytes();
+    }
+
+    /**
+     * Scans the attribute columns; {@code NONE} matches any department or semester
+     * and null credit bounds are open
+     */
+    private List<Course> scan(int departmentId, int semesterOrdinal, Integer minCredits, Integer maxCredits) {
+        List<Course> result = new ArrayList<>();
+        int min = minCredits == null ? Integer.MIN_VALUE : minCredits;
+        int max = maxCredits == null ? Integer.MAX_VALUE : maxCredits;
+        for (int row = 0; row < records.size(); row++) {
+            if ((departmentId == NONE || records.getInt(row, DEPARTMENT) == departmentId)
+                    && (semesterOrdinal == NONE || records.getByte(row, SEMESTER) == semesterOrdinal)
+                    && records.getInt(row, CREDITS) >= min
+                    && records.getInt(row, CREDITS) <= max) {
+                result.add(new CourseRecord(row));
+            }
+        }
+        return result;
+    }
+
+    private static int semesterOrdinal(String semester) {
+        for (Semester candidate : SEMESTERS) {
+            if (candidate.toString().equalsIgnoreCase(semester)) {
+                return candidate.ordinal();
+            }
+        }
+        return NONE;
+    }
+
+    private int rowOf(String code) {
+        int codeId = SymbolTable.COURSE_CODES.lookup(code);
+        return codeId < 0 || codeId >= rowByCode.length ? -1 : rowByCode[codeId] - 1;
+    }
+
+    private void copyAttributes(int row, Course course) {
+        arena.releaseString(records.getLong(row, TITLE));
+        records.putLong(row, TITLE, arena.putString(course.getTitle()));
+        records.putInt(row, CREDITS, course.getCredits());
+        records.putInt(row, CAPACITY, course.getCapacity());
+        records.putInt(row, INSTRUCTOR, instructorId(course.getInstructor()));
+        records.putByte(row, SEMESTER, (byte) (course.getSemester() == null ? NONE : course.getSemester().ordinal()));
+        records.putInt(row, DEPARTMENT, course.getDepartment() == null ? NONE : SymbolTable.DEPARTMENTS.id(course.getDepartment()));
+        putMeetingTimes(row, course.getMeetingTimes());
+    }
+
+    // Each slot is one int: start minute of the week in the high half, end minute in the low half
+    private void putMeetingTimes(int row, List<MeetingTime> meetingTimes) {
+        int count = records.getInt(row, MEETING_COUNT);
+        if (count > 0) {
+            arena.release(4 * count);
+        }
+        long address = meetingTimes.isEmpty() ? OffHeapArena.NULL : arena.allocate(4 * meetingTimes.size());
+        for (int i = 0; i < meetingTimes.size(); i++) {
+            MeetingTime meeting = meetingTimes.get(i);
+            arena.putInt(address + 4L * i, meeting.getStartMinuteOfWeek() << 16 | meeting.getEndMinuteOfWeek());
+        }
+        records.putInt(row, MEETING_COUNT, meetingTimes.size());
+        records.putLong(row, MEETINGS, address);
+    }
+
+    private List<MeetingTime> getMeetingTimes(int row) {
+        int count = records.getInt(row, MEETING_COUNT);
+        long address = records.getLong(row, MEETINGS);
+        MeetingTime[] meetings = new MeetingTime[count];
+        for (int i = 0; i < count; i++) {
+            int slot = arena.getInt(address + 4L * i);
+            meetings[i] = MeetingTime.ofMinutesOfWeek(slot >>> 16, slot & 0xFFFF);
+        }
+        return List.of(meetings);
+    }
+
+    private int instructorId(Instructor instructor) {
+        if (instructor == null) {
+            return NONE;
+        }
+        return instructorIds.computeIfAbsent(instructor, i -> {
+            instructors.add(i);
+            return instructors.size() - 1;
+        });
+    }
+
+    private void indexKeywords(int row) {
+        searchCache.clear();
+        int department = records.getInt(row, DEPARTMENT);
+        keywordIndex.put(row,
+            SymbolTable.COURSE_CODES.name(records.getInt(row, CODE)),
+            arena.getString(records.getLong(row, TITLE)),
+            department == NONE ? null : SymbolTable.DEPARTMENTS.name(department));
+    }
+
+    /**
+     * Flyweight view of one course row; holds nothing but the row number
+     */
+    private final class CourseRecord extends Course {
+        private int row;
+
+        CourseRecord(int row) {
+            this.row = row;
+        }
+
+        OffHeapCourseServiceImpl owner() {
+            return OffHeapCourseServiceImpl.this;
+        }
+
+        @Override
+        public String getCode() { return SymbolTable.COURSE_CODES.name(records.getInt(row, CODE)); }
+        @Override
+        public String getTitle() { return arena.getString(records.getLong(row, TITLE)); }
+        @Override
+        public int getCredits() { return records.getInt(row, CREDITS); }
+        @Override
+        public boolean isActive() { return records.getByte(row, ACTIVE) != 0; }
+
+        @Override
+        public Instructor getInstructor() {
+            int instructor = records.getInt(row, INSTRUCTOR);
+            return instructor == NONE ? null : instructors.get(instructor);
+        }
+
+        @Override
+        public Semester getSemester() {
+            byte semester = records.getByte(row, SEMESTER);
+            return semester == NONE ? null : SEMESTERS[semester];
+        }
+
+        @Override
+        public String getDepartment() {
+            int department = records.getInt(row, DEPARTMENT);
+            return department == NONE ? null : SymbolTable.DEPARTMENTS.name(department);
+        }
+
+        @Override
+        public void setTitle(String title) {
+            arena.releaseString(records.getLong(row, TITLE));
+            records.putLong(row, TITLE, arena.putString(title));
+            indexKeywords(row);
+        }
+
+        @Override
+        public void setCredits(int credits) { records.putInt(row, CREDITS, credits); }
+        @Override
+        public int getCapacity() { return records.getInt(row, CAPACITY); }
+        @Override
+        public void setCapacity(int capacity) { records.putInt(row, CAPACITY, requireValidCapacity(capacity)); }
+        @Override
+        public List<MeetingTime> getMeetingTimes() { return OffHeapCourseServiceImpl.this.getMeetingTimes(row); }
+        @Override
+        public void setMeetingTimes(List<MeetingTime> meetingTimes) { putMeetingTimes(row, sortedMeetingTimes(meetingTimes)); }
+        @Override
+        public void setInstructor(Instructor instructor) {
+            Instructor previous = getInstructor();
+            if (instructor == previous) {
+                return;
+            }
+            if (instructor != null) {
+                instructor.assignCourse(getCode());
+            }
+            if (previous != null) {
+                previous.unassignCourse(getCode());
+            }
+            records.putInt(row, INSTRUCTOR, instructorId(instructor));
+        }
+        @Override
+        public void deactivate() { records.putByte(row, ACTIVE, (byte) 0); }
+
+        @Override
+        public void setSemester(Semester semester) {
+            records.putByte(row, SEMESTER, (byte) (semester == null ? NONE : semester.ordinal()));
+        }
+
+        @Override
+        public void setDepartment(String department) {
+            records.putInt(row, DEPARTMENT, department == null ? NONE : SymbolTable.DEPARTMENTS.id(department));
+            indexKeywords(row);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CourseRecord && ((CourseRecord) o).owner() == owner() && ((CourseRecord) o).row == row;
+        }
+
+        @Override
+        public int hashCode() {
+            return row;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Course: %s - %s (%d credits, %s, %s)", getCode(), getTitle(), getCredits(), getSemester(), getDepartment());
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.OffHeapArena;
+import edu.ccrm.util.OffHeapTable;
+import edu.ccrm.util.SymbolTable;
+import edu.ccrm.util.TrigramIndex;
+import edu.ccrm.util.Validator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * {@link StudentService} that keeps student records in off-heap memory.
+ *
+ * Each student is one fixed-width row of an {@link OffHeapTable}; names, emails and ids
+ * are UTF-8 strings in an {@link OffHeapArena}, and the enrolled courses are an arena block
+ * of ints packing the course code's {@link SymbolTable#COURSE_CODES} id with the grade.
+ * GPA is kept as running grade-point sums. The only per-student heap cost left is the
+ * fuzzy name index and the interned registration number.
+ *
+ * Methods hand out flyweight {@link Student} views over a row. Views read and write through
+ * to the row, so enrolling or grading through any view is seen by all of them, and two views
+ * of the same row are equal. Students passed to {@link #addStudent} and {@link #updateStudent}
+ * are copied in; later changes to those objects are not seen. Plain predicates are evaluated
+ * on one reused cursor view, allocating a view only for matches.
+ *
+ * Instances are not thread-safe.
+ */
+public class OffHeapStudentServiceImpl implements StudentService {
+    private static final Logger LOGGER = Logger.getLogger(OffHeapStudentServiceImpl.class.getName());
+    private static final long NAME_SEARCH_BUDGET_NANOS = 20_000_000L;
+    private static final Grade[] GRADES = Grade.values();
+
+    // Row layout
+    private static final int ID = 0;
+    private static final int FULL_NAME = 8;
+    private static final int EMAIL = 16;
+    private static final int COURSES = 24;
+    private static final int REG_NO = 32;
+    private static final int CREATED_ON = 36;
+    private static final int UPDATED_ON = 40;
+    private static final int ENROLLED_ON = 44;
+    private static final int COURSE_COUNT = 48;
+    private static final int COURSE_CAPACITY = 52;
+    private static final int GRADE_POINTS = 56;
+    private static final int GRADED_COURSES = 60;
+    private static final int ACTIVE = 64;
+    private static final int RECORD_SIZE = 72;
+
+    // Course entries pack the course id above a 4-bit grade code (0 = not graded)
+    private static final int GRADE_BITS = 4;
+    private static final int GRADE_MASK = (1 << GRADE_BITS) - 1;
+    private static final int INITIAL_COURSE_CAPACITY = 4;
+
+    private final OffHeapTable records = new OffHeapTable(RECORD_SIZE);
+    private final OffHeapArena arena = new OffHeapArena();
+    // Registration number symbol id to row + 1, so the default 0 means absent
+    private int[] rowByRegNo = new int[1024];
+    private final TrigramIndex<Integer> nameIndex = new TrigramIndex<>();
+
+    @Override
+    public void addStudent(Student student) {
+        if (student == null || student.getRegNo() == null || student.getFullName() == null) {
+            LOGGER.warning("Invalid student details provided.");
+            throw new IllegalArgumentException("Student details cannot be null.");
+        }
+        int row = records.addRow();
+        int regNoId = SymbolTable.REG_NOS.id(student.getRegNo());
+        records.putInt(row, REG_NO, regNoId);
+        records.putLong(row, ID, arena.putString(student.getId()));
+        records.putLong(row, FULL_NAME, OffHeapArena.NULL);
+        records.putLong(row, EMAIL, OffHeapArena.NULL);
+        records.putLong(row, COURSES, OffHeapArena.NULL);
+        records.putInt(row, ENROLLED_ON, (int) student.getEnrollmentDate().toEpochDay());
+        copyProfile(row, student);
+        for (String code : student.getEnrolledCourses()) {
+            enroll(row, SymbolTable.COURSE_CODES.id(code));
+        }
+        student.getGrades().forEach((code, grade) -> grade(row, SymbolTable.COURSE_CODES.id(code), grade));
+
+        if (regNoId >= rowByRegNo.length) {
+            rowByRegNo = Arrays.copyOf(rowByRegNo, Math.max(rowByRegNo.length * 2, regNoId + 1));
+        }
+        if (rowByRegNo[regNoId] == 0) {
+            rowByRegNo[regNoId] = row + 1;
+        }
+        indexName(row);
+    }
+
+    @Override
+    public List<Student> listStudents() {
+        List<Student> result = new ArrayList<>(records.size());
+        for (int row = 0; row < records.size(); row++) {
+            result.add(new StudentRecord(row));
+        }
+        return result;
+    }
+
+    @Override
+    public Student getStudentByRegNo(String regNo) {
+        if (regNo == null || regNo.isBlank()) {
+            LOGGER.warning("Registration number cannot be null or blank.");
+            throw new IllegalArgumentException("Registration number cannot be null or blank.");
+        }
+        int row = rowOf(regNo);
+        return row < 0 ? null : new StudentRecord(row);
+    }
+
+    @Override
+    public List<Student> searchByName(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            LOGGER.warning("Search query cannot be null or blank.");
+            throw new IllegalArgumentException("Search query cannot be null or blank.");
+        }
+        return nameIndex.search(query, limit, NAME_SEARCH_BUDGET_NANOS).stream()
+            .map(StudentRecord::new)
+            .collect(Collectors.toList());
+    }
+
+    private void indexName(int row) {
+        String email = arena.getString(records.getLong(row, EMAIL));
+        String mailbox = email != null && email.indexOf('@') >= 0 ? email.substring(0, email.indexOf('@')) : email;
+        nameIndex.put(row, arena.getString(records.getLong(row, FULL_NAME)), mailbox);
+    }
+
+    @Override
+    public void updateStudent(Student student) {
+        if (student == null || student.getRegNo() == null) {
+            LOGGER.warning("Invalid student details provided for update.");
+            throw new IllegalArgumentException("Student details cannot be null.");
+        }
+        int row = rowOf(student.getRegNo());
+        if (row >= 0) {
+            if (!(student instanceof StudentRecord) || ((StudentRecord) student).owner() != this) {
+                copyProfile(row, student);
+                indexName(row);
+            }
+            return;
+        }
+        LOGGER.info("Student with registration number " + student.getRegNo() + " not found for update.");
+    }
+
+    @Override
+    public void deactivateStudent(String regNo) {
+        if (regNo == null || regNo.isBlank()) {
+            LOGGER.warning("Registration number cannot be null or blank.");
+            throw new IllegalArgumentException("Registration number cannot be null or blank.");
+        }
+        int regNoId = SymbolTable.REG_NOS.lookup(regNo);
+        if (regNoId < 0) {
+            return;
+        }
+        for (int row = 0; row < records.size(); row++) {
+            if (records.getInt(row, REG_NO) == regNoId) {
+                records.putByte(row, ACTIVE, (byte) 0);
+                touch(row);
+            }
+        }
+    }
+
+    @Override
+    public List<Student> search(Predicate<Student> predicate) {
+        Validator.requireNonNull(predicate, "Predicate cannot be null");
+        List<Student> result = new ArrayList<>();
+        StudentRecord cursor = new StudentRecord(0);
+        for (int row = 0; row < records.size(); row++) {
+            cursor.row = row;
+            if (predicate.test(cursor)) {
+                result.add(new StudentRecord(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Direct memory held by the student rows and their strings
+     * @return reserved off-heap bytes
+     */
+    public long offHeapBytes() {
+        return records.reservedBytes() + arena.reservedBytes();
+    }
+
+    private int rowOf(String regNo) {
+        int regNoId = SymbolTable.REG_NOS.lookup(regNo);
+        return regNoId < 0 || regNoId >= rowByRegNo.length ? -1 : rowByRegNo[regNoId] - 1;
+    }
+
+    private void copyProfile(int row, Student student) {
+        replaceString(row, FULL_NAME, student.getFullName());
+        replaceString(row, EMAIL, student.getEmail());
+        records.putInt(row, CREATED_ON, (int) student.getCreatedDate().toEpochDay());
+        records.putInt(row, UPDATED_ON, (int) student.getUpdatedDate().toEpochDay());
+        records.putByte(row, ACTIVE, (byte) (student.isActive() ? 1 : 0));
+    }
+
+    private void replaceString(int row, int field, String value) {
+        arena.releaseString(records.getLong(row, field));
+        records.putLong(row, field, arena.putString(value));
+    }
+
+    private void touch(int row) {
+        records.putInt(row, UPDATED_ON, (int) LocalDate.now().toEpochDay());
+    }
+
+    private int indexOfCourse(int row, int courseId) {
+        long courses = records.getLong(row, COURSES);
+        int count = records.getInt(row, COURSE_COUNT);
+        for (int i = 0; i < count; i++) {
+            if (arena.getInt(courses + 4L * i) >>> GRADE_BITS == courseId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void enroll(int row, int courseId) {
+        if (indexOfCourse(row, courseId) >= 0) {
+            return;
+        }
+        long courses = records.getLong(row, COURSES);
+        int count = records.getInt(row, COURSE_COUNT);
+        int capacity = records.getInt(row, COURSE_CAPACITY);
+        if (count == capacity) {
+            int grown = capacity == 0 ? INITIAL_COURSE_CAPACITY : capacity * 2;
+            long block = arena.allocate(4 * grown);
+            if (count > 0) {
+                arena.copyInts(courses, block, count);
+                arena.release(4 * capacity);
+            }
+            courses = block;
+            records.putLong(row, COURSES, block);
+            records.putInt(row, COURSE_CAPACITY, grown);
+        }
+        arena.putInt(courses + 4L * count, courseId << GRADE_BITS);
+        records.putInt(row, COURSE_COUNT, count + 1);
+    }
+
+    private void unenroll(int row, int courseId) {
+        int index = indexOfCourse(row, courseId);
+        if (index < 0) {
+            return;
+        }
+        long courses = records.getLong(row, COURSES);
+        int count = records.getInt(row, COURSE_COUNT);
+        adjustGpaSums(row, arena.getInt(courses + 4L * index) & GRADE_MASK, 0);
+        arena.copyInts(courses + 4L * (index + 1), courses + 4L * index, count - index - 1);
+        records.putInt(row, COURSE_COUNT, count - 1);
+    }
+
+    private void grade(int row, int courseId, Grade grade) {
+        int index = indexOfCourse(row, courseId);
+        if (index < 0) {
+            return;
+        }
+        long entry = records.getLong(row, COURSES) + 4L * index;
+        int packed = arena.getInt(entry);
+        int gradeCode = grade == null ? 0 : grade.ordinal() + 1;
+        adjustGpaSums(row, packed & GRADE_MASK, gradeCode);
+        arena.putInt(entry, (packed & ~GRADE_MASK) | gradeCode);
+    }
+
+    private void adjustGpaSums(int row, int oldGradeCode, int newGradeCode) {
+        int points = records.getInt(row, GRADE_POINTS);
+        int graded = records.getInt(row, GRADED_COURSES);
+        if (oldGradeCode != 0) {
+            points -= GRADES[oldGradeCode - 1].getGradePoint();
+            graded--;
+        }
+        if (newGradeCode != 0) {
+            points += GRADES[newGradeCode - 1].getGradePoint();
+            graded++;
+        }
+        records.putInt(row, GRADE_POINTS, points);
+        records.putInt(row, GRADED_COURSES, graded);
+    }
+
+    /**
+     * Flyweight view of one student row; holds nothing but the row number
+     */
+    private final class StudentRecord extends Student {
+        private static final long serialVersionUID = 1L;
+        private int row;
+
+        StudentRecord(int row) {
+            this.row = row;
+        }
+
+        OffHeapStudentServiceImpl owner() {
+            return OffHeapStudentServiceImpl.this;
+        }
+
+        @Override
+        public String getId() { return arena.getString(records.getLong(row, ID)); }
+        @Override
+        public String getFullName() { return arena.getString(records.getLong(row, FULL_NAME)); }
+        @Override
+        public String getEmail() { return arena.getString(records.getLong(row, EMAIL)); }
+        @Override
+        public LocalDate getCreatedDate() { return LocalDate.ofEpochDay(records.getInt(row, CREATED_ON)); }
+        @Override
+        public LocalDate getUpdatedDate() { return LocalDate.ofEpochDay(records.getInt(row, UPDATED_ON)); }
+        @Override
+        public boolean isActive() { return records.getByte(row, ACTIVE) != 0; }
+        @Override
+        public String getRegNo() { return SymbolTable.REG_NOS.name(records.getInt(row, REG_NO)); }
+        @Override
+        public LocalDate getEnrollmentDate() { return LocalDate.ofEpochDay(records.getInt(row, ENROLLED_ON)); }
+
+        @Override
+        public double getGpa() {
+            int graded = records.getInt(row, GRADED_COURSES);
+            return graded == 0 ? 0.0 : (double) records.getInt(row, GRADE_POINTS) / graded;
+        }
+
+        @Override
+        public List<String> getEnrolledCourses() {
+            long courses = records.getLong(row, COURSES);
+            int count = records.getInt(row, COURSE_COUNT);
+            List<String> codes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                codes.add(SymbolTable.COURSE_CODES.name(arena.getInt(courses + 4L * i) >>> GRADE_BITS));
+            }
+            return Collections.unmodifiableList(codes);
+        }
+
+        @Override
+        public Map<String, Grade> getGrades() {
+            long courses = records.getLong(row, COURSES);
+            int count = records.getInt(row, COURSE_COUNT);
+            Map<String, Grade> grades = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                int packed = arena.getInt(courses + 4L * i);
+                if ((packed & GRADE_MASK) != 0) {
+                    grades.put(SymbolTable.COURSE_CODES.name(packed >>> GRADE_BITS), GRADES[(packed & GRADE_MASK) - 1]);
+                }
+            }
+            return Collections.unmodifiableMap(grades);
+        }
+
+        @Override
+        public long[] getPassedCourseBits() {
+            long courses = records.getLong(row, COURSES);
+            int count = records.getInt(row, COURSE_COUNT);
+            long[] bits = new long[0];
+            for (int i = 0; i < count; i++) {
+                int packed = arena.getInt(courses + 4L * i);
+                int gradeCode = packed & GRADE_MASK;
+                if (gradeCode != 0 && GRADES[gradeCode - 1] != Grade.F) {
+                    int courseId = packed >>> GRADE_BITS;
+                    if ((courseId >>> 6) >= bits.length) {
+                        bits = Arrays.copyOf(bits, (courseId >>> 6) + 1);
+                    }
+                    bits[courseId >>> 6] |= 1L << courseId;
+                }
+            }
+            return bits;
+        }
+
+        @Override
+        public void setFullName(String fullName) {
+            replaceString(row, FULL_NAME, fullName);
+            touch(row);
+            indexName(row);
+        }
+
+        @Override
+        public void setEmail(String email) {
+            replaceString(row, EMAIL, email);
+            touch(row);
+            indexName(row);
+        }
+
+        @Override
+        public void deactivate() {
+            records.putByte(row, ACTIVE, (byte) 0);
+            touch(row);
+        }
+
+        @Override
+        public void enrollCourse(String courseCode) {
+            enroll(row, SymbolTable.COURSE_CODES.id(courseCode));
+        }
+
+        @Override
+        public void unenrollCourse(String courseCode) {
+            int courseId = SymbolTable.COURSE_CODES.lookup(courseCode);
+            if (courseId >= 0) {
+                unenroll(row, courseId);
+            }
+        }
+
+        @Override
+        public void setGrade(String courseCode, Grade grade) {
+            int courseId = SymbolTable.COURSE_CODES.lookup(courseCode);
+            if (courseId >= 0) {
+                grade(row, courseId, grade);
+            }
+        }
+
+        @Override
+        public String getProfile() {
+            return String.format("Student Profile:\nRegNo: %s\nName: %s\nEmail: %s\nStatus: %s\nEnrolled Courses: %s\nEnrollment Date: %s", getRegNo(), getFullName(), getEmail(), isActive() ? "Active" : "Inactive", getEnrolledCourses(), getEnrollmentDate());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StudentRecord && ((StudentRecord) o).owner() == owner() && ((StudentRecord) o).row == row;
+        }
+
+        @Override
+        public int hashCode() {
+            return row;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Student: %s (%s)", getFullName(), getRegNo());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import java.util.Objects;
+
+/**
+ * Two courses on one person's timetable that meet at the same time; {@code first} has the
+ * smaller course code
+ */
+public final class ScheduleConflict {
+    public enum Type { INSTRUCTOR, STUDENT }
+
+    private final Type type;
+    private final String ownerId;
+    private final Course first;
+    private final Course second;
+
+    public ScheduleConflict(Type type, String ownerId, Course first, Course second) {
+        this.type = type;
+        this.ownerId = ownerId;
+        this.first = first;
+        this.second = second;
+    }
+
+    public Type getType() { return type; }
+    // Instructor id or student registration number
+    public String getOwnerId() { return ownerId; }
+    public Course getFirst() { return first; }
+    public Course getSecond() { return second; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ScheduleConflict that = (ScheduleConflict) o;
+        return type == that.type && ownerId.equals(that.ownerId)
+            && first.getCode().equals(that.first.getCode()) && second.getCode().equals(that.second.getCode());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, ownerId, first.getCode(), second.getCode());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: %s %s clashes with %s %s", type, ownerId,
+            first.getCode(), first.getMeetingTimes(), second.getCode(), second.getMeetingTimes());
+    }
+}
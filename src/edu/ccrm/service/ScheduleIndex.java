@@ -0,0 +1,133 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.MeetingTime;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.util.IntervalTree;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Weekly timetables of many owners (students or instructors), one {@link IntervalTree}
+ * each, so checking whether a course clashes with everything an owner already has costs
+ * O(m log n) for a course with m meeting slots.
+ *
+ * Meetings are placed on a single timeline of minutes: each semester gets its own week,
+ * so courses in different semesters never clash, and courses without a semester share a
+ * week of their own. The slots a course was added with are remembered, so it is removed
+ * correctly even if its meeting times or semester change afterwards.
+ *
+ * Instances are not thread-safe.
+ *
+ * @param <K> the owner key type
+ */
+final class ScheduleIndex<K> {
+
+    private final Map<K, Schedule> schedules = new HashMap<>();
+
+    /**
+     * Finds a course already on an owner's timetable that meets at the same time as another
+     * @param owner the owner
+     * @param course the course to check
+     * @return a clashing course, or null if there is none
+     */
+    Course findConflict(K owner, Course course) {
+        Schedule schedule = schedules.get(owner);
+        if (schedule == null) {
+            return null;
+        }
+        int[] slots = slotsOf(course);
+        for (int i = 0; i < slots.length; i += 2) {
+            Course clash = schedule.tree.findAnyOverlap(slots[i], slots[i + 1]);
+            if (clash != null && !clash.getCode().equals(course.getCode())) {
+                return clash;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts a course on an owner's timetable; does nothing if it is already there
+     * @param owner the owner
+     * @param course the course
+     */
+    void add(K owner, Course course) {
+        int[] slots = slotsOf(course);
+        if (slots.length == 0) {
+            return;
+        }
+        Schedule schedule = schedules.computeIfAbsent(owner, o -> new Schedule());
+        if (schedule.slotsByCode.putIfAbsent(course.getCode(), slots) != null) {
+            return;
+        }
+        for (int i = 0; i < slots.length; i += 2) {
+            schedule.tree.insert(slots[i], slots[i + 1], course);
+        }
+    }
+
+    /**
+     * Takes a course off an owner's timetable, if it is there
+     * @param owner the owner
+     * @param courseCode the course code
+     */
+    void remove(K owner, String courseCode) {
+        Schedule schedule = schedules.get(owner);
+        int[] slots = schedule == null ? null : schedule.slotsByCode.remove(courseCode);
+        if (slots == null) {
+            return;
+        }
+        for (int i = 0; i < slots.length; i += 2) {
+            removeCourse(schedule.tree, slots[i], slots[i + 1], courseCode);
+        }
+        if (schedule.slotsByCode.isEmpty()) {
+            schedules.remove(owner);
+        }
+    }
+
+    /**
+     * Courses currently on an owner's timetable
+     * @param owner the owner
+     * @return the course codes
+     */
+    Set<String> codesOf(K owner) {
+        Schedule schedule = schedules.get(owner);
+        return schedule == null ? Set.of() : Set.copyOf(schedule.slotsByCode.keySet());
+    }
+
+    /**
+     * Flattens a course's meetings onto the shared timeline as {start, end} pairs
+     * @param course the course
+     * @return the slot bounds, two ints per meeting
+     */
+    static int[] slotsOf(Course course) {
+        List<MeetingTime> meetings = course.getMeetingTimes();
+        int offset = weekOffset(course.getSemester());
+        int[] slots = new int[meetings.size() * 2];
+        for (int i = 0; i < meetings.size(); i++) {
+            slots[2 * i] = offset + meetings.get(i).getStartMinuteOfWeek();
+            slots[2 * i + 1] = offset + meetings.get(i).getEndMinuteOfWeek();
+        }
+        return slots;
+    }
+
+    static int weekOffset(Semester semester) {
+        return (semester == null ? Semester.values().length : semester.ordinal()) * MeetingTime.MINUTES_PER_WEEK;
+    }
+
+    private static void removeCourse(IntervalTree<Course> tree, int start, int end, String courseCode) {
+        for (Course course : tree.findOverlaps(start, end)) {
+            if (course.getCode().equals(courseCode)) {
+                tree.remove(start, end, course);
+                return;
+            }
+        }
+    }
+
+    private static final class Schedule {
+        final IntervalTree<Course> tree = new IntervalTree<>();
+        // Slots each course was inserted with, so removal does not depend on its current state
+        final Map<String, int[]> slotsByCode = new HashMap<>();
+    }
+}
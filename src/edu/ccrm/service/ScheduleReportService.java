@@ -0,0 +1,13 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import java.util.Collection;
+import java.util.List;
+
+public interface ScheduleReportService {
+    // Every pair of overlapping courses taught by one instructor or taken by one student in a
+    // semester (null for all), sorted by type, owner and course codes
+    List<ScheduleConflict> findConflicts(Semester semester, Collection<Course> courses, Collection<Student> students);
+}
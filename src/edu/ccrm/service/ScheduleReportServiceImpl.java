@@ -0,0 +1,133 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.IntervalTree;
+import edu.ccrm.util.Validator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Semester-wide timetable audit that finds clashes however they arose: assignments made
+ * through {@link Course#setInstructor}, meeting times changed after enrollment, or data
+ * imported from files.
+ *
+ * The report first builds one {@link IntervalTree} per instructor and per student from the
+ * courses that have meeting times; the trees are only read afterwards. It then checks each
+ * department's courses in parallel: every meeting of a course is looked up in the trees of
+ * its instructor and its students, so the work is proportional to the enrollments plus the
+ * clashes found rather than to the square of anyone's course count. A clashing pair is
+ * reported by the department of the course with the smaller code only, so no pair is
+ * reported twice and departments never share results.
+ *
+ * Instances hold no state and are thread-safe; the inputs must not change during a call.
+ */
+public class ScheduleReportServiceImpl implements ScheduleReportService {
+
+    private static final Comparator<ScheduleConflict> ORDER = Comparator
+        .comparing(ScheduleConflict::getType)
+        .thenComparing(ScheduleConflict::getOwnerId)
+        .thenComparing(conflict -> conflict.getFirst().getCode())
+        .thenComparing(conflict -> conflict.getSecond().getCode());
+
+    @Override
+    public List<ScheduleConflict> findConflicts(Semester semester, Collection<Course> courses, Collection<Student> students) {
+        Validator.requireNonNull(courses, "Courses cannot be null");
+        Validator.requireNonNull(students, "Students cannot be null");
+
+        Map<String, Scheduled> byCode = new LinkedHashMap<>();
+        for (Course course : courses) {
+            if ((semester == null || course.getSemester() == semester) && !course.getMeetingTimes().isEmpty()) {
+                byCode.putIfAbsent(course.getCode(), new Scheduled(course));
+            }
+        }
+
+        Map<String, IntervalTree<Course>> instructorTrees = new HashMap<>();
+        for (Scheduled scheduled : byCode.values()) {
+            if (scheduled.instructorId != null) {
+                scheduled.insertInto(instructorTrees.computeIfAbsent(scheduled.instructorId, id -> new IntervalTree<>()));
+            }
+        }
+        Map<String, IntervalTree<Course>> studentTrees = new HashMap<>();
+        for (Student student : students) {
+            for (String code : student.getEnrolledCourses()) {
+                Scheduled scheduled = byCode.get(code);
+                if (scheduled != null) {
+                    scheduled.students.add(student.getRegNo());
+                    scheduled.insertInto(studentTrees.computeIfAbsent(student.getRegNo(), regNo -> new IntervalTree<>()));
+                }
+            }
+        }
+
+        Map<String, List<Scheduled>> byDepartment = byCode.values().stream()
+            .collect(Collectors.groupingBy(scheduled -> scheduled.department));
+        return byDepartment.values().parallelStream()
+            .flatMap(department -> conflictsIn(department, instructorTrees, studentTrees).stream())
+            .sorted(ORDER)
+            .collect(Collectors.toList());
+    }
+
+    private static Set<ScheduleConflict> conflictsIn(List<Scheduled> department,
+            Map<String, IntervalTree<Course>> instructorTrees, Map<String, IntervalTree<Course>> studentTrees) {
+        Set<ScheduleConflict> conflicts = new LinkedHashSet<>();
+        for (Scheduled scheduled : department) {
+            if (scheduled.instructorId != null) {
+                collect(scheduled, ScheduleConflict.Type.INSTRUCTOR, scheduled.instructorId,
+                    instructorTrees.get(scheduled.instructorId), conflicts);
+            }
+            for (String regNo : scheduled.students) {
+                collect(scheduled, ScheduleConflict.Type.STUDENT, regNo, studentTrees.get(regNo), conflicts);
+            }
+        }
+        return conflicts;
+    }
+
+    private static void collect(Scheduled scheduled, ScheduleConflict.Type type, String ownerId,
+            IntervalTree<Course> tree, Set<ScheduleConflict> conflicts) {
+        int[] slots = scheduled.slots;
+        for (int i = 0; i < slots.length; i += 2) {
+            for (Course other : tree.findOverlaps(slots[i], slots[i + 1])) {
+                if (scheduled.code.compareTo(other.getCode()) < 0) {
+                    conflicts.add(new ScheduleConflict(type, ownerId, scheduled.course, other));
+                }
+            }
+        }
+    }
+
+    /**
+     * A course with the attributes the report reads, captured once
+     */
+    private static final class Scheduled {
+        final Course course;
+        final String code;
+        final String department;
+        final String instructorId;
+        final int[] slots;
+        final List<String> students = new ArrayList<>();
+
+        Scheduled(Course course) {
+            Instructor instructor = course.getInstructor();
+            this.course = course;
+            this.code = course.getCode();
+            this.department = course.getDepartment() == null ? "" : course.getDepartment();
+            this.instructorId = instructor == null ? null : instructor.getId();
+            this.slots = ScheduleIndex.slotsOf(course);
+        }
+
+        void insertInto(IntervalTree<Course> tree) {
+            for (int i = 0; i < slots.length; i += 2) {
+                tree.insert(slots[i], slots[i + 1], course);
+            }
+        }
+    }
+}
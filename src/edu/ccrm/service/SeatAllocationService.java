@@ -0,0 +1,16 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import java.util.List;
+import java.util.Map;
+
+public interface SeatAllocationService {
+    // Computes a stable allocation of a semester's seats from ranked preferences, best first,
+    // without enrolling anyone
+    AllocationResult plan(Semester semester, Map<Student, List<Course>> preferences);
+
+    // Plans as above and enrolls every student in their allocated courses
+    AllocationResult allocate(Semester semester, Map<Student, List<Course>> preferences);
+}
@@ -0,0 +1,377 @@
+package edu.ccrm.service;
+
+import edu.ccrm.config.EnrollmentConfig;
+import edu.ccrm.config.EnrollmentRules;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.DuplicateEnrollmentException;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.MaxCreditLimitExceededException;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Batch seat allocation by student-proposing deferred acceptance.
+ *
+ * Every student proposes to their ranked courses in order for as long as the course still
+ * fits their remaining credit budget under their program's {@link EnrollmentRules}. A full
+ * course keeps the highest-priority students it has been offered and turns away the rest;
+ * priority is GPA, then a seeded lottery. A student who loses a seat rescans their list, since freed credits
+ * may now fit a course they skipped. No course ends up holding a student of lower priority
+ * than one it turned away for lack of seats.
+ *
+ * Preferences interact only through shared courses and each student's credit budget, so
+ * departments are grouped into connected components: two departments are joined when some
+ * student ranks courses in both. Components share no students or courses and are allocated
+ * in parallel. Each proposal is made at most once, so a component costs O(P log c) for P
+ * preferences and c seats per course.
+ *
+ * Seats come from {@link EnrollmentService#getSeatsAvailable}; courses with a waitlist are
+ * left alone, because their free seats belong to the waitlist. Prerequisites, timetables and
+ * department quotas are checked when the allocation is enrolled, and failures are reported per student.
+ * Only the first 64 preferences of a student are considered.
+ */
+public class SeatAllocationServiceImpl implements SeatAllocationService {
+    private static final Logger LOGGER = Logger.getLogger(SeatAllocationServiceImpl.class.getName());
+    private static final int MAX_PREFERENCES = 64;
+
+    private final EnrollmentService enrollmentService;
+    private final long lotterySeed;
+
+    public SeatAllocationServiceImpl(EnrollmentService enrollmentService) {
+        this(enrollmentService, System.nanoTime());
+    }
+
+    /**
+     * @param lotterySeed seed of the lottery that orders students with equal GPA; the same
+     *        seed and inputs always give the same allocation
+     */
+    public SeatAllocationServiceImpl(EnrollmentService enrollmentService, long lotterySeed) {
+        Validator.requireNonNull(enrollmentService, "Enrollment service cannot be null");
+        this.enrollmentService = enrollmentService;
+        this.lotterySeed = lotterySeed;
+    }
+
+    @Override
+    public AllocationResult plan(Semester semester, Map<Student, List<Course>> preferences) {
+        Validator.requireNonNull(preferences, "Preferences cannot be null");
+        Run run = new Run(semester, preferences);
+        return new AllocationResult(run.allocations(), new LinkedHashMap<>(), run.componentCount, run.proposals);
+    }
+
+    @Override
+    public AllocationResult allocate(Semester semester, Map<Student, List<Course>> preferences) {
+        AllocationResult plan = plan(semester, preferences);
+        Map<String, String> failures = new LinkedHashMap<>();
+        for (Map.Entry<Student, List<Course>> allocation : plan.getAllocations().entrySet()) {
+            try {
+                enrollmentService.enrollStudentInAll(allocation.getKey(), allocation.getValue());
+            } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | RuntimeException e) {
+                failures.put(allocation.getKey().getRegNo(), e.getMessage());
+            }
+        }
+        if (!failures.isEmpty()) {
+            LOGGER.warning(failures.size() + " allocations could not be fully enrolled.");
+        }
+        return new AllocationResult(plan.getAllocations(), failures, plan.getComponentCount(), plan.getProposals());
+    }
+
+    // splitmix64 finalizer, so lottery numbers are independent of registration number order
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * State of one allocation; students and courses are numbered densely, and every array
+     * slot belongs to exactly one component, so components run in parallel without sharing
+     */
+    private final class Run {
+        final Student[] students;
+        final Course[] courses;
+        // Per student
+        final int[][] preferred;
+        final int[] budget;
+        final int[] heldCredits;
+        final int[] priority;
+        final long[] proposed;
+        final long[] held;
+        final boolean[] queued;
+        // Per course
+        final int[] credits;
+        final int[] capacity;
+        final int[][] holders;
+        final int[] holderCount;
+        final int componentCount;
+        long proposals;
+
+        Run(Semester semester, Map<Student, List<Course>> preferences) {
+            students = preferences.keySet().toArray(new Student[0]);
+            int studentCount = students.length;
+            preferred = new int[studentCount][];
+            budget = new int[studentCount];
+            heldCredits = new int[studentCount];
+            proposed = new long[studentCount];
+            held = new long[studentCount];
+            queued = new boolean[studentCount];
+
+            Map<String, Integer> courseIndex = new HashMap<>();
+            List<Course> courseList = new ArrayList<>();
+            EnrollmentRules rules = EnrollmentConfig.getRules();
+            for (int s = 0; s < studentCount; s++) {
+                Student student = students[s];
+                Validator.requireNonNull(student, "Student cannot be null");
+                int current = 0;
+                Set<String> enrolled = new HashSet<>();
+                for (Enrollment enrollment : enrollmentService.getEnrollmentsByStudent(student)) {
+                    enrolled.add(enrollment.getCourse().getCode());
+                    if (enrollment.getCourse().getSemester() == semester) {
+                        current += enrollment.getCourse().getCredits();
+                    }
+                }
+                budget[s] = rules.getMaxCredits(rules.programOf(student.getRegNo()), student.getGpa()) - current;
+
+                List<Course> ranked = preferences.get(student);
+                int[] indexes = new int[Math.min(ranked == null ? 0 : ranked.size(), MAX_PREFERENCES)];
+                int count = 0;
+                for (int i = 0; i < indexes.length; i++) {
+                    Course course = ranked.get(i);
+                    if (course == null || course.getSemester() != semester || enrolled.contains(course.getCode())) {
+                        continue;
+                    }
+                    Integer index = courseIndex.get(course.getCode());
+                    if (index == null) {
+                        index = courseList.size();
+                        courseIndex.put(course.getCode(), index);
+                        courseList.add(course);
+                    }
+                    if (!contains(indexes, count, index)) {
+                        indexes[count++] = index;
+                    }
+                }
+                preferred[s] = Arrays.copyOf(indexes, count);
+            }
+
+            courses = courseList.toArray(new Course[0]);
+            credits = new int[courses.length];
+            capacity = new int[courses.length];
+            holders = new int[courses.length][];
+            holderCount = new int[courses.length];
+            for (int c = 0; c < courses.length; c++) {
+                credits[c] = courses[c].getCredits();
+                capacity[c] = enrollmentService.getWaitlist(courses[c]).isEmpty()
+                    ? enrollmentService.getSeatsAvailable(courses[c]) : 0;
+            }
+            priority = rankStudents();
+
+            int[][] components = components();
+            componentCount = components.length;
+            proposals = Arrays.stream(components).parallel().mapToLong(this::allocate).sum();
+        }
+
+        // Dense priority ranks; 0 is served first
+        private int[] rankStudents() {
+            long[] lottery = new long[students.length];
+            for (int s = 0; s < students.length; s++) {
+                lottery[s] = mix(lotterySeed ^ mix(students[s].getRegNo().hashCode()));
+            }
+            Integer[] order = new Integer[students.length];
+            Arrays.setAll(order, s -> s);
+            Arrays.sort(order, Comparator.<Integer>comparingDouble(s -> -students[s].getGpa())
+                .thenComparingLong(s -> lottery[s])
+                .thenComparing(s -> students[s].getRegNo()));
+            int[] rank = new int[students.length];
+            for (int i = 0; i < order.length; i++) {
+                rank[order[i]] = i;
+            }
+            return rank;
+        }
+
+        /**
+         * Groups students whose preferences can affect each other, via union-find over departments
+         */
+        private int[][] components() {
+            Map<String, Integer> departmentIndex = new HashMap<>();
+            int[] departmentOfCourse = new int[courses.length];
+            for (int c = 0; c < courses.length; c++) {
+                String department = courses[c].getDepartment() == null ? "" : courses[c].getDepartment();
+                departmentOfCourse[c] = departmentIndex.computeIfAbsent(department, d -> departmentIndex.size());
+            }
+            int[] parent = IntStream.range(0, departmentIndex.size()).toArray();
+            for (int[] ranked : preferred) {
+                for (int i = 1; i < ranked.length; i++) {
+                    int a = find(parent, departmentOfCourse[ranked[0]]);
+                    int b = find(parent, departmentOfCourse[ranked[i]]);
+                    parent[a] = b;
+                }
+            }
+            Map<Integer, List<Integer>> byRoot = new HashMap<>();
+            for (int s = 0; s < students.length; s++) {
+                if (preferred[s].length > 0) {
+                    int root = find(parent, departmentOfCourse[preferred[s][0]]);
+                    byRoot.computeIfAbsent(root, r -> new ArrayList<>()).add(s);
+                }
+            }
+            return byRoot.values().stream()
+                .map(members -> members.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+        }
+
+        /**
+         * Runs deferred acceptance for one component
+         * @return the number of proposals made
+         */
+        private long allocate(int[] members) {
+            long made = 0;
+            // Students in priority order, so most courses fill with their final holders early
+            int[] queue = Arrays.stream(members).boxed()
+                .sorted(Comparator.comparingInt(s -> priority[s]))
+                .mapToInt(Integer::intValue).toArray();
+            // Circular; a student is queued at most once, so members.length slots suffice
+            int head = 0;
+            int size = queue.length;
+            for (int s : members) {
+                queued[s] = true;
+            }
+            while (size > 0) {
+                int s = queue[head];
+                head = (head + 1) % queue.length;
+                size--;
+                queued[s] = false;
+                int[] ranked = preferred[s];
+                for (int i = 0; i < ranked.length; i++) {
+                    long bit = 1L << i;
+                    int c = ranked[i];
+                    if ((proposed[s] & bit) != 0 || heldCredits[s] + credits[c] > budget[s]) {
+                        continue;
+                    }
+                    proposed[s] |= bit;
+                    made++;
+                    int evicted = offer(c, s);
+                    if (evicted == s) {
+                        continue;
+                    }
+                    held[s] |= bit;
+                    heldCredits[s] += credits[c];
+                    if (evicted >= 0) {
+                        held[evicted] &= ~(1L << indexOf(preferred[evicted], c));
+                        heldCredits[evicted] -= credits[c];
+                        if (!queued[evicted]) {
+                            queued[evicted] = true;
+                            queue[(head + size) % queue.length] = evicted;
+                            size++;
+                        }
+                    }
+                }
+            }
+            return made;
+        }
+
+        /**
+         * Offers a course a student; holders are a max-heap on priority rank
+         * @return -1 if the course had room, the displaced holder, or the student itself if refused
+         */
+        private int offer(int c, int s) {
+            if (capacity[c] <= 0) {
+                return s;
+            }
+            int[] heap = holders[c];
+            int count = holderCount[c];
+            if (count < capacity[c]) {
+                if (heap == null || count == heap.length) {
+                    heap = holders[c] = Arrays.copyOf(heap == null ? new int[0] : heap,
+                        (int) Math.min(capacity[c], Math.max(8L, 2L * count)));
+                }
+                int i = count;
+                while (i > 0 && priority[heap[(i - 1) / 2]] < priority[s]) {
+                    heap[i] = heap[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                heap[i] = s;
+                holderCount[c] = count + 1;
+                return -1;
+            }
+            int worst = heap[0];
+            if (priority[worst] < priority[s]) {
+                return s;
+            }
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= count) {
+                    break;
+                }
+                if (child + 1 < count && priority[heap[child + 1]] > priority[heap[child]]) {
+                    child++;
+                }
+                if (priority[heap[child]] <= priority[s]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = s;
+            return worst;
+        }
+
+        Map<Student, List<Course>> allocations() {
+            Map<Student, List<Course>> result = new LinkedHashMap<>();
+            for (int s = 0; s < students.length; s++) {
+                if (held[s] == 0) {
+                    continue;
+                }
+                List<Course> allocated = new ArrayList<>(Long.bitCount(held[s]));
+                for (int i = 0; i < preferred[s].length; i++) {
+                    if ((held[s] & (1L << i)) != 0) {
+                        allocated.add(courses[preferred[s][i]]);
+                    }
+                }
+                result.put(students[s], allocated);
+            }
+            return result;
+        }
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int find(int[] parent, int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SeatAllocationServiceImpl[lotterySeed=%d]", lotterySeed);
+    }
+}
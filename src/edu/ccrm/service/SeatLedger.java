@@ -0,0 +1,77 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free count of the seats taken in each course.
+ *
+ * A reservation is a compare-and-set loop on the course's counter that only succeeds while
+ * the count is below {@link Course#getCapacity()}, so any number of threads racing for the
+ * last seats never oversubscribe a course and the losers fail without blocking. Capacity is
+ * read on every attempt; lowering it below the seats taken only stops new reservations.
+ *
+ * One ledger may be shared by several enrollment services. Instances are thread-safe.
+ */
+public final class SeatLedger {
+
+    private final Map<String, AtomicInteger> seatsTaken = new ConcurrentHashMap<>();
+
+    /**
+     * Takes a seat if one is free
+     * @param course the course
+     * @return true if a seat was reserved
+     */
+    public boolean tryReserve(Course course) {
+        int capacity = course.getCapacity();
+        AtomicInteger taken = counter(course.getCode());
+        if (capacity == Course.UNLIMITED_CAPACITY) {
+            taken.incrementAndGet();
+            return true;
+        }
+        int current;
+        do {
+            current = taken.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!taken.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Gives a seat back
+     * @param course the course
+     */
+    public void release(Course course) {
+        counter(course.getCode()).updateAndGet(taken -> taken > 0 ? taken - 1 : 0);
+    }
+
+    public int getSeatsTaken(String courseCode) {
+        AtomicInteger taken = seatsTaken.get(courseCode);
+        return taken == null ? 0 : taken.get();
+    }
+
+    /**
+     * Seats still free
+     * @param course the course
+     * @return the free seats, or {@link Integer#MAX_VALUE} for a course without a limit
+     */
+    public int getSeatsAvailable(Course course) {
+        int capacity = course.getCapacity();
+        return capacity == Course.UNLIMITED_CAPACITY ? Integer.MAX_VALUE
+            : Math.max(0, capacity - getSeatsTaken(course.getCode()));
+    }
+
+    private AtomicInteger counter(String courseCode) {
+        AtomicInteger taken = seatsTaken.get(courseCode);
+        return taken != null ? taken : seatsTaken.computeIfAbsent(courseCode, code -> new AtomicInteger());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SeatLedger[courses=%d]", seatsTaken.size());
+    }
+}
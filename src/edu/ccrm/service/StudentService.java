@@ -1,12 +1,14 @@
 package edu.ccrm.service;
 
 import edu.ccrm.domain.Student;
+import edu.ccrm.util.Searchable;
 import java.util.List;
 
-public interface StudentService {
+public interface StudentService extends Searchable<Student> {
     void addStudent(Student student);
     List<Student> listStudents();
     Student getStudentByRegNo(String regNo);
+    List<Student> searchByName(String query, int limit);
     void updateStudent(Student student);
     void deactivateStudent(String regNo);
 }
@@ -1,13 +1,25 @@
 package edu.ccrm.service;
 
 import edu.ccrm.domain.Student;
-import java.util.ArrayList;
+import edu.ccrm.util.Criteria;
+import edu.ccrm.util.IndexedSearchable;
+import edu.ccrm.util.SearchField;
+import edu.ccrm.util.TrigramIndex;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 public class StudentServiceImpl implements StudentService {
     private static final Logger LOGGER = Logger.getLogger(StudentServiceImpl.class.getName());
-    private final List<Student> students = new ArrayList<>();
+    private static final long NAME_SEARCH_BUDGET_NANOS = 20_000_000L;
+    private final IndexedSearchable<Student> students = new IndexedSearchable<>(
+        SearchField.STUDENT_REG_NO,
+        SearchField.STUDENT_NAME,
+        SearchField.STUDENT_EMAIL
+    );
+    // Keyed by store slot; matches full name and the local part of the email
+    private final TrigramIndex<Integer> nameIndex = new TrigramIndex<>();
 
     @Override
     public void addStudent(Student student) {
@@ -15,12 +27,12 @@ public class StudentServiceImpl implements StudentService {
             LOGGER.warning("Invalid student details provided.");
             throw new IllegalArgumentException("Student details cannot be null.");
         }
-        students.add(student);
+        indexName(students.add(student), student);
     }
 
     @Override
     public List<Student> listStudents() {
-        return new ArrayList<>(students);
+        return students.items();
     }
 
     @Override
@@ -29,10 +41,24 @@ public class StudentServiceImpl implements StudentService {
             LOGGER.warning("Registration number cannot be null or blank.");
             throw new IllegalArgumentException("Registration number cannot be null or blank.");
         }
-        return students.stream()
-                .filter(s -> s.getRegNo().equalsIgnoreCase(regNo))
-                .findFirst()
-                .orElse(null);
+        return students.findFirst(Criteria.eq(SearchField.STUDENT_REG_NO, regNo));
+    }
+
+    @Override
+    public List<Student> searchByName(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            LOGGER.warning("Search query cannot be null or blank.");
+            throw new IllegalArgumentException("Search query cannot be null or blank.");
+        }
+        return nameIndex.search(query, limit, NAME_SEARCH_BUDGET_NANOS).stream()
+            .map(students::get)
+            .collect(Collectors.toList());
+    }
+
+    private void indexName(int slot, Student student) {
+        String email = student.getEmail();
+        String mailbox = email != null && email.indexOf('@') >= 0 ? email.substring(0, email.indexOf('@')) : email;
+        nameIndex.put(slot, student.getFullName(), mailbox);
     }
 
     @Override
@@ -41,11 +67,11 @@ public class StudentServiceImpl implements StudentService {
             LOGGER.warning("Invalid student details provided for update.");
             throw new IllegalArgumentException("Student details cannot be null.");
         }
-        for (int i = 0; i < students.size(); i++) {
-            if (students.get(i).getRegNo().equalsIgnoreCase(student.getRegNo())) {
-                students.set(i, student);
-                return;
-            }
+        int slot = students.findSlot(Criteria.eq(SearchField.STUDENT_REG_NO, student.getRegNo()));
+        if (slot >= 0) {
+            students.replace(slot, student);
+            indexName(slot, student);
+            return;
         }
         LOGGER.info("Student with registration number " + student.getRegNo() + " not found for update.");
     }
@@ -56,8 +82,12 @@ public class StudentServiceImpl implements StudentService {
             LOGGER.warning("Registration number cannot be null or blank.");
             throw new IllegalArgumentException("Registration number cannot be null or blank.");
         }
-        students.stream()
-                .filter(s -> s.getRegNo().equalsIgnoreCase(regNo))
+        students.search(Criteria.eq(SearchField.STUDENT_REG_NO, regNo))
                 .forEach(Student::deactivate);
     }
+
+    @Override
+    public List<Student> search(Predicate<Student> predicate) {
+        return students.search(predicate);
+    }
 }
@@ -2,6 +2,7 @@ package edu.ccrm.service;
 
 import edu.ccrm.domain.Enrollment;
 import edu.ccrm.domain.Student;
+import edu.ccrm.metrics.TranscriptEvent;
 import edu.ccrm.util.Validator;
 import java.util.List;
 import java.util.StringJoiner;
@@ -15,9 +16,27 @@ public class TranscriptServiceImpl implements TranscriptService {
 
     @Override
     public String generateTranscript(Student student) {
-        Validator.requireNonNull(student, "Student cannot be null");
+        TranscriptEvent event = new TranscriptEvent();
+        event.begin();
+        String transcript = null;
+        int count = 0;
+        RuntimeException failure = null;
+        try {
+            Validator.requireNonNull(student, "Student cannot be null");
+            List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(student);
+            count = enrollments == null ? 0 : enrollments.size();
+            transcript = render(student, enrollments);
+            return transcript;
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.finish(student == null ? null : student.getRegNo(), count,
+                transcript == null ? 0 : transcript.length(), failure);
+        }
+    }
 
-        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(student);
+    private static String render(Student student, List<Enrollment> enrollments) {
         if (enrollments == null || enrollments.isEmpty()) {
             return "No enrollments found for student: " + student.getFullName();
         }
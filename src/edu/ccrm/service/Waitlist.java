@@ -0,0 +1,164 @@
+package edu.ccrm.service;
+
+import edu.ccrm.config.WaitlistPriority;
+import edu.ccrm.domain.Student;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Per-course queues of students waiting for a seat.
+ *
+ * Each queue is a heap in {@link WaitlistPriority} order. The GPA is captured when the
+ * student joins, so the order cannot shift while they wait; request time is a global
+ * sequence number, which also breaks ties. Students are identified by registration number.
+ *
+ * Instances are thread-safe; each course's queue is guarded by its own monitor.
+ */
+final class Waitlist {
+
+    private static final Comparator<Entry> BY_REQUEST_TIME = Comparator.comparingLong(entry -> entry.sequence);
+    private static final Comparator<Entry> BY_GPA_THEN_REQUEST_TIME =
+        Comparator.comparingDouble((Entry entry) -> entry.gpa).reversed().thenComparing(BY_REQUEST_TIME);
+
+    private final Comparator<Entry> order;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, PriorityQueue<Entry>> queues = new ConcurrentHashMap<>();
+
+    Waitlist(WaitlistPriority priority) {
+        this.order = priority == WaitlistPriority.REQUEST_TIME ? BY_REQUEST_TIME : BY_GPA_THEN_REQUEST_TIME;
+    }
+
+    /**
+     * Queues a student for a course; a student already queued keeps their place
+     * @param student the student
+     * @param courseCode the course
+     * @return the student's 1-based position
+     */
+    int add(Student student, String courseCode) {
+        PriorityQueue<Entry> queue = queues.computeIfAbsent(courseCode, code -> new PriorityQueue<>(order));
+        synchronized (queue) {
+            if (find(queue, student.getRegNo()) == null) {
+                queue.add(new Entry(student, sequence.incrementAndGet()));
+            }
+            return position(queue, student.getRegNo());
+        }
+    }
+
+    boolean remove(Student student, String courseCode) {
+        PriorityQueue<Entry> queue = queues.get(courseCode);
+        if (queue == null) {
+            return false;
+        }
+        synchronized (queue) {
+            Entry entry = find(queue, student.getRegNo());
+            return entry != null && queue.remove(entry);
+        }
+    }
+
+    /**
+     * Removes and returns the student first in line, once a seat has been claimed for them.
+     * The claim runs under the queue's monitor and only while someone is waiting, so the
+     * student never leaves the queue without a seat and no seat is held for an empty queue.
+     * @param courseCode the course
+     * @param claimSeat takes a seat, returning false if none is free
+     * @return the student, or null if nobody is waiting or no seat could be claimed
+     */
+    Student poll(String courseCode, BooleanSupplier claimSeat) {
+        PriorityQueue<Entry> queue = queues.get(courseCode);
+        if (queue == null) {
+            return null;
+        }
+        synchronized (queue) {
+            if (queue.isEmpty() || !claimSeat.getAsBoolean()) {
+                return null;
+            }
+            return queue.poll().student;
+        }
+    }
+
+    /**
+     * The 1-based position of a student, or 0 if they are not waiting
+     */
+    int position(Student student, String courseCode) {
+        PriorityQueue<Entry> queue = queues.get(courseCode);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            return position(queue, student.getRegNo());
+        }
+    }
+
+    /**
+     * The students waiting for a course, first in line first
+     */
+    List<Student> students(String courseCode) {
+        PriorityQueue<Entry> queue = queues.get(courseCode);
+        List<Entry> entries;
+        if (queue == null) {
+            return new ArrayList<>();
+        }
+        synchronized (queue) {
+            entries = new ArrayList<>(queue);
+        }
+        entries.sort(order);
+        List<Student> students = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            students.add(entry.student);
+        }
+        return students;
+    }
+
+    int size(String courseCode) {
+        PriorityQueue<Entry> queue = queues.get(courseCode);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    private static Entry find(PriorityQueue<Entry> queue, String regNo) {
+        for (Entry entry : queue) {
+            if (entry.regNo.equals(regNo)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private int position(PriorityQueue<Entry> queue, String regNo) {
+        Entry target = find(queue, regNo);
+        if (target == null) {
+            return 0;
+        }
+        int ahead = 0;
+        for (Entry entry : queue) {
+            if (order.compare(entry, target) < 0) {
+                ahead++;
+            }
+        }
+        return ahead + 1;
+    }
+
+    private static final class Entry {
+        final Student student;
+        final String regNo;
+        final double gpa;
+        final long sequence;
+
+        Entry(Student student, long sequence) {
+            this.student = student;
+            this.regNo = student.getRegNo();
+            this.gpa = student.getGpa();
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package edu.ccrm.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Structured search predicate made of field equality, range and prefix clauses
+ * combined with AND/OR.
+ *
+ * A criteria tree is a regular {@link Predicate}, so it can be evaluated directly
+ * against any item. Its structure is also visible to {@link IndexedSearchable},
+ * which pushes clauses over indexed fields down to the indexes and only evaluates
+ * the remaining clauses on the resulting candidate set.
+ *
+ * <pre>
+ * Criteria.allOf(List.of(
+ *     Criteria.eq(SearchField.COURSE_DEPARTMENT, "Computer Science"),
+ *     Criteria.between(SearchField.COURSE_CREDITS, 3, null)));
+ * </pre>
+ *
+ * @param <T> the type of objects the criteria applies to
+ */
+public abstract class Criteria<T> implements Predicate<T> {
+
+    // Package-private constructor: the clause set is closed
+    Criteria() {
+    }
+
+    /**
+     * Creates a case-insensitive equality clause
+     * @param field the field to compare
+     * @param value the value the field must equal
+     * @param <T> the entity type
+     * @return equality criteria
+     * @throws IllegalArgumentException if field or value is null, or value does not match the field's type
+     */
+    public static <T> Criteria<T> eq(SearchField<T> field, Object value) {
+        Validator.requireNonNull(field, "Search field cannot be null");
+        Validator.requireNonNull(value, "Search value cannot be null");
+        return new Eq<>(field, field.keyFor(value));
+    }
+
+    /**
+     * Creates an inclusive range clause; either bound may be null to leave that side open
+     * @param field the field to compare
+     * @param min the inclusive lower bound, or null
+     * @param max the inclusive upper bound, or null
+     * @param <T> the entity type
+     * @return range criteria
+     * @throws IllegalArgumentException if field is null, or a bound does not match the field's type
+     */
+    public static <T> Criteria<T> between(SearchField<T> field, Object min, Object max) {
+        Validator.requireNonNull(field, "Search field cannot be null");
+        return new Range<>(field, field.keyFor(min), field.keyFor(max));
+    }
+
+    /**
+     * Creates a case-insensitive string prefix clause
+     * @param field the field to compare
+     * @param prefix the prefix the field must start with
+     * @param <T> the entity type
+     * @return prefix criteria
+     * @throws IllegalArgumentException if field or prefix is null, or the field is not a string field
+     */
+    public static <T> Criteria<T> prefix(SearchField<T> field, String prefix) {
+        Validator.requireNonNull(field, "Search field cannot be null");
+        Validator.requireNonNull(prefix, "Prefix cannot be null");
+        return new Prefix<>(field, (String) (Object) field.keyFor(prefix));
+    }
+
+    /**
+     * Combines clauses so that all of them must match; an empty list matches everything
+     * @param clauses the clauses to combine
+     * @param <T> the entity type
+     * @return conjunction of the clauses
+     * @throws IllegalArgumentException if clauses is null
+     */
+    public static <T> Criteria<T> allOf(List<Criteria<T>> clauses) {
+        return new And<>(copyOf(clauses));
+    }
+
+    /**
+     * Combines clauses so that at least one of them must match; an empty list matches nothing
+     * @param clauses the clauses to combine
+     * @param <T> the entity type
+     * @return disjunction of the clauses
+     * @throws IllegalArgumentException if clauses is null
+     */
+    public static <T> Criteria<T> anyOf(List<Criteria<T>> clauses) {
+        return new Or<>(copyOf(clauses));
+    }
+
+    private static <T> List<Criteria<T>> copyOf(List<Criteria<T>> clauses) {
+        Validator.requireNonNull(clauses, "Clauses cannot be null");
+        List<Criteria<T>> list = new ArrayList<>(clauses.size());
+        for (Criteria<T> clause : clauses) {
+            list.add(Objects.requireNonNull(clause, "clause"));
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    static final class Eq<T> extends Criteria<T> {
+        final SearchField<T> field;
+        final Comparable<Object> value;
+
+        Eq(SearchField<T> field, Comparable<Object> value) {
+            this.field = field;
+            this.value = value;
+        }
+
+        @Override
+        public boolean test(T item) {
+            Comparable<Object> key = field.keyOf(item);
+            return key != null && key.compareTo(value) == 0;
+        }
+
+        @Override
+        public String toString() {
+            return field + " = " + value;
+        }
+    }
+
+    static final class Range<T> extends Criteria<T> {
+        final SearchField<T> field;
+        final Comparable<Object> min;
+        final Comparable<Object> max;
+
+        Range(SearchField<T> field, Comparable<Object> min, Comparable<Object> max) {
+            this.field = field;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean test(T item) {
+            Comparable<Object> key = field.keyOf(item);
+            return key != null
+                && (min == null || key.compareTo(min) >= 0)
+                && (max == null || key.compareTo(max) <= 0);
+        }
+
+        @Override
+        public String toString() {
+            return field + " in [" + min + ", " + max + "]";
+        }
+    }
+
+    static final class Prefix<T> extends Criteria<T> {
+        final SearchField<T> field;
+        final String prefix;
+
+        Prefix(SearchField<T> field, String prefix) {
+            this.field = field;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public boolean test(T item) {
+            Object key = field.keyOf(item);
+            return key instanceof String && ((String) key).startsWith(prefix);
+        }
+
+        @Override
+        public String toString() {
+            return field + " starts with '" + prefix + "'";
+        }
+    }
+
+    static final class And<T> extends Criteria<T> {
+        final List<Criteria<T>> clauses;
+
+        And(List<Criteria<T>> clauses) {
+            this.clauses = clauses;
+        }
+
+        @Override
+        public boolean test(T item) {
+            for (Criteria<T> clause : clauses) {
+                if (!clause.test(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("(");
+            for (int i = 0; i < clauses.size(); i++) {
+                if (i > 0) sb.append(" AND ");
+                sb.append(clauses.get(i));
+            }
+            return sb.append(")").toString();
+        }
+    }
+
+    static final class Or<T> extends Criteria<T> {
+        final List<Criteria<T>> clauses;
+
+        Or(List<Criteria<T>> clauses) {
+            this.clauses = clauses;
+        }
+
+        @Override
+        public boolean test(T item) {
+            for (Criteria<T> clause : clauses) {
+                if (clause.test(item)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("(");
+            for (int i = 0; i < clauses.size(); i++) {
+                if (i > 0) sb.append(" OR ");
+                sb.append(clauses.get(i));
+            }
+            return sb.append(")").toString();
+        }
+    }
+}
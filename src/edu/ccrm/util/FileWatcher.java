@@ -0,0 +1,87 @@
+package edu.ccrm.util;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs a callback whenever a file is created, modified or deleted, from a daemon thread fed
+ * by a {@link WatchService} on the file's directory. Editors often save in several steps, so
+ * the callback may run more than once per save and should be idempotent.
+ */
+public final class FileWatcher implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(FileWatcher.class.getName());
+
+    private final Path file;
+    private final Runnable onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private FileWatcher(Path file, Runnable onChange) throws IOException {
+        this.file = file.toAbsolutePath().normalize();
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = new Thread(this::run, "ccrm-watch-" + this.file.getFileName());
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching a file; its directory must exist
+     * @param file the file to watch
+     * @param onChange called on the watcher thread after each change
+     * @return the running watcher
+     * @throws IOException if the directory cannot be watched
+     */
+    public static FileWatcher watch(Path file, Runnable onChange) throws IOException {
+        Validator.requireNonNull(file, "File cannot be null");
+        Validator.requireNonNull(onChange, "Callback cannot be null");
+        FileWatcher watcher = new FileWatcher(file, onChange);
+        watcher.thread.start();
+        return watcher;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                        || file.getFileName().equals(event.context());
+                }
+                if (changed) {
+                    try {
+                        onChange.run();
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.WARNING, "Change handler failed for " + file, e);
+                    }
+                }
+                if (!key.reset()) {
+                    LOGGER.warning("Stopped watching " + file + ": directory is no longer accessible");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
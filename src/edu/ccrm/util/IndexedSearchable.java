@@ -0,0 +1,414 @@
+package edu.ccrm.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory {@link Searchable} store with sorted secondary indexes and predicate pushdown.
+ *
+ * Items live in insertion-ordered slots. Every indexed {@link SearchField} keeps a sorted
+ * map from normalized key to the sorted list of slots holding that key, so equality,
+ * range and prefix clauses resolve to a slot set without touching the items. When a
+ * {@link Criteria} tree is searched:
+ * - clauses over indexed fields are answered by their index
+ * - AND intersects the slot sets of its indexable clauses
+ * - OR unions its clauses' slot sets, provided every clause is indexable
+ * - whatever cannot be pushed down is evaluated on the resulting candidates only
+ *
+ * Any other {@link Predicate} falls back to a full scan in insertion order.
+ *
+ * Index keys are captured when an item is added or replaced. Callers that mutate an
+ * indexed attribute in place must call {@link #reindex(int)} for the slot, otherwise the
+ * item may be missed by indexed lookups. Instances are not thread-safe.
+ *
+ * @param <T> the type of objects stored and searched
+ */
+public class IndexedSearchable<T> implements Searchable<T> {
+
+    private final List<T> slots = new ArrayList<>();
+    private final Map<SearchField<T>, FieldIndex<T>> indexes = new LinkedHashMap<>();
+    private int size;
+
+    /**
+     * Creates a store with sorted indexes over the given fields
+     * @param indexedFields the fields to index
+     */
+    @SafeVarargs
+    public IndexedSearchable(SearchField<T>... indexedFields) {
+        for (SearchField<T> field : indexedFields) {
+            indexes.put(field, new FieldIndex<>(field));
+        }
+    }
+
+    /**
+     * Appends an item and indexes it
+     * @param item the item to add
+     * @return the slot assigned to the item
+     * @throws IllegalArgumentException if item is null
+     */
+    public int add(T item) {
+        Validator.requireNonNull(item, "Item cannot be null");
+        int slot = slots.size();
+        slots.add(item);
+        for (FieldIndex<T> index : indexes.values()) {
+            index.insert(slot, item);
+        }
+        size++;
+        return slot;
+    }
+
+    /**
+     * Replaces the item held in a slot, keeping its position in iteration order
+     * @param slot the slot to replace
+     * @param item the new item
+     * @throws IllegalArgumentException if item is null or the slot is empty
+     */
+    public void replace(int slot, T item) {
+        Validator.requireNonNull(item, "Item cannot be null");
+        requireOccupied(slot);
+        for (FieldIndex<T> index : indexes.values()) {
+            index.delete(slot);
+            index.insert(slot, item);
+        }
+        slots.set(slot, item);
+    }
+
+    /**
+     * Re-reads the index keys of a slot after its item was mutated in place
+     * @param slot the slot to refresh
+     */
+    public void reindex(int slot) {
+        replace(slot, get(slot));
+    }
+
+    /**
+     * Removes the item held in a slot; the slot is not reused
+     * @param slot the slot to clear
+     */
+    public void remove(int slot) {
+        requireOccupied(slot);
+        for (FieldIndex<T> index : indexes.values()) {
+            index.delete(slot);
+        }
+        slots.set(slot, null);
+        size--;
+    }
+
+    /**
+     * Returns the item held in a slot
+     * @param slot the slot to read
+     * @return the item, or null if the slot is empty or out of range
+     */
+    public T get(int slot) {
+        return slot >= 0 && slot < slots.size() ? slots.get(slot) : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether a field is backed by an index
+     * @param field the field to check
+     * @return true if clauses over the field can be pushed down
+     */
+    public boolean isIndexed(SearchField<T> field) {
+        return indexes.containsKey(field);
+    }
+
+    /**
+     * Returns all items in insertion order
+     * @return new list of the stored items
+     */
+    public List<T> items() {
+        List<T> result = new ArrayList<>(size);
+        for (T item : slots) {
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<T> search(Predicate<T> predicate) {
+        Validator.requireNonNull(predicate, "Predicate cannot be null");
+        SlotList candidates = candidates(predicate);
+        if (candidates == null) {
+            List<T> result = new ArrayList<>();
+            for (T item : slots) {
+                if (item != null && predicate.test(item)) {
+                    result.add(item);
+                }
+            }
+            return result;
+        }
+        List<T> result = new ArrayList<>(candidates.size);
+        for (int i = 0; i < candidates.size; i++) {
+            T item = slots.get(candidates.slots[i]);
+            if (predicate.test(item)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the first slot, in insertion order, whose item matches the predicate
+     * @param predicate the condition to match
+     * @return the slot, or -1 if nothing matches
+     * @throws IllegalArgumentException if predicate is null
+     */
+    public int findSlot(Predicate<T> predicate) {
+        Validator.requireNonNull(predicate, "Predicate cannot be null");
+        SlotList candidates = candidates(predicate);
+        if (candidates == null) {
+            for (int slot = 0; slot < slots.size(); slot++) {
+                T item = slots.get(slot);
+                if (item != null && predicate.test(item)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+        for (int i = 0; i < candidates.size; i++) {
+            int slot = candidates.slots[i];
+            if (predicate.test(slots.get(slot))) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first item matching the predicate
+     * @param predicate the condition to match
+     * @return the item, or null if nothing matches
+     */
+    public T findFirst(Predicate<T> predicate) {
+        int slot = findSlot(predicate);
+        return slot < 0 ? null : slots.get(slot);
+    }
+
+    /**
+     * Resolves the pushdown-able part of a predicate to a superset of the matching slots
+     * @return candidate slots (a fresh, caller-owned list), or null if a full scan is needed
+     */
+    private SlotList candidates(Predicate<T> predicate) {
+        if (predicate instanceof Criteria.Eq) {
+            Criteria.Eq<T> eq = (Criteria.Eq<T>) predicate;
+            FieldIndex<T> index = indexes.get(eq.field);
+            return index == null ? null : index.equalTo(eq.value);
+        }
+        if (predicate instanceof Criteria.Range) {
+            Criteria.Range<T> range = (Criteria.Range<T>) predicate;
+            FieldIndex<T> index = indexes.get(range.field);
+            return index == null ? null : index.between(range.min, range.max);
+        }
+        if (predicate instanceof Criteria.Prefix) {
+            Criteria.Prefix<T> prefix = (Criteria.Prefix<T>) predicate;
+            FieldIndex<T> index = indexes.get(prefix.field);
+            return index == null ? null : index.startingWith(prefix.prefix);
+        }
+        if (predicate instanceof Criteria.And) {
+            SlotList result = null;
+            for (Criteria<T> clause : ((Criteria.And<T>) predicate).clauses) {
+                SlotList clauseSlots = candidates(clause);
+                if (clauseSlots == null) {
+                    continue;
+                }
+                result = result == null ? clauseSlots : SlotList.intersect(result, clauseSlots);
+                if (result.size == 0) {
+                    break;
+                }
+            }
+            return result;
+        }
+        if (predicate instanceof Criteria.Or) {
+            List<SlotList> parts = new ArrayList<>();
+            for (Criteria<T> clause : ((Criteria.Or<T>) predicate).clauses) {
+                SlotList clauseSlots = candidates(clause);
+                if (clauseSlots == null) {
+                    return null;
+                }
+                parts.add(clauseSlots);
+            }
+            return SlotList.union(parts);
+        }
+        return null;
+    }
+
+    private void requireOccupied(int slot) {
+        if (get(slot) == null) {
+            throw new IllegalArgumentException("No item stored in slot " + slot);
+        }
+    }
+
+    /**
+     * Sorted index over one field: normalized key to the slots holding it
+     */
+    private static final class FieldIndex<T> {
+        private final SearchField<T> field;
+        private final TreeMap<Comparable<Object>, SlotList> tree = new TreeMap<>();
+        private final List<Comparable<Object>> keyBySlot = new ArrayList<>();
+
+        FieldIndex(SearchField<T> field) {
+            this.field = field;
+        }
+
+        void insert(int slot, T item) {
+            Comparable<Object> key = field.keyOf(item);
+            while (keyBySlot.size() <= slot) {
+                keyBySlot.add(null);
+            }
+            keyBySlot.set(slot, key);
+            if (key != null) {
+                tree.computeIfAbsent(key, k -> new SlotList(1)).insert(slot);
+            }
+        }
+
+        void delete(int slot) {
+            Comparable<Object> key = keyBySlot.get(slot);
+            keyBySlot.set(slot, null);
+            if (key == null) {
+                return;
+            }
+            SlotList list = tree.get(key);
+            list.delete(slot);
+            if (list.size == 0) {
+                tree.remove(key);
+            }
+        }
+
+        SlotList equalTo(Comparable<Object> key) {
+            SlotList list = tree.get(key);
+            return list == null ? new SlotList(0) : list.copy();
+        }
+
+        SlotList between(Comparable<Object> min, Comparable<Object> max) {
+            NavigableMap<Comparable<Object>, SlotList> range;
+            if (min != null && max != null) {
+                if (min.compareTo(max) > 0) {
+                    return new SlotList(0);
+                }
+                range = tree.subMap(min, true, max, true);
+            } else if (min != null) {
+                range = tree.tailMap(min, true);
+            } else if (max != null) {
+                range = tree.headMap(max, true);
+            } else {
+                range = tree;
+            }
+            return SlotList.union(range.values());
+        }
+
+        @SuppressWarnings("unchecked")
+        SlotList startingWith(String prefix) {
+            List<SlotList> matches = new ArrayList<>();
+            for (Map.Entry<Comparable<Object>, SlotList> entry
+                    : tree.tailMap((Comparable<Object>) (Object) prefix, true).entrySet()) {
+                Object key = entry.getKey();
+                if (!(key instanceof String) || !((String) key).startsWith(prefix)) {
+                    break;
+                }
+                matches.add(entry.getValue());
+            }
+            return SlotList.union(matches);
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free list of slots backed by a primitive array.
+     * Sized to its contents, so unique keys cost a few bytes rather than a bitmap.
+     */
+    private static final class SlotList {
+        int[] slots;
+        int size;
+
+        SlotList(int capacity) {
+            slots = new int[capacity];
+        }
+
+        void insert(int slot) {
+            int at = size == 0 || slots[size - 1] < slot ? size : Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0 && at < size) {
+                return;
+            }
+            at = at < 0 ? -at - 1 : at;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(4, size * 2));
+            }
+            System.arraycopy(slots, at, slots, at + 1, size - at);
+            slots[at] = slot;
+            size++;
+        }
+
+        void delete(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) {
+                System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+                size--;
+            }
+        }
+
+        SlotList copy() {
+            SlotList copy = new SlotList(0);
+            copy.slots = Arrays.copyOf(slots, size);
+            copy.size = size;
+            return copy;
+        }
+
+        static SlotList intersect(SlotList a, SlotList b) {
+            SlotList result = new SlotList(Math.min(a.size, b.size));
+            int i = 0;
+            int j = 0;
+            while (i < a.size && j < b.size) {
+                if (a.slots[i] < b.slots[j]) {
+                    i++;
+                } else if (a.slots[i] > b.slots[j]) {
+                    j++;
+                } else {
+                    result.slots[result.size++] = a.slots[i];
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        static SlotList union(Collection<SlotList> lists) {
+            int total = 0;
+            for (SlotList list : lists) {
+                total += list.size;
+            }
+            SlotList result = new SlotList(total);
+            for (SlotList list : lists) {
+                System.arraycopy(list.slots, 0, result.slots, result.size, list.size);
+                result.size += list.size;
+            }
+            if (lists.size() > 1) {
+                Arrays.sort(result.slots, 0, result.size);
+                int distinct = 0;
+                for (int i = 0; i < result.size; i++) {
+                    if (distinct == 0 || result.slots[distinct - 1] != result.slots[i]) {
+                        result.slots[distinct++] = result.slots[i];
+                    }
+                }
+                result.size = distinct;
+            }
+            return result;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IndexedSearchable[size=%d, indexes=%s]", size, indexes.keySet());
+    }
+}
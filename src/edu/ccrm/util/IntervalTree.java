@@ -0,0 +1,225 @@
+package edu.ccrm.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set of half-open int intervals {@code [start, end)}, each carrying a value, that answers
+ * "does anything overlap this interval" in O(log n).
+ *
+ * The tree is a treap ordered by start (then end) in which every node also records the
+ * largest end in its subtree. An overlap search walks a single root-to-leaf path: if the
+ * left subtree reaches past the query start, any overlap that exists has a candidate on
+ * the left; otherwise only the right subtree can hold one. Random priorities keep the
+ * expected depth logarithmic regardless of insertion order, which matters because
+ * schedules are usually built in time order.
+ *
+ * Duplicate intervals are allowed. Instances are not thread-safe.
+ *
+ * @param <V> the value type
+ */
+public final class IntervalTree<V> {
+
+    private Node<V> root;
+    private int size;
+    private long seed = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Adds an interval
+     * @param start inclusive start
+     * @param end exclusive end, greater than start
+     * @param value the value stored with it
+     * @throws IllegalArgumentException if the interval is empty
+     */
+    public void insert(int start, int end, V value) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval end must be greater than its start: [" + start + ", " + end + ")");
+        }
+        root = insert(root, new Node<>(start, end, value, nextPriority()));
+        size++;
+    }
+
+    /**
+     * Removes one interval with exactly these bounds and this value, if present
+     * @param start inclusive start
+     * @param end exclusive end
+     * @param value the value it was stored with, compared with equals
+     * @return true if an interval was removed
+     */
+    public boolean remove(int start, int end, V value) {
+        int before = size;
+        root = remove(root, start, end, value);
+        return size < before;
+    }
+
+    /**
+     * Finds the value of some interval overlapping {@code [start, end)}
+     * @param start inclusive start
+     * @param end exclusive end
+     * @return the value of an overlapping interval, or null if there is none
+     */
+    public V findAnyOverlap(int start, int end) {
+        Node<V> node = root;
+        while (node != null) {
+            if (node.start < end && start < node.end) {
+                return node.value;
+            }
+            // If the left subtree reaches past start but holds no overlap, every interval
+            // in it starts at or after end, and so does everything to the right
+            node = node.left != null && node.left.maxEnd > start ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Collects the values of every interval overlapping {@code [start, end)}, in start order
+     * @param start inclusive start
+     * @param end exclusive end
+     * @return the overlapping values
+     */
+    public List<V> findOverlaps(int start, int end) {
+        List<V> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void collect(Node<V> node, int start, int end, List<V> result) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, result);
+        if (node.start < end) {
+            if (start < node.end) {
+                result.add(node.value);
+            }
+            collect(node.right, start, end, result);
+        }
+    }
+
+    private Node<V> insert(Node<V> node, Node<V> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.end, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<V> remove(Node<V> node, int start, int end, V value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, end, node);
+        if (cmp == 0 && (value == null ? node.value == null : value.equals(node.value))) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        // Rotations can leave equal keys on either side, so look right only if left had no match
+        int before = size;
+        if (cmp <= 0) {
+            node.left = remove(node.left, start, end, value);
+        }
+        if (cmp >= 0 && size == before) {
+            node.right = remove(node.right, start, end, value);
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<V> merge(Node<V> left, Node<V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static <V> Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        return pivot;
+    }
+
+    private static <V> Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        return pivot;
+    }
+
+    private static int compare(int start, int end, Node<?> node) {
+        return start != node.start ? Integer.compare(start, node.start) : Integer.compare(end, node.end);
+    }
+
+    // xorshift64; priorities only need to be independent of the keys
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) (seed >>> 32);
+    }
+
+    private static final class Node<V> {
+        final int start;
+        final int end;
+        final V value;
+        final int priority;
+        int maxEnd;
+        Node<V> left;
+        Node<V> right;
+
+        Node(int start, int end, V value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            int max = end;
+            if (left != null && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IntervalTree[size=%d]", size);
+    }
+}
@@ -0,0 +1,348 @@
+package edu.ccrm.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Incrementally maintained in-memory inverted index with BM25 ranking.
+ *
+ * Each document is a key plus a fixed number of text fields; a term occurring in
+ * field {@code i} contributes {@code fieldWeights[i]} to its term frequency, so
+ * matches in heavier fields (e.g. a course code) rank above matches in lighter ones.
+ *
+ * Query terms are matched exactly and as prefixes of indexed terms, so "data"
+ * finds both "data" and "database"; prefix expansions score slightly below exact
+ * hits. Postings are primitive arrays in document order. Replaced or removed
+ * documents are tombstoned and the postings are compacted once tombstones
+ * outnumber live documents, so updates stay amortized O(document size).
+ *
+ * Instances are not thread-safe.
+ *
+ * @param <K> the type of document keys
+ */
+public class InvertedIndex<K> {
+
+    // Standard BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final double PREFIX_WEIGHT = 0.7;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 1024;
+
+    private final double[] fieldWeights;
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<K, Integer> docByKey = new HashMap<>();
+    private final List<K> keyByDoc = new ArrayList<>();
+    private final List<String[]> termsByDoc = new ArrayList<>();
+    private double[] docLength = new double[16];
+    private double totalLength;
+    private int liveDocs;
+    private int deadDocs;
+
+    /**
+     * Creates an index whose documents have one text field per weight
+     * @param fieldWeights the weight of each field, in the order passed to {@link #put}
+     */
+    public InvertedIndex(double... fieldWeights) {
+        if (fieldWeights.length == 0) {
+            throw new IllegalArgumentException("At least one field weight is required");
+        }
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    /**
+     * Indexes a document, replacing any previous document with the same key
+     * @param key the document key
+     * @param fields the document's text fields; null fields are skipped
+     * @throws IllegalArgumentException if key is null or the field count does not match the weights
+     */
+    public void put(K key, String... fields) {
+        Validator.requireNonNull(key, "Document key cannot be null");
+        if (fields.length != fieldWeights.length) {
+            throw new IllegalArgumentException(
+                String.format("Expected %d fields but got %d", fieldWeights.length, fields.length));
+        }
+        remove(key);
+
+        Map<String, Double> frequencies = new HashMap<>();
+        double length = 0;
+        for (int i = 0; i < fields.length; i++) {
+            for (String token : tokenize(fields[i])) {
+                frequencies.merge(token, fieldWeights[i], Double::sum);
+                length += fieldWeights[i];
+            }
+        }
+
+        int doc = keyByDoc.size();
+        keyByDoc.add(key);
+        termsByDoc.add(frequencies.keySet().toArray(new String[0]));
+        docByKey.put(key, doc);
+        if (doc == docLength.length) {
+            docLength = Arrays.copyOf(docLength, doc * 2);
+        }
+        docLength[doc] = length;
+        totalLength += length;
+        liveDocs++;
+        frequencies.forEach((term, tf) -> terms.computeIfAbsent(term, t -> new Postings()).add(doc, tf.floatValue()));
+    }
+
+    /**
+     * Removes a document from the index
+     * @param key the document key
+     */
+    public void remove(K key) {
+        Integer doc = docByKey.remove(key);
+        if (doc == null) {
+            return;
+        }
+        for (String term : termsByDoc.get(doc)) {
+            Postings postings = terms.get(term);
+            if (--postings.live == 0) {
+                terms.remove(term);
+            }
+        }
+        keyByDoc.set(doc, null);
+        termsByDoc.set(doc, null);
+        totalLength -= docLength[doc];
+        docLength[doc] = -1; // tombstone
+        liveDocs--;
+        deadDocs++;
+        if (deadDocs >= MIN_TOMBSTONES_FOR_COMPACTION && deadDocs > liveDocs) {
+            compact();
+        }
+    }
+
+    public int size() {
+        return liveDocs;
+    }
+
+    /**
+     * Searches the index for documents matching any of the query's terms
+     * @param query free-text query
+     * @param limit the maximum number of results
+     * @return matching keys, best first; empty if the query has no terms
+     */
+    public List<K> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty() || liveDocs == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        Accumulator acc = new Accumulator(keyByDoc.size());
+        double avgLength = totalLength / liveDocs;
+        for (String queryTerm : new LinkedHashSet<>(queryTerms)) {
+            Postings exact = terms.get(queryTerm);
+            if (exact != null) {
+                accumulate(exact, 1.0, avgLength, acc);
+            }
+            int expansions = 0;
+            for (Map.Entry<String, Postings> entry : terms.tailMap(queryTerm, false).entrySet()) {
+                if (!entry.getKey().startsWith(queryTerm) || ++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                accumulate(entry.getValue(), PREFIX_WEIGHT, avgLength, acc);
+            }
+        }
+
+        int[] best = acc.top(limit);
+        List<K> result = new ArrayList<>(best.length);
+        for (int doc : best) {
+            result.add(keyByDoc.get(doc));
+        }
+        return result;
+    }
+
+    private void accumulate(Postings postings, double weight, double avgLength, Accumulator acc) {
+        double idf = Math.log(1 + (liveDocs - postings.live + 0.5) / (postings.live + 0.5));
+        for (int i = 0; i < postings.size; i++) {
+            int doc = postings.docs[i];
+            if (docLength[doc] < 0) {
+                continue;
+            }
+            double tf = postings.frequencies[i];
+            double norm = tf * (K1 + 1) / (tf + K1 * (1 - B + B * docLength[doc] / avgLength));
+            acc.add(doc, (float) (weight * idf * norm));
+        }
+    }
+
+    /**
+     * Drops tombstoned documents and renumbers the survivors, preserving their order
+     */
+    private void compact() {
+        int[] remap = new int[keyByDoc.size()];
+        List<K> keys = new ArrayList<>(liveDocs);
+        List<String[]> docTerms = new ArrayList<>(liveDocs);
+        double[] lengths = new double[Math.max(16, liveDocs)];
+        for (int doc = 0; doc < keyByDoc.size(); doc++) {
+            K key = keyByDoc.get(doc);
+            if (key == null) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = keys.size();
+            lengths[keys.size()] = docLength[doc];
+            docByKey.put(key, keys.size());
+            keys.add(key);
+            docTerms.add(termsByDoc.get(doc));
+        }
+        for (Postings postings : terms.values()) {
+            postings.remap(remap);
+        }
+        keyByDoc.clear();
+        keyByDoc.addAll(keys);
+        termsByDoc.clear();
+        termsByDoc.addAll(docTerms);
+        docLength = lengths;
+        deadDocs = 0;
+    }
+
+    /**
+     * Splits text into lower-case runs of letters and digits
+     * @param text the text to tokenize, may be null
+     * @return the tokens in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Per-query score array plus the list of documents that received a score
+     */
+    private static final class Accumulator {
+        final float[] scores;
+        int[] touched = new int[16];
+        int count;
+
+        Accumulator(int docCount) {
+            this.scores = new float[docCount];
+        }
+
+        void add(int doc, float score) {
+            if (scores[doc] == 0f) {
+                if (count == touched.length) {
+                    touched = Arrays.copyOf(touched, count * 2);
+                }
+                touched[count++] = doc;
+            }
+            scores[doc] += score;
+        }
+
+        /**
+         * Selects the highest-scoring documents with a primitive min-heap
+         * @return up to {@code limit} documents, best first; ties go to the older document
+         */
+        int[] top(int limit) {
+            int[] heap = new int[Math.min(limit, count)];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                int doc = touched[i];
+                if (size < heap.length) {
+                    heap[size] = doc;
+                    siftUp(heap, size++);
+                } else if (ranksAbove(doc, heap[0])) {
+                    heap[0] = doc;
+                    siftDown(heap, size);
+                }
+            }
+            int[] ranked = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                ranked[i] = heap[0];
+                heap[0] = heap[i];
+                siftDown(heap, i);
+            }
+            return ranked;
+        }
+
+        private boolean ranksAbove(int a, int b) {
+            return scores[a] != scores[b] ? scores[a] > scores[b] : a < b;
+        }
+
+        private void siftUp(int[] heap, int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!ranksAbove(heap[parent], heap[i])) {
+                    break;
+                }
+                swap(heap, parent, i);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int i = 0;
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    break;
+                }
+                int lowest = left + 1 < size && ranksAbove(heap[left], heap[left + 1]) ? left + 1 : left;
+                if (!ranksAbove(heap[i], heap[lowest])) {
+                    break;
+                }
+                swap(heap, i, lowest);
+                i = lowest;
+            }
+        }
+
+        private static void swap(int[] heap, int i, int j) {
+            int tmp = heap[i];
+            heap[i] = heap[j];
+            heap[j] = tmp;
+        }
+    }
+
+    /**
+     * Document ids and weighted term frequencies for one term, in ascending document order
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] frequencies = new float[4];
+        int size;
+        int live;
+
+        void add(int doc, float frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+            live++;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
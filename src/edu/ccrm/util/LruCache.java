@@ -0,0 +1,64 @@
+package edu.ccrm.util;
+
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * Small thread-safe least-recently-used cache. The capacity is read on every insertion,
+ * so it can follow a setting that changes at runtime; a capacity of 0 disables caching.
+ */
+public final class LruCache<K, V> {
+    private final IntSupplier capacity;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Bumped by clear(), so a value computed before a clear is not cached after it
+    private long generation;
+
+    public LruCache(IntSupplier capacity) {
+        Validator.requireNonNull(capacity, "Capacity cannot be null");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the cached value, computing and caching it on a miss. The computation runs
+     * outside the lock, so concurrent misses on one key may each compute it.
+     */
+    public V get(K key, Function<K, V> compute) {
+        long seen;
+        synchronized (entries) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            seen = generation;
+        }
+        V value = compute.apply(key);
+        int limit = capacity.getAsInt();
+        if (limit > 0 && value != null) {
+            synchronized (entries) {
+                if (seen != generation) {
+                    return value;
+                }
+                entries.put(key, value);
+                for (var eldest = entries.entrySet().iterator(); entries.size() > limit; ) {
+                    eldest.next();
+                    eldest.remove();
+                }
+            }
+        }
+        return value;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
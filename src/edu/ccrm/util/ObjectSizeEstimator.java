@@ -0,0 +1,569 @@
+package edu.ccrm.util;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.Buffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Estimates the heap retained by an object graph by walking it, without a heap dump.
+ *
+ * Sizes follow the running JVM's layout: header size, compressed references and object
+ * alignment are read from HotSpot, falling back to the 64-bit defaults. Application classes
+ * are walked field by field. JDK classes cannot be opened reflectively on Java 17, so strings,
+ * collections, maps, atomic arrays and buffers are costed from their length or element count
+ * and walked through their public API, and any other JDK object counts only its own fields.
+ * Spare capacity in growable lists is therefore not included.
+ *
+ * Static fields, enum constants and classes are shared and never counted, and a walk does not
+ * enter objects the boundary predicate accepts. Direct buffers are reported separately as
+ * off-heap bytes. A walk keeps every object it has seen in a scratch set (about 8 bytes each),
+ * so it is meant for on-demand reports. Instances are thread-safe; a graph that changes during
+ * a walk gives an approximate answer.
+ */
+public final class ObjectSizeEstimator {
+
+    private static final int HEADER_BYTES;
+    private static final int REFERENCE_BYTES;
+    private static final int ALIGNMENT;
+    private static final int ARRAY_BASE;
+    private static final int ARRAY_BASE_WIDE;
+
+    static {
+        boolean compressedOops = true;
+        boolean compressedClassPointers = true;
+        int alignment = 8;
+        try {
+            HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            compressedOops = Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue());
+            compressedClassPointers = Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedClassPointers").getValue());
+            alignment = Integer.parseInt(hotSpot.getVMOption("ObjectAlignmentInBytes").getValue());
+        } catch (RuntimeException | LinkageError e) {
+            // not HotSpot: keep the 64-bit defaults
+        }
+        HEADER_BYTES = compressedClassPointers ? 12 : 16;
+        REFERENCE_BYTES = compressedOops ? 4 : 8;
+        ALIGNMENT = alignment;
+        // The length follows the header; without compressed class pointers elements start 8-aligned
+        ARRAY_BASE = compressedClassPointers ? HEADER_BYTES + 4 : align(HEADER_BYTES + 4, 8);
+        ARRAY_BASE_WIDE = align(HEADER_BYTES + 4, 8);
+    }
+
+    // Values of static fields seen in walked application classes: shared, so never counted
+    private static final Set<Object> CONSTANTS = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+    private static final ClassValue<ClassInfo> CLASS_INFO = new ClassValue<>() {
+        @Override
+        protected ClassInfo computeValue(Class<?> type) {
+            return ClassInfo.of(type);
+        }
+    };
+
+    private final Predicate<Object> boundary;
+
+    /**
+     * @param boundary objects a walk counts but does not enter, tested once per object; the
+     *                 root of a walk is always entered
+     */
+    public ObjectSizeEstimator(Predicate<Object> boundary) {
+        Validator.requireNonNull(boundary, "Boundary cannot be null");
+        this.boundary = boundary;
+    }
+
+    /**
+     * Returns the size of an object alone, without anything it references
+     * @param value the object
+     * @return bytes, or 0 for null
+     */
+    public static long shallowSizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            return arraySize(type.getComponentType(), Array.getLength(value));
+        }
+        return CLASS_INFO.get(type).shallowBytes;
+    }
+
+    /**
+     * Estimates the heap retained by an object and everything reachable from it, stopping at
+     * the boundary
+     * @param root the object to measure
+     * @return the footprint, empty for null
+     */
+    public Footprint measure(Object root) {
+        Walk walk = new Walk(root);
+        if (root != null) {
+            walk.push(root);
+        }
+        while (!walk.stack.isEmpty()) {
+            walk.visit(walk.stack.pop());
+        }
+        return walk.footprint;
+    }
+
+    /**
+     * Bytes retained by one walk, by kind of object
+     */
+    public static final class Footprint {
+        private long objects;
+        private long stringBytes;
+        private long collectionBytes;
+        private long otherBytes;
+        private long offHeapBytes;
+        private long boundaryObjects;
+        private boolean approximate;
+
+        /** @return heap bytes, excluding off-heap memory */
+        public long getBytes() { return stringBytes + collectionBytes + otherBytes; }
+        /** @return strings and their character arrays */
+        public long getStringBytes() { return stringBytes; }
+        /** @return arrays, collections and maps, including their internal nodes */
+        public long getCollectionBytes() { return collectionBytes; }
+        /** @return all other objects */
+        public long getOtherBytes() { return otherBytes; }
+        /** @return capacity of the direct buffers reached */
+        public long getOffHeapBytes() { return offHeapBytes; }
+        /** @return objects walked, counting the internal nodes of JDK collections as one */
+        public long getObjects() { return objects; }
+        /** @return distinct objects reached at the boundary */
+        public long getBoundaryObjects() { return boundaryObjects; }
+        /** @return true if a collection changed while it was being walked */
+        public boolean isApproximate() { return approximate; }
+
+        @Override
+        public String toString() {
+            return String.format("Footprint[bytes=%d, strings=%d, collections=%d, other=%d, offHeap=%d, objects=%d]",
+                getBytes(), stringBytes, collectionBytes, otherBytes, offHeapBytes, objects);
+        }
+    }
+
+    private final class Walk {
+        final Object root;
+        final Footprint footprint = new Footprint();
+        final Deque<Object> stack = new ArrayDeque<>();
+        final IdentitySet visited = new IdentitySet();
+
+        Walk(Object root) {
+            this.root = root;
+        }
+
+        void push(Object value) {
+            if (value == null || !visited.add(value)) {
+                return;
+            }
+            if (value != root) {
+                if (CLASS_INFO.get(value.getClass()).kind == Kind.SHARED || CONSTANTS.contains(value)) {
+                    return;
+                }
+                if (boundary.test(value)) {
+                    footprint.boundaryObjects++;
+                    return;
+                }
+            }
+            stack.push(value);
+        }
+
+        void visit(Object value) {
+            Class<?> type = value.getClass();
+            footprint.objects++;
+            if (type.isArray()) {
+                visitArray(value, type.getComponentType());
+                return;
+            }
+            ClassInfo info = CLASS_INFO.get(type);
+            switch (info.kind) {
+                case STRING:
+                    footprint.stringBytes += info.shallowBytes + stringArraySize((String) value);
+                    break;
+                case MAP:
+                    visitMap((Map<?, ?>) value, info);
+                    break;
+                case COLLECTION:
+                    visitCollection((Collection<?>) value, info);
+                    break;
+                case BUFFER:
+                    footprint.otherBytes += info.shallowBytes;
+                    Buffer buffer = (Buffer) value;
+                    if (buffer.isDirect()) {
+                        footprint.offHeapBytes += buffer.capacity();
+                    } else {
+                        footprint.collectionBytes += arraySize(byte.class, buffer.capacity());
+                    }
+                    break;
+                case ATOMIC_ARRAY:
+                    visitAtomicArray(value, info);
+                    break;
+                case BIT_SET:
+                    footprint.collectionBytes += info.shallowBytes + arraySize(long.class, ((BitSet) value).size() / 64);
+                    break;
+                case ATOMIC_REFERENCE:
+                    footprint.otherBytes += info.shallowBytes;
+                    push(((AtomicReference<?>) value).get());
+                    break;
+                case FIELDS:
+                    footprint.otherBytes += info.shallowBytes;
+                    for (Field field : info.references) {
+                        push(read(field, value));
+                    }
+                    break;
+                default:
+                    footprint.otherBytes += info.shallowBytes;
+            }
+        }
+
+        private void visitArray(Object array, Class<?> component) {
+            int length = Array.getLength(array);
+            footprint.collectionBytes += arraySize(component, length);
+            if (!component.isPrimitive()) {
+                Object[] elements = (Object[]) array;
+                for (int i = 0; i < length; i++) {
+                    push(elements[i]);
+                }
+            }
+        }
+
+        private void visitMap(Map<?, ?> map, ClassInfo info) {
+            footprint.collectionBytes += info.shallowBytes;
+            try {
+                int size = map.size();
+                footprint.collectionBytes += mapOverhead(map, size);
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    push(entry.getKey());
+                    push(entry.getValue());
+                }
+            } catch (ConcurrentModificationException | NoSuchElementException e) {
+                footprint.approximate = true;
+            }
+        }
+
+        private void visitCollection(Collection<?> collection, ClassInfo info) {
+            footprint.collectionBytes += info.shallowBytes;
+            try {
+                int size = collection.size();
+                footprint.collectionBytes += collectionOverhead(collection, size);
+                for (Object element : collection) {
+                    push(element);
+                }
+            } catch (ConcurrentModificationException | NoSuchElementException e) {
+                footprint.approximate = true;
+            }
+        }
+
+        private void visitAtomicArray(Object value, ClassInfo info) {
+            footprint.collectionBytes += info.shallowBytes;
+            if (value instanceof AtomicIntegerArray) {
+                footprint.collectionBytes += arraySize(int.class, ((AtomicIntegerArray) value).length());
+            } else if (value instanceof AtomicLongArray) {
+                footprint.collectionBytes += arraySize(long.class, ((AtomicLongArray) value).length());
+            } else {
+                AtomicReferenceArray<?> references = (AtomicReferenceArray<?>) value;
+                footprint.collectionBytes += arraySize(Object.class, references.length());
+                for (int i = 0; i < references.length(); i++) {
+                    push(references.get(i));
+                }
+            }
+        }
+
+        private Object read(Field field, Object owner) {
+            try {
+                return field.get(owner);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+    }
+
+    private static long mapOverhead(Map<?, ?> map, int size) {
+        if (size == 0 && isSharedEmpty(map.getClass())) {
+            return 0;
+        }
+        if (map instanceof LinkedHashMap) {
+            return hashTable(size) + size * NodeSize.LINKED_HASH_MAP;
+        } else if (map instanceof ConcurrentHashMap) {
+            return hashTable(size) + size * NodeSize.CONCURRENT_HASH_MAP;
+        } else if (map instanceof HashMap) {
+            return hashTable(size) + size * NodeSize.HASH_MAP;
+        } else if (map instanceof Hashtable || map instanceof WeakHashMap) {
+            return hashTable(size) + size * NodeSize.HASHTABLE;
+        } else if (map instanceof TreeMap) {
+            return size * NodeSize.TREE_MAP;
+        } else if (map instanceof ConcurrentSkipListMap) {
+            // one node per entry and an index node for about every fourth
+            return size * NodeSize.SKIP_LIST + size / 4 * NodeSize.SKIP_LIST_INDEX;
+        } else if (map instanceof IdentityHashMap) {
+            return arraySize(Object.class, 2 * (size == 0 ? 32 : tableSizeFor(size * 3 / 2 + 1)));
+        }
+        return arraySize(Object.class, 2 * size);
+    }
+
+    private static long collectionOverhead(Collection<?> collection, int size) {
+        Class<?> type = collection.getClass();
+        if (size == 0 && isSharedEmpty(type)) {
+            return 0;
+        }
+        String name = type.getName();
+        if (collection instanceof LinkedHashSet) {
+            return NodeSize.LINKED_HASH_MAP_OBJECT + hashTable(size) + size * NodeSize.LINKED_HASH_MAP;
+        } else if (collection instanceof HashSet || name.equals("java.util.Collections$SetFromMap")) {
+            return NodeSize.HASH_MAP_OBJECT + hashTable(size) + size * NodeSize.HASH_MAP;
+        } else if (name.equals("java.util.concurrent.ConcurrentHashMap$KeySetView")) {
+            return NodeSize.CONCURRENT_HASH_MAP_OBJECT + hashTable(size) + size * NodeSize.CONCURRENT_HASH_MAP;
+        } else if (collection instanceof TreeSet) {
+            return NodeSize.TREE_MAP_OBJECT + size * NodeSize.TREE_MAP;
+        } else if (collection instanceof ConcurrentSkipListSet) {
+            return size * NodeSize.SKIP_LIST + size / 4 * NodeSize.SKIP_LIST_INDEX;
+        } else if (collection instanceof LinkedList) {
+            return size * NodeSize.LINKED_LIST;
+        } else if (collection instanceof ConcurrentLinkedQueue || collection instanceof ConcurrentLinkedDeque) {
+            return size * NodeSize.CONCURRENT_LINKED;
+        } else if (name.endsWith("$List12") || name.endsWith("$Set12")) {
+            return 0;
+        } else if (name.equals("java.util.ImmutableCollections$SetN")) {
+            return arraySize(Object.class, 2 * size);
+        }
+        // Array-backed, costed at its element count
+        return arraySize(Object.class, size);
+    }
+
+    private static boolean isSharedEmpty(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.util.ImmutableCollections$") || name.startsWith("java.util.Collections$Empty");
+    }
+
+    private static long hashTable(int size) {
+        if (size == 0) {
+            return 0;
+        }
+        // Tables double once they are three quarters full
+        return arraySize(Object.class, tableSizeFor(Math.max(16, (int) Math.ceil(size / 0.75))));
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Integer.highestOneBit(Math.max(1, capacity));
+        return n == capacity ? n : n << 1;
+    }
+
+    private static long stringArraySize(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) > 0xFF) {
+                return arraySize(char.class, length);
+            }
+        }
+        return arraySize(byte.class, length);
+    }
+
+    private static long arraySize(Class<?> component, int length) {
+        int elementBytes = component.isPrimitive() ? primitiveBytes(component) : REFERENCE_BYTES;
+        return align((elementBytes == 8 ? ARRAY_BASE_WIDE : ARRAY_BASE) + (long) elementBytes * length, ALIGNMENT);
+    }
+
+    private static int primitiveBytes(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long bytes, int alignment) {
+        return (bytes + alignment - 1) / alignment * alignment;
+    }
+
+    private static int align(int bytes, int alignment) {
+        return (bytes + alignment - 1) / alignment * alignment;
+    }
+
+    private enum Kind { SHARED, STRING, MAP, COLLECTION, BUFFER, ATOMIC_ARRAY, BIT_SET, ATOMIC_REFERENCE, FIELDS, OPAQUE }
+
+    private static final class ClassInfo {
+        final Kind kind;
+        final long shallowBytes;
+        final Field[] references;
+
+        private ClassInfo(Kind kind, long shallowBytes, Field[] references) {
+            this.kind = kind;
+            this.shallowBytes = shallowBytes;
+            this.references = references;
+        }
+
+        static ClassInfo of(Class<?> type) {
+            long shallow = shallowBytes(type);
+            if (type == String.class) {
+                return new ClassInfo(Kind.STRING, shallow, null);
+            }
+            if (Class.class == type || Enum.class.isAssignableFrom(type) || ClassLoader.class.isAssignableFrom(type)
+                || Thread.class.isAssignableFrom(type) || Module.class == type) {
+                return new ClassInfo(Kind.SHARED, 0, null);
+            }
+            if (!isOpen(type)) {
+                return new ClassInfo(jdkKind(type), shallow, null);
+            }
+            List<Field> references = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                if (!isOpen(c)) {
+                    continue;
+                }
+                for (Field field : c.getDeclaredFields()) {
+                    if (field.getType().isPrimitive() || !field.trySetAccessible()) {
+                        continue;
+                    }
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        rememberConstant(field);
+                    } else {
+                        references.add(field);
+                    }
+                }
+            }
+            return new ClassInfo(Kind.FIELDS, shallow, references.toArray(new Field[0]));
+        }
+
+        private static Kind jdkKind(Class<?> type) {
+            if (Map.class.isAssignableFrom(type)) {
+                return Kind.MAP;
+            } else if (Collection.class.isAssignableFrom(type)) {
+                return Kind.COLLECTION;
+            } else if (Buffer.class.isAssignableFrom(type)) {
+                return Kind.BUFFER;
+            } else if (type == AtomicIntegerArray.class || type == AtomicLongArray.class || type == AtomicReferenceArray.class) {
+                return Kind.ATOMIC_ARRAY;
+            } else if (type == BitSet.class) {
+                return Kind.BIT_SET;
+            } else if (type == AtomicReference.class) {
+                return Kind.ATOMIC_REFERENCE;
+            }
+            return Kind.OPAQUE;
+        }
+
+        private static boolean isOpen(Class<?> type) {
+            return type.getModule().isOpen(type.getPackageName(), ObjectSizeEstimator.class.getModule());
+        }
+
+        private static void rememberConstant(Field field) {
+            try {
+                Object value = field.get(null);
+                if (value != null) {
+                    CONSTANTS.add(value);
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                // not readable, so it cannot be reached through this class either
+            }
+        }
+    }
+
+    static long shallowBytes(Class<?> type) {
+        long bytes = HEADER_BYTES;
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    bytes += field.getType().isPrimitive() ? primitiveBytes(field.getType()) : REFERENCE_BYTES;
+                }
+            }
+        }
+        return align(bytes, ALIGNMENT);
+    }
+
+    // Per-entry node sizes of the JDK collections, read from their declared fields
+    private static final class NodeSize {
+        static final long HASH_MAP = nodeBytes("java.util.HashMap$Node");
+        static final long LINKED_HASH_MAP = nodeBytes("java.util.LinkedHashMap$Entry");
+        static final long CONCURRENT_HASH_MAP = nodeBytes("java.util.concurrent.ConcurrentHashMap$Node");
+        static final long HASHTABLE = nodeBytes("java.util.Hashtable$Entry");
+        static final long TREE_MAP = nodeBytes("java.util.TreeMap$Entry");
+        static final long SKIP_LIST = nodeBytes("java.util.concurrent.ConcurrentSkipListMap$Node");
+        static final long SKIP_LIST_INDEX = nodeBytes("java.util.concurrent.ConcurrentSkipListMap$Index");
+        static final long LINKED_LIST = nodeBytes("java.util.LinkedList$Node");
+        static final long CONCURRENT_LINKED = nodeBytes("java.util.concurrent.ConcurrentLinkedQueue$Node");
+        static final long HASH_MAP_OBJECT = shallowBytes(HashMap.class);
+        static final long LINKED_HASH_MAP_OBJECT = shallowBytes(LinkedHashMap.class);
+        static final long CONCURRENT_HASH_MAP_OBJECT = shallowBytes(ConcurrentHashMap.class);
+        static final long TREE_MAP_OBJECT = shallowBytes(TreeMap.class);
+
+        private static long nodeBytes(String className) {
+            try {
+                return shallowBytes(Class.forName(className));
+            } catch (ClassNotFoundException e) {
+                // an unfamiliar JDK: assume a header, a hash and three references
+                return align(HEADER_BYTES + 4 + 3 * REFERENCE_BYTES, ALIGNMENT);
+            }
+        }
+    }
+
+    // Open-addressing identity set; one reference slot per entry at under half load
+    private static final class IdentitySet {
+        private Object[] slots = new Object[64];
+        private int size;
+
+        boolean add(Object value) {
+            int mask = slots.length - 1;
+            int i = mix(System.identityHashCode(value)) & mask;
+            while (slots[i] != null) {
+                if (slots[i] == value) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            slots[i] = value;
+            if (++size * 2 > slots.length) {
+                grow();
+            }
+            return true;
+        }
+
+        private void grow() {
+            Object[] old = slots;
+            slots = new Object[old.length * 2];
+            int mask = slots.length - 1;
+            for (Object value : old) {
+                if (value != null) {
+                    int i = mix(System.identityHashCode(value)) & mask;
+                    while (slots[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    slots[i] = value;
+                }
+            }
+        }
+
+        private static int mix(int hash) {
+            return hash * 0x9E3779B9;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package edu.ccrm.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Bump-pointer allocator over direct (off-heap) memory, used for variable-length data
+ * such as strings and small int arrays that belong to off-heap records.
+ *
+ * Memory is reserved in 1 MiB direct buffers. An address packs the chunk index and the
+ * offset within it; allocations never span chunks, so a single block is at most 1 MiB.
+ * Space is never reused: {@link #release} only records how much of the arena is dead,
+ * which callers can use to decide when to rebuild. The garbage collector sees one small
+ * buffer object per chunk instead of one object per string.
+ *
+ * Strings are stored as UTF-8 and identified by a handle combining address and byte length;
+ * {@link #NULL} stands for a null string. Instances are not thread-safe.
+ */
+public final class OffHeapArena {
+
+    /** Handle or address standing for "nothing stored" */
+    public static final long NULL = -1L;
+
+    private static final int CHUNK_BITS = 20;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int LENGTH_BITS = 24;
+    private static final int ALIGNMENT = 4;
+
+    private ByteBuffer[] chunks = new ByteBuffer[8];
+    private int chunkCount;
+    private int position = CHUNK_SIZE;
+    private long allocatedBytes;
+    private long releasedBytes;
+
+    /**
+     * Reserves a zero-filled block
+     * @param bytes the block size
+     * @return the block address
+     * @throws IllegalArgumentException if bytes is negative or larger than a chunk
+     */
+    public long allocate(int bytes) {
+        if (bytes < 0 || bytes > CHUNK_SIZE) {
+            throw new IllegalArgumentException("Cannot allocate " + bytes + " bytes in an off-heap arena");
+        }
+        int aligned = (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+        if (position + aligned > CHUNK_SIZE) {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            }
+            chunks[chunkCount++] = ByteBuffer.allocateDirect(CHUNK_SIZE);
+            position = 0;
+        }
+        long address = ((long) (chunkCount - 1) << CHUNK_BITS) | position;
+        position += aligned;
+        allocatedBytes += aligned;
+        return address;
+    }
+
+    /**
+     * Marks a block as dead; the space is not reused
+     * @param bytes the size the block was allocated with
+     */
+    public void release(int bytes) {
+        releasedBytes += (bytes + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    public int getInt(long address) {
+        return chunk(address).getInt(offset(address));
+    }
+
+    public void putInt(long address, int value) {
+        chunk(address).putInt(offset(address), value);
+    }
+
+    /**
+     * Copies ints between two blocks, which may be the same block
+     * @param from source address
+     * @param to target address
+     * @param count number of ints to copy
+     */
+    public void copyInts(long from, long to, int count) {
+        if (to > from) {
+            for (int i = count - 1; i >= 0; i--) {
+                putInt(to + 4L * i, getInt(from + 4L * i));
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                putInt(to + 4L * i, getInt(from + 4L * i));
+            }
+        }
+    }
+
+    /**
+     * Stores a string
+     * @param value the string, may be null
+     * @return its handle, or {@link #NULL} for null
+     */
+    public long putString(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long address = allocate(bytes.length);
+        chunk(address).put(offset(address), bytes);
+        return address << LENGTH_BITS | bytes.length;
+    }
+
+    /**
+     * Reads a string back
+     * @param handle a handle returned by {@link #putString}
+     * @return a new String, or null for {@link #NULL}
+     */
+    public String getString(long handle) {
+        if (handle == NULL) {
+            return null;
+        }
+        long address = handle >>> LENGTH_BITS;
+        byte[] bytes = new byte[stringLength(handle)];
+        chunk(address).get(offset(address), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Marks a stored string as dead
+     * @param handle a handle returned by {@link #putString}; {@link #NULL} is ignored
+     */
+    public void releaseString(long handle) {
+        if (handle != NULL) {
+            release(stringLength(handle));
+        }
+    }
+
+    /**
+     * Bytes handed out by {@link #allocate}, including blocks since released
+     * @return allocated bytes
+     */
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Bytes belonging to released blocks
+     * @return dead bytes
+     */
+    public long releasedBytes() {
+        return releasedBytes;
+    }
+
+    /**
+     * Direct memory reserved from the operating system
+     * @return reserved bytes
+     */
+    public long reservedBytes() {
+        return (long) chunkCount * CHUNK_SIZE;
+    }
+
+    private static int stringLength(long handle) {
+        return (int) (handle & ((1 << LENGTH_BITS) - 1));
+    }
+
+    private ByteBuffer chunk(long address) {
+        return chunks[(int) (address >>> CHUNK_BITS)];
+    }
+
+    private static int offset(long address) {
+        return (int) (address & (CHUNK_SIZE - 1));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffHeapArena[chunks=%d, allocated=%d, released=%d]",
+            chunkCount, allocatedBytes, releasedBytes);
+    }
+}
@@ -0,0 +1,109 @@
+package edu.ccrm.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable table of fixed-width records kept in direct (off-heap) memory.
+ *
+ * Rows are numbered from 0 and addressed as (row, field offset), where the caller defines
+ * the field offsets of its record layout. Rows live in direct buffers of a power-of-two
+ * number of rows each, so locating a row is a shift and a mask, and growing the table never
+ * copies existing rows. New rows are zero-filled. Variable-length data belongs in an
+ * {@link OffHeapArena}, with its handle stored in a long field.
+ *
+ * Instances are not thread-safe.
+ */
+public final class OffHeapTable {
+
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    private final int recordSize;
+    private final int rowShift;
+    private final int rowMask;
+    private ByteBuffer[] chunks = new ByteBuffer[8];
+    private int chunkCount;
+    private int size;
+
+    /**
+     * Creates an empty table
+     * @param recordSize bytes per row
+     * @throws IllegalArgumentException if recordSize is not between 1 and 1 MiB
+     */
+    public OffHeapTable(int recordSize) {
+        if (recordSize <= 0 || recordSize > CHUNK_BYTES) {
+            throw new IllegalArgumentException("Invalid record size: " + recordSize);
+        }
+        this.recordSize = recordSize;
+        this.rowShift = 31 - Integer.numberOfLeadingZeros(CHUNK_BYTES / recordSize);
+        this.rowMask = (1 << rowShift) - 1;
+    }
+
+    /**
+     * Appends a zero-filled row
+     * @return the new row number
+     */
+    public int addRow() {
+        int row = size;
+        if ((row >>> rowShift) == chunkCount) {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            }
+            chunks[chunkCount++] = ByteBuffer.allocateDirect(recordSize << rowShift);
+        }
+        size++;
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte getByte(int row, int field) {
+        return chunk(row).get(offset(row, field));
+    }
+
+    public void putByte(int row, int field, byte value) {
+        chunk(row).put(offset(row, field), value);
+    }
+
+    public int getInt(int row, int field) {
+        return chunk(row).getInt(offset(row, field));
+    }
+
+    public void putInt(int row, int field, int value) {
+        chunk(row).putInt(offset(row, field), value);
+    }
+
+    public long getLong(int row, int field) {
+        return chunk(row).getLong(offset(row, field));
+    }
+
+    public void putLong(int row, int field, long value) {
+        chunk(row).putLong(offset(row, field), value);
+    }
+
+    /**
+     * Direct memory reserved from the operating system
+     * @return reserved bytes
+     */
+    public long reservedBytes() {
+        return (long) chunkCount * (recordSize << rowShift);
+    }
+
+    private ByteBuffer chunk(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for size " + size);
+        }
+        return chunks[row >>> rowShift];
+    }
+
+    private int offset(int row, int field) {
+        return (row & rowMask) * recordSize + field;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffHeapTable[recordSize=%d, size=%d]", recordSize, size);
+    }
+}
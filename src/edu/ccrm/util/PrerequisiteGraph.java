@@ -0,0 +1,250 @@
+package edu.ccrm.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Directed acyclic graph of course prerequisites with precomputed transitive closures.
+ *
+ * Courses are identified by their {@link SymbolTable#COURSE_CODES} id. Besides the direct
+ * edges, every course keeps a bitset of all of its transitive prerequisites, so checking
+ * whether a student has completed everything a course needs is a word-wise AND-NOT of that
+ * bitset against the student's completed-course bitset (see {@code Student.getPassedCourseBits}).
+ *
+ * Adding an edge "course requires prerequisite" rejects cycles in O(1) by testing the
+ * prerequisite's closure, then ORs the prerequisite's closure into the closure of the
+ * course and of every course that already depends on it; nothing else is recomputed.
+ * Removing an edge rebuilds only the closures of the course and its dependents, in order
+ * of increasing closure size so each is rebuilt from already-correct prerequisites.
+ *
+ * Instances are not thread-safe.
+ */
+public final class PrerequisiteGraph {
+
+    private static final long[] EMPTY = new long[0];
+
+    private int[][] direct = new int[64][];
+    private int[] directCount = new int[64];
+    private long[][] closure = new long[64][];
+    private int edgeCount;
+
+    /**
+     * Declares that a course requires another course
+     * @param courseCode the course
+     * @param prerequisiteCode the course that must be completed first
+     * @throws IllegalArgumentException if either code is null, they are the same course,
+     *         or the edge would create a cycle
+     */
+    public void addPrerequisite(String courseCode, String prerequisiteCode) {
+        Validator.requireNonNull(courseCode, "Course code cannot be null");
+        Validator.requireNonNull(prerequisiteCode, "Prerequisite code cannot be null");
+        int course = SymbolTable.COURSE_CODES.id(courseCode);
+        int prerequisite = SymbolTable.COURSE_CODES.id(prerequisiteCode);
+        if (course == prerequisite) {
+            throw new IllegalArgumentException("A course cannot be its own prerequisite: " + courseCode);
+        }
+        if (testBit(closureOf(prerequisite), course)) {
+            throw new IllegalArgumentException(String.format(
+                "Adding %s as a prerequisite of %s would create a cycle", prerequisiteCode, courseCode));
+        }
+        ensureCapacity(Math.max(course, prerequisite));
+        if (indexOf(course, prerequisite) >= 0) {
+            return;
+        }
+        addEdge(course, prerequisite);
+
+        long[] added = setBit(closureOf(prerequisite).clone(), prerequisite);
+        for (int node = 0; node < closure.length; node++) {
+            if (node == course || testBit(closure[node], course)) {
+                closure[node] = or(closure[node], added);
+            }
+        }
+    }
+
+    /**
+     * Removes a direct prerequisite, if present
+     * @param courseCode the course
+     * @param prerequisiteCode the prerequisite to drop
+     */
+    public void removePrerequisite(String courseCode, String prerequisiteCode) {
+        int course = SymbolTable.COURSE_CODES.lookup(courseCode);
+        int prerequisite = SymbolTable.COURSE_CODES.lookup(prerequisiteCode);
+        if (course < 0 || prerequisite < 0 || course >= direct.length) {
+            return;
+        }
+        int index = indexOf(course, prerequisite);
+        if (index < 0) {
+            return;
+        }
+        int count = directCount[course];
+        System.arraycopy(direct[course], index + 1, direct[course], index, count - index - 1);
+        directCount[course] = count - 1;
+        edgeCount--;
+
+        List<Integer> affected = new ArrayList<>();
+        for (int node = 0; node < closure.length; node++) {
+            if (node == course || testBit(closure[node], course)) {
+                affected.add(node);
+            }
+        }
+        // A dependent's old closure strictly contains its prerequisites' closures
+        long[] sizes = new long[closure.length];
+        for (int node : affected) {
+            sizes[node] = cardinality(closure[node]);
+        }
+        affected.sort(Comparator.comparingLong(node -> sizes[node]));
+        for (int node : affected) {
+            long[] rebuilt = EMPTY;
+            for (int i = 0; i < directCount[node]; i++) {
+                int required = direct[node][i];
+                rebuilt = setBit(or(rebuilt, closureOf(required)), required);
+            }
+            closure[node] = rebuilt;
+        }
+    }
+
+    /**
+     * Returns the direct prerequisites of a course
+     * @param courseCode the course
+     * @return the prerequisite codes, in the order they were added
+     */
+    public List<String> getPrerequisites(String courseCode) {
+        int course = SymbolTable.COURSE_CODES.lookup(courseCode);
+        List<String> result = new ArrayList<>();
+        if (course >= 0 && course < direct.length) {
+            for (int i = 0; i < directCount[course]; i++) {
+                result.add(SymbolTable.COURSE_CODES.name(direct[course][i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns every course that must be completed before a course, directly or transitively
+     * @param courseCode the course
+     * @return the prerequisite codes, by course id
+     */
+    public List<String> getAllPrerequisites(String courseCode) {
+        return codesOf(closureOf(SymbolTable.COURSE_CODES.lookup(courseCode)), null);
+    }
+
+    /**
+     * Checks a completed-course bitset against all transitive prerequisites of a course
+     * @param courseCode the course
+     * @param completed bitset of completed course ids
+     * @return true if nothing is missing
+     */
+    public boolean isSatisfiedBy(String courseCode, long[] completed) {
+        long[] required = closureOf(SymbolTable.COURSE_CODES.lookup(courseCode));
+        for (int word = 0; word < required.length; word++) {
+            long done = word < completed.length ? completed[word] : 0L;
+            if ((required[word] & ~done) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lists the transitive prerequisites of a course missing from a completed-course bitset
+     * @param courseCode the course
+     * @param completed bitset of completed course ids
+     * @return the missing prerequisite codes, by course id
+     */
+    public List<String> getMissingPrerequisites(String courseCode, long[] completed) {
+        return codesOf(closureOf(SymbolTable.COURSE_CODES.lookup(courseCode)), completed);
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    private long[] closureOf(int course) {
+        return course < 0 || course >= closure.length || closure[course] == null ? EMPTY : closure[course];
+    }
+
+    private int indexOf(int course, int prerequisite) {
+        for (int i = 0; i < directCount[course]; i++) {
+            if (direct[course][i] == prerequisite) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void addEdge(int course, int prerequisite) {
+        int count = directCount[course];
+        if (direct[course] == null) {
+            direct[course] = new int[2];
+        } else if (count == direct[course].length) {
+            direct[course] = Arrays.copyOf(direct[course], count * 2);
+        }
+        direct[course][count] = prerequisite;
+        directCount[course] = count + 1;
+        edgeCount++;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < closure.length) {
+            return;
+        }
+        int capacity = closure.length;
+        while (capacity <= id) {
+            capacity *= 2;
+        }
+        direct = Arrays.copyOf(direct, capacity);
+        directCount = Arrays.copyOf(directCount, capacity);
+        closure = Arrays.copyOf(closure, capacity);
+    }
+
+    private static List<String> codesOf(long[] bits, long[] excluded) {
+        List<String> codes = new ArrayList<>();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word] & ~(excluded != null && word < excluded.length ? excluded[word] : 0L);
+            while (remaining != 0) {
+                codes.add(SymbolTable.COURSE_CODES.name(word * 64 + Long.numberOfTrailingZeros(remaining)));
+                remaining &= remaining - 1;
+            }
+        }
+        return codes;
+    }
+
+    private static boolean testBit(long[] bits, int bit) {
+        return bits != null && (bit >>> 6) < bits.length && (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    // Returns bits, or a grown copy, with the bit set
+    private static long[] setBit(long[] bits, int bit) {
+        if ((bit >>> 6) >= bits.length) {
+            bits = Arrays.copyOf(bits, (bit >>> 6) + 1);
+        }
+        bits[bit >>> 6] |= 1L << bit;
+        return bits;
+    }
+
+    // Returns a new array holding a | b
+    private static long[] or(long[] a, long[] b) {
+        a = a == null ? EMPTY : a;
+        long[] result = Arrays.copyOf(a.length >= b.length ? a : b, Math.max(a.length, b.length));
+        long[] other = a.length >= b.length ? b : a;
+        for (int word = 0; word < other.length; word++) {
+            result[word] |= other[word];
+        }
+        return result;
+    }
+
+    private static long cardinality(long[] bits) {
+        long count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PrerequisiteGraph[edges=%d]", edgeCount);
+    }
+}
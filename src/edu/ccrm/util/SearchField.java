@@ -0,0 +1,122 @@
+package edu.ccrm.util;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Student;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Named, comparable attribute of a searchable entity.
+ *
+ * Fields are the unit of structured search: {@link Criteria} clauses refer to them
+ * and {@link IndexedSearchable} builds its sorted indexes over them. String values are
+ * normalized to lower case so that equality and prefix clauses are case-insensitive,
+ * matching the {@code equalsIgnoreCase} semantics used throughout the services.
+ *
+ * @param <T> the entity type the field is read from
+ */
+public final class SearchField<T> {
+
+    // Student fields
+    public static final SearchField<Student> STUDENT_REG_NO = new SearchField<>("regNo", String.class, Student::getRegNo);
+    public static final SearchField<Student> STUDENT_NAME = new SearchField<>("fullName", String.class, Student::getFullName);
+    public static final SearchField<Student> STUDENT_EMAIL = new SearchField<>("email", String.class, Student::getEmail);
+    public static final SearchField<Student> STUDENT_GPA = new SearchField<>("gpa", Double.class, Student::getGpa);
+    public static final SearchField<Student> STUDENT_ACTIVE = new SearchField<>("active", Boolean.class, Student::isActive);
+
+    // Course fields
+    public static final SearchField<Course> COURSE_CODE = new SearchField<>("code", String.class, Course::getCode);
+    public static final SearchField<Course> COURSE_TITLE = new SearchField<>("title", String.class, Course::getTitle);
+    public static final SearchField<Course> COURSE_DEPARTMENT = new SearchField<>("department", String.class,
+        Course::getDepartment);
+    public static final SearchField<Course> COURSE_SEMESTER = new SearchField<>("semester", String.class,
+        c -> c.getSemester() != null ? c.getSemester().toString() : null);
+    public static final SearchField<Course> COURSE_CREDITS = new SearchField<>("credits", Integer.class, Course::getCredits);
+    public static final SearchField<Course> COURSE_INSTRUCTOR = new SearchField<>("instructorId", String.class,
+        c -> c.getInstructor() != null ? c.getInstructor().getId() : null);
+    public static final SearchField<Course> COURSE_ACTIVE = new SearchField<>("active", Boolean.class, Course::isActive);
+
+    private final String name;
+    private final Class<?> keyType;
+    private final Function<T, ?> extractor;
+
+    /**
+     * Creates a field
+     * @param name the field name
+     * @param type the type of the raw values the extractor returns
+     * @param extractor reads the raw value from an item
+     */
+    public SearchField(String name, Class<?> type, Function<T, ?> extractor) {
+        this.name = Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(type, "type");
+        // Keys live in the normalized space, where every number is a double
+        this.keyType = Number.class.isAssignableFrom(type) ? Double.class : type;
+        this.extractor = Objects.requireNonNull(extractor, "extractor");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the type of this field's normalized keys
+     * @return String for text fields, Double for numeric fields, otherwise the raw value type
+     */
+    public Class<?> getKeyType() {
+        return keyType;
+    }
+
+    /**
+     * Normalizes a search value and checks that it can be compared with this field's keys
+     * @param value the raw search value, or null
+     * @return the normalized value, or null
+     * @throws IllegalArgumentException if the value is not comparable or is of another type than the field
+     */
+    public Comparable<Object> keyFor(Object value) {
+        Comparable<Object> key = normalize(value);
+        if (key != null && !keyType.isInstance(key)) {
+            throw new IllegalArgumentException("Search field " + name + " takes " + keyType.getSimpleName()
+                + " values, not " + value.getClass().getSimpleName());
+        }
+        return key;
+    }
+
+    /**
+     * Reads the normalized key of this field from the given item
+     * @param item the entity to read from
+     * @return the normalized key, or null if the item has no value for this field
+     */
+    public Comparable<Object> keyOf(T item) {
+        return normalize(extractor.apply(item));
+    }
+
+    /**
+     * Normalizes a raw value into the key space used for comparisons and indexes
+     * @param value the raw value
+     * @return lower-cased string for strings, a double for numbers, the value itself for other comparables
+     * @throws IllegalArgumentException if the value is not comparable
+     */
+    @SuppressWarnings("unchecked")
+    public static Comparable<Object> normalize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof String) {
+            return (Comparable<Object>) (Object) ((String) value).toLowerCase(Locale.ROOT);
+        }
+        if (value instanceof Number) {
+            // Widen so that Integer and Double bounds compare against the same key space
+            return (Comparable<Object>) (Object) Double.valueOf(((Number) value).doubleValue());
+        }
+        if (value instanceof Comparable) {
+            return (Comparable<Object>) value;
+        }
+        throw new IllegalArgumentException("Search values must be comparable: " + value.getClass().getName());
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,130 @@
+package edu.ccrm.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global intern table mapping identifiers such as course codes, registration numbers
+ * and department names to one canonical {@code String} instance and a dense int id.
+ *
+ * Domain objects store the canonical instance, so every {@code Course}, enrollment
+ * list, grade map and instructor assignment that refers to "CS101" shares a single
+ * string, and two identifiers from the same table are equal exactly when they are
+ * the same reference. The ids are allocated from 0 upwards and are
+ * suitable as array or bitset indexes.
+ *
+ * Lookups are case-insensitive and ignore surrounding whitespace. The canonical
+ * spelling is upper case for code-like tables and the first spelling seen otherwise.
+ * Reads are lock-free; only the first sighting of a spelling takes a lock.
+ */
+public final class SymbolTable {
+
+    public static final SymbolTable COURSE_CODES = new SymbolTable("courseCode", true);
+    public static final SymbolTable REG_NOS = new SymbolTable("regNo", true);
+    public static final SymbolTable DEPARTMENTS = new SymbolTable("department", false);
+
+    private final String kind;
+    private final boolean upperCase;
+    // Every raw spelling seen so far, so repeat lookups skip normalization entirely
+    private final Map<String, Integer> idBySpelling = new ConcurrentHashMap<>();
+    private final Map<String, Integer> idByKey = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private volatile int size;
+
+    private SymbolTable(String kind, boolean upperCase) {
+        this.kind = kind;
+        this.upperCase = upperCase;
+    }
+
+    /**
+     * Returns the canonical instance for a value, registering it on first sight
+     * @param value the raw value, may be null
+     * @return the canonical string, or null if value is null
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        int id = id(value);
+        return names[id]; // read the array after id() may have grown it
+    }
+
+    /**
+     * Returns the dense id of a value, registering it on first sight
+     * @param value the raw value
+     * @return the id, between 0 and {@link #size()} - 1
+     * @throws IllegalArgumentException if value is null
+     */
+    public int id(String value) {
+        Validator.requireNonNull(value, kind + " cannot be null");
+        Integer id = idBySpelling.get(value);
+        return id != null ? id : register(value);
+    }
+
+    /**
+     * Returns the id of a value without registering it
+     * @param value the raw value
+     * @return the id, or -1 if the value has never been interned
+     */
+    public int lookup(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer id = idBySpelling.get(value);
+        if (id == null) {
+            id = idByKey.get(key(value));
+        }
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the canonical string for an id
+     * @param id the id
+     * @return the canonical string
+     * @throws IllegalArgumentException if id was never allocated
+     */
+    public String name(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException(String.format("Unknown %s id: %d", kind, id));
+        }
+        return names[id];
+    }
+
+    /**
+     * Returns the number of distinct symbols, which is also the next id to be allocated
+     * @return symbol count
+     */
+    public int size() {
+        return size;
+    }
+
+    private synchronized int register(String value) {
+        Integer id = idByKey.get(key(value));
+        if (id == null) {
+            String trimmed = value.trim();
+            String canonical = upperCase ? trimmed.toUpperCase(Locale.ROOT) : trimmed;
+            id = size;
+            if (id == names.length) {
+                names = Arrays.copyOf(names, id * 2);
+            }
+            names[id] = canonical;
+            // Publish the name before the id becomes reachable through the maps
+            size = id + 1;
+            idByKey.put(key(value), id);
+            idBySpelling.put(canonical, id);
+        }
+        idBySpelling.put(value, id);
+        return id;
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SymbolTable[%s, size=%d]", kind, size);
+    }
+}
@@ -0,0 +1,88 @@
+package edu.ccrm.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for blocking request-style work.
+ *
+ * On Java 21 and later each task gets its own virtual thread. The project still compiles
+ * for Java 17, so the virtual-thread executor is looked up reflectively; on older runtimes
+ * a fixed pool of daemon platform threads is used instead, which {@link #resize} can adjust.
+ */
+public final class TaskExecutors {
+
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+
+    private TaskExecutors() {
+    }
+
+    public static boolean isVirtualThreadsAvailable() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor with one virtual thread per task where available
+     * @param name prefix of the platform thread names
+     * @param platformThreads pool size when virtual threads are not available
+     * @return the executor
+     */
+    public static ExecutorService newPerTaskExecutor(String name, int platformThreads) {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // fall back to platform threads
+            }
+        }
+        return newPlatformPool(name, platformThreads);
+    }
+
+    /**
+     * Creates a fixed pool of daemon platform threads with an unbounded queue
+     */
+    public static ExecutorService newPlatformPool(String name, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+    }
+
+    /**
+     * Changes the size of a pool from {@link #newPlatformPool}; other executors are left alone
+     */
+    public static void resize(ExecutorService executor, int threads) {
+        if (!(executor instanceof ThreadPoolExecutor) || threads < 1) {
+            return;
+        }
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+        // The maximum may never drop below the core size, so order the two updates accordingly
+        if (threads > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(threads);
+            pool.setCorePoolSize(threads);
+        } else {
+            pool.setCorePoolSize(threads);
+            pool.setMaximumPoolSize(threads);
+        }
+    }
+
+    private static Method findVirtualThreadExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
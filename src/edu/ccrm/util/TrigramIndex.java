@@ -0,0 +1,471 @@
+package edu.ccrm.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typo-tolerant lookup index over short text fields such as names and e-mail addresses.
+ *
+ * Every field is normalized (lower case, runs of punctuation collapsed to one space),
+ * padded with a space on each side and broken into overlapping character trigrams.
+ * Trigrams are packed into a dense int code, so posting lists live in a flat array
+ * indexed by code with no hashing.
+ *
+ * A query is answered in three steps:
+ * - pruning: an edit touches at most four trigrams (three for a substitution, four for
+ *   a transposition), so a document within {@code k} edits of the query shares at least
+ *   {@code |Q| - 4k} of its trigrams; only documents appearing in one of the
+ *   {@code 4k + 1} rarest query trigram lists are considered, and the remaining lists
+ *   are probed by binary search for those candidates only
+ * - verification: candidates with enough shared trigrams are re-ranked by bounded
+ *   edit distance (Levenshtein plus adjacent transpositions) against the whole field
+ *   and each of its words, where a match against a prefix counts, so partially
+ *   remembered names still hit
+ * - budget: candidates are verified most-shared-first and verification stops at the
+ *   deadline, returning the best matches found so far
+ *
+ * Replaced or removed documents are tombstoned and compacted like {@link InvertedIndex}.
+ * Instances are not thread-safe.
+ *
+ * @param <K> the type of document keys
+ */
+public class TrigramIndex<K> {
+
+    // a-z, 0-9, space, and one bucket for every other letter or digit
+    private static final int ALPHABET = 38;
+    private static final int SPACE_CODE = 36;
+    private static final int OTHER_CODE = 37;
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 1024;
+    private static final int BUDGET_CHECK_INTERVAL = 64;
+    private static final int PROBE_SCAN_RATIO = 16;
+
+    private final Postings[] postings = new Postings[ALPHABET * ALPHABET * ALPHABET];
+    private final Map<K, Integer> docByKey = new HashMap<>();
+    private final List<K> keyByDoc = new ArrayList<>();
+    private final List<String[]> fieldsByDoc = new ArrayList<>();
+    private final List<int[]> trigramsByDoc = new ArrayList<>();
+    private int liveDocs;
+    private int deadDocs;
+
+    /**
+     * Indexes a document, replacing any previous document with the same key
+     * @param key the document key
+     * @param fields the text fields to match against; null fields are skipped
+     * @throws IllegalArgumentException if key is null
+     */
+    public void put(K key, String... fields) {
+        Validator.requireNonNull(key, "Document key cannot be null");
+        remove(key);
+
+        List<String> normalized = new ArrayList<>(fields.length);
+        for (String field : fields) {
+            String value = normalize(field);
+            if (!value.isEmpty()) {
+                normalized.add(value);
+            }
+        }
+        int[] trigrams = distinctTrigrams(normalized.toArray(new String[0]));
+
+        int doc = keyByDoc.size();
+        keyByDoc.add(key);
+        fieldsByDoc.add(normalized.toArray(new String[0]));
+        trigramsByDoc.add(trigrams);
+        docByKey.put(key, doc);
+        for (int trigram : trigrams) {
+            if (postings[trigram] == null) {
+                postings[trigram] = new Postings();
+            }
+            postings[trigram].add(doc);
+        }
+        liveDocs++;
+    }
+
+    /**
+     * Removes a document from the index
+     * @param key the document key
+     */
+    public void remove(K key) {
+        Integer doc = docByKey.remove(key);
+        if (doc == null) {
+            return;
+        }
+        for (int trigram : trigramsByDoc.get(doc)) {
+            postings[trigram].live--;
+        }
+        keyByDoc.set(doc, null);
+        fieldsByDoc.set(doc, null);
+        trigramsByDoc.set(doc, null);
+        liveDocs--;
+        deadDocs++;
+        if (deadDocs >= MIN_TOMBSTONES_FOR_COMPACTION && deadDocs > liveDocs) {
+            compact();
+        }
+    }
+
+    public int size() {
+        return liveDocs;
+    }
+
+    /**
+     * Finds the documents closest to the query, tolerating typos
+     * @param query the partially remembered or misspelled text
+     * @param limit the maximum number of results
+     * @param budgetNanos time allowed for verification; the best matches found so far are returned when it runs out
+     * @return matching keys, closest first; empty if nothing is within the edit allowance
+     */
+    public List<K> search(String query, int limit, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        String q = normalize(query);
+        if (q.isEmpty() || liveDocs == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+        int maxEdits = maxEditsFor(q);
+        int[] queryTrigrams = distinctTrigrams(new String[] {q});
+        int minShared = Math.max(1, queryTrigrams.length - 4 * maxEdits);
+
+        // Rarest lists first: any qualifying document must occur in one of the first 'probe' lists
+        Integer[] order = new Integer[queryTrigrams.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> postingSize(queryTrigrams[i])));
+        int probe = queryTrigrams.length - minShared + 1;
+
+        int[] shared = new int[keyByDoc.size()];
+        int[] candidates = new int[16];
+        int candidateCount = 0;
+        for (int i = 0; i < probe; i++) {
+            Postings list = postings[queryTrigrams[order[i]]];
+            if (list == null) {
+                continue;
+            }
+            for (int p = 0; p < list.size; p++) {
+                int doc = list.docs[p];
+                if (keyByDoc.get(doc) == null) {
+                    continue;
+                }
+                if (shared[doc]++ == 0) {
+                    if (candidateCount == candidates.length) {
+                        candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                    }
+                    candidates[candidateCount++] = doc;
+                }
+            }
+        }
+        for (int i = probe; i < queryTrigrams.length; i++) {
+            Postings list = postings[queryTrigrams[order[i]]];
+            if (list == null) {
+                continue;
+            }
+            if (list.size <= candidateCount * PROBE_SCAN_RATIO) {
+                // Cheaper to walk the list once than to binary-search it per candidate
+                for (int p = 0; p < list.size; p++) {
+                    if (shared[list.docs[p]] > 0) {
+                        shared[list.docs[p]]++;
+                    }
+                }
+            } else {
+                for (int c = 0; c < candidateCount; c++) {
+                    if (Arrays.binarySearch(list.docs, 0, list.size, candidates[c]) >= 0) {
+                        shared[candidates[c]]++;
+                    }
+                }
+            }
+        }
+
+        // Verify most-shared candidates first so an exhausted budget still yields good matches
+        int[] ordered = orderBySharedDesc(candidates, candidateCount, shared, minShared, queryTrigrams.length);
+        List<Match> matches = new ArrayList<>();
+        EditDistance distance = new EditDistance(q.length());
+        int exactMatches = 0;
+        for (int i = 0; i < ordered.length; i++) {
+            if (i % BUDGET_CHECK_INTERVAL == 0 && i > 0 && System.nanoTime() > deadline) {
+                break;
+            }
+            int doc = ordered[i];
+            // Ranking is distance first, then shared trigrams: once 'limit' exact hits are in hand,
+            // nothing from a lower shared-count bucket can displace them
+            if (exactMatches >= limit && i > 0 && shared[doc] < shared[ordered[i - 1]]) {
+                break;
+            }
+            Match match = distance.bestMatch(q, doc, fieldsByDoc.get(doc), maxEdits);
+            if (match != null) {
+                match.shared = shared[doc];
+                matches.add(match);
+                if (match.prefixDistance == 0) {
+                    exactMatches++;
+                }
+            }
+        }
+
+        matches.sort(Match.RANKING);
+        List<K> result = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            result.add(keyByDoc.get(matches.get(i).doc));
+        }
+        return result;
+    }
+
+    private int postingSize(int trigram) {
+        return postings[trigram] == null ? 0 : postings[trigram].size;
+    }
+
+    private static int[] orderBySharedDesc(int[] candidates, int count, int[] shared, int minShared, int maxShared) {
+        int[] bucketStart = new int[maxShared + 2];
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int s = shared[candidates[i]];
+            if (s >= minShared) {
+                bucketStart[maxShared - s + 1]++;
+                kept++;
+            }
+        }
+        for (int b = 1; b < bucketStart.length; b++) {
+            bucketStart[b] += bucketStart[b - 1];
+        }
+        int[] ordered = new int[kept];
+        for (int i = 0; i < count; i++) {
+            int doc = candidates[i];
+            int s = shared[doc];
+            if (s >= minShared) {
+                ordered[bucketStart[maxShared - s]++] = doc;
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Number of typos tolerated for a normalized query: one per four characters, at most three
+     */
+    static int maxEditsFor(String query) {
+        return Math.min(3, Math.max(1, query.length() / 4));
+    }
+
+    /**
+     * Lower-cases text and collapses every run of non letter/digit characters to a single space
+     * @param text the text to normalize, may be null
+     * @return normalized text without leading or trailing spaces
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                pendingSpace = false;
+                sb.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int[] distinctTrigrams(String[] fields) {
+        int total = 0;
+        for (String field : fields) {
+            total += field.length();
+        }
+        int[] trigrams = new int[total];
+        int count = 0;
+        for (String field : fields) {
+            // Padding: " " + field + " " yields field.length() trigrams
+            for (int i = 0; i < field.length(); i++) {
+                int a = i == 0 ? SPACE_CODE : code(field.charAt(i - 1));
+                int b = code(field.charAt(i));
+                int c = i + 1 == field.length() ? SPACE_CODE : code(field.charAt(i + 1));
+                trigrams[count++] = (a * ALPHABET + b) * ALPHABET + c;
+            }
+        }
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private static int code(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        if (c >= '0' && c <= '9') return 26 + (c - '0');
+        if (c == ' ') return SPACE_CODE;
+        return OTHER_CODE;
+    }
+
+    /**
+     * Drops tombstoned documents and renumbers the survivors, preserving their order
+     */
+    private void compact() {
+        int[] remap = new int[keyByDoc.size()];
+        List<K> keys = new ArrayList<>(liveDocs);
+        List<String[]> fields = new ArrayList<>(liveDocs);
+        List<int[]> trigrams = new ArrayList<>(liveDocs);
+        for (int doc = 0; doc < keyByDoc.size(); doc++) {
+            K key = keyByDoc.get(doc);
+            if (key == null) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = keys.size();
+            docByKey.put(key, keys.size());
+            keys.add(key);
+            fields.add(fieldsByDoc.get(doc));
+            trigrams.add(trigramsByDoc.get(doc));
+        }
+        for (int t = 0; t < postings.length; t++) {
+            if (postings[t] != null) {
+                postings[t].remap(remap);
+                if (postings[t].size == 0) {
+                    postings[t] = null;
+                }
+            }
+        }
+        keyByDoc.clear();
+        keyByDoc.addAll(keys);
+        fieldsByDoc.clear();
+        fieldsByDoc.addAll(fields);
+        trigramsByDoc.clear();
+        trigramsByDoc.addAll(trigrams);
+        deadDocs = 0;
+    }
+
+    /**
+     * Verified candidate: its best prefix and full edit distance over all fields and words
+     */
+    private static final class Match {
+        static final Comparator<Match> RANKING = Comparator
+            .comparingInt((Match m) -> m.prefixDistance)
+            .thenComparing(Comparator.comparingInt((Match m) -> m.shared).reversed())
+            .thenComparingInt(m -> m.fullDistance)
+            .thenComparingInt(m -> m.doc);
+
+        final int doc;
+        final int prefixDistance;
+        final int fullDistance;
+        int shared;
+
+        Match(int doc, int prefixDistance, int fullDistance) {
+            this.doc = doc;
+            this.prefixDistance = prefixDistance;
+            this.fullDistance = fullDistance;
+        }
+    }
+
+    /**
+     * Bounded optimal-string-alignment distance with reusable rows
+     */
+    private static final class EditDistance {
+        private int[] beforePrevious;
+        private int[] previous;
+        private int[] current;
+
+        EditDistance(int capacity) {
+            beforePrevious = new int[capacity + 1];
+            previous = new int[capacity + 1];
+            current = new int[capacity + 1];
+        }
+
+        Match bestMatch(String query, int doc, String[] fields, int maxEdits) {
+            long best = Long.MAX_VALUE;
+            for (String field : fields) {
+                best = better(best, distance(query, field, 0, field.length(), maxEdits));
+                if (field.indexOf(' ') < 0) {
+                    continue;
+                }
+                // Also try each word on its own, so "smith" finds "john smith"
+                int start = 0;
+                while (start < field.length()) {
+                    int space = field.indexOf(' ', start);
+                    int end = space < 0 ? field.length() : space;
+                    best = better(best, distance(query, field, start, end, maxEdits));
+                    start = end + 1;
+                }
+            }
+            int prefix = (int) (best >>> 32);
+            return prefix <= maxEdits ? new Match(doc, prefix, (int) best) : null;
+        }
+
+        private static long better(long a, long b) {
+            long prefix = Math.min(a >>> 32, b >>> 32);
+            long full = Math.min(a & 0xFFFFFFFFL, b & 0xFFFFFFFFL);
+            return prefix << 32 | full;
+        }
+
+        /**
+         * Computes the distance from the query to target[from, to) (low 32 bits) and to the
+         * closest prefix of that range (high 32 bits); both are capped at maxEdits + 1
+         */
+        long distance(String query, String target, int from, int to, int maxEdits) {
+            int cap = maxEdits + 1;
+            int m = query.length();
+            // Iterate over the target so a row covers the query and the last column gives prefix distances
+            for (int i = 0; i <= m; i++) {
+                previous[i] = i;
+            }
+            int bestPrefix = previous[m];
+            for (int j = 1; j <= to - from; j++) {
+                current[0] = j;
+                int rowMin = j;
+                char t = target.charAt(from + j - 1);
+                for (int i = 1; i <= m; i++) {
+                    char q = query.charAt(i - 1);
+                    int value = Math.min(Math.min(previous[i] + 1, current[i - 1] + 1), previous[i - 1] + (q == t ? 0 : 1));
+                    if (i > 1 && j > 1 && q == target.charAt(from + j - 2) && query.charAt(i - 2) == t) {
+                        value = Math.min(value, beforePrevious[i - 2] + 1);
+                    }
+                    current[i] = value;
+                    rowMin = Math.min(rowMin, value);
+                }
+                bestPrefix = Math.min(bestPrefix, current[m]);
+                int[] recycled = beforePrevious;
+                beforePrevious = previous;
+                previous = current;
+                current = recycled;
+                if (rowMin >= cap) {
+                    return ((long) Math.min(bestPrefix, cap) << 32) | cap;
+                }
+            }
+            return ((long) Math.min(bestPrefix, cap) << 32) | Math.min(previous[m], cap);
+        }
+    }
+
+    /**
+     * Live and tombstoned document ids for one trigram, in ascending document order
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int size;
+        int live;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+            live++;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept++] = doc;
+                }
+            }
+            size = kept;
+        }
+    }
+}
@@ -1,21 +1,16 @@
 package edu.ccrm.util;
 
-import java.util.regex.Pattern;
-
 /**
- * Optimized validator utility class with compiled patterns for better performance
- * and enhanced validation capabilities.
+ * Optimized validator utility class with enhanced validation capabilities.
+ *
+ * The format checks are hand-rolled character scanners rather than regular expressions:
+ * they run on the import hot path once per record, and scanning the trimmed bounds in
+ * place avoids both the trimmed copy and the {@code Matcher} allocation. Each scanner
+ * accepts exactly the strings its documented pattern accepts.
  */
 public final class Validator {
     
-    // Pre-compiled patterns for better performance
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-        "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$"
-    );
-    
-    private static final Pattern REG_NO_PATTERN = Pattern.compile("^[A-Z]{2,3}\\d{6}$");
-    
-    private static final Pattern COURSE_CODE_PATTERN = Pattern.compile("^[A-Z]{2,4}\\d{3,4}$");
+    private static final int REG_NO_DIGITS = 6;
     
     // Private constructor to prevent instantiation
     private Validator() {
@@ -23,30 +18,122 @@ public final class Validator {
     }
     
     /**
-     * Validates email format with improved regex pattern
+     * Validates email format, equivalent to {@code ^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$}
+     * on the trimmed value
      * @param email the email to validate
      * @return true if email is valid, false otherwise
      */
     public static boolean isValidEmail(String email) {
-        return email != null && EMAIL_PATTERN.matcher(email.trim()).matches();
+        if (email == null) {
+            return false;
+        }
+        int start = trimmedStart(email);
+        int end = trimmedEnd(email, start);
+        int at = -1;
+        int lastDot = -1;
+        for (int i = start; i < end; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (c == '.') {
+                if (at >= 0) {
+                    lastDot = i;
+                }
+            } else if (!isAsciiLetterOrDigit(c) && c != '-' && (at >= 0 || (c != '+' && c != '_'))) {
+                return false;
+            }
+        }
+        // Non-empty local part, non-empty host before the last dot, then 2+ letters
+        if (at <= start || lastDot <= at + 1 || end - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < end; i++) {
+            if (!isAsciiLetter(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
     
     /**
-     * Validates registration number format (2-3 uppercase letters followed by 6 digits)
+     * Validates registration number format (2-3 uppercase letters followed by 6 digits),
+     * equivalent to {@code ^[A-Z]{2,3}\d{6}$} on the trimmed value
      * @param regNo the registration number to validate
      * @return true if registration number is valid, false otherwise
      */
     public static boolean isValidRegNo(String regNo) {
-        return regNo != null && REG_NO_PATTERN.matcher(regNo.trim()).matches();
+        if (regNo == null) {
+            return false;
+        }
+        int start = trimmedStart(regNo);
+        int end = trimmedEnd(regNo, start);
+        int letters = leadingUppercase(regNo, start, end);
+        return letters >= 2 && letters <= 3 && end - start - letters == REG_NO_DIGITS
+            && allDigits(regNo, start + letters, end);
     }
     
     /**
-     * Validates course code format (2-4 uppercase letters followed by 3-4 digits)
+     * Validates course code format (2-4 uppercase letters followed by 3-4 digits),
+     * equivalent to {@code ^[A-Z]{2,4}\d{3,4}$} on the trimmed value
      * @param courseCode the course code to validate
      * @return true if course code is valid, false otherwise
      */
     public static boolean isValidCourseCode(String courseCode) {
-        return courseCode != null && COURSE_CODE_PATTERN.matcher(courseCode.trim()).matches();
+        if (courseCode == null) {
+            return false;
+        }
+        int start = trimmedStart(courseCode);
+        int end = trimmedEnd(courseCode, start);
+        int letters = leadingUppercase(courseCode, start, end);
+        int digits = end - start - letters;
+        return letters >= 2 && letters <= 4 && digits >= 3 && digits <= 4
+            && allDigits(courseCode, start + letters, end);
+    }
+    
+    // Same bounds as String.trim(): strips every char <= ' ' from both ends
+    private static int trimmedStart(String s) {
+        int i = 0;
+        while (i < s.length() && s.charAt(i) <= ' ') {
+            i++;
+        }
+        return i;
+    }
+    
+    private static int trimmedEnd(String s, int start) {
+        int i = s.length();
+        while (i > start && s.charAt(i - 1) <= ' ') {
+            i--;
+        }
+        return i;
+    }
+    
+    private static int leadingUppercase(String s, int from, int to) {
+        int i = from;
+        while (i < to && s.charAt(i) >= 'A' && s.charAt(i) <= 'Z') {
+            i++;
+        }
+        return i - from;
+    }
+    
+    private static boolean allDigits(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+    
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
     }
     
     /**
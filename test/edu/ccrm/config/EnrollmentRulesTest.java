@@ -0,0 +1,153 @@
+package edu.ccrm.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.ccrm.config.EnrollmentRules.Outcome;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EnrollmentRulesTest {
+
+    private static EnrollmentRules compile(String... settings) {
+        Properties properties = new Properties();
+        for (int i = 0; i < settings.length; i += 2) {
+            properties.setProperty(settings[i], settings[i + 1]);
+        }
+        return EnrollmentRules.compile(properties, "test");
+    }
+
+    @Test
+    void defaultsAreTwelveToThirtyWithThreeMoreFromEightPointFive() {
+        EnrollmentRules rules = EnrollmentRules.defaults();
+        int program = rules.programOf("CS123456");
+
+        assertEquals(0, program);
+        assertEquals(12, rules.getMinCredits(program));
+        assertEquals(30, rules.getMaxCredits(program, 8.49));
+        assertEquals(33, rules.getMaxCredits(program, 8.5));
+        assertEquals(EnrollmentRules.NO_QUOTA, rules.getDepartmentQuota(program, "Mathematics"));
+        assertFalse(rules.hasDepartmentQuotas(program));
+    }
+
+    @Test
+    void programsInheritWhatTheyDoNotSet() {
+        EnrollmentRules rules = compile(
+            "default.maxCredits", "24",
+            "default.gpaBands", "8:2, 9.5:4",
+            "default.departmentQuota", "Mathematics:9",
+            "CS.minCredits", "9",
+            "CS.departmentQuota", "Physics:6",
+            "EEE.maxCredits", "20",
+            "EEE.gpaBands", "9:1");
+        int cs = rules.programOf("CS123456");
+        int eee = rules.programOf("EEE123456");
+
+        assertEquals("CS", rules.getProgramName(cs));
+        assertEquals("EEE", rules.getProgramName(eee));
+        assertEquals(9, rules.getMinCredits(cs));
+        assertEquals(24, rules.getMaxCredits(cs, 7.0));
+        assertEquals(28, rules.getMaxCredits(cs, 9.5));
+        assertEquals(12, rules.getMinCredits(eee));
+        assertEquals(20, rules.getMaxCredits(eee, 8.5));
+        assertEquals(21, rules.getMaxCredits(eee, 9.5));
+
+        // A program's quotas replace the default ones rather than adding to them
+        assertEquals(6, rules.getDepartmentQuota(cs, "Physics"));
+        assertEquals(EnrollmentRules.NO_QUOTA, rules.getDepartmentQuota(cs, "Mathematics"));
+        assertEquals(9, rules.getDepartmentQuota(eee, "Mathematics"));
+        assertEquals(9, rules.getDepartmentQuota(eee, " mathematics "));
+        assertEquals(EnrollmentRules.NO_QUOTA, rules.getDepartmentQuota(eee, "Physics"));
+
+        // Programs without a policy, and values without a 2-3 letter prefix, get the default
+        assertEquals(0, rules.programOf("ME123456"));
+        assertEquals(0, rules.programOf("CSEE12345"));
+        assertEquals(0, rules.programOf("C1234567"));
+        assertEquals(0, rules.programOf(null));
+        assertNotEquals(cs, rules.programOf("CSE123456"));
+    }
+
+    @Test
+    void gpaBandsApplyFromTheirThresholdInclusive() {
+        EnrollmentRules rules = compile("default.maxCredits", "24", "default.gpaBands", "9.5:4, 8:2, 10:5");
+
+        assertEquals(24, rules.getMaxCredits(0, -1.0));
+        assertEquals(24, rules.getMaxCredits(0, 0.0));
+        assertEquals(24, rules.getMaxCredits(0, 7.99));
+        assertEquals(26, rules.getMaxCredits(0, 8.0));
+        // 8.1 * 100 is 809.99... in binary; the cell must still be 8.10
+        assertEquals(26, rules.getMaxCredits(0, 8.1));
+        assertEquals(26, rules.getMaxCredits(0, 9.49));
+        assertEquals(26, rules.getMaxCredits(0, 9.499));
+        assertEquals(28, rules.getMaxCredits(0, 9.5));
+        assertEquals(28, rules.getMaxCredits(0, 9.99));
+        assertEquals(29, rules.getMaxCredits(0, 10.0));
+        assertEquals(29, rules.getMaxCredits(0, 12.0));
+    }
+
+    @Test
+    void evaluateReportsTheFirstRuleBroken() {
+        EnrollmentRules rules = compile("CS.maxCredits", "18", "CS.departmentQuota", "Mathematics:9");
+        int cs = rules.programOf("CS123456");
+
+        assertEquals(Outcome.ALLOWED, rules.evaluate(cs, 7.0, "Mathematics", 3, 12, 6, 3));
+        assertEquals(Outcome.CREDIT_LIMIT, rules.evaluate(cs, 7.0, "Mathematics", 4, 15, 0, 4));
+        assertEquals(Outcome.DEPARTMENT_QUOTA, rules.evaluate(cs, 7.0, "Mathematics", 4, 12, 6, 4));
+        assertEquals(Outcome.ALLOWED, rules.evaluate(cs, 7.0, "Physics", 4, 12, 6, 4));
+        assertEquals(Outcome.MINIMUM_CREDITS, rules.evaluate(cs, 7.0, "Physics", 3, 0, 0, 11));
+        assertEquals(Outcome.ALLOWED, rules.evaluate(cs, 7.0, "Physics", 3, 0, 0, 12));
+        // The first-course minimum only applies to an empty semester
+        assertEquals(Outcome.ALLOWED, rules.evaluate(cs, 7.0, "Physics", 3, 3, 0, 3));
+    }
+
+    @Test
+    void malformedRulesAreRejected() {
+        String[][] malformed = {
+            {"maxCredits", "30"},
+            {"cs.maxCredits", "30"},
+            {"CSEE.maxCredits", "30"},
+            {"default.maxCredit", "30"},
+            {"default.maxCredits", "thirty"},
+            {"default.maxCredits", "-3"},
+            {"default.maxCredits", "0"},
+            {"default.minCredits", "31"},
+            {"default.gpaBands", "8.5"},
+            {"default.gpaBands", "8.5:many"},
+            {"default.gpaBands", "eight:3"},
+            {"default.gpaBands", "-1:3"},
+            {"default.gpaBands", "10.01:3"},
+            {"default.gpaBands", "8.555:3"},
+            {"default.gpaBands", "NaN:3"},
+            {"default.departmentQuota", "Mathematics"},
+            {"default.departmentQuota", ":9"},
+            {"default.departmentQuota", "Mathematics:-1"},
+        };
+        for (String[] setting : malformed) {
+            assertThrows(IllegalArgumentException.class, () -> compile(setting),
+                () -> setting[0] + "=" + setting[1] + " was accepted");
+        }
+        // A program's own limits are checked after inheriting the rest
+        assertThrows(IllegalArgumentException.class, () -> compile("default.maxCredits", "20", "CS.minCredits", "21"));
+    }
+
+    @Test
+    void loadReadsPropertiesFiles(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("rules.properties");
+        Files.writeString(file, "# comment\ndefault.maxCredits = 27\nCS.gpaBands = 9:6\n");
+        EnrollmentRules rules = EnrollmentRules.load(file);
+
+        assertEquals(file.toString(), rules.getSource());
+        assertEquals(27, rules.getMaxCredits(0, 7.0));
+        assertEquals(30, rules.getMaxCredits(0, 9.0));
+        assertEquals(33, rules.getMaxCredits(rules.programOf("CS123456"), 9.0));
+
+        Files.writeString(file, "default.minCredits = many\n");
+        assertThrows(IllegalArgumentException.class, () -> EnrollmentRules.load(file));
+    }
+}
@@ -0,0 +1,24 @@
+package edu.ccrm.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ccrm.util.SymbolTable;
+import org.junit.jupiter.api.Test;
+
+class InstructorTest {
+
+    @Test
+    void unassigningUnknownCodeDoesNotInternIt() {
+        Instructor instructor = new Instructor("INS-1", "First Instructor", "first@example.edu", "INS");
+        instructor.assignCourse("INSA101");
+        int symbols = SymbolTable.COURSE_CODES.size();
+
+        instructor.unassignCourse("INSZ999");
+        assertEquals(symbols, SymbolTable.COURSE_CODES.size());
+        assertEquals(-1, SymbolTable.COURSE_CODES.lookup("INSZ999"));
+
+        instructor.unassignCourse("insa101");
+        assertTrue(instructor.getAssignedCourses().isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+package edu.ccrm.domain;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import edu.ccrm.util.SymbolTable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class StudentTest {
+
+    private static Student student(String regNo) {
+        return new Student(regNo, regNo, "Student " + regNo, regNo.toLowerCase() + "@example.edu");
+    }
+
+    /** The bitset as it was built before it was kept on the student */
+    private static long[] passedBits(Student student) {
+        long[] bits = new long[0];
+        for (String code : student.getGrades().keySet()) {
+            if (student.getGrades().get(code) != Grade.F) {
+                int id = SymbolTable.COURSE_CODES.lookup(code);
+                if ((id >>> 6) >= bits.length) {
+                    bits = Arrays.copyOf(bits, (id >>> 6) + 1);
+                }
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+        return bits;
+    }
+
+    private static void assertSameBits(long[] expected, long[] actual) {
+        int length = Math.max(expected.length, actual.length);
+        for (int word = 0; word < length; word++) {
+            assertEquals(word < expected.length ? expected[word] : 0L, word < actual.length ? actual[word] : 0L,
+                "word " + word);
+        }
+    }
+
+    @Test
+    void passedBitsFollowGrades() {
+        Student student = student("STU001");
+        for (int i = 0; i < 70; i++) {
+            student.enrollCourse("STUA" + (100 + i));
+        }
+        long[] none = student.getPassedCourseBits();
+        assertSameBits(new long[0], none);
+
+        student.setGrade("STUA100", Grade.A);
+        student.setGrade("STUA169", Grade.E);
+        student.setGrade("STUA150", Grade.F);
+        assertSameBits(passedBits(student), student.getPassedCourseBits());
+
+        student.setGrade("STUA100", Grade.F);
+        student.setGrade("STUA150", Grade.S);
+        assertSameBits(passedBits(student), student.getPassedCourseBits());
+
+        student.unenrollCourse("STUA169");
+        student.setGrade("STUA120", null);
+        assertSameBits(passedBits(student), student.getPassedCourseBits());
+        assertSameBits(new long[0], none);
+    }
+
+    @Test
+    void passedBitsAreReusedUntilAGradeChangesThem() {
+        Student student = student("STU002");
+        student.enrollCourse("STUB100");
+        student.enrollCourse("STUB101");
+        student.setGrade("STUB100", Grade.B);
+        long[] bits = student.getPassedCourseBits();
+
+        student.enrollCourse("STUB102");
+        student.setGrade("STUB101", Grade.F);
+        student.setGrade("STUB100", Grade.A);
+        assertSame(bits, student.getPassedCourseBits());
+
+        student.setGrade("STUB101", Grade.C);
+        assertNotSame(bits, student.getPassedCourseBits());
+    }
+
+    @Test
+    void passedBitsSurviveSerialization() throws Exception {
+        Student student = student("STU003");
+        student.enrollCourse("STUC100");
+        student.enrollCourse("STUC101");
+        student.setGrade("STUC100", Grade.S);
+        student.setGrade("STUC101", Grade.F);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(student);
+        }
+        Student copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (Student) in.readObject();
+        }
+        assertArrayEquals(student.getPassedCourseBits(), copy.getPassedCourseBits());
+        assertEquals(student.getGpa(), copy.getGpa());
+    }
+}
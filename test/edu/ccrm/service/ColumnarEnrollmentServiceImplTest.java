@@ -0,0 +1,64 @@
+package edu.ccrm.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseFullException;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ColumnarEnrollmentServiceImplTest {
+
+    private static List<Course> load(String prefix) {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            courses.add(new Course(prefix + i, "Course " + prefix + i, 3, null, Semester.SPRING, "CES"));
+        }
+        return courses;
+    }
+
+    private static Student student(String regNo) {
+        return new Student(regNo, regNo, "Student " + regNo, regNo.toLowerCase() + "@example.edu");
+    }
+
+    @Test
+    void marksOutsideRangeAreRejected() throws Exception {
+        ColumnarEnrollmentServiceImpl service = new ColumnarEnrollmentServiceImpl();
+        List<Course> courses = load("CESA10");
+        Student student = student("CESS001");
+        service.enrollStudentInAll(student, courses);
+
+        // -1 is the column's no-marks value, 40000 would wrap in the short column
+        assertThrows(IllegalArgumentException.class, () -> service.recordMarks(student, courses.get(0), -1));
+        assertThrows(IllegalArgumentException.class, () -> service.recordMarks(student, courses.get(0), 40_000));
+        assertEquals(-1, service.getEnrollmentsByCourse(courses.get(0)).get(0).getMarks());
+        assertArrayEquals(new int[Grade.values().length], service.gradeDistribution());
+
+        service.recordMarks(student, courses.get(0), 0);
+        assertEquals(0, service.getEnrollmentsByCourse(courses.get(0)).get(0).getMarks());
+        assertEquals(1, service.gradeDistribution()[Grade.F.ordinal()]);
+    }
+
+    @Test
+    void failedBundleLeavesNoEnrollments() throws Exception {
+        ColumnarEnrollmentServiceImpl service = new ColumnarEnrollmentServiceImpl();
+        List<Course> courses = load("CESB10");
+        courses.get(0).setCapacity(2);
+        courses.get(3).setCapacity(1);
+        service.enrollStudentInAll(student("CESS002"), courses);
+        Student student = student("CESS003");
+
+        assertThrows(CourseFullException.class, () -> service.enrollStudentInAll(student, courses));
+
+        assertTrue(service.getEnrollmentsByStudent(student).isEmpty());
+        assertEquals(4, service.size());
+        assertEquals(1, service.getSeatsAvailable(courses.get(0)));
+    }
+}
@@ -0,0 +1,154 @@
+package edu.ccrm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseFullException;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.PrerequisiteNotMetException;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.PrerequisiteGraph;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EnrollmentServiceImplTest {
+
+    private static Course course(String code) {
+        return new Course(code, "Course " + code, 3, null, Semester.FALL, "ESI");
+    }
+
+    private static Student student(String regNo) {
+        return new Student(regNo, regNo, "Student " + regNo, regNo.toLowerCase() + "@example.edu");
+    }
+
+    /** Four 3-credit courses, enough for the default first-course minimum */
+    private static List<Course> load(String prefix) {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            courses.add(course(prefix + i));
+        }
+        return courses;
+    }
+
+    @Test
+    void classListsFollowEnrollAndUnenroll() throws Exception {
+        EnrollmentServiceImpl service = new EnrollmentServiceImpl();
+        List<Course> courses = load("ESIA10");
+        Student first = student("ESIS001");
+        Student second = student("ESIS002");
+        service.enrollStudentInAll(first, courses);
+        service.enrollStudentInAll(second, courses);
+
+        for (Course course : courses) {
+            assertEquals(2, service.getEnrollmentsByCourse(course).size());
+        }
+
+        service.unenrollStudent(first, courses.get(0));
+
+        List<Enrollment> remaining = service.getEnrollmentsByCourse(courses.get(0));
+        assertEquals(1, remaining.size());
+        assertSame(second, remaining.get(0).getStudent());
+        assertEquals(3, service.getEnrollmentsByStudent(first).size());
+        assertEquals(2, service.getEnrollmentsByCourse(courses.get(1)).size());
+    }
+
+    @Test
+    void classListOfUnknownCourseIsEmpty() {
+        EnrollmentServiceImpl service = new EnrollmentServiceImpl();
+        assertTrue(service.getEnrollmentsByCourse(course("ESIB100")).isEmpty());
+    }
+
+    @Test
+    void unenrollingTwiceLeavesOtherEnrollments() throws Exception {
+        EnrollmentServiceImpl service = new EnrollmentServiceImpl();
+        List<Course> courses = load("ESIC10");
+        Student student = student("ESIS003");
+        service.enrollStudentInAll(student, courses);
+
+        service.unenrollStudent(student, courses.get(3));
+        service.unenrollStudent(student, courses.get(3));
+
+        assertTrue(service.getEnrollmentsByCourse(courses.get(3)).isEmpty());
+        assertEquals(3, service.getEnrollmentsByStudent(student).size());
+    }
+
+    @Test
+    void marksOutsideRangeAreRejected() throws Exception {
+        EnrollmentServiceImpl service = new EnrollmentServiceImpl();
+        List<Course> courses = load("ESID10");
+        Student student = student("ESIS004");
+        service.enrollStudentInAll(student, courses);
+
+        assertThrows(IllegalArgumentException.class, () -> service.recordMarks(student, courses.get(0), -1));
+        assertThrows(IllegalArgumentException.class, () -> service.recordMarks(student, courses.get(0), 101));
+        assertEquals(-1, service.getEnrollmentsByCourse(courses.get(0)).get(0).getMarks());
+
+        service.recordMarks(student, courses.get(0), 100);
+        assertEquals(100, service.getEnrollmentsByCourse(courses.get(0)).get(0).getMarks());
+    }
+
+    @Test
+    void failedBundleLeavesNoEnrollments() throws Exception {
+        EnrollmentServiceImpl service = new EnrollmentServiceImpl();
+        List<Course> courses = load("ESIE10");
+        courses.get(0).setCapacity(2);
+        courses.get(3).setCapacity(1);
+        service.enrollStudentInAll(student("ESIS005"), courses);
+        Student student = student("ESIS006");
+
+        // The full course is enrolled last, after three of the four have gone through
+        assertThrows(CourseFullException.class, () -> service.enrollStudentInAll(student, courses));
+
+        assertTrue(service.getEnrollmentsByStudent(student).isEmpty());
+        assertEquals(0, student.getEnrolledCourses().size());
+        assertEquals(1, service.getSeatsAvailable(courses.get(0)));
+        assertEquals(1, service.getEnrollmentsByCourse(courses.get(1)).size());
+    }
+
+    @Test
+    void seatGivenBackAfterFailedRecheckGoesToWaitlist() throws Exception {
+        PrerequisiteGraph prerequisites = new PrerequisiteGraph();
+        prerequisites.addPrerequisite("ESIF201", "ESIF101");
+        EnrollmentServiceImpl service = new EnrollmentServiceImpl(prerequisites);
+        Course course = new Course("ESIF201", "Course ESIF201", 12, null, Semester.FALL, "ESI");
+        course.setCapacity(1);
+        Student waiting = student("ESIS008");
+        waiting.enrollCourse("ESIF101");
+        waiting.setGrade("ESIF101", Grade.B);
+
+        // The prerequisite check runs once before the seat is reserved and once after; in
+        // between, another student queues and the newcomer's passing grade is revised to F
+        Student newcomer = new Student("ESIS007", "ESIS007", "Student ESIS007", "esis007@example.edu") {
+            private int checks;
+
+            @Override
+            public long[] getPassedCourseBits() {
+                if (++checks == 2) {
+                    try {
+                        assertEquals(1, service.joinWaitlist(waiting, course));
+                    } catch (Exception e) {
+                        throw new AssertionError(e);
+                    }
+                    setGrade("ESIF101", Grade.F);
+                }
+                return super.getPassedCourseBits();
+            }
+        };
+        newcomer.enrollCourse("ESIF101");
+        newcomer.setGrade("ESIF101", Grade.A);
+
+        assertThrows(PrerequisiteNotMetException.class, () -> service.enrollStudent(newcomer, course));
+
+        List<Enrollment> classList = service.getEnrollmentsByCourse(course);
+        assertEquals(1, classList.size());
+        assertSame(waiting, classList.get(0).getStudent());
+        assertTrue(service.getWaitlist(course).isEmpty());
+        assertEquals(0, service.getSeatsAvailable(course));
+    }
+}
@@ -0,0 +1,73 @@
+package edu.ccrm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseBuilder;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.Semester;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class InstructorServiceImplTest {
+
+    private static Course course(String code) {
+        return new Course(code, "Course " + code, 3, null, Semester.FALL, "ISI");
+    }
+
+    @Test
+    void courseSearchFollowsAssignment() {
+        CourseServiceImpl courses = new CourseServiceImpl();
+        InstructorServiceImpl instructors = new InstructorServiceImpl(3);
+        instructors.addInstructor(new Instructor("ISI-1", "First Instructor", "first@example.edu", "ISI"));
+        instructors.addInstructor(new Instructor("ISI-2", "Second Instructor", "second@example.edu", "ISI"));
+        courses.addCourse(course("ISIA101"));
+        Course stored = courses.getCourseByCode("ISIA101");
+
+        instructors.assignCourse("ISI-1", stored);
+        assertEquals(List.of(stored), courses.searchByInstructor("ISI-1"));
+
+        instructors.assignCourse("ISI-2", stored);
+        assertTrue(courses.searchByInstructor("ISI-1").isEmpty());
+        assertEquals(List.of(stored), courses.searchByInstructor("ISI-2"));
+
+        instructors.unassignCourse(stored);
+        assertTrue(courses.searchByInstructor("ISI-2").isEmpty());
+        assertEquals(0, instructors.getInstructorById("ISI-2").getTeachingLoad());
+    }
+
+    @Test
+    void courseSearchFollowsUpdatedCourse() {
+        CourseServiceImpl courses = new CourseServiceImpl();
+        InstructorServiceImpl instructors = new InstructorServiceImpl(3);
+        instructors.addInstructor(new Instructor("ISI-3", "Third Instructor", "third@example.edu", "ISI"));
+        courses.addCourse(course("ISIB101"));
+        Course replacement = course("ISIB101");
+        courses.updateCourse(replacement);
+
+        instructors.assignCourse("ISI-3", replacement);
+        assertEquals(List.of(replacement), courses.searchByInstructor("ISI-3"));
+    }
+
+    @Test
+    void unavailableInstructorIsRefusedByServiceOnly() {
+        InstructorServiceImpl instructors = new InstructorServiceImpl(3);
+        Instructor instructor = new Instructor("ISI-4", "Fourth Instructor", "fourth@example.edu", "ISI");
+        instructors.addInstructor(instructor);
+        instructor.setAvailable(false);
+
+        Course course = course("ISIC101");
+        assertThrows(IllegalStateException.class, () -> instructors.assignCourse("ISI-4", course));
+        assertEquals(0, instructor.getTeachingLoad());
+
+        // Saved data may name an instructor who has since become unavailable
+        Course saved = new CourseBuilder().setCode("ISIC102").setTitle("Saved").setCredits(3)
+            .setInstructor(instructor).setSemester(Semester.FALL).setDepartment("ISI").build();
+        assertSame(instructor, saved.getInstructor());
+        assertEquals(Set.of("ISIC102"), instructor.getAssignedCourses());
+    }
+}
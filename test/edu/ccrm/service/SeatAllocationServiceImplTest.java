@@ -0,0 +1,204 @@
+package edu.ccrm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ccrm.config.EnrollmentConfig;
+import edu.ccrm.config.EnrollmentRules;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.util.PrerequisiteGraph;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks seat allocation plans on seeded random instances against the properties the
+ * allocation promises, and the enrollment of a plan whose bundle fails partway
+ */
+class SeatAllocationServiceImplTest {
+    private static final int INSTANCES = 200;
+    private static final String[] DEPARTMENTS = {"SAA", "SAB", "SAC", "SAD", "SAE"};
+
+    private static final Logger LOGGER = Logger.getLogger("edu.ccrm");
+    private static Level previousLevel;
+
+    @BeforeAll
+    static void quietLogging() {
+        // Every refused enrollment logs a warning
+        previousLevel = LOGGER.getLevel();
+        LOGGER.setLevel(Level.SEVERE);
+    }
+
+    @AfterAll
+    static void restoreLogging() {
+        LOGGER.setLevel(previousLevel);
+    }
+
+    /** A student whose GPA is fixed, so priorities are known without grading courses */
+    private static Student student(String regNo, double gpa) {
+        return new Student(regNo, regNo, "Student " + regNo, regNo.toLowerCase() + "@example.edu") {
+            @Override
+            public double getGpa() {
+                return gpa;
+            }
+        };
+    }
+
+    @Test
+    void plansRespectSeatsBudgetsAndPriority() {
+        for (int instance = 0; instance < INSTANCES; instance++) {
+            SplittableRandom random = new SplittableRandom(instance);
+            EnrollmentServiceImpl enrollments = new EnrollmentServiceImpl();
+            SeatAllocationServiceImpl allocator = new SeatAllocationServiceImpl(enrollments, instance);
+
+            List<Course> courses = new ArrayList<>();
+            int courseCount = 2 + random.nextInt(9);
+            int departments = 1 + random.nextInt(DEPARTMENTS.length);
+            for (int c = 0; c < courseCount; c++) {
+                Course course = new Course(String.format("SA%03dC%02d", instance, c), "Course " + c,
+                    3 + random.nextInt(8), null, Semester.FALL, DEPARTMENTS[random.nextInt(departments)]);
+                if (random.nextInt(6) > 0) {
+                    course.setCapacity(1 + random.nextInt(4));
+                }
+                courses.add(course);
+            }
+            // Distinct GPAs, so the lottery never decides and priority is GPA order
+            int studentCount = 1 + random.nextInt(30);
+            List<Integer> ranks = new ArrayList<>();
+            for (int s = 0; s < studentCount; s++) {
+                ranks.add(s);
+            }
+            Map<Student, List<Course>> preferences = new LinkedHashMap<>();
+            for (int s = 0; s < studentCount; s++) {
+                double gpa = 10.0 * (ranks.remove(random.nextInt(ranks.size())) + 1) / (studentCount + 1);
+                List<Course> ranked = new ArrayList<>();
+                int wanted = random.nextInt(9);
+                for (int i = 0; i < wanted; i++) {
+                    ranked.add(courses.get(random.nextInt(courseCount)));
+                }
+                preferences.put(student(String.format("SA%03dS%02d", instance, s), gpa), ranked);
+            }
+
+            AllocationResult result = allocator.plan(Semester.FALL, preferences);
+            assertProperties("instance " + instance, enrollments, preferences, result);
+            assertEquals(departmentComponents(preferences), result.getComponentCount(), "instance " + instance);
+            assertEquals(result.getAllocations(),
+                new SeatAllocationServiceImpl(enrollments, instance).plan(Semester.FALL, preferences).getAllocations(),
+                "instance " + instance + " is not reproducible from its seed");
+        }
+    }
+
+    private static void assertProperties(String instance, EnrollmentService enrollments,
+                                         Map<Student, List<Course>> preferences, AllocationResult result) {
+        EnrollmentRules rules = EnrollmentConfig.getRules();
+        Map<Course, List<Student>> holders = new HashMap<>();
+        Map<Student, Integer> credits = new HashMap<>();
+        for (Map.Entry<Student, List<Course>> allocation : result.getAllocations().entrySet()) {
+            Student student = allocation.getKey();
+            List<Course> ranked = preferences.get(student);
+            int last = -1;
+            for (Course course : allocation.getValue()) {
+                int position = ranked.indexOf(course);
+                assertTrue(position > last, instance + ": " + student.getRegNo() + " allocated out of preference order");
+                last = position;
+                holders.computeIfAbsent(course, c -> new ArrayList<>()).add(student);
+                credits.merge(student, course.getCredits(), Integer::sum);
+            }
+        }
+
+        for (Map.Entry<Course, List<Student>> held : holders.entrySet()) {
+            assertTrue(held.getValue().size() <= enrollments.getSeatsAvailable(held.getKey()),
+                instance + ": " + held.getKey().getCode() + " over capacity");
+        }
+        for (Student student : preferences.keySet()) {
+            int budget = rules.getMaxCredits(rules.programOf(student.getRegNo()), student.getGpa());
+            int used = credits.getOrDefault(student, 0);
+            assertTrue(used <= budget, instance + ": " + student.getRegNo() + " over their credit budget");
+
+            // A course the student ranked, did not get and still has room for in their budget
+            // was proposed to and refused, so it must be full of students ahead of them
+            List<Course> allocated = result.getAllocations().getOrDefault(student, List.of());
+            for (Course course : preferences.get(student)) {
+                if (allocated.contains(course) || used + course.getCredits() > budget) {
+                    continue;
+                }
+                List<Student> taken = holders.getOrDefault(course, List.of());
+                assertEquals(enrollments.getSeatsAvailable(course), taken.size(),
+                    instance + ": " + course.getCode() + " turned away " + student.getRegNo() + " with a seat free");
+                for (Student holder : taken) {
+                    assertTrue(holder.getGpa() > student.getGpa(), instance + ": " + course.getCode()
+                        + " holds " + holder.getRegNo() + " over " + student.getRegNo());
+                }
+            }
+        }
+    }
+
+    /** Groups of departments linked by some student ranking courses in both */
+    private static int departmentComponents(Map<Student, List<Course>> preferences) {
+        List<Set<String>> groups = new ArrayList<>();
+        for (List<Course> ranked : preferences.values()) {
+            if (ranked.isEmpty()) {
+                continue;
+            }
+            Set<String> merged = new HashSet<>();
+            for (Course course : ranked) {
+                merged.add(course.getDepartment());
+            }
+            for (int i = groups.size() - 1; i >= 0; i--) {
+                if (!disjoint(groups.get(i), merged)) {
+                    merged.addAll(groups.remove(i));
+                }
+            }
+            groups.add(merged);
+        }
+        return groups.size();
+    }
+
+    private static boolean disjoint(Set<String> a, Set<String> b) {
+        for (String value : a) {
+            if (b.contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test
+    void allocationFailingPartwayIsRolledBack() {
+        PrerequisiteGraph prerequisites = new PrerequisiteGraph();
+        prerequisites.addPrerequisite("SAR103", "SAR100");
+        EnrollmentServiceImpl enrollments = new EnrollmentServiceImpl(prerequisites);
+        Course large = new Course("SAR101", "Large", 9, null, Semester.FALL, "SAR");
+        large.setCapacity(2);
+        Course open = new Course("SAR102", "Open", 3, null, Semester.FALL, "SAR");
+        Course gated = new Course("SAR103", "Gated", 3, null, Semester.FALL, "SAR");
+        Student enrolled = student("SAR001", 8.0);
+        Student refused = student("SAR002", 9.0);
+        Map<Student, List<Course>> preferences = new LinkedHashMap<>();
+        preferences.put(enrolled, List.of(large, open));
+        // The larger course is enrolled first, then the missing prerequisite fails the bundle
+        preferences.put(refused, List.of(large, gated));
+
+        AllocationResult result = new SeatAllocationServiceImpl(enrollments, 1).allocate(Semester.FALL, preferences);
+
+        assertEquals(List.of(large, gated), result.getAllocations().get(refused));
+        assertEquals(Set.of("SAR002"), result.getFailures().keySet());
+        assertTrue(enrollments.getEnrollmentsByStudent(refused).isEmpty());
+        assertTrue(refused.getEnrolledCourses().isEmpty());
+        assertEquals(1, enrollments.getEnrollmentsByCourse(large).size());
+        assertEquals(1, enrollments.getSeatsAvailable(large));
+        assertEquals(2, enrollments.getEnrollmentsByStudent(enrolled).size());
+    }
+}
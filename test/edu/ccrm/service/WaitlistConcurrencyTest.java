@@ -0,0 +1,217 @@
+package edu.ccrm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.CourseFullException;
+import edu.ccrm.domain.DuplicateEnrollmentException;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Students race for a small course from several threads. In one test they repeatedly give
+ * up their seat and queue again; in the other, thousands of requests released at once
+ * compete for the last few seats. Whatever the interleaving, the course must never hold
+ * more students than seats, the seat ledger must agree with the class list, and every
+ * student must end up either enrolled or still waiting.
+ */
+class WaitlistConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int STUDENTS = 48;
+    private static final int CAPACITY = 5;
+    private static final int ROUNDS = 40;
+    private static final int RUNS = 40;
+
+    private static final int STAMPEDE_THREADS = 64;
+    private static final int STAMPEDE_STUDENTS = 1000;
+    // Each student asks four times at once, so some requests pass the first check, take a
+    // seat and are then refused as duplicates, giving the seat back while others are queuing
+    private static final int REQUESTS_PER_STUDENT = 4;
+    private static final int STAMPEDE_RUNS = 5;
+
+    private static final Logger LOGGER = Logger.getLogger("edu.ccrm");
+    private static Level previousLevel;
+
+    @BeforeAll
+    static void quietLogging() {
+        // Every refused enrollment logs a warning
+        previousLevel = LOGGER.getLevel();
+        LOGGER.setLevel(Level.SEVERE);
+    }
+
+    @AfterAll
+    static void restoreLogging() {
+        LOGGER.setLevel(previousLevel);
+    }
+
+    @Test
+    void noOverbookingAndNoLostStudents() throws Exception {
+        for (int run = 0; run < RUNS; run++) {
+            race("WCT" + run);
+        }
+    }
+
+    @Test
+    void lastSeatsGoToExactlyAsManyStudentsUnderAStampede() throws Exception {
+        for (int run = 0; run < STAMPEDE_RUNS; run++) {
+            stampede("WCS" + run);
+        }
+    }
+
+    private void race(String prefix) throws Exception {
+        EnrollmentServiceImpl service = new EnrollmentServiceImpl();
+        Course contested = contested(prefix);
+        List<Student> students = students(service, prefix, STUDENTS);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (int i = thread; i < STUDENTS; i += THREADS) {
+                            Student student = students.get(i);
+                            if (round == 0) {
+                                enrollOrQueue(service, student, contested);
+                            } else if (isEnrolled(service, student, contested)) {
+                                // Give the seat up and queue for it again
+                                service.unenrollStudent(student, contested);
+                                enrollOrQueue(service, student, contested);
+                            }
+                            assertTrue(service.getEnrollmentsByCourse(contested).size() <= CAPACITY, "Overbooked");
+                        }
+                        Thread.yield();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertOutcome(service, contested, students);
+    }
+
+    private void stampede(String prefix) throws Exception {
+        EnrollmentServiceImpl service = new EnrollmentServiceImpl();
+        Course contested = contested(prefix);
+        List<Student> students = students(service, prefix, STAMPEDE_STUDENTS);
+
+        ExecutorService pool = Executors.newFixedThreadPool(STAMPEDE_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (Student student : students) {
+                for (int request = 0; request < REQUESTS_PER_STUDENT; request++) {
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        try {
+                            enrollOrQueue(service, student, contested);
+                        } catch (DuplicateEnrollmentException e) {
+                            // The student's other request got there first
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertOutcome(service, contested, students);
+    }
+
+    private static Course contested(String prefix) {
+        Course contested = new Course(prefix + "C100", "Contested", 3, null, Semester.FALL, "WCT");
+        contested.setCapacity(CAPACITY);
+        return contested;
+    }
+
+    // Four open courses per student cover the first-course credit minimum
+    private static List<Student> students(EnrollmentServiceImpl service, String prefix, int count) throws Exception {
+        List<Course> base = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            base.add(new Course(prefix + "B10" + i, "Base " + i, 3, null, Semester.FALL, "WCT"));
+        }
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String regNo = String.format("WC%s%04d", prefix.substring(2), i);
+            Student student = new Student(regNo, regNo, "Student " + i, regNo.toLowerCase() + "@example.edu") {
+                @Override
+                public long[] getPassedCourseBits() {
+                    // Widens the gap between the check and the re-check
+                    Thread.yield();
+                    return super.getPassedCourseBits();
+                }
+            };
+            service.enrollStudentInAll(student, base);
+            students.add(student);
+        }
+        return students;
+    }
+
+    private static void assertOutcome(EnrollmentServiceImpl service, Course contested, List<Student> students) {
+        List<Enrollment> classList = service.getEnrollmentsByCourse(contested);
+        Set<String> enrolled = new HashSet<>();
+        for (Enrollment enrollment : classList) {
+            enrolled.add(enrollment.getStudent().getRegNo());
+        }
+        Set<String> waiting = new HashSet<>();
+        for (Student student : service.getWaitlist(contested)) {
+            waiting.add(student.getRegNo());
+        }
+        assertEquals(classList.size(), enrolled.size(), "Student enrolled twice");
+        assertEquals(CAPACITY, enrolled.size(), "Seats left empty or overbooked");
+        assertEquals(classList.size(), CAPACITY - service.getSeatsAvailable(contested),
+            "Ledger disagrees with the class list");
+        assertEquals(students.size() - CAPACITY, waiting.size(), "Waitlisted students lost");
+        for (Student student : students) {
+            assertTrue(enrolled.contains(student.getRegNo()) != waiting.contains(student.getRegNo()),
+                student.getRegNo() + " must be either enrolled or waiting");
+        }
+    }
+
+    private static void enrollOrQueue(EnrollmentServiceImpl service, Student student, Course course) throws Exception {
+        try {
+            service.enrollStudent(student, course);
+        } catch (CourseFullException e) {
+            service.joinWaitlist(student, course);
+        }
+    }
+
+    private static boolean isEnrolled(EnrollmentServiceImpl service, Student student, Course course) {
+        for (Enrollment enrollment : service.getEnrollmentsByStudent(student)) {
+            if (enrollment.getCourse() == course) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package edu.ccrm.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Semester;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CriteriaTest {
+
+    private static IndexedSearchable<Course> store() {
+        IndexedSearchable<Course> courses = new IndexedSearchable<>(SearchField.COURSE_CODE, SearchField.COURSE_CREDITS);
+        courses.add(new Course("CRT101", "Three", 3, null, Semester.FALL, "CRT"));
+        courses.add(new Course("CRT102", "Four", 4, null, Semester.FALL, "CRT"));
+        return courses;
+    }
+
+    @Test
+    void valueOfAnotherTypeIsRejectedWhenBuilt() {
+        assertThrows(IllegalArgumentException.class, () -> Criteria.eq(SearchField.COURSE_CREDITS, "3"));
+        assertThrows(IllegalArgumentException.class, () -> Criteria.eq(SearchField.COURSE_CODE, 101));
+        assertThrows(IllegalArgumentException.class, () -> Criteria.between(SearchField.COURSE_CREDITS, 1, "4"));
+        assertThrows(IllegalArgumentException.class, () -> Criteria.between(SearchField.COURSE_ACTIVE, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> Criteria.prefix(SearchField.COURSE_CREDITS, "3"));
+    }
+
+    @Test
+    void numbersOfAnyTypeMatchNumericFields() {
+        IndexedSearchable<Course> courses = store();
+
+        assertEquals(1, courses.search(Criteria.eq(SearchField.COURSE_CREDITS, 3)).size());
+        assertEquals(1, courses.search(Criteria.eq(SearchField.COURSE_CREDITS, 4.0)).size());
+        assertEquals(2, courses.search(Criteria.between(SearchField.COURSE_CREDITS, 3L, null)).size());
+        assertEquals(List.of("CRT102"), courses.search(Criteria.allOf(List.of(
+            Criteria.prefix(SearchField.COURSE_CODE, "crt"),
+            Criteria.between(SearchField.COURSE_CREDITS, null, 4.5),
+            Criteria.eq(SearchField.COURSE_ACTIVE, true),
+            Criteria.eq(SearchField.COURSE_TITLE, "FOUR")))).stream().map(Course::getCode).toList());
+    }
+}
@@ -0,0 +1,32 @@
+package edu.ccrm.util;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileWatcherTest {
+
+    @Test
+    void createModifyAndDeleteRunTheCallback(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("watched.properties");
+        Semaphore present = new Semaphore(0);
+        Semaphore absent = new Semaphore(0);
+        try (FileWatcher watcher = FileWatcher.watch(file, () -> (Files.exists(file) ? present : absent).release())) {
+            Files.writeString(file, "a=1\n");
+            assertTrue(present.tryAcquire(10, TimeUnit.SECONDS), "no callback on create");
+            present.drainPermits();
+
+            Files.writeString(file, "a=2\n");
+            assertTrue(present.tryAcquire(10, TimeUnit.SECONDS), "no callback on modify");
+
+            // Only a callback that runs after the delete can find the file gone
+            Files.delete(file);
+            assertTrue(absent.tryAcquire(10, TimeUnit.SECONDS), "no callback on delete");
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package edu.ccrm.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the format scanners against the regular expressions they replaced, on fixed edge
+ * cases and on seeded random strings shaped like each pattern
+ */
+class ValidatorTest {
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    private static final Pattern REG_NO_PATTERN = Pattern.compile("^[A-Z]{2,3}\\d{6}$");
+    private static final Pattern COURSE_CODE_PATTERN = Pattern.compile("^[A-Z]{2,4}\\d{3,4}$");
+
+    private static final int SAMPLES = 200_000;
+    private static final String UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String LETTERS = UPPER + "abcdefghijklmnopqrstuvwxyz";
+    private static final String DIGITS = "0123456789";
+    // Whitespace and line terminators first, then pattern characters, their neighbours in the
+    // ASCII table and non-ASCII letters and digits that Character.isLetterOrDigit would accept
+    private static final String NOISE = " \t\n\r\u0000\u2028/:?@[`{+_.-Éé٣aZ09";
+    private static final int WHITESPACE = 6;
+    private static final String[] EMAIL_SHAPE = {LETTERS + DIGITS + "+_.-", "@", LETTERS + DIGITS + ".-", ".", LETTERS};
+    private static final String[] CODE_SHAPE = {UPPER, DIGITS};
+
+    @Test
+    void emailMatchesPattern() {
+        String[] cases = {
+            "", " ", "@", "a@b.co", " a@b.co\t", "a@b.c", "a@.co", "@b.co", "a@b..co", "a@@b.co",
+            "a+b_c.d-e@x-y.z.org", "a@b_c.com", "a@b+c.com", "a@b.c0m", "a@b.co.", "a.@b.co",
+            "first.last@example.edu", "a@b.co\n", "a@b.co\u2028", "é@b.co", "a@b.cé", "a b@c.de"
+        };
+        for (String email : cases) {
+            assertAgrees(EMAIL_PATTERN, Validator::isValidEmail, email);
+        }
+        assertRandomAgree(EMAIL_PATTERN, Validator::isValidEmail, EMAIL_SHAPE, 1);
+    }
+
+    @Test
+    void regNoMatchesPattern() {
+        String[] cases = {
+            "", "AB123456", "ABC123456", "A123456", "ABCD123456", "AB12345", "AB1234567", " AB123456 ",
+            "ab123456", "AB12345a", "AB٣٣٣٣٣٣", "AB123456\n", "ÉB123456"
+        };
+        for (String regNo : cases) {
+            assertAgrees(REG_NO_PATTERN, Validator::isValidRegNo, regNo);
+        }
+        assertRandomAgree(REG_NO_PATTERN, Validator::isValidRegNo, CODE_SHAPE, 2);
+    }
+
+    @Test
+    void courseCodeMatchesPattern() {
+        String[] cases = {
+            "", "CS101", "CSE1010", "ABCD101", "ABCDE101", "C101", "CS10", "CS10101", " CS101\t",
+            "cs101", "CS1O1", "CS٣٣٣", "CS101\r\n"
+        };
+        for (String code : cases) {
+            assertAgrees(COURSE_CODE_PATTERN, Validator::isValidCourseCode, code);
+        }
+        assertRandomAgree(COURSE_CODE_PATTERN, Validator::isValidCourseCode, CODE_SHAPE, 3);
+    }
+
+    @Test
+    void randomSamplesIncludeValidValues() {
+        // Guards the generator: agreeing only on inputs that never match would prove little
+        assertTrue(countMatches(EMAIL_PATTERN, EMAIL_SHAPE, 1) > SAMPLES / 100);
+        assertTrue(countMatches(REG_NO_PATTERN, CODE_SHAPE, 2) > SAMPLES / 100);
+        assertTrue(countMatches(COURSE_CODE_PATTERN, CODE_SHAPE, 3) > SAMPLES / 100);
+    }
+
+    @Test
+    void nullIsInvalid() {
+        assertFalse(Validator.isValidEmail(null));
+        assertFalse(Validator.isValidRegNo(null));
+        assertFalse(Validator.isValidCourseCode(null));
+    }
+
+    private static void assertAgrees(Pattern pattern, Predicate<String> scanner, String value) {
+        assertEquals(pattern.matcher(value.trim()).matches(), scanner.test(value),
+            () -> "Disagrees with " + pattern + " on '" + escape(value) + "'");
+    }
+
+    private static void assertRandomAgree(Pattern pattern, Predicate<String> scanner, String[] shape, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < SAMPLES; i++) {
+            assertAgrees(pattern, scanner, sample(random, shape));
+        }
+    }
+
+    private static int countMatches(Pattern pattern, String[] shape, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int matches = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            if (pattern.matcher(sample(random, shape).trim()).matches()) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * A string shaped like the pattern: one run per character class of the shape, each of
+     * 0-7 characters (single-character classes mostly once), with about one character in
+     * twelve replaced by noise and optional whitespace around the whole value
+     */
+    private static String sample(SplittableRandom random, String[] shape) {
+        StringBuilder sb = new StringBuilder();
+        if (random.nextInt(8) == 0) {
+            sb.append(NOISE.charAt(random.nextInt(WHITESPACE)));
+        }
+        for (String characters : shape) {
+            int run = characters.length() == 1 && random.nextInt(4) > 0 ? 1 : random.nextInt(8);
+            for (int i = 0; i < run; i++) {
+                String source = random.nextInt(12) == 0 ? NOISE : characters;
+                sb.append(source.charAt(random.nextInt(source.length())));
+            }
+        }
+        if (random.nextInt(8) == 0) {
+            sb.append(NOISE.charAt(random.nextInt(WHITESPACE)));
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            sb.append(c >= ' ' && c < 0x7f ? String.valueOf(c) : String.format("\\u%04x", (int) c));
+        }
+        return sb.toString();
+    }
+}